@@ -0,0 +1,36 @@
+package org.mockserver.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks accepting the standard JMH command line options, unless specified otherwise results are written
+ * as JSON to mockserver-benchmarks.json so they can be compared between releases (i.e. using https://jmh.morethan.io)
+ *
+ * @author jamesdbloom
+ */
+public class BenchmarkRunner {
+
+    public static final String DEFAULT_RESULT_FILE = "mockserver-benchmarks.json";
+
+    public static void main(String... arguments) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(arguments);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+        } else if (commandLineOptions.shouldList()) {
+            new Runner(commandLineOptions).list();
+        } else {
+            ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+            if (!commandLineOptions.getResultFormat().hasValue()) {
+                options.resultFormat(ResultFormatType.JSON);
+            }
+            if (!commandLineOptions.getResult().hasValue()) {
+                options.result(DEFAULT_RESULT_FILE);
+            }
+            new Runner(options.build()).run();
+        }
+    }
+}
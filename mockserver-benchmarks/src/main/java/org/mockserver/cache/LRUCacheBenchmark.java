@@ -0,0 +1,54 @@
+package org.mockserver.cache;
+
+import org.mockserver.logging.MockServerLogger;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per operation cost of a full cache, which should stay flat as the size of the cache grows
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LRUCacheBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int maxSize;
+
+    private LRUCache<String, String> lruCache;
+    private String[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void fillCache() {
+        lruCache = new LRUCache<>(new MockServerLogger(), maxSize, TimeUnit.HOURS.toMillis(1));
+        keys = new String[maxSize];
+        for (int i = 0; i < maxSize; i++) {
+            keys[i] = String.valueOf(i);
+            lruCache.put(keys[i], keys[i]);
+        }
+    }
+
+    @Benchmark
+    public String get() {
+        return lruCache.get(keys[next++ % maxSize]);
+    }
+
+    @Benchmark
+    public void putExisting() {
+        String key = keys[next++ % maxSize];
+        lruCache.put(key, key);
+    }
+
+    @Benchmark
+    public void putWithEviction() {
+        String key = "new_" + next++;
+        lruCache.put(key, key);
+    }
+}
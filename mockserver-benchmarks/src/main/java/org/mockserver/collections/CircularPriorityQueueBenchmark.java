@@ -0,0 +1,64 @@
+package org.mockserver.collections;
+
+import org.mockserver.mock.SortableExpectationId;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.mock.SortableExpectationId.EXPECTATION_SORTABLE_PRIORITY_COMPARATOR;
+
+/**
+ * Per operation cost of a full queue, which should stay flat as the number of expectations grows
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CircularPriorityQueueBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int maxExpectations;
+
+    private CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> circularPriorityQueue;
+    private SortableExpectationId[] expectationIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void fillQueue() {
+        circularPriorityQueue = new CircularPriorityQueue<>(
+            maxExpectations,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.getKey()
+        );
+        expectationIds = new SortableExpectationId[maxExpectations];
+        for (int i = 0; i < maxExpectations; i++) {
+            expectationIds[i] = new SortableExpectationId(String.valueOf(i), i % 10, i);
+            circularPriorityQueue.add(expectationIds[i]);
+        }
+    }
+
+    /**
+     * removes an existing expectation then adds it back
+     */
+    @Benchmark
+    public boolean removeAndAdd() {
+        SortableExpectationId expectationId = expectationIds[next++ % maxExpectations];
+        boolean removed = circularPriorityQueue.remove(expectationId);
+        circularPriorityQueue.add(expectationId);
+        return removed;
+    }
+
+    /**
+     * adds a new expectation to the full queue evicting the eldest
+     */
+    @Benchmark
+    public int addWithEviction() {
+        circularPriorityQueue.add(new SortableExpectationId("new_" + next++, 0, next));
+        return circularPriorityQueue.size();
+    }
+}
@@ -0,0 +1,65 @@
+package org.mockserver.log;
+
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.scheduler.Scheduler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.log.model.LogEntryMessages.RECEIVED_REQUEST_MESSAGE_FORMAT;
+import static org.mockserver.model.HttpRequest.request;
+
+/**
+ * Adding received request log entries to the event log, run with "-prof gc" to compare the bytes allocated per entry
+ * (gc.alloc.rate.norm) by the logging path
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogEntryIngestBenchmark {
+
+    @Param({"false", "true"})
+    public boolean asynchronous;
+
+    private final HttpRequest httpRequest = request("/some/path")
+        .withMethod("POST")
+        .withHeader("Content-Type", "application/json")
+        .withBody("{\"name\": \"value\"}");
+    private Scheduler scheduler;
+    private MockServerEventLog mockServerEventLog;
+
+    @Setup(Level.Trial)
+    public void createEventLog() {
+        ConfigurationProperties.logLevel("WARN");
+        MockServerLogger mockServerLogger = new MockServerLogger();
+        scheduler = new Scheduler(mockServerLogger);
+        mockServerEventLog = new MockServerEventLog(mockServerLogger, scheduler, asynchronous);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        mockServerEventLog.stop();
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public void addReceivedRequest() {
+        mockServerEventLog.add(
+            new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setLogLevel(org.slf4j.event.Level.INFO)
+                .setHttpRequest(httpRequest)
+                .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                .setArguments(httpRequest)
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package org.mockserver.log;
+
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.scheduler.Scheduler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.verify.Verification.verification;
+import static org.mockserver.verify.VerificationTimes.once;
+
+/**
+ * Verifying a request against a growing number of received requests each with a different path
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockServerEventLogBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int logEntries;
+
+    private Scheduler scheduler;
+    private MockServerEventLog mockServerEventLog;
+
+    @Setup(Level.Trial)
+    public void createLogEntries() {
+        ConfigurationProperties.logLevel("WARN");
+        ConfigurationProperties.maxLogEntries(Math.max(logEntries, ConfigurationProperties.maxLogEntries()));
+        MockServerLogger mockServerLogger = new MockServerLogger();
+        scheduler = new Scheduler(mockServerLogger);
+        mockServerEventLog = new MockServerEventLog(mockServerLogger, scheduler, false);
+        for (int i = 0; i < logEntries; i++) {
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/some/path_" + i).withMethod(i % 2 == 0 ? "GET" : "POST"))
+            );
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        mockServerEventLog.stop();
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public String verifyLiteralPath() throws ExecutionException, InterruptedException {
+        return mockServerEventLog.verify(verification().withRequest(request("/some/path_" + (logEntries / 2))).withTimes(once())).get();
+    }
+
+    @Benchmark
+    public String verifyRegexPath() throws ExecutionException, InterruptedException {
+        return mockServerEventLog.verify(verification().withRequest(request("/some/path_(" + (logEntries / 2) + ")")).withTimes(once())).get();
+    }
+}
@@ -0,0 +1,97 @@
+package org.mockserver.log;
+
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.model.RequestDefinition;
+import org.mockserver.scheduler.Scheduler;
+import org.mockserver.verify.VerificationSequence;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.model.HttpRequest.request;
+
+/**
+ * Verifying a sequence of requests spread across the log, by the event log compared to retrieving every received
+ * request and then walking them matching each request in the sequence in turn
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerificationSequenceBenchmark {
+
+    @Param({"100000"})
+    public int logEntries;
+
+    @Param({"literal", "regex"})
+    public String path;
+
+    private Scheduler scheduler;
+    private MockServerEventLog mockServerEventLog;
+    private MatcherBuilder matcherBuilder;
+    private VerificationSequence verificationSequence;
+
+    @Setup(Level.Trial)
+    public void createLogEntries() {
+        ConfigurationProperties.logLevel("WARN");
+        ConfigurationProperties.maxLogEntries(Math.max(logEntries, ConfigurationProperties.maxLogEntries()));
+        MockServerLogger mockServerLogger = new MockServerLogger();
+        scheduler = new Scheduler(mockServerLogger);
+        mockServerEventLog = new MockServerEventLog(mockServerLogger, scheduler, false);
+        matcherBuilder = new MatcherBuilder(mockServerLogger);
+        for (int i = 0; i < logEntries; i++) {
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/some/path_" + i).withMethod(i % 2 == 0 ? "GET" : "POST"))
+            );
+        }
+        int[] sequence = {logEntries / 10, logEntries / 2, logEntries - 10};
+        verificationSequence = new VerificationSequence();
+        for (int index : sequence) {
+            verificationSequence.withRequests(request(path.equals("literal") ? "/some/path_" + index : "/some/path_(" + index + ")"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        mockServerEventLog.stop();
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public String verifySequence() throws ExecutionException, InterruptedException {
+        return mockServerEventLog.verify(verificationSequence).get();
+    }
+
+    @Benchmark
+    public boolean retrieveRequestsThenMatchSequence() throws ExecutionException, InterruptedException {
+        CompletableFuture<List<RequestDefinition>> result = new CompletableFuture<>();
+        mockServerEventLog.retrieveRequests(null, result::complete);
+        List<RequestDefinition> allRequests = result.get();
+        int requestLogCounter = 0;
+        for (RequestDefinition verificationHttpRequest : verificationSequence.getHttpRequests()) {
+            HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(verificationHttpRequest);
+            boolean foundRequest = false;
+            for (; !foundRequest && requestLogCounter < allRequests.size(); requestLogCounter++) {
+                foundRequest = httpRequestMatcher.matches(allRequests.get(requestLogCounter));
+            }
+            if (!foundRequest) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
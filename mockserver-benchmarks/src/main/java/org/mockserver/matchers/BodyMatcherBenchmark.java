@@ -0,0 +1,127 @@
+package org.mockserver.matchers;
+
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.ParsedBody;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.model.NottableString.string;
+
+/**
+ * Matching a typical request body with each type of body matcher
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BodyMatcherBenchmark {
+
+    private static final String JSON_BODY = "{" +
+        "  \"id\": 1," +
+        "  \"name\": \"A green door\"," +
+        "  \"price\": 12.50," +
+        "  \"tags\": [\"home\", \"green\"]," +
+        "  \"dimensions\": {" +
+        "    \"length\": 7.0," +
+        "    \"width\": 12.0," +
+        "    \"height\": 9.5" +
+        "  }" +
+        "}";
+    private static final String JSON_SCHEMA = "{" +
+        "  \"type\": \"object\"," +
+        "  \"properties\": {" +
+        "    \"id\": { \"type\": \"integer\" }," +
+        "    \"name\": { \"type\": \"string\" }," +
+        "    \"price\": { \"type\": \"number\", \"minimum\": 0 }," +
+        "    \"tags\": { \"type\": \"array\", \"items\": { \"type\": \"string\" } }" +
+        "  }," +
+        "  \"required\": [\"id\", \"name\", \"price\"]" +
+        "}";
+    private static final String XML_BODY = "<bookstore>" +
+        "  <book category=\"COOKING\">" +
+        "    <title lang=\"en\">Everyday Italian</title>" +
+        "    <author>Giada De Laurentiis</author>" +
+        "    <year>2005</year>" +
+        "    <price>30.00</price>" +
+        "  </book>" +
+        "  <book category=\"CHILDREN\">" +
+        "    <title lang=\"en\">Harry Potter</title>" +
+        "    <author>J K. Rowling</author>" +
+        "    <year>2005</year>" +
+        "    <price>29.99</price>" +
+        "  </book>" +
+        "</bookstore>";
+
+    private JsonStringMatcher jsonStringMatcher;
+    private JsonStringMatcher jsonStringMatcherStrict;
+    private JsonPathMatcher jsonPathMatcher;
+    private JsonSchemaMatcher jsonSchemaMatcher;
+    private XPathMatcher xPathMatcher;
+    private XmlStringMatcher xmlStringMatcher;
+    private RegexStringMatcher regexStringMatcher;
+
+    @Setup(Level.Trial)
+    public void createMatchers() {
+        ConfigurationProperties.logLevel("WARN");
+        MockServerLogger mockServerLogger = new MockServerLogger();
+        jsonStringMatcher = new JsonStringMatcher(mockServerLogger, "{ \"name\": \"A green door\", \"tags\": [\"green\"] }", MatchType.ONLY_MATCHING_FIELDS);
+        jsonStringMatcherStrict = new JsonStringMatcher(mockServerLogger, JSON_BODY, MatchType.STRICT);
+        jsonPathMatcher = new JsonPathMatcher(mockServerLogger, "$.dimensions[?(@.height < 10)]");
+        jsonSchemaMatcher = new JsonSchemaMatcher(mockServerLogger, JSON_SCHEMA);
+        xPathMatcher = new XPathMatcher(mockServerLogger, "/bookstore/book[price>29]/title");
+        xmlStringMatcher = new XmlStringMatcher(mockServerLogger, XML_BODY);
+        regexStringMatcher = new RegexStringMatcher(mockServerLogger, string(".*\"name\": \"A [a-z]+ door\".*"), false);
+    }
+
+    @Benchmark
+    public boolean jsonStringMatcherOnlyMatchingFields() {
+        return jsonStringMatcher.matches(null, JSON_BODY);
+    }
+
+    @Benchmark
+    public boolean jsonStringMatcherStrict() {
+        return jsonStringMatcherStrict.matches(null, JSON_BODY);
+    }
+
+    @Benchmark
+    public boolean jsonPathMatcher() {
+        return jsonPathMatcher.matches(null, JSON_BODY);
+    }
+
+    @Benchmark
+    public boolean jsonSchemaMatcher() {
+        return jsonSchemaMatcher.matches(null, JSON_BODY);
+    }
+
+    @Benchmark
+    public boolean xPathMatcher() {
+        return xPathMatcher.matches(null, XML_BODY);
+    }
+
+    @Benchmark
+    public boolean xmlStringMatcher() {
+        return xmlStringMatcher.matches(null, XML_BODY);
+    }
+
+    @Benchmark
+    public boolean regexStringMatcher() {
+        return regexStringMatcher.matches(null, string(JSON_BODY));
+    }
+
+    /**
+     * the json matchers for a request share a single parse of the body
+     */
+    @Benchmark
+    public boolean jsonMatchersWithSharedParsedBody() {
+        ParsedBody parsedBody = new ParsedBody();
+        return jsonStringMatcher.matches(null, JSON_BODY, parsedBody)
+            & jsonPathMatcher.matches(null, JSON_BODY, parsedBody)
+            & jsonSchemaMatcher.matches(null, JSON_BODY, parsedBody);
+    }
+}
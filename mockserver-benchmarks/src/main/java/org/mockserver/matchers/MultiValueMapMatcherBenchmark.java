@@ -0,0 +1,100 @@
+package org.mockserver.matchers;
+
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.Headers;
+import org.mockserver.model.Parameters;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.model.Header.header;
+import static org.mockserver.model.NottableString.not;
+import static org.mockserver.model.NottableString.string;
+import static org.mockserver.model.Parameter.param;
+
+/**
+ * Matching the headers and query parameters of a typical browser request
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultiValueMapMatcherBenchmark {
+
+    private MultiValueMapMatcher literalHeaderMatcher;
+    private MultiValueMapMatcher regexHeaderMatcher;
+    private MultiValueMapMatcher queryParameterMatcher;
+    private Headers sharedRequestHeaders;
+
+    @Setup(Level.Trial)
+    public void createMatchers() {
+        ConfigurationProperties.logLevel("WARN");
+        MockServerLogger mockServerLogger = new MockServerLogger();
+        literalHeaderMatcher = new MultiValueMapMatcher(mockServerLogger, new Headers(
+            header("Accept", "application/json"),
+            header("X-Request-Id", "a0e6bd6a-4a4e-4b2e-9b4c-1d8f3f2b8a11")
+        ), false);
+        regexHeaderMatcher = new MultiValueMapMatcher(mockServerLogger, new Headers(
+            header("content-type", "application/.*json.*"),
+            header(string("user-agent"), string("Mozilla/5\\.0 .*")),
+            header(not("Authorization"))
+        ), false);
+        queryParameterMatcher = new MultiValueMapMatcher(mockServerLogger, new Parameters(
+            param("page", "[0-9]+"),
+            param("sort", "name", "price"),
+            param("filter", "colour:.*")
+        ), false);
+        sharedRequestHeaders = requestHeaders();
+    }
+
+    @Benchmark
+    public boolean literalHeaders() {
+        return literalHeaderMatcher.matches(null, requestHeaders());
+    }
+
+    /**
+     * the same request headers matched again, as when a request is matched against many expectations
+     */
+    @Benchmark
+    public boolean literalHeadersSharedRequest() {
+        return literalHeaderMatcher.matches(null, sharedRequestHeaders);
+    }
+
+    @Benchmark
+    public boolean regexHeaders() {
+        return regexHeaderMatcher.matches(null, requestHeaders());
+    }
+
+    @Benchmark
+    public boolean queryParameters() {
+        return queryParameterMatcher.matches(null, new Parameters(
+            param("page", "12"),
+            param("size", "50"),
+            param("sort", "name", "price"),
+            param("filter", "colour:green"),
+            param("utm_source", "newsletter")
+        ));
+    }
+
+    private Headers requestHeaders() {
+        return new Headers(
+            header("Host", "localhost:1080"),
+            header("User-Agent", "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.15; rv:84.0) Gecko/20100101 Firefox/84.0"),
+            header("Accept", "application/json"),
+            header("Accept-Language", "en-GB,en;q=0.5"),
+            header("Accept-Encoding", "gzip, deflate, br"),
+            header("Content-Type", "application/json; charset=utf-8"),
+            header("Content-Length", "187"),
+            header("Connection", "keep-alive"),
+            header("Cookie", "session=2c9b6c9a; theme=dark"),
+            header("Cache-Control", "no-cache"),
+            header("X-Request-Id", "a0e6bd6a-4a4e-4b2e-9b4c-1d8f3f2b8a11"),
+            header("X-Forwarded-For", "10.0.0.1")
+        );
+    }
+}
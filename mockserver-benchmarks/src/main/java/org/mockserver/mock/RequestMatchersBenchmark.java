@@ -0,0 +1,97 @@
+package org.mockserver.mock;
+
+import org.mockserver.closurecallback.websocketregistry.WebSocketClientRegistry;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.scheduler.Scheduler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.mock.listeners.MockServerMatcherNotifier.Cause.API;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * Matching a request against a growing number of expectations, every tenth expectation uses a regex path
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestMatchersBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    public int expectations;
+
+    private Scheduler scheduler;
+    private RequestMatchers requestMatchers;
+
+    @Setup(Level.Trial)
+    public void createExpectations() {
+        ConfigurationProperties.logLevel("WARN");
+        ConfigurationProperties.maxExpectations(Math.max(expectations, ConfigurationProperties.maxExpectations()));
+        MockServerLogger mockServerLogger = new MockServerLogger();
+        scheduler = new Scheduler(mockServerLogger);
+        requestMatchers = new RequestMatchers(mockServerLogger, scheduler, new WebSocketClientRegistry(mockServerLogger));
+        for (int i = 0; i < expectations; i++) {
+            requestMatchers.add(
+                new Expectation(
+                    request()
+                        .withMethod(i % 2 == 0 ? "GET" : "POST")
+                        .withPath(i % 10 == 0 ? "/some/regex_path_" + i + "/[a-z]+" : "/some/path_" + i)
+                        .withHeader("x-request-id", String.valueOf(i))
+                )
+                    .thenRespond(response().withBody("some_body_" + i)),
+                API
+            );
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopScheduler() {
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public Expectation matchFirstExpectation() {
+        return requestMatchers.firstMatchingExpectation(matchingRequest(1));
+    }
+
+    @Benchmark
+    public Expectation matchLastExpectation() {
+        return requestMatchers.firstMatchingExpectation(matchingRequest(expectations - 1));
+    }
+
+    @Benchmark
+    public Expectation matchRegexPathExpectation() {
+        return requestMatchers.firstMatchingExpectation(
+            request()
+                .withMethod("GET")
+                .withPath("/some/regex_path_" + (expectations - 10) + "/abc")
+                .withHeader("x-request-id", String.valueOf(expectations - 10))
+        );
+    }
+
+    @Benchmark
+    public Expectation matchNoExpectation() {
+        return requestMatchers.firstMatchingExpectation(
+            request()
+                .withMethod("GET")
+                .withPath("/some/unknown_path")
+                .withHeader("x-request-id", "unknown")
+        );
+    }
+
+    private HttpRequest matchingRequest(int i) {
+        return request()
+            .withMethod(i % 2 == 0 ? "GET" : "POST")
+            .withPath("/some/path_" + i)
+            .withHeader("x-request-id", String.valueOf(i));
+    }
+}
@@ -0,0 +1,77 @@
+package org.mockserver.serialization;
+
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.TimeToLive;
+import org.mockserver.matchers.Times;
+import org.mockserver.mock.Expectation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.model.Cookie.cookie;
+import static org.mockserver.model.Header.header;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.JsonBody.json;
+import static org.mockserver.model.Parameter.param;
+
+/**
+ * Serialising and deserialising a typical expectation as used by the REST API and expectation persistence
+ *
+ * @author jamesdbloom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpectationSerializerBenchmark {
+
+    private ExpectationSerializer expectationSerializer;
+    private Expectation expectation;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void createExpectation() {
+        ConfigurationProperties.logLevel("WARN");
+        expectationSerializer = new ExpectationSerializer(new MockServerLogger());
+        expectation = new Expectation(
+            request()
+                .withMethod("POST")
+                .withPath("/some/path/{id}")
+                .withPathParameter("id", "[0-9]+")
+                .withQueryStringParameters(param("page", "1"), param("sort", "name"))
+                .withHeaders(header("Content-Type", "application/json"), header("X-Request-Id", ".*"))
+                .withCookies(cookie("session", "[a-z0-9]+"))
+                .withBody(json("{ \"name\": \"A green door\", \"tags\": [\"green\"] }")),
+            Times.exactly(10),
+            TimeToLive.unlimited(),
+            5
+        )
+            .withId("a0e6bd6a-4a4e-4b2e-9b4c-1d8f3f2b8a11")
+            .thenRespond(
+                response()
+                    .withStatusCode(201)
+                    .withHeader("Location", "/some/path/1")
+                    .withBody(json("{ \"id\": 1, \"name\": \"A green door\" }"))
+            );
+        json = expectationSerializer.serialize(expectation);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return expectationSerializer.serialize(expectation);
+    }
+
+    @Benchmark
+    public Expectation deserialize() {
+        return expectationSerializer.deserialize(json);
+    }
+
+    @Benchmark
+    public Expectation roundTrip() {
+        return expectationSerializer.deserialize(expectationSerializer.serialize(expectation));
+    }
+}
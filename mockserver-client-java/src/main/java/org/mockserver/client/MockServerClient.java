@@ -1,7 +1,6 @@
 package org.mockserver.client;
 
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import org.mockserver.Version;
 import org.mockserver.client.MockServerEventBus.EventType;
 import org.mockserver.configuration.ConfigurationProperties;
@@ -14,6 +13,7 @@ import org.mockserver.mock.OpenAPIExpectation;
 import org.mockserver.model.*;
 import org.mockserver.scheduler.Scheduler;
 import org.mockserver.serialization.*;
+import org.mockserver.socket.SocketTransport;
 import org.mockserver.socket.tls.NettySslContextFactory;
 import org.mockserver.stop.Stoppable;
 import org.mockserver.verify.Verification;
@@ -24,20 +24,27 @@ import java.awt.*;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.concurrent.*;
+import java.util.function.Function;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
 import static io.netty.handler.codec.http.HttpHeaderNames.HOST;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.configuration.ConfigurationProperties.maxFutureTimeout;
 import static org.mockserver.formatting.StringFormatter.formatLogMessage;
 import static org.mockserver.mock.HttpState.LOG_SEPARATOR;
+import static org.mockserver.mock.HttpState.NEXT_AFTER_HEADER;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.MediaType.APPLICATION_JSON_UTF_8;
 import static org.mockserver.model.PortBinding.portBinding;
@@ -52,7 +59,7 @@ public class MockServerClient implements Stoppable {
 
     private static final MockServerLogger MOCK_SERVER_LOGGER = new MockServerLogger(MockServerClient.class);
     private static final Map<Integer, MockServerEventBus> EVENT_BUS_MAP = new ConcurrentHashMap<>();
-    private final EventLoopGroup eventLoopGroup = new NioEventLoopGroup(5, new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-eventLoop"));
+    private final EventLoopGroup eventLoopGroup = SocketTransport.configured().eventLoopGroup(5, new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-eventLoop"));
     private final String host;
     private final String contextPath;
     private final Class<MockServerClient> clientClass;
@@ -818,6 +825,36 @@ public class MockServerClient implements Stoppable {
         return httpResponse.getBodyAsString();
     }
 
+    /**
+     * Retrieve the recorded requests that match the httpRequest parameter a page at a time, each page is only retrieved once every request in the previous page has been iterated over, use null for the parameter to retrieve all requests
+     *
+     * @param requestDefinition the http request that is matched against when deciding whether to return each request, use null for the parameter to retrieve for all requests
+     * @param pageSize          the maximum number of requests retrieved in each page
+     * @return an iterator over all requests that have been recorded by the MockServer in the order they have been received and including duplicates where the same request has been received multiple times
+     */
+    public Iterator<RequestDefinition> retrieveRecordedRequestsInPages(RequestDefinition requestDefinition, int pageSize) {
+        return new PageIterator<>(after -> {
+            HttpRequest request = request()
+                .withMethod("PUT")
+                .withContentType(APPLICATION_JSON_UTF_8)
+                .withPath(calculatePath("retrieve"))
+                .withQueryStringParameter("type", RetrieveType.REQUESTS.name())
+                .withQueryStringParameter("format", Format.JSON.name())
+                .withQueryStringParameter("limit", String.valueOf(pageSize))
+                .withBody(requestDefinition != null ? requestDefinitionSerializer.serialize(requestDefinition) : "", StandardCharsets.UTF_8);
+            if (after != null) {
+                request.withQueryStringParameter("after", after);
+            }
+            return sendRequest(request);
+        }, recordedRequests -> {
+            if (isNotBlank(recordedRequests) && !recordedRequests.equals("[]")) {
+                return requestDefinitionSerializer.deserializeArray(recordedRequests);
+            } else {
+                return new RequestDefinition[0];
+            }
+        });
+    }
+
     /**
      * Retrieve the recorded requests and responses that match the httpRequest parameter, use null for the parameter to retrieve all requests and responses
      *
@@ -1198,4 +1235,41 @@ public class MockServerClient implements Stoppable {
         );
         return httpResponse.getBodyAsString();
     }
+
+    /**
+     * Iterates over the pages of a paginated retrieve, the next page is only retrieved, using the cursor in the
+     * response for the previous page, once every item in the previous page has been returned
+     */
+    private static class PageIterator<T> implements Iterator<T> {
+
+        private final Function<String, HttpResponse> pageRetriever;
+        private final Function<String, T[]> pageDeserializer;
+        private Iterator<T> page = Collections.emptyIterator();
+        private String after;
+        private boolean lastPage;
+
+        private PageIterator(Function<String, HttpResponse> pageRetriever, Function<String, T[]> pageDeserializer) {
+            this.pageRetriever = pageRetriever;
+            this.pageDeserializer = pageDeserializer;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!page.hasNext() && !lastPage) {
+                HttpResponse httpResponse = pageRetriever.apply(after);
+                page = Arrays.asList(pageDeserializer.apply(httpResponse.getBodyAsString())).iterator();
+                after = httpResponse.getFirstHeader(NEXT_AFTER_HEADER);
+                lastPage = isBlank(after);
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+    }
 }
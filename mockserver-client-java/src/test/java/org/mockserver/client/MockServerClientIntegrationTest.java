@@ -24,6 +24,8 @@ import org.mockserver.verify.VerificationTimes;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -37,6 +39,7 @@ import static org.junit.Assert.fail;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.matchers.Times.exactly;
 import static org.mockserver.matchers.Times.once;
+import static org.mockserver.mock.HttpState.NEXT_AFTER_HEADER;
 import static org.mockserver.model.HttpClassCallback.callback;
 import static org.mockserver.model.HttpError.error;
 import static org.mockserver.model.HttpForward.Scheme.HTTPS;
@@ -1322,6 +1325,42 @@ public class MockServerClientIntegrationTest {
         }
     }
 
+    @Test
+    public void shouldRetrieveRequestsInPages() {
+        // given
+        echoServerOne.withNextResponse(
+            response()
+                .withStatusCode(200)
+                .withContentType(APPLICATION_JSON)
+                .withHeader(NEXT_AFTER_HEADER, "5")
+                .withBody(new StringBody(new HttpRequestSerializer(MOCK_SERVER_LOGGER).serialize(Arrays.asList(
+                    request("/some_request_one"),
+                    request("/some_request_two")
+                )))),
+            response()
+                .withStatusCode(200)
+                .withContentType(APPLICATION_JSON)
+                .withBody(new StringBody(new HttpRequestSerializer(MOCK_SERVER_LOGGER).serialize(Collections.singletonList(
+                    request("/some_request_three")
+                ))))
+        );
+
+        // when
+        Iterator<RequestDefinition> recordedRequests = mockServerClientOne.retrieveRecordedRequestsInPages(request().withPath("/some_path"), 2);
+
+        // then - each page is only retrieved when needed
+        assertThat(recordedRequests.next(), is(request("/some_request_one")));
+        assertThat(retrieveRequests(request().withPath("/mockserver/retrieve")).size(), is(1));
+        assertThat(recordedRequests.next(), is(request("/some_request_two")));
+        assertThat(recordedRequests.next(), is(request("/some_request_three")));
+        assertThat(recordedRequests.hasNext(), is(false));
+        List<RequestDefinition> retrieveRequests = retrieveRequests(request().withPath("/mockserver/retrieve"));
+        assertThat(retrieveRequests.size(), is(2));
+        assertThat(((HttpRequest) retrieveRequests.get(0)).getFirstQueryStringParameter("limit"), is("2"));
+        assertThat(((HttpRequest) retrieveRequests.get(0)).getFirstQueryStringParameter("after"), is(""));
+        assertThat(((HttpRequest) retrieveRequests.get(1)).getFirstQueryStringParameter("after"), is("5"));
+    }
+
     @Test
     public void shouldRetrieveRequestsWithNullRequest() {
         // given
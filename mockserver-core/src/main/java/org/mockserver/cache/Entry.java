@@ -4,7 +4,8 @@ public class Entry<T> {
 
     private final long ttlInMillis;
     private final T value;
-    private long expiryInMillis;
+    private volatile long expiryInMillis;
+    private volatile boolean recentlyAccessed;
 
     public Entry(long ttlInMillis, long expiryInMillis, T value) {
         this.ttlInMillis = ttlInMillis;
@@ -28,4 +29,23 @@ public class Entry<T> {
     public T getValue() {
         return value;
     }
+
+    public void markAccessed() {
+        // avoid writing the shared field on every read once it is already set
+        if (!recentlyAccessed) {
+            recentlyAccessed = true;
+        }
+    }
+
+    /**
+     * Clears the accessed flag returning whether it was set
+     */
+    public boolean clearAccessed() {
+        if (recentlyAccessed) {
+            recentlyAccessed = false;
+            return true;
+        } else {
+            return false;
+        }
+    }
 }
@@ -1,13 +1,13 @@
 package org.mockserver.cache;
 
 import com.google.common.annotations.VisibleForTesting;
+import org.mockserver.collections.ConcurrentLinkedHashSet;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static org.slf4j.event.Level.TRACE;
 
@@ -20,14 +20,14 @@ public class LRUCache<K, V> {
     private final long ttlInMillis;
     private final int maxSize;
     private final ConcurrentHashMap<K, Entry<V>> map;
-    private final ConcurrentLinkedQueue<K> queue;
+    private final ConcurrentLinkedHashSet<K> queue;
     private final MockServerLogger mockServerLogger;
 
     public LRUCache(final MockServerLogger mockServerLogger, final int maxSize, long ttlInMillis) {
         this.mockServerLogger = mockServerLogger;
         this.maxSize = maxSize;
         this.map = new ConcurrentHashMap<>(maxSize);
-        this.queue = new ConcurrentLinkedQueue<>();
+        this.queue = new ConcurrentLinkedHashSet<>();
         this.ttlInMillis = ttlInMillis;
         LRUCache.allCaches.add(this);
     }
@@ -55,11 +55,20 @@ public class LRUCache<K, V> {
                 // ensure the queue is in FIFO order
                 queue.remove(key);
             }
+            // approximate lru, entries read since they were queued get a second chance instead of being evicted
+            int secondChances = queue.size();
             while (queue.size() >= maxSize
                 || maxSizeOverride > 0 && queue.size() >= maxSizeOverride) {
                 K oldestKey = queue.poll();
                 if (null != oldestKey) {
-                    map.remove(oldestKey);
+                    Entry<V> oldest = map.get(oldestKey);
+                    if (oldest != null && secondChances-- > 0 && oldest.clearAccessed()) {
+                        queue.add(oldestKey);
+                    } else {
+                        map.remove(oldestKey);
+                    }
+                } else {
+                    break;
                 }
             }
             queue.add(key);
@@ -81,15 +90,11 @@ public class LRUCache<K, V> {
 
     public V get(K key) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                // remove from the queue and add it again in FIFO queue
-                queue.remove(key);
-                queue.add(key);
-            }
-
+            // reads don't reorder the queue so they never contend on its lock, the entry is only flagged as accessed
             Entry<V> entry = map.get(key);
             if (entry != null) {
                 if (entry.getExpiryInMillis() > System.currentTimeMillis()) {
+                    entry.markAccessed();
                     return entry.updateExpiryInMillis(expiryInMillis(entry.getTtlInMillis())).getValue();
                 } else {
                     delete(key);
@@ -101,14 +106,12 @@ public class LRUCache<K, V> {
 
     public void delete(K key) {
         if (allCachesEnabled && key != null) {
-            if (map.containsKey(key)) {
-                map.remove(key);
-                queue.remove(key);
-            }
+            map.remove(key);
+            queue.remove(key);
         }
     }
 
-    private void clear() {
+    public void clear() {
         map.clear();
         queue.clear();
     }
@@ -0,0 +1,61 @@
+package org.mockserver.client;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.HttpContentDecompressor;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import org.mockserver.codec.Http2ExtensionHeaderRemover;
+import org.mockserver.codec.MockServerHttpClientCodec;
+import org.mockserver.logging.LoggingHandler;
+import org.mockserver.logging.MockServerLogger;
+
+import static org.slf4j.event.Level.TRACE;
+
+/**
+ * Initialises each HTTP/2 stream opened on a multiplexed connection, frames for the stream are converted to and from
+ * HTTP/1.x messages so a request is sent, and its response received, on its stream the same as on an HTTP/1.1 connection
+ *
+ * @author jamesdbloom
+ */
+@ChannelHandler.Sharable
+public class Http2ClientStreamInitializer extends ChannelInitializer<Channel> {
+
+    private final MockServerLogger mockServerLogger;
+    private final HttpClientConnectionErrorHandler httpClientConnectionHandler;
+    private final HttpClientHandler httpClientHandler;
+    private final Http2ExtensionHeaderRemover http2ExtensionHeaderRemover;
+
+    Http2ClientStreamInitializer(MockServerLogger mockServerLogger) {
+        this.mockServerLogger = mockServerLogger;
+        this.httpClientConnectionHandler = new HttpClientConnectionErrorHandler();
+        this.httpClientHandler = new HttpClientHandler();
+        this.http2ExtensionHeaderRemover = new Http2ExtensionHeaderRemover();
+    }
+
+    @Override
+    protected void initChannel(Channel channel) {
+        ChannelPipeline pipeline = channel.pipeline();
+
+        pipeline.addLast(httpClientConnectionHandler);
+
+        // add logging
+        if (MockServerLogger.isEnabled(TRACE)) {
+            pipeline.addLast(new LoggingHandler("NettyHttpClient -->"));
+        }
+
+        pipeline.addLast(new Http2StreamFrameToHttpObjectCodec(false));
+
+        pipeline.addLast(new HttpContentDecompressor());
+
+        pipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+
+        pipeline.addLast(http2ExtensionHeaderRemover);
+
+        pipeline.addLast(new MockServerHttpClientCodec(mockServerLogger));
+
+        pipeline.addLast(httpClientHandler);
+    }
+}
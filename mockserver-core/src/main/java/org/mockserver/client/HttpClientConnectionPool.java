@@ -0,0 +1,145 @@
+package org.mockserver.client;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.*;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.AbstractChannelPoolMap;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.metrics.Metrics;
+import org.mockserver.model.Message;
+import org.mockserver.socket.SocketTransport;
+
+import java.net.InetSocketAddress;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockserver.client.NettyHttpClient.*;
+
+/**
+ * Pools of keep-alive connections for forwarded HTTP requests, one pool for each scheme, host and port, so requests
+ * reuse an open connection (and for HTTPS its TLS session) instead of connecting for every request.
+ * <p>
+ * Each NettyHttpClient has its own pools so connections are never shared between clients with a different upstream
+ * proxy. Each pool opens at most forwardMaxConnectionsPerHost connections, closes connections idle for longer than
+ * forwardConnectionIdleTimeout and only hands out connections that are still open.
+ * <p>
+ * When HTTP/2 is negotiated a connection is only held while a stream is opened on it, so concurrent requests are
+ * multiplexed over the most recently used connection.
+ *
+ * @author jamesdbloom
+ */
+class HttpClientConnectionPool extends AbstractChannelPoolMap<HttpClientConnectionPool.Key, FixedChannelPool> {
+
+    private static final AttributeKey<Boolean> IDLE_CLOSED = AttributeKey.valueOf("IDLE_CLOSED");
+    private final EventLoopGroup eventLoopGroup;
+    private final HttpClientInitializer httpClientInitializer;
+    private final int maxConnectionsPerHost;
+    private final long idleTimeoutMillis;
+
+    HttpClientConnectionPool(EventLoopGroup eventLoopGroup, HttpClientInitializer httpClientInitializer) {
+        this.eventLoopGroup = eventLoopGroup;
+        this.httpClientInitializer = httpClientInitializer;
+        this.maxConnectionsPerHost = ConfigurationProperties.forwardMaxConnectionsPerHost();
+        this.idleTimeoutMillis = ConfigurationProperties.forwardConnectionIdleTimeout();
+    }
+
+    @Override
+    protected FixedChannelPool newPool(Key key) {
+        Bootstrap bootstrap = new Bootstrap()
+            .group(eventLoopGroup)
+            .channel(SocketTransport.of(eventLoopGroup).socketChannel())
+            .option(ChannelOption.AUTO_READ, true)
+            .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+            .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, key.connectionTimeoutMillis)
+            .attr(SECURE, key.secure)
+            .attr(REMOTE_SOCKET, key.remoteAddress)
+            .attr(POOLED, true)
+            .remoteAddress(key.remoteAddress);
+        return new FixedChannelPool(
+            bootstrap,
+            new ConnectionPoolHandler(),
+            ChannelHealthChecker.ACTIVE,
+            FixedChannelPool.AcquireTimeoutAction.FAIL,
+            ConfigurationProperties.maxSocketTimeout(),
+            maxConnectionsPerHost,
+            Integer.MAX_VALUE,
+            true,
+            true
+        );
+    }
+
+    private class ConnectionPoolHandler extends AbstractChannelPoolHandler {
+
+        @Override
+        public void channelCreated(Channel channel) {
+            Metrics.recordForwardConnectionCreated();
+            channel.closeFuture().addListener(future -> Metrics.recordForwardConnectionClosed(Boolean.TRUE.equals(channel.attr(IDLE_CLOSED).get())));
+            channel.pipeline().addLast(new IdleStateHandler(0, 0, idleTimeoutMillis, TimeUnit.MILLISECONDS));
+            channel.pipeline().addLast(new IdleConnectionCloser());
+            channel.pipeline().addLast(httpClientInitializer);
+        }
+    }
+
+    /**
+     * Closes a connection that has been idle for the idle timeout unless it is waiting for a response, or for HTTP/2 has
+     * open streams, a closed connection is discarded by the pool the next time it would be handed out
+     */
+    private static class IdleConnectionCloser extends ChannelInboundHandlerAdapter {
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object event) throws Exception {
+            if (event instanceof IdleStateEvent) {
+                CompletableFuture<Message> responseFuture = ctx.channel().attr(RESPONSE_FUTURE).get();
+                Http2FrameCodec http2FrameCodec = ctx.pipeline().get(Http2FrameCodec.class);
+                boolean openStreams = http2FrameCodec != null && http2FrameCodec.connection().numActiveStreams() > 0;
+                if ((responseFuture == null || responseFuture.isDone()) && !openStreams) {
+                    ctx.channel().attr(IDLE_CLOSED).set(true);
+                    ctx.close();
+                }
+            } else {
+                super.userEventTriggered(ctx, event);
+            }
+        }
+    }
+
+    static class Key {
+        private final boolean secure;
+        private final InetSocketAddress remoteAddress;
+        private final int connectionTimeoutMillis;
+
+        Key(boolean secure, InetSocketAddress remoteAddress, int connectionTimeoutMillis) {
+            this.secure = secure;
+            this.remoteAddress = remoteAddress;
+            this.connectionTimeoutMillis = connectionTimeoutMillis;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            // compared by host name not address as the host name is used for TLS SNI and certificate checks
+            return secure == key.secure &&
+                connectionTimeoutMillis == key.connectionTimeoutMillis &&
+                remoteAddress.getPort() == key.remoteAddress.getPort() &&
+                Objects.equals(remoteAddress.getHostString(), key.remoteAddress.getHostString());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(secure, remoteAddress.getHostString(), remoteAddress.getPort(), connectionTimeoutMillis);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.mockserver.client.NettyHttpClient.POOLED;
 import static org.mockserver.client.NettyHttpClient.RESPONSE_FUTURE;
 
 @ChannelHandler.Sharable
@@ -30,7 +31,10 @@ public class HttpClientHandler extends SimpleChannelInboundHandler<Message> {
     @Override
     public void channelRead0(ChannelHandlerContext ctx, Message response) {
         ctx.channel().attr(RESPONSE_FUTURE).get().complete(response);
-        ctx.close();
+        // pooled connections are released to their pool, or closed, once the response is handled
+        if (!Boolean.TRUE.equals(ctx.channel().attr(POOLED).get())) {
+            ctx.close();
+        }
     }
 
     @Override
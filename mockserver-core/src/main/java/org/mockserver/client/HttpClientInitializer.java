@@ -1,14 +1,21 @@
 package org.mockserver.client;
 
 import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
 import io.netty.handler.proxy.HttpProxyHandler;
 import io.netty.handler.proxy.Socks5ProxyHandler;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import org.mockserver.codec.MockServerBinaryClientCodec;
 import org.mockserver.codec.MockServerHttpClientCodec;
 import org.mockserver.logging.LoggingHandler;
@@ -17,7 +24,9 @@ import org.mockserver.proxyconfiguration.ProxyConfiguration;
 import org.mockserver.socket.tls.NettySslContextFactory;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
 
+import static org.mockserver.client.NettyHttpClient.APPLICATION_PROTOCOL;
 import static org.mockserver.client.NettyHttpClient.REMOTE_SOCKET;
 import static org.mockserver.client.NettyHttpClient.SECURE;
 import static org.slf4j.event.Level.TRACE;
@@ -28,16 +37,26 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
     private final MockServerLogger mockServerLogger;
     private final boolean forwardProxyClient;
     private final boolean isHttp;
+    private final boolean http2;
     private final HttpClientConnectionErrorHandler httpClientConnectionHandler;
     private final HttpClientHandler httpClientHandler;
     private final ProxyConfiguration proxyConfiguration;
     private final NettySslContextFactory nettySslContextFactory;
 
     HttpClientInitializer(ProxyConfiguration proxyConfiguration, MockServerLogger mockServerLogger, boolean forwardProxyClient, NettySslContextFactory nettySslContextFactory, boolean isHttp) {
+        this(proxyConfiguration, mockServerLogger, forwardProxyClient, nettySslContextFactory, isHttp, false);
+    }
+
+    /**
+     * @param http2 offer HTTP/2 using ALPN for secure connections, the pipeline for HTTP/2 or HTTP/1.1 is added once the
+     *              protocol has been negotiated, which completes the channel's APPLICATION_PROTOCOL future
+     */
+    HttpClientInitializer(ProxyConfiguration proxyConfiguration, MockServerLogger mockServerLogger, boolean forwardProxyClient, NettySslContextFactory nettySslContextFactory, boolean isHttp, boolean http2) {
         this.proxyConfiguration = proxyConfiguration;
         this.mockServerLogger = mockServerLogger;
         this.forwardProxyClient = forwardProxyClient;
         this.isHttp = isHttp;
+        this.http2 = http2;
         this.httpClientHandler = new HttpClientHandler();
         this.httpClientConnectionHandler = new HttpClientConnectionErrorHandler();
         this.nettySslContextFactory = nettySslContextFactory;
@@ -65,9 +84,10 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
         }
         pipeline.addLast(httpClientConnectionHandler);
 
+        boolean negotiateHttp2 = secure && isHttp && http2;
         if (secure) {
             InetSocketAddress remoteAddress = channel.attr(REMOTE_SOCKET).get();
-            pipeline.addLast(nettySslContextFactory.createClientSslContext(forwardProxyClient).newHandler(channel.alloc(), remoteAddress.getHostName(), remoteAddress.getPort()));
+            pipeline.addLast(nettySslContextFactory.createClientSslContext(forwardProxyClient, negotiateHttp2).newHandler(channel.alloc(), remoteAddress.getHostName(), remoteAddress.getPort()));
         }
 
         // add logging
@@ -75,18 +95,54 @@ public class HttpClientInitializer extends ChannelInitializer<SocketChannel> {
             pipeline.addLast(new LoggingHandler("NettyHttpClient -->"));
         }
 
-        if (isHttp) {
-            pipeline.addLast(new HttpClientCodec());
-
-            pipeline.addLast(new HttpContentDecompressor());
-
-            pipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+        if (negotiateHttp2) {
+            CompletableFuture<String> applicationProtocol = new CompletableFuture<>();
+            channel.attr(APPLICATION_PROTOCOL).set(applicationProtocol);
+            channel.closeFuture().addListener(future -> applicationProtocol.completeExceptionally(new SocketConnectionException("Channel closed before protocol was negotiated")));
+            pipeline.addLast(new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                @Override
+                protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                    if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                        // requests are sent on streams opened by NettyHttpClient, server push isn't used
+                        ctx.pipeline().addLast(Http2FrameCodecBuilder.forClient().initialSettings(Http2Settings.defaultSettings().pushEnabled(false)).build());
+                        ctx.pipeline().addLast(new Http2MultiplexHandler(new PushedStreamRejector()));
+                    } else {
+                        addHttpHandlers(ctx.pipeline());
+                    }
+                    applicationProtocol.complete(protocol);
+                }
 
-            pipeline.addLast(new MockServerHttpClientCodec(mockServerLogger));
+                @Override
+                protected void handshakeFailure(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+                    applicationProtocol.completeExceptionally(cause);
+                    super.handshakeFailure(ctx, cause);
+                }
+            });
+        } else if (isHttp) {
+            addHttpHandlers(pipeline);
         } else {
             pipeline.addLast(new MockServerBinaryClientCodec());
+            pipeline.addLast(httpClientHandler);
         }
+    }
+
+    private void addHttpHandlers(ChannelPipeline pipeline) {
+        pipeline.addLast(new HttpClientCodec());
+
+        pipeline.addLast(new HttpContentDecompressor());
+
+        pipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+
+        pipeline.addLast(new MockServerHttpClientCodec(mockServerLogger));
 
         pipeline.addLast(httpClientHandler);
     }
+
+    @ChannelHandler.Sharable
+    private static class PushedStreamRejector extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            ctx.close();
+        }
+    }
 }
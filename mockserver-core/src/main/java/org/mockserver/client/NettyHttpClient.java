@@ -1,23 +1,33 @@
 package org.mockserver.client;
 
+import com.google.common.collect.ImmutableSet;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.WriteBufferWaterMark;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ScheduledFuture;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.model.BinaryMessage;
+import org.mockserver.model.HttpMessage;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.model.Message;
 import org.mockserver.proxyconfiguration.ProxyConfiguration;
+import org.mockserver.socket.SocketTransport;
 import org.mockserver.socket.tls.NettySslContextFactory;
 import org.slf4j.event.Level;
 
@@ -26,21 +36,30 @@ import java.io.IOException;
 import java.net.ConnectException;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import static io.netty.handler.codec.http.HttpHeaderNames.CONNECTION;
+
 public class NettyHttpClient {
 
     static final AttributeKey<Boolean> SECURE = AttributeKey.valueOf("SECURE");
     static final AttributeKey<InetSocketAddress> REMOTE_SOCKET = AttributeKey.valueOf("REMOTE_SOCKET");
     static final AttributeKey<CompletableFuture<Message>> RESPONSE_FUTURE = AttributeKey.valueOf("RESPONSE_FUTURE");
+    static final AttributeKey<Boolean> POOLED = AttributeKey.valueOf("POOLED");
+    static final AttributeKey<CompletableFuture<String>> APPLICATION_PROTOCOL = AttributeKey.valueOf("APPLICATION_PROTOCOL");
+    private static final AttributeKey<Boolean> USED = AttributeKey.valueOf("USED");
+    private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE");
     private final MockServerLogger mockServerLogger;
     private final EventLoopGroup eventLoopGroup;
     private final ProxyConfiguration proxyConfiguration;
     private final boolean forwardProxyClient;
     private final NettySslContextFactory nettySslContextFactory;
+    private final HttpClientConnectionPool connectionPool;
+    private final Http2ClientStreamInitializer http2ClientStreamInitializer;
 
     public NettyHttpClient(MockServerLogger mockServerLogger, EventLoopGroup eventLoopGroup, ProxyConfiguration proxyConfiguration, boolean forwardProxyClient) {
         this(mockServerLogger, eventLoopGroup, proxyConfiguration, forwardProxyClient, new NettySslContextFactory(mockServerLogger));
@@ -52,6 +71,19 @@ public class NettyHttpClient {
         this.proxyConfiguration = proxyConfiguration;
         this.forwardProxyClient = forwardProxyClient;
         this.nettySslContextFactory = nettySslContextFactory;
+        if (forwardProxyClient && ConfigurationProperties.forwardConnectionPooling()) {
+            // HTTP/2 streams are multiplexed over pooled connections, an upstream proxy is always spoken to with HTTP/1.1
+            boolean http2 = ConfigurationProperties.enableHttp2() && proxyConfiguration == null;
+            this.connectionPool = new HttpClientConnectionPool(eventLoopGroup, new HttpClientInitializer(proxyConfiguration, mockServerLogger, true, nettySslContextFactory, true, http2));
+            this.http2ClientStreamInitializer = http2 ? new Http2ClientStreamInitializer(mockServerLogger) : null;
+        } else {
+            this.connectionPool = null;
+            this.http2ClientStreamInitializer = null;
+        }
+    }
+
+    public ProxyConfiguration getProxyConfiguration() {
+        return proxyConfiguration;
     }
 
     public CompletableFuture<HttpResponse> sendRequest(final HttpRequest httpRequest) throws SocketConnectionException {
@@ -71,10 +103,15 @@ public class NettyHttpClient {
             }
 
             final CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
+            if (connectionPool != null) {
+                HttpClientConnectionPool.Key key = new HttpClientConnectionPool.Key(httpRequest.isSecure() != null && httpRequest.isSecure(), remoteAddress, connectionTimeoutMillis);
+                sendPooledRequest(httpRequest, connectionPool.get(key), httpResponseFuture, true);
+                return httpResponseFuture;
+            }
             final CompletableFuture<Message> responseFuture = new CompletableFuture<>();
             new Bootstrap()
                 .group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
+                .channel(SocketTransport.of(eventLoopGroup).socketChannel())
                 .option(ChannelOption.AUTO_READ, true)
                 .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                 .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
@@ -108,6 +145,130 @@ public class NettyHttpClient {
         }
     }
 
+    /**
+     * Sends the request on a pooled connection, an HTTP/1.1 connection is released back to the pool once the response is
+     * received unless either the request or response asked for the connection to be closed, an HTTP/2 connection is
+     * released as soon as a stream has been opened for the request so other requests can share it.
+     * <p>
+     * An idle pooled connection can be closed by the remote host just as a request is sent on it, so if a reused
+     * connection closes before a response is received the request is sent once more on another connection. As the
+     * remote host may already have processed the request it is only sent again if its method is idempotent, or if the
+     * request was never written because an HTTP/2 stream couldn't be opened for it.
+     */
+    private void sendPooledRequest(final HttpRequest httpRequest, final ChannelPool channelPool, final CompletableFuture<HttpResponse> httpResponseFuture, final boolean retryOnClosedConnection) {
+        channelPool.acquire().addListener((Future<Channel> acquireFuture) -> {
+            if (!acquireFuture.isSuccess()) {
+                httpResponseFuture.completeExceptionally(acquireFuture.cause());
+                return;
+            }
+            final Channel channel = acquireFuture.getNow();
+            final boolean reused = Boolean.TRUE.equals(channel.attr(USED).getAndSet(Boolean.TRUE));
+            if (reused) {
+                Metrics.recordForwardConnectionReused();
+            }
+            final boolean retry = reused && retryOnClosedConnection;
+            final CompletableFuture<String> applicationProtocol = channel.attr(APPLICATION_PROTOCOL).get();
+            if (applicationProtocol == null) {
+                sendHttp1Request(httpRequest, channelPool, channel, httpResponseFuture, retry);
+            } else {
+                // wait for ALPN to add either the HTTP/2 or HTTP/1.1 handlers
+                applicationProtocol.whenComplete((protocol, throwable) -> {
+                    if (throwable != null) {
+                        channel.close();
+                        channelPool.release(channel);
+                        httpResponseFuture.completeExceptionally(throwable);
+                    } else if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                        sendHttp2Request(httpRequest, channelPool, channel, httpResponseFuture, retry);
+                    } else {
+                        sendHttp1Request(httpRequest, channelPool, channel, httpResponseFuture, retry);
+                    }
+                });
+            }
+        });
+    }
+
+    private void sendHttp1Request(final HttpRequest httpRequest, final ChannelPool channelPool, final Channel channel, final CompletableFuture<HttpResponse> httpResponseFuture, final boolean retry) {
+        final CompletableFuture<Message> responseFuture = new CompletableFuture<>();
+        channel.attr(RESPONSE_FUTURE).set(responseFuture);
+        final ScheduledFuture<?> responseTimeout = scheduleResponseTimeout(channel, responseFuture);
+        responseFuture
+            .whenComplete((message, throwable) -> {
+                responseTimeout.cancel(false);
+                if (throwable != null || !isKeepAlive(httpRequest) || !isKeepAlive((HttpResponse) message)) {
+                    channel.close();
+                }
+                channelPool.release(channel);
+                completeOrRetry(httpRequest, channelPool, httpResponseFuture, retry && isIdempotent(httpRequest), message, throwable);
+            });
+        writeRequest(channel, httpRequest, responseFuture);
+    }
+
+    private void sendHttp2Request(final HttpRequest httpRequest, final ChannelPool channelPool, final Channel channel, final CompletableFuture<HttpResponse> httpResponseFuture, final boolean retry) {
+        new Http2StreamChannelBootstrap(channel)
+            .handler(http2ClientStreamInitializer)
+            .open()
+            .addListener((Future<Http2StreamChannel> streamFuture) -> {
+                if (!streamFuture.isSuccess()) {
+                    // a connection that can't open streams, i.e. after GOAWAY, won't be any use for later requests
+                    channel.close();
+                }
+                channelPool.release(channel);
+                if (!streamFuture.isSuccess()) {
+                    // nothing has been written so any request can be sent again
+                    completeOrRetry(httpRequest, channelPool, httpResponseFuture, retry, null, streamFuture.cause());
+                    return;
+                }
+                final Http2StreamChannel streamChannel = streamFuture.getNow();
+                final CompletableFuture<Message> responseFuture = new CompletableFuture<>();
+                streamChannel.attr(RESPONSE_FUTURE).set(responseFuture);
+                final ScheduledFuture<?> responseTimeout = scheduleResponseTimeout(streamChannel, responseFuture);
+                responseFuture
+                    .whenComplete((message, throwable) -> {
+                        responseTimeout.cancel(false);
+                        streamChannel.close();
+                        completeOrRetry(httpRequest, channelPool, httpResponseFuture, retry && isIdempotent(httpRequest), message, throwable);
+                    });
+                writeRequest(streamChannel, httpRequest, responseFuture);
+            });
+    }
+
+    private ScheduledFuture<?> scheduleResponseTimeout(final Channel channel, final CompletableFuture<Message> responseFuture) {
+        // the connection isn't closed after the response, so without a timeout an unanswered request would hold it forever
+        return channel.eventLoop().schedule(
+            () -> responseFuture.completeExceptionally(new SocketCommunicationException("Response was not received after " + ConfigurationProperties.maxSocketTimeout() + " milliseconds", null)),
+            ConfigurationProperties.maxSocketTimeout(),
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    private void writeRequest(final Channel channel, final HttpRequest httpRequest, final CompletableFuture<Message> responseFuture) {
+        channel
+            .writeAndFlush(httpRequest)
+            .addListener(writeFuture -> {
+                if (!writeFuture.isSuccess()) {
+                    responseFuture.completeExceptionally(writeFuture.cause());
+                }
+            });
+    }
+
+    private void completeOrRetry(final HttpRequest httpRequest, final ChannelPool channelPool, final CompletableFuture<HttpResponse> httpResponseFuture, final boolean retry, final Message message, final Throwable throwable) {
+        if (throwable == null) {
+            httpResponseFuture.complete((HttpResponse) message);
+        } else if (retry && (throwable instanceof SocketConnectionException || throwable instanceof IOException)) {
+            sendPooledRequest(httpRequest, channelPool, httpResponseFuture, false);
+        } else {
+            httpResponseFuture.completeExceptionally(throwable);
+        }
+    }
+
+    private boolean isIdempotent(HttpRequest httpRequest) {
+        return IDEMPOTENT_METHODS.contains(httpRequest.getMethod("GET").toUpperCase());
+    }
+
+    private boolean isKeepAlive(HttpMessage<?, ?> httpMessage) {
+        return !"close".equalsIgnoreCase(httpMessage.getFirstHeader(CONNECTION.toString()));
+    }
+
     public CompletableFuture<BinaryMessage> sendRequest(final BinaryMessage binaryRequest, final boolean isSecure, InetSocketAddress remoteAddress, Integer connectionTimeoutMillis) throws SocketConnectionException {
         if (!eventLoopGroup.isShuttingDown()) {
             if (proxyConfiguration != null && proxyConfiguration.getType() == ProxyConfiguration.Type.HTTP) {
@@ -120,7 +281,7 @@ public class NettyHttpClient {
             final CompletableFuture<Message> responseFuture = new CompletableFuture<>();
             new Bootstrap()
                 .group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
+                .channel(SocketTransport.of(eventLoopGroup).socketChannel())
                 .option(ChannelOption.AUTO_READ, true)
                 .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                 .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(8 * 1024, 32 * 1024))
@@ -13,6 +13,9 @@ import static org.mockserver.model.JsonBody.DEFAULT_MATCH_TYPE;
 public class BodyDecoderEncoder {
 
     public ByteBuf bodyToByteBuf(Body body, String contentTypeHeader) {
+        if (body instanceof FileBody) {
+            return MappedFileBuffers.mappedBuffer(((FileBody) body).getFile());
+        }
         byte[] bytes = bodyToBytes(body, contentTypeHeader);
         if (bytes != null) {
             return Unpooled.copiedBuffer(bytes);
@@ -22,6 +25,9 @@ public class BodyDecoderEncoder {
     }
 
     public ByteBuf[] bodyToByteBuf(Body body, String contentTypeHeader, int chunkSize) {
+        if (body instanceof FileBody) {
+            return split(MappedFileBuffers.mappedBuffer(((FileBody) body).getFile()), chunkSize);
+        }
         byte[][] chunks = split(bodyToBytes(body, contentTypeHeader), chunkSize);
         ByteBuf[] byteBufs = new ByteBuf[chunks.length];
         for (int i = 0; i < chunks.length; i++) {
@@ -34,6 +40,19 @@ public class BodyDecoderEncoder {
         return byteBufs;
     }
 
+    private static ByteBuf[] split(ByteBuf buffer, int chunkSize) {
+        if (chunkSize < buffer.readableBytes()) {
+            int numOfChunks = (buffer.readableBytes() + chunkSize - 1) / chunkSize;
+            ByteBuf[] output = new ByteBuf[numOfChunks];
+            for (int i = 0; i < numOfChunks; ++i) {
+                output[i] = buffer.readSlice(Math.min(buffer.readableBytes(), chunkSize));
+            }
+            return output;
+        } else {
+            return new ByteBuf[]{buffer};
+        }
+    }
+
     public static byte[][] split(byte[] array, int chunkSize) {
         if (chunkSize < array.length) {
             int numOfChunks = (array.length + chunkSize - 1) / chunkSize;
@@ -55,7 +74,7 @@ public class BodyDecoderEncoder {
 
     byte[] bodyToBytes(Body body, String contentTypeHeader) {
         if (body != null) {
-            if (body instanceof BinaryBody) {
+            if (body instanceof BinaryBody || body instanceof FileBody) {
                 return body.getRawBytes();
             } else if (body.getValue() instanceof String) {
                 Charset contentTypeCharset = MediaType.parse(contentTypeHeader).getCharsetOrDefault();
@@ -75,9 +75,13 @@ public class ExpandedParameterDecoder {
             for (Parameter matcherEntry : matcher.getEntries()) {
                 if (matcherEntry.getName().getParameterStyle() != null && matcherEntry.getName().getParameterStyle().isExploded()) {
                     for (Parameter matchedEntry : matched.getEntries()) {
-                        if (matcherEntry.getName().getValue().equals(matchedEntry.getName().getValue()) || matchedEntry.getName().getValue().matches(matcherEntry.getName().getValue())) {
-                            matchedEntry.replaceValues(new ExpandedParameterDecoder(mockServerLogger).splitOnDelimiter(matcherEntry.getName().getParameterStyle(), matcherEntry.getName().getValue(), matchedEntry.getValues()));
-                            matched.replaceEntry(matchedEntry);
+                        if (matcherEntry.getName().getValue().equals(matchedEntry.getName().getValue()) || matcherEntry.getName().matches(matchedEntry.getName().getValue())) {
+                            List<NottableString> splitValues = splitOnDelimiter(matcherEntry.getName().getParameterStyle(), matcherEntry.getName().getValue(), matchedEntry.getValues());
+                            // the same request is split for every expectation so only replace values that aren't already split
+                            if (!splitValues.equals(matchedEntry.getValues())) {
+                                matchedEntry.replaceValues(splitValues);
+                                matched.replaceEntry(matchedEntry);
+                            }
                         }
                     }
                 }
@@ -0,0 +1,28 @@
+package org.mockserver.codec;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.http.HttpMessage;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import io.netty.util.ReferenceCountUtil;
+
+import java.util.List;
+
+/**
+ * Removes the x-http2-* headers added when HTTP/2 frames are converted to HTTP/1.x messages, so a request or response
+ * received over HTTP/2 has the same headers it was sent with
+ *
+ * @author jamesdbloom
+ */
+@ChannelHandler.Sharable
+public class Http2ExtensionHeaderRemover extends MessageToMessageDecoder<HttpMessage> {
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, HttpMessage httpMessage, List<Object> out) {
+        for (HttpConversionUtil.ExtensionHeaderNames extensionHeaderName : HttpConversionUtil.ExtensionHeaderNames.values()) {
+            httpMessage.headers().remove(extensionHeaderName.text());
+        }
+        out.add(ReferenceCountUtil.retain(httpMessage));
+    }
+}
@@ -0,0 +1,86 @@
+package org.mockserver.codec;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.mockserver.cache.LRUCache;
+import org.mockserver.logging.MockServerLogger;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Read-only memory-mapped buffers for file response bodies, each file is mapped once and shared by every response
+ * returning it, so the body is written from the page cache without being read onto the heap or copied per response.
+ * <p>
+ * Mappings are keyed on the file's path, size and last modified time, so a file is mapped again when it changes, and at
+ * most {@link #MAX_MAPPED_FILES} are kept, the least recently used mapping is dropped, and unmapped once its buffers
+ * are garbage collected, when that is exceeded.
+ *
+ * @author jamesdbloom
+ */
+public class MappedFileBuffers {
+
+    static final int MAX_MAPPED_FILES = 100;
+    private static final LRUCache<String, ByteBuf> MAPPED_FILES = new LRUCache<>(new MockServerLogger(), MAX_MAPPED_FILES, MINUTES.toMillis(10));
+
+    private MappedFileBuffers() {
+
+    }
+
+    /**
+     * A duplicate of the shared buffer for the file, so readers have independent indexes, the returned buffer doesn't
+     * need to be released
+     */
+    public static ByteBuf mappedBuffer(File file) {
+        if (!file.isFile()) {
+            throw new UncheckedIOException(new FileNotFoundException("file body " + file + " not found"));
+        }
+        long length = file.length();
+        String key = key(file, length);
+        ByteBuf buffer = MAPPED_FILES.get(key);
+        if (buffer == null) {
+            // concurrent first reads may each map the file, every mapping is equivalent and only the last is kept
+            buffer = map(file, length);
+            MAPPED_FILES.put(key, buffer);
+        }
+        return buffer.duplicate();
+    }
+
+    @VisibleForTesting
+    static boolean isMapped(File file) {
+        return MAPPED_FILES.get(key(file, file.length())) != null;
+    }
+
+    private static String key(File file, long length) {
+        return file.getAbsolutePath() + ":" + length + ":" + file.lastModified();
+    }
+
+    /**
+     * Drops every mapping, so each file is mapped again the next time it is returned
+     */
+    public static void clear() {
+        MAPPED_FILES.clear();
+    }
+
+    private static ByteBuf map(File file, long length) {
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("file body " + file + " of " + length + " bytes is too large to map into a single buffer");
+        }
+        if (length == 0) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // the mapping remains valid after the channel is closed and is unmapped when the buffer is garbage collected
+            return Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, length)));
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("exception mapping file body " + file, ioe);
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package org.mockserver.codec;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.MessageToMessageEncoder;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mappers.MockServerHttpResponseToFullHttpResponse;
+import org.mockserver.model.ConnectionOptions;
+import org.mockserver.model.FileBody;
 import org.mockserver.model.HttpResponse;
+import org.mockserver.socket.SocketTransport;
 
+import java.io.File;
 import java.util.List;
 
 /**
@@ -21,7 +30,31 @@ public class MockServerHttpToNettyHttpResponseEncoder extends MessageToMessageEn
 
     @Override
     protected void encode(ChannelHandlerContext ctx, HttpResponse response, List<Object> out) {
-        out.addAll(mockServerHttpResponseToFullHttpResponse.mapMockServerResponseToNettyResponse(response));
+        if (response.getBody() instanceof FileBody && canSendFile(ctx, response)) {
+            // written by the kernel from the file to the socket without being copied into user space
+            File file = ((FileBody) response.getBody()).getFile();
+            long length = file.length();
+            out.add(mockServerHttpResponseToFullHttpResponse.mapMockServerResponseToNettyResponseHead(response, length));
+            out.add(new DefaultFileRegion(file, 0, length));
+            out.add(LastHttpContent.EMPTY_LAST_CONTENT);
+        } else {
+            out.addAll(mockServerHttpResponseToFullHttpResponse.mapMockServerResponseToNettyResponse(response));
+        }
+    }
+
+    private boolean canSendFile(ChannelHandlerContext ctx, HttpResponse response) {
+        if (ctx == null || !((FileBody) response.getBody()).getFile().isFile()) {
+            return false;
+        }
+        ConnectionOptions connectionOptions = response.getConnectionOptions();
+        if (connectionOptions != null && connectionOptions.getChunkSize() != null && connectionOptions.getChunkSize() > 0) {
+            return false;
+        }
+        // tls needs the body in memory to encrypt it and http2 stream channels only write buffers
+        Channel channel = ctx.channel();
+        return channel instanceof SocketChannel
+            && ctx.pipeline().get(SslHandler.class) == null
+            && SocketTransport.of(channel.eventLoop()).supportsFileRegion();
     }
 
 }
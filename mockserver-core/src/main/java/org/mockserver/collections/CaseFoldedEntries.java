@@ -0,0 +1,122 @@
+package org.mockserver.collections;
+
+import org.mockserver.model.NottableSchemaString;
+import org.mockserver.model.NottableString;
+
+import java.util.*;
+
+/**
+ * Flat, read only view of the entries of headers, query parameters or cookies with one key and value per entry and an
+ * index from case-folded key to entry positions.
+ * <p>
+ * A view is built once for the headers, parameters or cookies of a request and then shared by every expectation the
+ * request is matched against, so a literal key in an expectation is found by a hash lookup instead of copying the
+ * entries into a new map and comparing every key. The index is only built if every key is a plain string (i.e. not
+ * notted or a schema) as only then is a case-insensitive comparison of the key equivalent to the full key match.
+ *
+ * @author jamesdbloom
+ */
+public class CaseFoldedEntries {
+
+    private static final int[] NO_INDEXES = new int[0];
+    private final NottableString[] keys;
+    private final NottableString[] values;
+    private final String[] foldedKeys;
+    private final Map<String, int[]> indexesByFoldedKey;
+
+    public CaseFoldedEntries(List<NottableString> keys, List<NottableString> values) {
+        this.keys = keys.toArray(new NottableString[0]);
+        this.values = values.toArray(new NottableString[0]);
+        this.foldedKeys = new String[this.keys.length];
+        boolean allKeysPlain = true;
+        for (int i = 0; i < this.keys.length; i++) {
+            if (isPlain(this.keys[i])) {
+                foldedKeys[i] = fold(this.keys[i].getValue());
+            } else {
+                allKeysPlain = false;
+            }
+        }
+        this.indexesByFoldedKey = allKeysPlain ? buildIndex(foldedKeys) : null;
+    }
+
+    private static boolean isPlain(NottableString key) {
+        return key != null && key.getValue() != null && !key.isNot() && !(key instanceof NottableSchemaString);
+    }
+
+    private static Map<String, int[]> buildIndex(String[] foldedKeys) {
+        Map<String, int[]> index = new HashMap<>();
+        for (int i = 0; i < foldedKeys.length; i++) {
+            int[] existing = index.get(foldedKeys[i]);
+            if (existing == null) {
+                index.put(foldedKeys[i], new int[]{i});
+            } else {
+                int[] indexes = Arrays.copyOf(existing, existing.length + 1);
+                indexes[existing.length] = i;
+                index.put(foldedKeys[i], indexes);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * folds each character so two strings have equal folded values if and only if {@link String#equalsIgnoreCase} is true
+     */
+    public static String fold(String value) {
+        char[] folded = null;
+        for (int i = 0; i < value.length(); i++) {
+            char original = value.charAt(i);
+            char foldedChar = Character.toLowerCase(Character.toUpperCase(original));
+            if (foldedChar != original) {
+                if (folded == null) {
+                    folded = value.toCharArray();
+                }
+                folded[i] = foldedChar;
+            }
+        }
+        return folded != null ? new String(folded) : value;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    public NottableString getKey(int index) {
+        return keys[index];
+    }
+
+    public NottableString getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the positions of the entries with a key matched by the key at the position in the other entries or null if
+     * the key can't be looked up, because it is notted, a schema or a regex, or because this view has no index, and so
+     * has to be compared to every key using a {@link org.mockserver.matchers.RegexStringMatcher}.
+     * <p>
+     * Only valid for data plane matching as the control plane also matches the keys of these entries as regexes.
+     */
+    public int[] indexesOfKeyMatching(CaseFoldedEntries other, int otherIndex) {
+        return indexesOfKeyMatching(other.keys[otherIndex], other.foldedKeys[otherIndex]);
+    }
+
+    /**
+     * Returns the positions of the entries with a key matched by the key or null if the key has to be compared to every
+     * key, see {@link #indexesOfKeyMatching(CaseFoldedEntries, int)}
+     */
+    public int[] indexesOfKeyMatching(NottableString key) {
+        return indexesOfKeyMatching(key, isPlain(key) ? fold(key.getValue()) : null);
+    }
+
+    private int[] indexesOfKeyMatching(NottableString key, String foldedKey) {
+        if (indexesByFoldedKey != null && foldedKey != null && !key.isBlank() && key.isLiteral()) {
+            int[] indexes = indexesByFoldedKey.get(foldedKey);
+            return indexes != null ? indexes : NO_INDEXES;
+        } else {
+            return null;
+        }
+    }
+}
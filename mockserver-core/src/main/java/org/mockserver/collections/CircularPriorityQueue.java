@@ -1,12 +1,13 @@
 package org.mockserver.collections;
 
+import com.google.common.collect.ImmutableList;
+
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -17,8 +18,13 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
     private final Function<V, SLK> skipListKeyFunction;
     private final Function<V, K> mapKeyFunction;
     private final ConcurrentSkipListSet<SLK> sortOrderSkipList;
-    private final ConcurrentLinkedQueue<V> insertionOrderQueue = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedHashSet<K> insertionOrder = new ConcurrentLinkedHashSet<>();
     private final ConcurrentMap<K, V> byKey = new ConcurrentHashMap<>();
+    private final AtomicInteger modificationCount = new AtomicInteger(0);
+    // odd while a batch is being applied
+    private final AtomicInteger batchSequence = new AtomicInteger(0);
+    private final Object batchLock = new Object();
+    private volatile SortedSnapshot<V> sortedSnapshot = new SortedSnapshot<>(0, ImmutableList.of());
 
     public CircularPriorityQueue(int maxSize, Comparator<? super SLK> skipListComparator, Function<V, SLK> skipListKeyFunction, Function<V, K> mapKeyFunction) {
         sortOrderSkipList = new ConcurrentSkipListSet<>(skipListComparator);
@@ -31,43 +37,79 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
         this.maxSize = maxSize;
     }
 
+    /**
+     * Applies all the modifications made by the update so the sorted snapshot only ever reflects all or none of them,
+     * until the update completes the snapshot published before the update started is returned, this only covers which
+     * elements the snapshot holds and their order, changes the update makes to an element in place are seen immediately
+     */
+    public void batch(Runnable update) {
+        synchronized (batchLock) {
+            // publish modifications made before the batch
+            toSortedList();
+            batchSequence.incrementAndGet();
+            try {
+                update.run();
+            } finally {
+                batchSequence.incrementAndGet();
+                modificationCount.incrementAndGet();
+            }
+        }
+    }
+
     public void removePriorityKey(V element) {
         sortOrderSkipList.remove(skipListKeyFunction.apply(element));
+        modificationCount.incrementAndGet();
     }
 
     public void addPriorityKey(V element) {
         sortOrderSkipList.add(skipListKeyFunction.apply(element));
+        modificationCount.incrementAndGet();
     }
 
     public void add(V element) {
         if (maxSize > 0 && element != null) {
-            insertionOrderQueue.offer(element);
+            K key = mapKeyFunction.apply(element);
+            insertionOrder.add(key);
             sortOrderSkipList.add(skipListKeyFunction.apply(element));
-            byKey.put(mapKeyFunction.apply(element), element);
-            while (insertionOrderQueue.size() > maxSize) {
-                V elementToRemove = insertionOrderQueue.poll();
-                sortOrderSkipList.remove(skipListKeyFunction.apply(elementToRemove));
-                byKey.remove(mapKeyFunction.apply(elementToRemove));
+            byKey.put(key, element);
+            K keyToRemove;
+            while (insertionOrder.size() > maxSize && (keyToRemove = insertionOrder.poll()) != null) {
+                V elementToRemove = byKey.remove(keyToRemove);
+                if (elementToRemove != null) {
+                    sortOrderSkipList.remove(skipListKeyFunction.apply(elementToRemove));
+                }
             }
+            modificationCount.incrementAndGet();
         }
     }
 
     public boolean remove(V element) {
         if (element != null) {
-            insertionOrderQueue.remove(element);
-            byKey.remove(mapKeyFunction.apply(element));
-            return sortOrderSkipList.remove(skipListKeyFunction.apply(element));
+            K key = mapKeyFunction.apply(element);
+            insertionOrder.remove(key);
+            byKey.remove(key);
+            boolean removed = sortOrderSkipList.remove(skipListKeyFunction.apply(element));
+            modificationCount.incrementAndGet();
+            return removed;
         } else {
             return false;
         }
     }
 
     public int size() {
-        return insertionOrderQueue.size();
+        return insertionOrder.size();
+    }
+
+    /**
+     * Incremented by every modification, so callers can tell whether anything derived from the sorted snapshot is stale
+     * without building the snapshot
+     */
+    public int modificationCount() {
+        return modificationCount.get();
     }
 
     public Stream<V> stream() {
-        return sortOrderSkipList.stream().map(item -> byKey.get(item.getKey())).filter(Objects::nonNull);
+        return toSortedList().stream();
     }
 
     public Optional<V> getByKey(K key) {
@@ -83,10 +125,46 @@ public class CircularPriorityQueue<K, V, SLK extends Keyed<K>> {
     }
 
     public boolean isEmpty() {
-        return insertionOrderQueue.isEmpty();
+        return insertionOrder.isEmpty();
     }
 
+    /**
+     * Returns an immutable snapshot of the elements in priority order, the snapshot is only rebuilt
+     * after the queue has been modified so the same instance is returned until the next modification
+     */
     public List<V> toSortedList() {
-        return stream().collect(Collectors.toList());
+        int expectedModificationCount = modificationCount.get();
+        SortedSnapshot<V> snapshot = sortedSnapshot;
+        if (snapshot.modificationCount != expectedModificationCount) {
+            int expectedBatchSequence = batchSequence.get();
+            if ((expectedBatchSequence & 1) == 1) {
+                // batch in progress
+                return snapshot.elements;
+            }
+            ImmutableList.Builder<V> builder = ImmutableList.builder();
+            for (SLK item : sortOrderSkipList) {
+                V element = byKey.get(item.getKey());
+                if (element != null) {
+                    builder.add(element);
+                }
+            }
+            if (expectedBatchSequence != batchSequence.get()) {
+                // batch started while building so may only contain some of its modifications
+                return snapshot.elements;
+            }
+            snapshot = new SortedSnapshot<>(expectedModificationCount, builder.build());
+            sortedSnapshot = snapshot;
+        }
+        return snapshot.elements;
+    }
+
+    private static class SortedSnapshot<V> {
+        private final int modificationCount;
+        private final List<V> elements;
+
+        private SortedSnapshot(int modificationCount, List<V> elements) {
+            this.modificationCount = modificationCount;
+            this.elements = elements;
+        }
     }
 }
@@ -0,0 +1,143 @@
+package org.mockserver.collections;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thread safe insertion ordered set with constant time add, remove, move to tail, poll of the eldest element and size.
+ * <p>
+ * Each element is held in a node of a doubly linked list and the nodes are indexed by element, so unlike
+ * {@link java.util.concurrent.ConcurrentLinkedQueue} removing an arbitrary element or reading the size doesn't require
+ * traversing the list. Modifications are guarded by a single lock which is only held for a constant time.
+ *
+ * @author jamesdbloom
+ */
+public class ConcurrentLinkedHashSet<E> {
+
+    private final Map<E, Node<E>> nodes = new HashMap<>();
+    private final Node<E> head = new Node<>(null);
+    private volatile int size;
+
+    public ConcurrentLinkedHashSet() {
+        head.previous = head;
+        head.next = head;
+    }
+
+    /**
+     * Adds the element as the youngest element, if already present the element is moved to become the youngest element
+     *
+     * @return true if the element was not already present
+     */
+    public synchronized boolean add(E element) {
+        Node<E> node = nodes.get(element);
+        if (node != null) {
+            unlink(node);
+            linkLast(node);
+            return false;
+        } else {
+            node = new Node<>(element);
+            nodes.put(element, node);
+            linkLast(node);
+            size++;
+            return true;
+        }
+    }
+
+    /**
+     * Moves the element to become the youngest element, if the element is not present it is not added
+     *
+     * @return true if the element was present
+     */
+    public synchronized boolean moveToTail(E element) {
+        Node<E> node = nodes.get(element);
+        if (node != null) {
+            unlink(node);
+            linkLast(node);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    public synchronized boolean remove(E element) {
+        Node<E> node = nodes.remove(element);
+        if (node != null) {
+            unlink(node);
+            size--;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Removes and returns the eldest element or null if empty
+     */
+    public synchronized E poll() {
+        Node<E> node = head.next;
+        if (node != head) {
+            nodes.remove(node.element);
+            unlink(node);
+            size--;
+            return node.element;
+        } else {
+            return null;
+        }
+    }
+
+    public synchronized boolean contains(E element) {
+        return nodes.containsKey(element);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public synchronized void clear() {
+        nodes.clear();
+        head.previous = head;
+        head.next = head;
+        size = 0;
+    }
+
+    /**
+     * Returns a copy of the elements from eldest to youngest
+     */
+    public synchronized List<E> toList() {
+        List<E> elements = new ArrayList<>(size);
+        for (Node<E> node = head.next; node != head; node = node.next) {
+            elements.add(node.element);
+        }
+        return elements;
+    }
+
+    private void linkLast(Node<E> node) {
+        node.previous = head.previous;
+        node.next = head;
+        head.previous.next = node;
+        head.previous = node;
+    }
+
+    private void unlink(Node<E> node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.previous = null;
+        node.next = null;
+    }
+
+    private static class Node<E> {
+        private final E element;
+        private Node<E> previous;
+        private Node<E> next;
+
+        private Node(E element) {
+            this.element = element;
+        }
+    }
+}
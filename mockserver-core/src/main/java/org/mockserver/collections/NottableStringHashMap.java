@@ -8,7 +8,6 @@ import org.mockserver.model.NottableString;
 
 import java.util.*;
 
-import static org.mockserver.collections.ImmutableEntry.entry;
 import static org.mockserver.collections.SubSetMatcher.containsSubset;
 import static org.mockserver.model.NottableString.string;
 
@@ -19,6 +18,7 @@ public class NottableStringHashMap {
 
     private final Map<NottableString, NottableString> backingMap = new LinkedHashMap<>();
     private final RegexStringMatcher regexStringMatcher;
+    private CaseFoldedEntries caseFoldedEntries;
 
     public NottableStringHashMap(MockServerLogger mockServerLogger, boolean controlPlaneMatcher, List<? extends KeyAndValue> entries) {
         regexStringMatcher = new RegexStringMatcher(mockServerLogger, controlPlaneMatcher);
@@ -38,7 +38,14 @@ public class NottableStringHashMap {
     }
 
     public boolean containsAll(NottableStringHashMap subset) {
-        return containsSubset(regexStringMatcher, subset.entryList(), entryList());
+        return containsSubset(regexStringMatcher, subset.caseFoldedEntries(), caseFoldedEntries());
+    }
+
+    /**
+     * Returns true if the entries, normally the cookies of a request, contain this map as a subset
+     */
+    public boolean isSubsetOf(CaseFoldedEntries superset) {
+        return containsSubset(regexStringMatcher, caseFoldedEntries(), superset);
     }
 
     public boolean allKeysNotted() {
@@ -67,15 +74,12 @@ public class NottableStringHashMap {
         backingMap.put(key, value != null ? value : string(""));
     }
 
-    private List<ImmutableEntry> entryList() {
-        if (!backingMap.isEmpty()) {
-            List<ImmutableEntry> entrySet = new ArrayList<>();
-            for (Map.Entry<NottableString, NottableString> entry : backingMap.entrySet()) {
-                entrySet.add(entry(regexStringMatcher, entry.getKey(), entry.getValue()));
-            }
-            return entrySet;
-        } else {
-            return Collections.emptyList();
+    private CaseFoldedEntries caseFoldedEntries() {
+        CaseFoldedEntries caseFoldedEntries = this.caseFoldedEntries;
+        if (caseFoldedEntries == null) {
+            caseFoldedEntries = new CaseFoldedEntries(new ArrayList<>(backingMap.keySet()), new ArrayList<>(backingMap.values()));
+            this.caseFoldedEntries = caseFoldedEntries;
         }
+        return caseFoldedEntries;
     }
 }
@@ -10,7 +10,6 @@ import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
 
 import java.util.*;
 
-import static org.mockserver.collections.ImmutableEntry.entry;
 import static org.mockserver.collections.SubSetMatcher.containsSubset;
 
 /**
@@ -21,6 +20,8 @@ public class NottableStringMultiMap extends ObjectWithReflectiveEqualsHashCodeTo
     private final Map<NottableString, List<NottableString>> backingMap = new LinkedHashMap<>();
     private final RegexStringMatcher regexStringMatcher;
     private final KeyMatchStyle keyMatchStyle;
+    private transient CaseFoldedEntries caseFoldedEntries;
+    private transient Map<NottableString, List<NottableString>> valuesForMatchingKeys;
 
     public NottableStringMultiMap(MockServerLogger mockServerLogger, boolean controlPlaneMatcher, KeyMatchStyle keyMatchStyle, List<? extends KeyToMultiValue> entries) {
         this.keyMatchStyle = keyMatchStyle;
@@ -42,29 +43,39 @@ public class NottableStringMultiMap extends ObjectWithReflectiveEqualsHashCodeTo
     }
 
     public boolean containsAll(NottableStringMultiMap subset) {
-        switch (subset.keyMatchStyle) {
+        return subset.isSubsetOf(regexStringMatcher, caseFoldedEntries());
+    }
+
+    /**
+     * Returns true if the entries, normally the headers or parameters of a request, contain this map as a subset using
+     * the key match style of this map
+     */
+    public boolean isSubsetOf(CaseFoldedEntries superset) {
+        return isSubsetOf(regexStringMatcher, superset);
+    }
+
+    private boolean isSubsetOf(RegexStringMatcher regexStringMatcher, CaseFoldedEntries superset) {
+        switch (keyMatchStyle) {
             case SUB_SET: {
-                return containsSubset(regexStringMatcher, subset.entryList(), entryList());
+                return containsSubset(regexStringMatcher, caseFoldedEntries(), superset);
             }
             case MATCHING_KEY: {
-                for (NottableString matcherKey : subset.backingMap.keySet()) {
-                    List<NottableString> matchedValuesForKey = getAll(matcherKey);
-                    if (matchedValuesForKey.isEmpty() && !matcherKey.isOptional()) {
-                        return false;
-                    }
-
-                    List<NottableString> matcherValuesForKey = subset.getAll(matcherKey);
-                    for (NottableString matchedValue : matchedValuesForKey) {
-                        boolean matchesValue = false;
-                        for (NottableString matcherValue : matcherValuesForKey) {
-                            if (regexStringMatcher.matches(matcherValue, matchedValue, true)) {
-                                matchesValue = true;
-                                break;
+                boolean useIndex = !regexStringMatcher.isControlPlaneMatcher();
+                for (Map.Entry<NottableString, List<NottableString>> matcherEntry : valuesForMatchingKeys().entrySet()) {
+                    NottableString matcherKey = matcherEntry.getKey();
+                    int[] indexesOfKey = useIndex ? superset.indexesOfKeyMatching(matcherKey) : null;
+                    boolean keyPresent = false;
+                    for (int i = 0, size = indexesOfKey != null ? indexesOfKey.length : superset.size(); i < size; i++) {
+                        int index = indexesOfKey != null ? indexesOfKey[i] : i;
+                        if (indexesOfKey != null || regexStringMatcher.matches(matcherKey, superset.getKey(index), true)) {
+                            keyPresent = true;
+                            if (!matchesAnyValue(regexStringMatcher, matcherEntry.getValue(), superset.getValue(index))) {
+                                return false;
                             }
                         }
-                        if (!matchesValue) {
-                            return false;
-                        }
+                    }
+                    if (!keyPresent && !matcherKey.isOptional()) {
+                        return false;
                     }
                 }
                 return true;
@@ -73,6 +84,15 @@ public class NottableStringMultiMap extends ObjectWithReflectiveEqualsHashCodeTo
         return false;
     }
 
+    private static boolean matchesAnyValue(RegexStringMatcher regexStringMatcher, List<NottableString> matcherValues, NottableString matchedValue) {
+        for (NottableString matcherValue : matcherValues) {
+            if (regexStringMatcher.matches(matcherValue, matchedValue, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public boolean allKeysNotted() {
         if (!isEmpty()) {
             for (NottableString key : backingMap.keySet()) {
@@ -113,20 +133,35 @@ public class NottableStringMultiMap extends ObjectWithReflectiveEqualsHashCodeTo
         }
     }
 
-    private List<ImmutableEntry> entryList() {
-        if (!isEmpty()) {
-            List<ImmutableEntry> entrySet = new ArrayList<>();
+    /**
+     * for each key all the values of any key it matches, built once as this map isn't modified after it is created
+     */
+    private Map<NottableString, List<NottableString>> valuesForMatchingKeys() {
+        Map<NottableString, List<NottableString>> valuesForMatchingKeys = this.valuesForMatchingKeys;
+        if (valuesForMatchingKeys == null) {
+            valuesForMatchingKeys = new LinkedHashMap<>();
+            for (NottableString key : backingMap.keySet()) {
+                valuesForMatchingKeys.put(key, getAll(key));
+            }
+            this.valuesForMatchingKeys = valuesForMatchingKeys;
+        }
+        return valuesForMatchingKeys;
+    }
+
+    private CaseFoldedEntries caseFoldedEntries() {
+        CaseFoldedEntries caseFoldedEntries = this.caseFoldedEntries;
+        if (caseFoldedEntries == null) {
+            List<NottableString> keys = new ArrayList<>();
+            List<NottableString> values = new ArrayList<>();
             for (Map.Entry<NottableString, List<NottableString>> entry : backingMap.entrySet()) {
                 for (NottableString value : entry.getValue()) {
-                    entrySet.add(entry(regexStringMatcher, entry.getKey(), value));
+                    keys.add(entry.getKey());
+                    values.add(value);
                 }
             }
-            return entrySet;
-        } else {
-            return Collections.emptyList();
+            caseFoldedEntries = new CaseFoldedEntries(keys, values);
+            this.caseFoldedEntries = caseFoldedEntries;
         }
+        return caseFoldedEntries;
     }
 }
-
-
-
@@ -3,64 +3,92 @@ package org.mockserver.collections;
 import org.mockserver.matchers.RegexStringMatcher;
 import org.mockserver.model.NottableString;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
 
 import static org.mockserver.model.NottableString.string;
 
 public class SubSetMatcher {
 
     static boolean containsSubset(RegexStringMatcher regexStringMatcher, List<ImmutableEntry> subset, List<ImmutableEntry> superset) {
-        boolean result = true;
-        Set<Integer> matchingIndexes = new HashSet<>();
-        for (ImmutableEntry subsetItem : subset) {
-            Set<Integer> subsetItemMatchingIndexes = matchesIndexes(regexStringMatcher, subsetItem, superset);
-            boolean optionalAndNotPresent = subsetItem.isOptional() && !containsKey(regexStringMatcher, subsetItem, superset);
-            boolean nottedAndPresent = nottedAndPresent(regexStringMatcher, subsetItem, superset);
-            if ((!optionalAndNotPresent && subsetItemMatchingIndexes.isEmpty()) || nottedAndPresent) {
-                result = false;
-                break;
+        return containsSubset(regexStringMatcher, toCaseFoldedEntries(subset), toCaseFoldedEntries(superset));
+    }
+
+    static boolean containsSubset(RegexStringMatcher regexStringMatcher, CaseFoldedEntries subset, CaseFoldedEntries superset) {
+        boolean useIndex = !regexStringMatcher.isControlPlaneMatcher();
+        int subsetNonOptionalSize = 0;
+        for (int i = 0; i < subset.size(); i++) {
+            if (!subset.getKey(i).isOptional()) {
+                subsetNonOptionalSize++;
             }
-            matchingIndexes.addAll(subsetItemMatchingIndexes);
         }
-
-        if (result) {
-            long subsetNonOptionalSize = subset.stream().filter(ImmutableEntry::isNotOptional).count();
-            // this prevents multiple items in the subset from being matched by a single item in the superset
-            result = matchingIndexes.size() >= subsetNonOptionalSize;
+        // this prevents multiple items in the subset from being matched by a single item in the superset,
+        // which is only possible if more than one item in the subset must be matched
+        BitSet matchingIndexes = subsetNonOptionalSize > 1 ? new BitSet(superset.size()) : null;
+        for (int i = 0; i < subset.size(); i++) {
+            NottableString subsetItemKey = subset.getKey(i);
+            int[] indexesOfKey = useIndex ? superset.indexesOfKeyMatching(subset, i) : null;
+            boolean subsetItemMatches = matchesIndexes(regexStringMatcher, subsetItemKey, subset.getValue(i), superset, indexesOfKey, matchingIndexes);
+            boolean optionalAndNotPresent = subsetItemKey.isOptional() && !containsKey(regexStringMatcher, subsetItemKey, superset, indexesOfKey);
+            if ((!optionalAndNotPresent && !subsetItemMatches) || nottedAndPresent(regexStringMatcher, subsetItemKey, superset, useIndex)) {
+                return false;
+            }
         }
-        return result;
+        return matchingIndexes == null || matchingIndexes.cardinality() >= subsetNonOptionalSize;
     }
 
-    private static Set<Integer> matchesIndexes(RegexStringMatcher regexStringMatcher, ImmutableEntry matcherItem, List<ImmutableEntry> matchedList) {
-        Set<Integer> matchingIndexes = new HashSet<>();
-        for (int i = 0; i < matchedList.size(); i++) {
-            ImmutableEntry matchedItem = matchedList.get(i);
-            boolean keyMatches = regexStringMatcher.matches(matcherItem.getKey(), matchedItem.getKey(), true);
-            boolean valueMatches = regexStringMatcher.matches(matcherItem.getValue(), matchedItem.getValue(), true);
-            if (keyMatches && valueMatches) {
-                matchingIndexes.add(i);
+    private static boolean matchesIndexes(RegexStringMatcher regexStringMatcher, NottableString matcherKey, NottableString matcherValue, CaseFoldedEntries matched, int[] indexesOfKey, BitSet matchingIndexes) {
+        boolean matches = false;
+        if (indexesOfKey != null) {
+            for (int i : indexesOfKey) {
+                if (regexStringMatcher.matches(matcherValue, matched.getValue(i), true)) {
+                    matches = true;
+                    if (matchingIndexes == null) {
+                        break;
+                    }
+                    matchingIndexes.set(i);
+                }
+            }
+        } else {
+            for (int i = 0; i < matched.size(); i++) {
+                boolean keyMatches = regexStringMatcher.matches(matcherKey, matched.getKey(i), true);
+                boolean valueMatches = regexStringMatcher.matches(matcherValue, matched.getValue(i), true);
+                if (keyMatches && valueMatches) {
+                    matches = true;
+                    if (matchingIndexes == null) {
+                        break;
+                    }
+                    matchingIndexes.set(i);
+                }
             }
         }
-        return matchingIndexes;
+        return matches;
     }
 
-    private static boolean containsKey(RegexStringMatcher regexStringMatcher, ImmutableEntry matcherItem, List<ImmutableEntry> matchedList) {
-        for (ImmutableEntry matchedItem : matchedList) {
-            if (regexStringMatcher.matches(matcherItem.getKey(), matchedItem.getKey(), true)) {
+    private static boolean containsKey(RegexStringMatcher regexStringMatcher, NottableString matcherKey, CaseFoldedEntries matched, int[] indexesOfKey) {
+        if (indexesOfKey != null) {
+            return indexesOfKey.length > 0;
+        }
+        for (int i = 0; i < matched.size(); i++) {
+            if (regexStringMatcher.matches(matcherKey, matched.getKey(i), true)) {
                 return true;
             }
         }
         return false;
     }
 
-    private static boolean nottedAndPresent(RegexStringMatcher regexStringMatcher, ImmutableEntry matcherItem, List<ImmutableEntry> matchedList) {
-        if (matcherItem.getKey().isNot()) {
-            NottableString unNottedMatcherItemKey = string(matcherItem.getKey().getValue());
-            for (ImmutableEntry matchedItem : matchedList) {
-                if (!matchedItem.getKey().isNot()) {
-                    if (regexStringMatcher.matches(unNottedMatcherItemKey, matchedItem.getKey(), true)) {
+    private static boolean nottedAndPresent(RegexStringMatcher regexStringMatcher, NottableString matcherKey, CaseFoldedEntries matched, boolean useIndex) {
+        if (matcherKey.isNot()) {
+            NottableString unNottedMatcherItemKey = string(matcherKey.getValue());
+            int[] indexesOfKey = useIndex ? matched.indexesOfKeyMatching(unNottedMatcherItemKey) : null;
+            if (indexesOfKey != null) {
+                // only plain keys are indexed so none of the keys are notted
+                return indexesOfKey.length > 0;
+            }
+            for (int i = 0; i < matched.size(); i++) {
+                if (!matched.getKey(i).isNot()) {
+                    if (regexStringMatcher.matches(unNottedMatcherItemKey, matched.getKey(i), true)) {
                         return true;
                     }
                 }
@@ -69,4 +97,14 @@ public class SubSetMatcher {
         return false;
     }
 
+    static CaseFoldedEntries toCaseFoldedEntries(List<ImmutableEntry> entries) {
+        List<NottableString> keys = new ArrayList<>(entries.size());
+        List<NottableString> values = new ArrayList<>(entries.size());
+        for (ImmutableEntry entry : entries) {
+            keys.add(entry.getKey());
+            values.add(entry.getValue());
+        }
+        return new CaseFoldedEntries(keys, values);
+    }
+
 }
@@ -6,9 +6,11 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import com.google.common.net.InetAddresses;
 import org.mockserver.file.FileReader;
+import org.mockserver.log.LogEntryOverflowPolicy;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.memory.MemoryMonitoring;
+import org.mockserver.socket.SocketTransport;
 import org.mockserver.socket.tls.ForwardProxyTLSX509CertificatesTrustManager;
 import org.mockserver.socket.tls.jdk.CertificateSigningRequest;
 import org.slf4j.event.Level;
@@ -46,6 +48,7 @@ public class ConfigurationProperties {
     private static final int DEFAULT_MAX_INITIAL_LINE_LENGTH = Integer.MAX_VALUE;
     private static final int DEFAULT_MAX_HEADER_SIZE = Integer.MAX_VALUE;
     private static final int DEFAULT_MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+    private static final int DEFAULT_MAX_STREAMED_BODY_LOG_SIZE = 65536;
     private static final String DEFAULT_ENABLE_CORS_FOR_API = "false";
     private static final String DEFAULT_ENABLE_CORS_FOR_ALL_RESPONSES = "false";
     private static final String DEFAULT_PREVENT_CERTIFICATE_DYNAMIC_UPDATE = "false";
@@ -72,6 +75,11 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_ENABLE_CORS_FOR_ALL_RESPONSES = "mockserver.enableCORSForAllResponses";
     private static final String MOCKSERVER_MAX_EXPECTATIONS = "mockserver.maxExpectations";
     private static final String MOCKSERVER_MAX_LOG_ENTRIES = "mockserver.maxLogEntries";
+    private static final String MOCKSERVER_MAX_LOG_ENTRIES_OFF_HEAP_BYTES = "mockserver.maxLogEntriesOffHeapBytes";
+    private static final String MOCKSERVER_LOG_LISTENER_NOTIFICATION_INTERVAL = "mockserver.logListenerNotificationInterval";
+    private static final String MOCKSERVER_LOG_ENTRY_OVERFLOW_POLICY = "mockserver.logEntryOverflowPolicy";
+    private static final String MOCKSERVER_LOG_ENTRY_OVERFLOW_SAMPLE_RATE = "mockserver.logEntryOverflowSampleRate";
+    private static final String MOCKSERVER_VERIFICATION_COUNTERS = "mockserver.verificationCounters";
     private static final String MOCKSERVER_OUTPUT_MEMORY_USAGE_CSV = "mockserver.outputMemoryUsageCsv";
     private static final String MOCKSERVER_MEMORY_USAGE_DIRECTORY = "mockserver.memoryUsageCsvDirectory";
     private static final String MOCKSERVER_MAX_WEB_SOCKET_EXPECTATIONS = "mockserver.maxWebSocketExpectations";
@@ -79,6 +87,11 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_MAX_HEADER_SIZE = "mockserver.maxHeaderSize";
     private static final String MOCKSERVER_MAX_CHUNK_SIZE = "mockserver.maxChunkSize";
     private static final String MOCKSERVER_NIO_EVENT_LOOP_THREAD_COUNT = "mockserver.nioEventLoopThreadCount";
+    private static final String MOCKSERVER_SOCKET_TRANSPORT = "mockserver.socketTransport";
+    private static final String MOCKSERVER_SOCKET_REUSE_PORT = "mockserver.socketReusePort";
+    private static final String MOCKSERVER_ENABLE_HTTP2 = "mockserver.enableHttp2";
+    private static final String MOCKSERVER_ENABLE_STREAMING_BODIES = "mockserver.enableStreamingBodies";
+    private static final String MOCKSERVER_MAX_STREAMED_BODY_LOG_SIZE = "mockserver.maxStreamedBodyLogSize";
     private static final String MOCKSERVER_ACTION_HANDLER_THREAD_COUNT = "mockserver.actionHandlerThreadCount";
     private static final String MOCKSERVER_WEB_SOCKET_CLIENT_EVENT_LOOP_THREAD_COUNT = "mockserver.webSocketClientEventLoopThreadCount";
     private static final String MOCKSERVER_MAX_SOCKET_TIMEOUT = "mockserver.maxSocketTimeout";
@@ -121,6 +134,9 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_FORWARD_SOCKS_PROXY = "mockserver.forwardSocksProxy";
     private static final String MOCKSERVER_FORWARD_PROXY_AUTHENTICATION_USERNAME = "mockserver.forwardProxyAuthenticationUsername";
     private static final String MOCKSERVER_FORWARD_PROXY_AUTHENTICATION_PASSWORD = "mockserver.forwardProxyAuthenticationPassword";
+    private static final String MOCKSERVER_FORWARD_CONNECTION_POOLING = "mockserver.forwardConnectionPooling";
+    private static final String MOCKSERVER_FORWARD_MAX_CONNECTIONS_PER_HOST = "mockserver.forwardMaxConnectionsPerHost";
+    private static final String MOCKSERVER_FORWARD_CONNECTION_IDLE_TIMEOUT = "mockserver.forwardConnectionIdleTimeout";
     private static final String MOCKSERVER_PROXY_SERVER_REALM = "mockserver.proxyAuthenticationRealm";
     private static final String MOCKSERVER_PROXY_AUTHENTICATION_USERNAME = "mockserver.proxyAuthenticationUsername";
     private static final String MOCKSERVER_PROXY_AUTHENTICATION_PASSWORD = "mockserver.proxyAuthenticationPassword";
@@ -129,6 +145,11 @@ public class ConfigurationProperties {
     private static final String MOCKSERVER_WATCH_INITIALIZATION_JSON = "mockserver.watchInitializationJson";
     private static final String MOCKSERVER_PERSISTED_EXPECTATIONS_PATH = "mockserver.persistedExpectationsPath";
     private static final String MOCKSERVER_PERSIST_EXPECTATIONS = "mockserver.persistExpectations";
+    private static final String MOCKSERVER_PERSIST_LOG_ENTRIES = "mockserver.persistLogEntries";
+    private static final String MOCKSERVER_PERSISTED_LOG_ENTRIES_PATH = "mockserver.persistedLogEntriesPath";
+    private static final String MOCKSERVER_FILE_BODY_BASE_DIRECTORY = "mockserver.fileBodyBaseDirectory";
+    private static final String MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_BYTES = "mockserver.persistedLogEntriesMaxBytes";
+    private static final String MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_AGE = "mockserver.persistedLogEntriesMaxAge";
     private static final String MOCKSERVER_CORS_ALLOW_HEADERS = "mockserver.corsAllowHeaders";
     private static final String MOCKSERVER_CORS_ALLOW_METHODS = "mockserver.corsAllowMethods";
     private static final String MOCKSERVER_CORS_ALLOW_CREDENTIALS = "mockserver.corsAllowCredentials";
@@ -292,6 +313,84 @@ public class ConfigurationProperties {
         System.setProperty(MOCKSERVER_MAX_LOG_ENTRIES, "" + count);
     }
 
+    public static long maxLogEntriesOffHeapBytes() {
+        return readLongProperty(MOCKSERVER_MAX_LOG_ENTRIES_OFF_HEAP_BYTES, "MOCKSERVER_MAX_LOG_ENTRIES_OFF_HEAP_BYTES", 0L);
+    }
+
+    /**
+     * Store log entries encoded outside the heap evicting the oldest entries when they use more than this number of bytes,
+     * instead of holding up to maxLogEntries on the heap, when 0 (the default) log entries are held on the heap
+     *
+     * @param bytes maximum number of bytes of log entries to store off-heap
+     */
+    public static void maxLogEntriesOffHeapBytes(long bytes) {
+        System.setProperty(MOCKSERVER_MAX_LOG_ENTRIES_OFF_HEAP_BYTES, "" + bytes);
+    }
+
+    public static long logListenerNotificationInterval() {
+        return readLongProperty(MOCKSERVER_LOG_LISTENER_NOTIFICATION_INTERVAL, "MOCKSERVER_LOG_LISTENER_NOTIFICATION_INTERVAL", 0L);
+    }
+
+    /**
+     * Minimum number of milliseconds between notifying log listeners (i.e. the dashboard) that log entries have been
+     * added, when 0 (the default) listeners are notified once per batch of log entries added
+     *
+     * @param milliseconds minimum interval between log listener notifications
+     */
+    public static void logListenerNotificationInterval(long milliseconds) {
+        System.setProperty(MOCKSERVER_LOG_LISTENER_NOTIFICATION_INTERVAL, "" + milliseconds);
+    }
+
+    public static LogEntryOverflowPolicy logEntryOverflowPolicy() {
+        String logEntryOverflowPolicy = readPropertyHierarchically(MOCKSERVER_LOG_ENTRY_OVERFLOW_POLICY, "MOCKSERVER_LOG_ENTRY_OVERFLOW_POLICY", LogEntryOverflowPolicy.DROP.name()).toUpperCase();
+        try {
+            return LogEntryOverflowPolicy.valueOf(logEntryOverflowPolicy);
+        } catch (IllegalArgumentException iae) {
+            new IllegalArgumentException("Invalid value for LogEntryOverflowPolicy \"" + logEntryOverflowPolicy + "\" the only supported values are: " + Arrays.toString(LogEntryOverflowPolicy.values())).printStackTrace();
+            return LogEntryOverflowPolicy.DROP;
+        }
+    }
+
+    /**
+     * What is done with log entries when the log ring buffer is full, BLOCK waits for space, DROP (the default) drops
+     * the log entry and SAMPLE waits for space for one in every logEntryOverflowSampleRate received requests and drops
+     * every other log entry
+     *
+     * @param logEntryOverflowPolicy the overflow policy
+     */
+    public static void logEntryOverflowPolicy(LogEntryOverflowPolicy logEntryOverflowPolicy) {
+        System.setProperty(MOCKSERVER_LOG_ENTRY_OVERFLOW_POLICY, logEntryOverflowPolicy.name());
+    }
+
+    public static int logEntryOverflowSampleRate() {
+        return readIntegerProperty(MOCKSERVER_LOG_ENTRY_OVERFLOW_SAMPLE_RATE, "MOCKSERVER_LOG_ENTRY_OVERFLOW_SAMPLE_RATE", 10);
+    }
+
+    /**
+     * When the logEntryOverflowPolicy is SAMPLE one in every this number of received requests is kept when the log
+     * ring buffer is full
+     *
+     * @param sampleRate the number of received requests for each one kept
+     */
+    public static void logEntryOverflowSampleRate(int sampleRate) {
+        System.setProperty(MOCKSERVER_LOG_ENTRY_OVERFLOW_SAMPLE_RATE, "" + sampleRate);
+    }
+
+    public static boolean verificationCounters() {
+        return Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_VERIFICATION_COUNTERS, "MOCKSERVER_VERIFICATION_COUNTERS", "" + false));
+    }
+
+    /**
+     * Keep a live count of the received requests matched by each request verified, so verifying the number of times a
+     * request was received doesn't match every entry in the log and includes requests evicted from the log after the
+     * request was first verified
+     *
+     * @param enable enabled counting verified requests
+     */
+    public static void verificationCounters(boolean enable) {
+        System.setProperty(MOCKSERVER_VERIFICATION_COUNTERS, "" + enable);
+    }
+
     public static int ringBufferSize() {
         return nextPowerOfTwo(Math.min(defaultMaxLogEntries(), 1500));
     }
@@ -366,6 +465,87 @@ public class ConfigurationProperties {
         System.setProperty(MOCKSERVER_NIO_EVENT_LOOP_THREAD_COUNT, "" + count);
     }
 
+    public static SocketTransport socketTransport() {
+        String socketTransport = readPropertyHierarchically(MOCKSERVER_SOCKET_TRANSPORT, "MOCKSERVER_SOCKET_TRANSPORT", SocketTransport.NIO.name()).toUpperCase();
+        try {
+            return SocketTransport.valueOf(socketTransport);
+        } catch (IllegalArgumentException iae) {
+            new IllegalArgumentException("Invalid value for SocketTransport \"" + socketTransport + "\" the only supported values are: " + Arrays.toString(SocketTransport.values())).printStackTrace();
+            return SocketTransport.NIO;
+        }
+    }
+
+    /**
+     * The transport used for the event loops and socket channels, NIO (the default) works on every platform, EPOLL and
+     * IO_URING use Netty's native Linux transports and require netty-transport-native-epoll or
+     * netty-incubator-transport-native-io_uring on the classpath, if the native transport isn't available NIO is used
+     *
+     * @param socketTransport the socket transport
+     */
+    public static void socketTransport(SocketTransport socketTransport) {
+        System.setProperty(MOCKSERVER_SOCKET_TRANSPORT, socketTransport.name());
+    }
+
+    public static boolean socketReusePort() {
+        return Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_SOCKET_REUSE_PORT, "MOCKSERVER_SOCKET_REUSE_PORT", "" + false));
+    }
+
+    /**
+     * With the EPOLL or IO_URING socket transport bind each port once for each accepting event loop using SO_REUSEPORT,
+     * so accepting new connections is spread across the event loops, this is ignored for NIO
+     * <p>
+     * SO_REUSEPORT allows any other process running as the same user to also bind the port and receive a share of the
+     * connections, so only enable this when that is acceptable
+     *
+     * @param enable enable SO_REUSEPORT
+     */
+    public static void socketReusePort(boolean enable) {
+        System.setProperty(MOCKSERVER_SOCKET_REUSE_PORT, "" + enable);
+    }
+
+    public static boolean enableHttp2() {
+        return Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_ENABLE_HTTP2, "MOCKSERVER_ENABLE_HTTP2", "" + false));
+    }
+
+    /**
+     * Accept HTTP/2 connections, negotiated by ALPN for TLS (h2) or by prior knowledge or an Upgrade header without TLS
+     * (h2c), and offer HTTP/2 by ALPN when forwarding or proxying requests over TLS, ALPN requires Java 9+ or Java 8u252+
+     *
+     * @param enable enable HTTP/2
+     */
+    public static void enableHttp2(boolean enable) {
+        System.setProperty(MOCKSERVER_ENABLE_HTTP2, "" + enable);
+    }
+
+    public static boolean enableStreamingBodies() {
+        return Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_ENABLE_STREAMING_BODIES, "MOCKSERVER_ENABLE_STREAMING_BODIES", "" + false));
+    }
+
+    /**
+     * Stream the body of HTTP/1.1 requests that don't need it in full, instead of aggregating every body in memory,
+     * requests proxied without a matching expectation are relayed upstream, and their responses relayed back, as each
+     * chunk arrives and requests matching an expectation that doesn't match on body only retain the logged part of the body
+     *
+     * @param enable enable streaming of request and response bodies
+     */
+    public static void enableStreamingBodies(boolean enable) {
+        System.setProperty(MOCKSERVER_ENABLE_STREAMING_BODIES, "" + enable);
+    }
+
+    public static int maxStreamedBodyLogSize() {
+        return readIntegerProperty(MOCKSERVER_MAX_STREAMED_BODY_LOG_SIZE, "MOCKSERVER_MAX_STREAMED_BODY_LOG_SIZE", DEFAULT_MAX_STREAMED_BODY_LOG_SIZE);
+    }
+
+    /**
+     * Maximum number of bytes of a streamed request or response body retained for the log and for verification, the
+     * rest of the body is streamed without being retained
+     *
+     * @param size maximum number of bytes retained of each streamed body
+     */
+    public static void maxStreamedBodyLogSize(int size) {
+        System.setProperty(MOCKSERVER_MAX_STREAMED_BODY_LOG_SIZE, "" + size);
+    }
+
     public static int actionHandlerThreadCount() {
         return readIntegerProperty(MOCKSERVER_ACTION_HANDLER_THREAD_COUNT, "MOCKSERVER_ACTION_HANDLER_THREAD_COUNT", DEFAULT_ACTION_HANDLER_THREAD_COUNT);
     }
@@ -959,6 +1139,47 @@ public class ConfigurationProperties {
         }
     }
 
+    public static boolean forwardConnectionPooling() {
+        return Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_FORWARD_CONNECTION_POOLING, "MOCKSERVER_FORWARD_CONNECTION_POOLING", "" + true));
+    }
+
+    /**
+     * Keep connections used to forward or proxy requests open and reuse them for later requests to the same host, port
+     * and scheme, instead of opening (and for HTTPS handshaking) a new connection for every request
+     *
+     * @param enable enable pooling forwarded connections
+     */
+    public static void forwardConnectionPooling(boolean enable) {
+        System.setProperty(MOCKSERVER_FORWARD_CONNECTION_POOLING, "" + enable);
+    }
+
+    public static int forwardMaxConnectionsPerHost() {
+        return readIntegerProperty(MOCKSERVER_FORWARD_MAX_CONNECTIONS_PER_HOST, "MOCKSERVER_FORWARD_MAX_CONNECTIONS_PER_HOST", 50);
+    }
+
+    /**
+     * Maximum number of pooled connections open to each host, port and scheme forwarded or proxied requests are sent to,
+     * when all are in use requests wait for a connection for up to maxSocketTimeout
+     *
+     * @param count maximum connections for each host
+     */
+    public static void forwardMaxConnectionsPerHost(int count) {
+        System.setProperty(MOCKSERVER_FORWARD_MAX_CONNECTIONS_PER_HOST, "" + count);
+    }
+
+    public static long forwardConnectionIdleTimeout() {
+        return readLongProperty(MOCKSERVER_FORWARD_CONNECTION_IDLE_TIMEOUT, "MOCKSERVER_FORWARD_CONNECTION_IDLE_TIMEOUT", TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Milliseconds a pooled forwarding connection can be idle before it is closed
+     *
+     * @param milliseconds idle timeout for pooled connections
+     */
+    public static void forwardConnectionIdleTimeout(long milliseconds) {
+        System.setProperty(MOCKSERVER_FORWARD_CONNECTION_IDLE_TIMEOUT, "" + milliseconds);
+    }
+
     public static String proxyAuthenticationRealm() {
         return readPropertyHierarchically(MOCKSERVER_PROXY_SERVER_REALM, "MOCKSERVER_PROXY_SERVER_REALM", "MockServer HTTP Proxy");
     }
@@ -1023,6 +1244,69 @@ public class ConfigurationProperties {
         System.setProperty(MOCKSERVER_PERSISTED_EXPECTATIONS_PATH, persistedExpectationsPath);
     }
 
+    public static boolean persistLogEntries() {
+        return Boolean.parseBoolean(readPropertyHierarchically(MOCKSERVER_PERSIST_LOG_ENTRIES, "MOCKSERVER_PERSIST_LOG_ENTRIES", "" + false));
+    }
+
+    /**
+     * Append log entries to memory mapped journal files in persistedLogEntriesPath which are replayed into the log when
+     * MockServer restarts, takes precedence over maxLogEntries and maxLogEntriesOffHeapBytes
+     *
+     * @param enable enabled persisting log entries
+     */
+    public static void persistLogEntries(boolean enable) {
+        System.setProperty(MOCKSERVER_PERSIST_LOG_ENTRIES, "" + enable);
+    }
+
+    public static String persistedLogEntriesPath() {
+        return readPropertyHierarchically(MOCKSERVER_PERSISTED_LOG_ENTRIES_PATH, "MOCKSERVER_PERSISTED_LOG_ENTRIES_PATH", "persistedLogEntries");
+    }
+
+    public static void persistedLogEntriesPath(String persistedLogEntriesPath) {
+        System.setProperty(MOCKSERVER_PERSISTED_LOG_ENTRIES_PATH, persistedLogEntriesPath);
+    }
+
+    public static String fileBodyBaseDirectory() {
+        return readPropertyHierarchically(MOCKSERVER_FILE_BODY_BASE_DIRECTORY, "MOCKSERVER_FILE_BODY_BASE_DIRECTORY", "");
+    }
+
+    /**
+     * Only allow file bodies for files inside this directory, after resolving relative paths and symbolic links, by
+     * default any file readable by MockServer can be returned
+     *
+     * @param fileBodyBaseDirectory directory containing all files returned as file bodies
+     */
+    public static void fileBodyBaseDirectory(String fileBodyBaseDirectory) {
+        System.setProperty(MOCKSERVER_FILE_BODY_BASE_DIRECTORY, fileBodyBaseDirectory);
+    }
+
+    public static long persistedLogEntriesMaxBytes() {
+        return readLongProperty(MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_BYTES, "MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_BYTES", 256L * 1024 * 1024);
+    }
+
+    /**
+     * The oldest persisted log entries are deleted when the journal files use more than this number of bytes
+     *
+     * @param bytes maximum number of bytes of persisted log entries
+     */
+    public static void persistedLogEntriesMaxBytes(long bytes) {
+        System.setProperty(MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_BYTES, "" + bytes);
+    }
+
+    public static long persistedLogEntriesMaxAge() {
+        return readLongProperty(MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_AGE, "MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_AGE", 0L);
+    }
+
+    /**
+     * Persisted log entries older than this number of milliseconds are deleted, when 0 (the default) log entries are
+     * only deleted when persistedLogEntriesMaxBytes is exceeded
+     *
+     * @param milliseconds maximum age of persisted log entries
+     */
+    public static void persistedLogEntriesMaxAge(long milliseconds) {
+        System.setProperty(MOCKSERVER_PERSISTED_LOG_ENTRIES_MAX_AGE, "" + milliseconds);
+    }
+
     public static boolean enableCORSForAPI() {
         return enableCORSForAPI;
     }
@@ -0,0 +1,217 @@
+package org.mockserver.log;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.matchers.MatchType;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.*;
+import org.mockserver.serialization.ObjectMapperFactory;
+import org.mockserver.serialization.model.*;
+
+import java.io.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Encodes the parts of a log entry that hold requests, responses and expectations into a compact binary record so they
+ * can be stored outside the heap, and decodes them back into a log entry when the entry is retrieved or verified.
+ * <p>
+ * Requests, responses, errors and expectations are written using their existing DTOs as the model has no other
+ * serialized form, except for JSON bodies which are written as received because the DTOs reformat them. Arguments are
+ * written in the form they are formatted into the log message.
+ *
+ * @author jamesdbloom
+ */
+public class LogEntryCodec {
+
+    private static final byte VERSION = 1;
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte HTTP_REQUEST = 2;
+    private static final byte OPEN_API_DEFINITION = 3;
+    private static final byte HTTP_RESPONSE = 4;
+    private static final byte HTTP_ERROR = 5;
+    private static final byte EXPECTATION = 6;
+    private static final byte JSON_BODY = 7;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.createObjectMapper();
+
+    public byte[] encode(LogEntry logEntry) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeByte(VERSION);
+            writeString(output, logEntry.getMessageFormat());
+            writeString(output, logEntry.getBecause());
+            RequestDefinition[] httpRequests = logEntry.getHttpRequests();
+            output.writeInt(httpRequests.length);
+            for (RequestDefinition httpRequest : httpRequests) {
+                writeObject(output, httpRequest);
+            }
+            writeObject(output, logEntry.getHttpResponse());
+            writeObject(output, logEntry.getHttpError());
+            writeObject(output, logEntry.getExpectation());
+            Object[] arguments = logEntry.getArguments();
+            output.writeInt(arguments != null ? arguments.length : -1);
+            if (arguments != null) {
+                for (Object argument : arguments) {
+                    writeString(output, String.valueOf(argument));
+                }
+            }
+            output.flush();
+            return bytes.toByteArray();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("exception encoding log entry", ioe);
+        }
+    }
+
+    /**
+     * Sets the fields encoded by {@link #encode(LogEntry)} on the log entry
+     */
+    public LogEntry decode(byte[] bytes, LogEntry logEntry) {
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+            byte version = input.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("unsupported log entry encoding version " + version);
+            }
+            logEntry.setMessageFormat(readString(input));
+            logEntry.setBecause(readString(input));
+            int numberOfHttpRequests = input.readInt();
+            if (numberOfHttpRequests > 0) {
+                RequestDefinition[] httpRequests = new RequestDefinition[numberOfHttpRequests];
+                for (int i = 0; i < numberOfHttpRequests; i++) {
+                    httpRequests[i] = (RequestDefinition) readObject(input);
+                }
+                logEntry.setHttpRequests(httpRequests);
+            }
+            logEntry.setHttpResponse((HttpResponse) readObject(input));
+            logEntry.setHttpError((HttpError) readObject(input));
+            logEntry.setExpectation((Expectation) readObject(input));
+            int numberOfArguments = input.readInt();
+            if (numberOfArguments >= 0) {
+                Object[] arguments = new Object[numberOfArguments];
+                for (int i = 0; i < numberOfArguments; i++) {
+                    arguments[i] = readString(input);
+                }
+                logEntry.setArguments(arguments);
+            }
+            return logEntry;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("exception decoding log entry", ioe);
+        }
+    }
+
+    private void writeObject(DataOutputStream output, Object object) throws IOException {
+        if (object instanceof HttpRequest) {
+            HttpRequest httpRequest = (HttpRequest) object;
+            if (httpRequest.getBody() instanceof JsonBody) {
+                httpRequest = httpRequest.shallowClone().withBody((Body) null);
+            }
+            writeBytes(output, HTTP_REQUEST, objectMapper.writeValueAsBytes(new HttpRequestDTO(httpRequest)));
+            writeJsonBody(output, ((HttpRequest) object).getBody());
+        } else if (object instanceof OpenAPIDefinition) {
+            writeBytes(output, OPEN_API_DEFINITION, objectMapper.writeValueAsBytes(new OpenAPIDefinitionDTO((OpenAPIDefinition) object)));
+        } else if (object instanceof HttpResponse) {
+            HttpResponse httpResponse = (HttpResponse) object;
+            if (httpResponse.getBody() instanceof JsonBody) {
+                httpResponse = httpResponse.shallowClone().withBody((BodyWithContentType) null);
+            }
+            writeBytes(output, HTTP_RESPONSE, objectMapper.writeValueAsBytes(new HttpResponseDTO(httpResponse)));
+            writeJsonBody(output, ((HttpResponse) object).getBody());
+        } else if (object instanceof HttpError) {
+            writeBytes(output, HTTP_ERROR, objectMapper.writeValueAsBytes(new HttpErrorDTO((HttpError) object)));
+        } else if (object instanceof Expectation) {
+            writeBytes(output, EXPECTATION, objectMapper.writeValueAsBytes(new ExpectationDTO((Expectation) object)));
+        } else {
+            output.writeByte(NULL);
+        }
+    }
+
+    private Object readObject(DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+            case HTTP_REQUEST: {
+                HttpRequest httpRequest = objectMapper.readValue(readBytes(input), HttpRequestDTO.class).buildObject();
+                JsonBody jsonBody = readJsonBody(input);
+                return jsonBody != null ? httpRequest.withBody(jsonBody) : httpRequest;
+            }
+            case OPEN_API_DEFINITION:
+                return objectMapper.readValue(readBytes(input), OpenAPIDefinitionDTO.class).buildObject();
+            case HTTP_RESPONSE: {
+                HttpResponse httpResponse = objectMapper.readValue(readBytes(input), HttpResponseDTO.class).buildObject();
+                JsonBody jsonBody = readJsonBody(input);
+                return jsonBody != null ? httpResponse.withBody(jsonBody) : httpResponse;
+            }
+            case HTTP_ERROR:
+                return objectMapper.readValue(readBytes(input), HttpErrorDTO.class).buildObject();
+            case EXPECTATION:
+                return objectMapper.readValue(readBytes(input), ExpectationDTO.class).buildObject();
+            default:
+                return null;
+        }
+    }
+
+    private static void writeJsonBody(DataOutputStream output, Body<?> body) throws IOException {
+        if (body instanceof JsonBody) {
+            JsonBody jsonBody = (JsonBody) body;
+            output.writeByte(JSON_BODY);
+            writeString(output, jsonBody.getValue());
+            if (jsonBody.getRawBytes() != null) {
+                writeBytes(output, STRING, jsonBody.getRawBytes());
+            } else {
+                output.writeByte(NULL);
+            }
+            writeString(output, jsonBody.getContentType());
+            writeString(output, jsonBody.getMatchType() != null ? jsonBody.getMatchType().name() : null);
+            output.writeByte(jsonBody.getNot() == null ? -1 : jsonBody.getNot() ? 1 : 0);
+            output.writeByte(jsonBody.getOptional() == null ? -1 : jsonBody.getOptional() ? 1 : 0);
+        } else {
+            output.writeByte(NULL);
+        }
+    }
+
+    private static JsonBody readJsonBody(DataInputStream input) throws IOException {
+        if (input.readByte() == JSON_BODY) {
+            String json = readString(input);
+            byte[] rawBytes = input.readByte() == NULL ? null : readBytes(input);
+            String contentType = readString(input);
+            String matchType = readString(input);
+            JsonBody jsonBody = new JsonBody(json, rawBytes, contentType != null ? MediaType.parse(contentType) : null, matchType != null ? MatchType.valueOf(matchType) : null);
+            byte not = input.readByte();
+            if (not >= 0) {
+                jsonBody.withNot(not == 1);
+            }
+            byte optional = input.readByte();
+            if (optional >= 0) {
+                jsonBody.withOptional(optional == 1);
+            }
+            return jsonBody;
+        } else {
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value != null) {
+            writeBytes(output, STRING, value.getBytes(UTF_8));
+        } else {
+            output.writeByte(NULL);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readByte() == NULL ? null : new String(readBytes(input), UTF_8);
+    }
+
+    private static void writeBytes(DataOutputStream output, byte type, byte[] bytes) throws IOException {
+        output.writeByte(type);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,319 @@
+package org.mockserver.log;
+
+import org.mockserver.collections.CaseFoldedEntries;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.log.model.LogEntry.LogMessageType;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.NottableSchemaString;
+import org.mockserver.model.NottableString;
+import org.mockserver.model.RequestDefinition;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Secondary indexes over the entries in the event log by type, method, path and correlation id, so retrieving or
+ * verifying requests only matches the entries that could match instead of every entry in the log.
+ * <p>
+ * Each entry is given a sequence number when added so candidates from any index are returned in the order they were
+ * logged. Method and path are indexed by their case-folded value if they are literal (i.e. not notted, a schema, blank
+ * or a regex) otherwise the entry is held in a separate list of entries that could match any method or path, so the
+ * candidates for a literal method or path are always a superset of the entries matched by an
+ * {@link org.mockserver.matchers.HttpRequestMatcher}.
+ * <p>
+ * Every list returned is a copy taken under the index's lock, so readers on any thread can match against it while
+ * entries continue to be added or evicted. The copy of every entry is versioned and shared between readers until the
+ * next modification so repeated reads of an unchanged log don't copy it again.
+ *
+ * @author jamesdbloom
+ */
+public class LogEntryIndex {
+
+    private final Map<LogEntry, IndexedEntry> indexedEntries = new IdentityHashMap<>();
+    private final Map<LogMessageType, NavigableMap<Long, LogEntry>> byType = new EnumMap<>(LogMessageType.class);
+    private final Map<String, NavigableMap<Long, LogEntry>> byMethod = new HashMap<>();
+    private final NavigableMap<Long, LogEntry> anyMethod = new TreeMap<>();
+    private final Map<String, NavigableMap<Long, LogEntry>> byPath = new HashMap<>();
+    private final NavigableMap<Long, LogEntry> anyPath = new TreeMap<>();
+    private final Map<String, NavigableMap<Long, LogEntry>> byCorrelationId = new HashMap<>();
+    private final NavigableMap<Long, LogEntry> all = new TreeMap<>();
+    private long nextSequence;
+    private long version;
+    private long snapshotVersion = -1;
+    private List<LogEntry> snapshot;
+
+    public synchronized void add(LogEntry logEntry) {
+        Long sequence = nextSequence++;
+        RequestDefinition[] requests = logEntry.getHttpRequests();
+        // the keys are kept so removing an entry doesn't need its requests, which may have to be decoded
+        IndexedEntry indexedEntry = new IndexedEntry(
+            sequence,
+            index(logEntry, requests, sequence, HttpRequest::getMethod, byMethod, anyMethod),
+            index(logEntry, requests, sequence, HttpRequest::getPath, byPath, anyPath)
+        );
+        indexedEntries.put(logEntry, indexedEntry);
+        all.put(sequence, logEntry);
+        version++;
+        if (logEntry.getType() != null) {
+            byType.computeIfAbsent(logEntry.getType(), type -> new TreeMap<>()).put(sequence, logEntry);
+        }
+        if (logEntry.getCorrelationId() != null) {
+            byCorrelationId.computeIfAbsent(logEntry.getCorrelationId(), correlationId -> new TreeMap<>()).put(sequence, logEntry);
+        }
+    }
+
+    private static List<String> index(LogEntry logEntry, RequestDefinition[] requests, Long sequence, Function<HttpRequest, NottableString> field, Map<String, NavigableMap<Long, LogEntry>> byValue, NavigableMap<Long, LogEntry> anyValue) {
+        List<String> keys = Collections.emptyList();
+        if (requests.length == 0) {
+            anyValue.put(sequence, logEntry);
+        }
+        for (RequestDefinition request : requests) {
+            String key = request instanceof HttpRequest && !request.isNot() ? literalKey(field.apply((HttpRequest) request)) : null;
+            if (key != null) {
+                byValue.computeIfAbsent(key, value -> new TreeMap<>()).put(sequence, logEntry);
+                if (keys.isEmpty()) {
+                    keys = new ArrayList<>(requests.length);
+                }
+                keys.add(key);
+            } else {
+                anyValue.put(sequence, logEntry);
+            }
+        }
+        return keys;
+    }
+
+    public synchronized void remove(LogEntry logEntry) {
+        IndexedEntry indexedEntry = indexedEntries.remove(logEntry);
+        if (indexedEntry != null) {
+            Long sequence = indexedEntry.sequence;
+            all.remove(sequence);
+            version++;
+            remove(byType.get(logEntry.getType()), sequence);
+            if (logEntry.getCorrelationId() != null) {
+                remove(byCorrelationId, logEntry.getCorrelationId(), sequence);
+            }
+            anyMethod.remove(sequence);
+            anyPath.remove(sequence);
+            for (String methodKey : indexedEntry.methodKeys) {
+                remove(byMethod, methodKey, sequence);
+            }
+            for (String pathKey : indexedEntry.pathKeys) {
+                remove(byPath, pathKey, sequence);
+            }
+        }
+    }
+
+    private static void remove(NavigableMap<Long, LogEntry> entries, Long sequence) {
+        if (entries != null) {
+            entries.remove(sequence);
+        }
+    }
+
+    private static void remove(Map<String, NavigableMap<Long, LogEntry>> byValue, String key, Long sequence) {
+        if (key != null) {
+            NavigableMap<Long, LogEntry> entries = byValue.get(key);
+            if (entries != null) {
+                entries.remove(sequence);
+                if (entries.isEmpty()) {
+                    byValue.remove(key);
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        indexedEntries.clear();
+        byType.clear();
+        byMethod.clear();
+        anyMethod.clear();
+        byPath.clear();
+        anyPath.clear();
+        byCorrelationId.clear();
+        all.clear();
+        version++;
+    }
+
+    public synchronized int size() {
+        return indexedEntries.size();
+    }
+
+    /**
+     * Incremented every time an entry is added or removed
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Returns an immutable list of every entry in the order they were logged, the same list is returned until the
+     * index is next modified
+     */
+    public synchronized List<LogEntry> snapshot() {
+        if (snapshotVersion != version) {
+            snapshot = Collections.unmodifiableList(new ArrayList<>(all.values()));
+            snapshotVersion = version;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns, in the order they were logged, the candidate entries which include every entry that could be matched by
+     * the request definition and is one of the types, or null if the index can't narrow the entries so every entry in
+     * the log has to be matched
+     *
+     * @param requestDefinition the request to match, candidates are narrowed by its method or path if it is an
+     *                          {@link HttpRequest} with a literal method or path
+     * @param types             the types of entry to return or null for entries of any type
+     */
+    public synchronized List<LogEntry> candidates(RequestDefinition requestDefinition, Set<LogMessageType> types) {
+        List<NavigableMap<Long, LogEntry>> selected = select(requestDefinition, types);
+        if (selected != null) {
+            List<LogEntry> merged = new ArrayList<>(size(selected));
+            merge(selected, Integer.MAX_VALUE, (sequence, logEntry) -> merged.add(logEntry));
+            return merged;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Returns, in the order they were logged and keyed by their sequence number, up to limit of the candidate entries
+     * logged after the sequence number, when the index can't narrow the entries every entry in the log is a candidate
+     *
+     * @param requestDefinition the request to match, candidates are narrowed by its method or path if it is an
+     *                          {@link HttpRequest} with a literal method or path
+     * @param types             the types of entry to return or null for entries of any type
+     * @param after             the sequence number of the last entry already returned or -1 to start at the first entry
+     * @param limit             the maximum number of entries to return
+     */
+    public synchronized NavigableMap<Long, LogEntry> candidates(RequestDefinition requestDefinition, Set<LogMessageType> types, long after, int limit) {
+        List<NavigableMap<Long, LogEntry>> selected = select(requestDefinition, types);
+        List<NavigableMap<Long, LogEntry>> tails = new ArrayList<>();
+        for (NavigableMap<Long, LogEntry> entries : selected != null ? selected : Collections.singletonList(all)) {
+            tails.add(entries.tailMap(after, false));
+        }
+        NavigableMap<Long, LogEntry> page = new TreeMap<>();
+        merge(tails, limit, page::put);
+        return page;
+    }
+
+    private List<NavigableMap<Long, LogEntry>> select(RequestDefinition requestDefinition, Set<LogMessageType> types) {
+        List<NavigableMap<Long, LogEntry>> selected = null;
+        int selectedSize = Integer.MAX_VALUE;
+        if (types != null) {
+            selected = new ArrayList<>();
+            selectedSize = 0;
+            for (LogMessageType type : types) {
+                NavigableMap<Long, LogEntry> entries = byType.get(type);
+                if (entries != null) {
+                    selected.add(entries);
+                    selectedSize += entries.size();
+                }
+            }
+        }
+        if (requestDefinition instanceof HttpRequest && !requestDefinition.isNot()) {
+            HttpRequest httpRequest = (HttpRequest) requestDefinition;
+            for (List<NavigableMap<Long, LogEntry>> candidates : Arrays.asList(
+                candidates(byPath, anyPath, httpRequest.getPath()),
+                candidates(byMethod, anyMethod, httpRequest.getMethod())
+            )) {
+                int size = size(candidates);
+                if (size < selectedSize) {
+                    selected = candidates;
+                    selectedSize = size;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static List<NavigableMap<Long, LogEntry>> candidates(Map<String, NavigableMap<Long, LogEntry>> byValue, NavigableMap<Long, LogEntry> anyValue, NottableString value) {
+        String key = literalKey(value);
+        if (key != null) {
+            NavigableMap<Long, LogEntry> entries = byValue.get(key);
+            return entries != null ? Arrays.asList(entries, anyValue) : Collections.singletonList(anyValue);
+        } else {
+            return null;
+        }
+    }
+
+    private static int size(List<NavigableMap<Long, LogEntry>> candidates) {
+        if (candidates == null) {
+            return Integer.MAX_VALUE;
+        }
+        int size = 0;
+        for (NavigableMap<Long, LogEntry> entries : candidates) {
+            size += entries.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns, in the order they were logged, the entries with the correlation id
+     */
+    public synchronized List<LogEntry> forCorrelationId(String correlationId) {
+        NavigableMap<Long, LogEntry> entries = correlationId != null ? byCorrelationId.get(correlationId) : null;
+        return entries != null ? new ArrayList<>(entries.values()) : new ArrayList<>();
+    }
+
+    private static void merge(List<NavigableMap<Long, LogEntry>> entriesToMerge, int limit, BiConsumer<Long, LogEntry> consumer) {
+        int merged = 0;
+        if (entriesToMerge.size() == 1) {
+            for (Map.Entry<Long, LogEntry> entry : entriesToMerge.get(0).entrySet()) {
+                if (merged++ == limit) {
+                    break;
+                }
+                consumer.accept(entry.getKey(), entry.getValue());
+            }
+        } else if (!entriesToMerge.isEmpty()) {
+            List<Iterator<Map.Entry<Long, LogEntry>>> iterators = new ArrayList<>();
+            List<Map.Entry<Long, LogEntry>> heads = new ArrayList<>();
+            for (NavigableMap<Long, LogEntry> entries : entriesToMerge) {
+                Iterator<Map.Entry<Long, LogEntry>> iterator = entries.entrySet().iterator();
+                iterators.add(iterator);
+                heads.add(iterator.hasNext() ? iterator.next() : null);
+            }
+            long lastSequence = -1;
+            while (merged < limit) {
+                int lowest = -1;
+                for (int i = 0; i < heads.size(); i++) {
+                    if (heads.get(i) != null && (lowest == -1 || heads.get(i).getKey() < heads.get(lowest).getKey())) {
+                        lowest = i;
+                    }
+                }
+                if (lowest == -1) {
+                    break;
+                }
+                Map.Entry<Long, LogEntry> head = heads.get(lowest);
+                // an entry with several requests can be in more than one of the merged maps
+                if (head.getKey() != lastSequence) {
+                    consumer.accept(head.getKey(), head.getValue());
+                    lastSequence = head.getKey();
+                    merged++;
+                }
+                heads.set(lowest, iterators.get(lowest).hasNext() ? iterators.get(lowest).next() : null);
+            }
+        }
+    }
+
+    private static String literalKey(NottableString value) {
+        if (value != null && !value.isNot() && !value.isBlank() && !(value instanceof NottableSchemaString) && value.isLiteral()) {
+            return CaseFoldedEntries.fold(value.getValue());
+        } else {
+            return null;
+        }
+    }
+
+    private static class IndexedEntry {
+        private final Long sequence;
+        private final List<String> methodKeys;
+        private final List<String> pathKeys;
+
+        private IndexedEntry(Long sequence, List<String> methodKeys, List<String> pathKeys) {
+            this.sequence = sequence;
+            this.methodKeys = methodKeys;
+            this.pathKeys = pathKeys;
+        }
+    }
+}
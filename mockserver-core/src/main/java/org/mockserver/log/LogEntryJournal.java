@@ -0,0 +1,495 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+import org.slf4j.event.Level;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Appends encoded log entries to memory mapped journal files in a directory so the log can be replayed after a restart,
+ * the journal is split into fixed size segments and once the segments use more than the maximum number of bytes, or
+ * the newest entry in a segment is older than the maximum age, the oldest segment is deleted along with every entry in
+ * it.
+ * <p>
+ * Each segment has a sparse index file holding the epoch time and offset of an entry about every
+ * {@value #INDEX_INTERVAL} bytes, so replaying the journal only reads the entries within the maximum age. Replayed
+ * entries hold the fields used to index and filter them and decode the rest from the mapped segment when read.
+ * <p>
+ * Replay stops at the first record that doesn't fit within its length or holds invalid fields, for example after a
+ * crash part way through a write, and the segment is truncated there so new entries are appended after the last good
+ * record. The directory is locked while the journal is open so only one process appends to it.
+ * <p>
+ * Throwables and entries deleted by clearing the log are not persisted.
+ *
+ * @author jamesdbloom
+ */
+public class LogEntryJournal implements LogEntryStore {
+
+    private static final String SEGMENT_FILE_PREFIX = "logEntries-";
+    private static final String SEGMENT_FILE_SUFFIX = ".journal";
+    private static final String INDEX_FILE_SUFFIX = ".index";
+    private static final String LOCK_FILE_NAME = "logEntries.lock";
+    private static final int INDEX_INTERVAL = 4096;
+    private static final int INDEX_POINT_SIZE = Long.BYTES + Integer.BYTES;
+    // epoch time, type, log level, id length, correlation id length, port and encoded length
+    private static final int MIN_RECORD_LENGTH = Long.BYTES + 2 + 4 * Integer.BYTES;
+    private static final int MIN_SEGMENT_SIZE = 64 * 1024;
+    private static final int MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private final LogEntryCodec logEntryCodec = new LogEntryCodec();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final Path directory;
+    private final long maxSize;
+    private final long maxAge;
+    private final int segmentSize;
+    private final Consumer<LogEntry> onEvictCallback;
+    private long size;
+    private long nextSegmentNumber;
+    private FileChannel lockChannel;
+    private FileLock lock;
+
+    /**
+     * @param directory       the directory holding the journal files, created if it doesn't exist
+     * @param maxSize         the maximum number of bytes of journal files
+     * @param maxAge          the maximum age in milliseconds of persisted log entries, or 0 for no maximum age
+     * @param onEvictCallback called for each log entry in a deleted segment
+     */
+    public LogEntryJournal(Path directory, long maxSize, long maxAge, Consumer<LogEntry> onEvictCallback) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+        this.segmentSize = (int) Math.min(maxSize, Math.max(MIN_SEGMENT_SIZE, Math.min(MAX_SEGMENT_SIZE, maxSize / 8)));
+        this.onEvictCallback = onEvictCallback;
+    }
+
+    /**
+     * Opens the existing journal files, deleting any segments outside the retention limits, and returns the persisted
+     * log entries in the order they were logged, new log entries are appended after the last persisted entry
+     *
+     * @throws UncheckedIOException if the journal files can't be read or the directory is locked by another journal
+     */
+    public synchronized List<LogEntry> replay() {
+        try {
+            Files.createDirectories(directory);
+            lock();
+            List<Path> segmentPaths;
+            try (Stream<Path> paths = Files.list(directory)) {
+                segmentPaths = paths
+                    .filter(path -> segmentNumber(path) >= 0)
+                    .sorted(Comparator.comparingLong(LogEntryJournal::segmentNumber))
+                    .collect(Collectors.toList());
+            }
+            long minEpochTime = minEpochTime();
+            List<LogEntry> logEntries = new ArrayList<>();
+            for (Path segmentPath : segmentPaths) {
+                if (Files.size(segmentPath) < Integer.BYTES) {
+                    Files.deleteIfExists(segmentPath);
+                    continue;
+                }
+                Segment segment = new Segment(segmentNumber(segmentPath), (int) Files.size(segmentPath));
+                segment.replay(minEpochTime);
+                segments.addLast(segment);
+                size += segment.capacity();
+                nextSegmentNumber = segment.number + 1;
+            }
+            retain(0);
+            for (Segment segment : segments) {
+                logEntries.addAll(segment.logEntries);
+            }
+            return logEntries;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("exception replaying log entries from " + directory, ioe);
+        }
+    }
+
+    private void lock() throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE_NAME), CREATE, WRITE);
+        FileLock fileLock;
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException ofle) {
+            // already locked by another journal in this jvm
+            fileLock = null;
+        }
+        if (fileLock == null) {
+            channel.close();
+            throw new IOException("log entry journal directory is locked by another process");
+        }
+        lockChannel = channel;
+        lock = fileLock;
+    }
+
+    private void unlock() {
+        try {
+            if (lock != null) {
+                lock.release();
+            }
+            if (lockChannel != null) {
+                lockChannel.close();
+            }
+        } catch (IOException ignore) {
+            // the lock is released when the channel or process is closed
+        } finally {
+            lock = null;
+            lockChannel = null;
+        }
+    }
+
+    @Override
+    public synchronized LogEntry store(LogEntry logEntry) {
+        byte[] encoded = logEntryCodec.encode(logEntry);
+        byte[] record = record(logEntry, encoded);
+        retain(0);
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.remaining() < record.length) {
+            int capacity = Math.max(segmentSize, record.length + Integer.BYTES);
+            if (capacity > maxSize) {
+                return null;
+            }
+            if (segment != null) {
+                segment.force();
+            }
+            retain(capacity);
+            try {
+                segment = new Segment(nextSegmentNumber++, capacity);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException("exception creating log entry journal segment in " + directory, ioe);
+            }
+            segments.addLast(segment);
+            size += capacity;
+        }
+        return segment.write(logEntry, record, encoded.length);
+    }
+
+    /**
+     * Deletes the oldest segments until there is space for a new segment of the capacity and the oldest segment holds
+     * an entry within the maximum age
+     */
+    private void retain(int capacity) {
+        long minEpochTime = minEpochTime();
+        while (!segments.isEmpty() && (size + capacity > maxSize || segments.peekFirst().lastEpochTime < minEpochTime)) {
+            evict(segments.pollFirst());
+        }
+    }
+
+    private long minEpochTime() {
+        return maxAge > 0 ? TimeService.currentTimeMillis() - maxAge : Long.MIN_VALUE;
+    }
+
+    private void evict(Segment segment) {
+        size -= segment.capacity();
+        segment.delete();
+        if (onEvictCallback != null) {
+            for (LogEntry logEntry : segment.logEntries) {
+                onEvictCallback.accept(logEntry);
+            }
+        }
+    }
+
+    @Override
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Deletes every journal file without calling the eviction callback
+     */
+    @Override
+    public synchronized void clear() {
+        for (Segment segment : segments) {
+            segment.delete();
+        }
+        segments.clear();
+        size = 0;
+    }
+
+    /**
+     * Forces any changes to the journal files to disk, closes them and unlocks the directory
+     */
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            segment.force();
+            segment.close();
+        }
+        segments.clear();
+        size = 0;
+        unlock();
+    }
+
+    /**
+     * Record layout: int length of the rest of the record, long epoch time, type, log level, id, correlation id and
+     * port, int length of the encoded log entry and the log entry encoded by {@link LogEntryCodec}
+     */
+    private static byte[] record(LogEntry logEntry, byte[] encoded) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(encoded.length + 128);
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(0);
+            output.writeLong(logEntry.getEpochTime());
+            output.writeByte(logEntry.getType() != null ? logEntry.getType().ordinal() : -1);
+            output.writeByte(logEntry.getLogLevel() != null ? logEntry.getLogLevel().ordinal() : -1);
+            writeString(output, logEntry.id());
+            writeString(output, logEntry.getCorrelationId());
+            output.writeInt(logEntry.getPort() != null ? logEntry.getPort() : -1);
+            output.writeInt(encoded.length);
+            output.write(encoded);
+            output.flush();
+            byte[] record = bytes.toByteArray();
+            ByteBuffer.wrap(record).putInt(record.length - Integer.BYTES);
+            return record;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("exception encoding log entry", ioe);
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value != null ? value.getBytes(UTF_8) : null;
+        output.writeInt(bytes != null ? bytes.length : -1);
+        if (bytes != null) {
+            output.write(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length > buffer.remaining() || length < -1) {
+            throw new IllegalArgumentException("invalid string length " + length);
+        }
+        if (length >= 0) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, UTF_8);
+        } else {
+            return null;
+        }
+    }
+
+    private static long segmentNumber(Path segmentPath) {
+        String fileName = segmentPath.getFileName().toString();
+        if (!fileName.startsWith(SEGMENT_FILE_PREFIX) || !fileName.endsWith(SEGMENT_FILE_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(SEGMENT_FILE_PREFIX.length(), fileName.length() - SEGMENT_FILE_SUFFIX.length()));
+        } catch (NumberFormatException nfe) {
+            return -1;
+        }
+    }
+
+    private class Segment {
+        private final long number;
+        private final Path path;
+        private final Path indexPath;
+        private final FileChannel channel;
+        private final FileChannel indexChannel;
+        private final MappedByteBuffer buffer;
+        private final List<LogEntry> logEntries = new ArrayList<>();
+        private long lastEpochTime = Long.MIN_VALUE;
+        private int nextIndexOffset;
+
+        private Segment(long number, int capacity) throws IOException {
+            this.number = number;
+            this.path = directory.resolve(SEGMENT_FILE_PREFIX + number + SEGMENT_FILE_SUFFIX);
+            this.indexPath = directory.resolve(SEGMENT_FILE_PREFIX + number + INDEX_FILE_SUFFIX);
+            Files.createDirectories(directory);
+            this.channel = FileChannel.open(path, CREATE, READ, WRITE);
+            this.indexChannel = FileChannel.open(indexPath, CREATE, READ, WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+
+        private int capacity() {
+            return buffer.capacity();
+        }
+
+        private int remaining() {
+            // leaves space for a zero length to mark the end of the records
+            return buffer.remaining() - Integer.BYTES;
+        }
+
+        private LogEntry write(LogEntry logEntry, byte[] record, int encodedLength) {
+            int offset = buffer.position();
+            buffer.put(record);
+            if (offset >= nextIndexOffset) {
+                writeIndexPoint(logEntry.getEpochTime(), offset);
+                nextIndexOffset = offset + INDEX_INTERVAL;
+            }
+            lastEpochTime = Math.max(lastEpochTime, logEntry.getEpochTime());
+            LogEntry journalLogEntry = new OffHeapLogEntry(logEntry.id(), logEntry, logEntry, logEntryCodec, buffer, offset + record.length - encodedLength, encodedLength);
+            logEntries.add(journalLogEntry);
+            return journalLogEntry;
+        }
+
+        private void writeIndexPoint(long epochTime, int offset) {
+            try {
+                ByteBuffer indexPoint = ByteBuffer.allocate(INDEX_POINT_SIZE);
+                indexPoint.putLong(epochTime).putInt(offset).flip();
+                indexChannel.write(indexPoint, indexChannel.size());
+            } catch (IOException ioe) {
+                throw new UncheckedIOException("exception writing log entry journal index " + indexPath, ioe);
+            }
+        }
+
+        /**
+         * Finds the last index point before the minimum epoch time and reads every record after it to the end of the
+         * segment, if the index is missing or incomplete the records are read from the start of the segment and the
+         * segment is truncated at the first invalid record
+         */
+        private void replay(long minEpochTime) throws IOException {
+            int offset = 0;
+            int lastIndexOffset = -1;
+            ByteBuffer index = ByteBuffer.allocate((int) (indexChannel.size() - indexChannel.size() % INDEX_POINT_SIZE));
+            indexChannel.read(index, 0);
+            index.flip();
+            while (index.remaining() >= INDEX_POINT_SIZE) {
+                long epochTime = index.getLong();
+                int indexOffset = index.getInt();
+                if (indexOffset <= lastIndexOffset || indexOffset >= buffer.capacity()) {
+                    offset = 0;
+                    lastIndexOffset = -1;
+                    break;
+                }
+                lastIndexOffset = indexOffset;
+                if (epochTime < minEpochTime) {
+                    offset = indexOffset;
+                }
+                nextIndexOffset = indexOffset + INDEX_INTERVAL;
+            }
+            int invalidRecordOffset = replayRecords(offset, minEpochTime);
+            if (invalidRecordOffset == offset && offset > 0) {
+                // the index points at an invalid record so it can't be trusted
+                logEntries.clear();
+                lastEpochTime = Long.MIN_VALUE;
+                lastIndexOffset = -1;
+                invalidRecordOffset = replayRecords(0, minEpochTime);
+            }
+            if (invalidRecordOffset >= 0) {
+                truncate(invalidRecordOffset);
+            }
+            if (lastIndexOffset < 0 || invalidRecordOffset >= 0) {
+                // the index is rebuilt from the start of the segment when it is missing or points past the truncation
+                rebuildIndex();
+            }
+        }
+
+        /**
+         * Reads the records from the offset until the zero length marking the end of the records, setting the position
+         * of the segment after the last record, or returns the offset of the first invalid record
+         */
+        private int replayRecords(int offset, long minEpochTime) {
+            ByteBuffer records = buffer.duplicate();
+            records.position(offset);
+            while (records.remaining() >= Integer.BYTES) {
+                int recordOffset = records.position();
+                int length = records.getInt();
+                if (length == 0) {
+                    buffer.position(recordOffset);
+                    return -1;
+                }
+                if (length < MIN_RECORD_LENGTH || length > records.remaining()) {
+                    return recordOffset;
+                }
+                // every field is read from a view limited to the record so a corrupt length can't read past it
+                ByteBuffer record = records.slice();
+                record.limit(length);
+                records.position(recordOffset + Integer.BYTES + length);
+                try {
+                    LogEntry header = new LogEntry();
+                    header.setEpochTime(record.getLong());
+                    byte type = record.get();
+                    byte level = record.get();
+                    if (type < -1 || type >= LogEntry.LogMessageType.values().length || level < -1 || level >= Level.values().length) {
+                        return recordOffset;
+                    }
+                    header
+                        .setType(type >= 0 ? LogEntry.LogMessageType.values()[type] : null)
+                        .setLogLevel(level >= 0 ? Level.values()[level] : null);
+                    String id = readString(record);
+                    header.setCorrelationId(readString(record));
+                    int port = record.getInt();
+                    header.setPort(port >= 0 ? port : null);
+                    int encodedLength = record.getInt();
+                    if (encodedLength != record.remaining()) {
+                        return recordOffset;
+                    }
+                    int encodedOffset = recordOffset + Integer.BYTES + record.position();
+                    lastEpochTime = Math.max(lastEpochTime, header.getEpochTime());
+                    if (header.getEpochTime() >= minEpochTime) {
+                        logEntries.add(new OffHeapLogEntry(id, header, null, logEntryCodec, buffer, encodedOffset, encodedLength));
+                    }
+                } catch (BufferUnderflowException | IllegalArgumentException e) {
+                    return recordOffset;
+                }
+            }
+            buffer.position(records.position());
+            return -1;
+        }
+
+        /**
+         * Zeroes the segment from the offset so new records are appended there and the end of the records is found
+         */
+        private void truncate(int offset) {
+            byte[] zeros = new byte[Math.min(INDEX_INTERVAL, buffer.capacity() - offset)];
+            ByteBuffer records = buffer.duplicate();
+            records.position(offset);
+            while (records.hasRemaining()) {
+                records.put(zeros, 0, Math.min(zeros.length, records.remaining()));
+            }
+            buffer.position(offset);
+        }
+
+        private void rebuildIndex() throws IOException {
+            indexChannel.truncate(0);
+            nextIndexOffset = 0;
+            ByteBuffer records = buffer.duplicate();
+            records.position(0);
+            while (records.position() < buffer.position()) {
+                int recordOffset = records.position();
+                int length = records.getInt();
+                long epochTime = records.getLong();
+                if (recordOffset >= nextIndexOffset) {
+                    writeIndexPoint(epochTime, recordOffset);
+                    nextIndexOffset = recordOffset + INDEX_INTERVAL;
+                }
+                records.position(recordOffset + Integer.BYTES + length);
+            }
+        }
+
+        private void force() {
+            buffer.force();
+        }
+
+        private void close() {
+            try {
+                channel.close();
+                indexChannel.close();
+            } catch (IOException ignore) {
+                // the segment is no longer written to
+            }
+        }
+
+        private void delete() {
+            close();
+            try {
+                Files.deleteIfExists(path);
+                Files.deleteIfExists(indexPath);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException("exception deleting log entry journal segment " + path, ioe);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.mockserver.log;
+
+/**
+ * What is done with a log entry when the log ring buffer is full
+ *
+ * @author jamesdbloom
+ */
+public enum LogEntryOverflowPolicy {
+    /**
+     * wait until there is space in the ring buffer
+     */
+    BLOCK,
+    /**
+     * drop the log entry
+     */
+    DROP,
+    /**
+     * wait until there is space for one in every logEntryOverflowSampleRate received requests and drop every other
+     * log entry
+     */
+    SAMPLE
+}
@@ -0,0 +1,46 @@
+package org.mockserver.log;
+
+/**
+ * A page of log entries to retrieve, entries are paged by the sequence number they were given when logged so a page is
+ * not affected by entries logged, cleared or evicted while paging through the log.
+ * <p>
+ * After a page is retrieved {@link #getNextAfter()} returns the cursor for the next page, or null when there are no
+ * more entries to retrieve.
+ *
+ * @author jamesdbloom
+ */
+public class LogEntryPage {
+
+    private final long after;
+    private final int limit;
+    private Long nextAfter;
+
+    /**
+     * @param after the sequence number returned as the cursor for the next page by the previous page or null to start at the first entry
+     * @param limit the maximum number of log entries in the page
+     */
+    public LogEntryPage(Long after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be greater than zero");
+        }
+        this.after = after != null ? after : -1;
+        this.limit = limit;
+    }
+
+    public long getAfter() {
+        return after;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public Long getNextAfter() {
+        return nextAfter;
+    }
+
+    LogEntryPage setNextAfter(Long nextAfter) {
+        this.nextAfter = nextAfter;
+        return this;
+    }
+}
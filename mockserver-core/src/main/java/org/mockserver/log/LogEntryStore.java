@@ -0,0 +1,33 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+
+/**
+ * Stores log entries outside the heap, the entries returned hold only the fields needed to index them and decode the
+ * rest from the store when read
+ *
+ * @author jamesdbloom
+ */
+public interface LogEntryStore {
+
+    /**
+     * Returns a log entry which decodes the requests, responses and expectation from the store when they are read, or
+     * null if the log entry is larger than the store
+     */
+    LogEntry store(LogEntry logEntry);
+
+    /**
+     * The number of bytes used by the store
+     */
+    long size();
+
+    /**
+     * Removes every log entry from the store without calling the eviction callback
+     */
+    void clear();
+
+    /**
+     * Releases the resources held by the store, any log entries that are persisted are kept
+     */
+    void close();
+}
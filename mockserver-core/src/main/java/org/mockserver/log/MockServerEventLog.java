@@ -1,6 +1,7 @@
 package org.mockserver.log;
 
 import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.dsl.Disruptor;
 import org.mockserver.collections.CircularConcurrentLinkedDeque;
 import org.mockserver.configuration.ConfigurationProperties;
@@ -8,6 +9,7 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.HttpRequestMatcher;
 import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.mock.Expectation;
 import org.mockserver.mock.listeners.MockServerEventLogNotifier;
 import org.mockserver.model.LogEventRequestAndResponse;
@@ -21,18 +23,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.event.Level;
 
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -49,6 +56,8 @@ import static org.mockserver.model.HttpRequest.request;
 public class MockServerEventLog extends MockServerEventLogNotifier {
 
     private static final Logger logger = LoggerFactory.getLogger(MockServerEventLog.class);
+    private static final int PAGE_CANDIDATE_BATCH_SIZE = 1000;
+    private static final int MAX_VERIFICATION_COUNTERS = 1000;
     private static final Predicate<LogEntry> allPredicate = input
         -> true;
     private static final Predicate<LogEntry> notDeletedPredicate = input
@@ -63,6 +72,9 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     );
     private static final Predicate<LogEntry> recordedExpectationLogPredicate = input
         -> !input.isDeleted() && input.getType() == FORWARDED_REQUEST;
+    private static final Set<LogEntry.LogMessageType> requestLogTypes = EnumSet.of(RECEIVED_REQUEST);
+    private static final Set<LogEntry.LogMessageType> requestResponseLogTypes = EnumSet.of(EXPECTATION_RESPONSE, NO_MATCH_RESPONSE, FORWARDED_REQUEST);
+    private static final Set<LogEntry.LogMessageType> recordedExpectationLogTypes = EnumSet.of(FORWARDED_REQUEST);
     private static final Function<LogEntry, RequestDefinition[]> logEntryToRequest = LogEntry::getHttpRequests;
     private static final Function<LogEntry, Expectation> logEntryToExpectation = LogEntry::getExpectation;
     private static final Function<LogEntry, LogEventRequestAndResponse> logEntryToHttpRequestAndHttpResponse =
@@ -72,11 +84,26 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
             .withTimestamp(logEntry.getTimestamp());
     private static final String[] EXCLUDED_FIELDS = {"id", "disruptor"};
     private MockServerLogger mockServerLogger;
-    private CircularConcurrentLinkedDeque<LogEntry> eventLog = new CircularConcurrentLinkedDeque<>(ConfigurationProperties.maxLogEntries(), LogEntry::clear);
+    private final LogEntryIndex logEntryIndex = new LogEntryIndex();
+    // evicted entries aren't cleared as they may still be in a snapshot being read by another thread
+    private CircularConcurrentLinkedDeque<LogEntry> eventLog = new CircularConcurrentLinkedDeque<>(ConfigurationProperties.maxLogEntries(), logEntryIndex::remove);
+    // when entries are persisted or stored off-heap they are evicted by bytes, by the store, instead of by count, by the event log
+    private final LogEntryStore logEntryStore;
+    private final Object modificationLock = new Object();
     private MatcherBuilder matcherBuilder;
     private RequestDefinitionSerializer requestDefinitionSerializer;
     private final boolean asynchronousEventProcessing;
-    private Disruptor<LogEntry> disruptor;
+    private Disruptor<LogEntrySlot> disruptor;
+    private volatile long processedSequence = -1;
+    private volatile Thread eventProcessingThread;
+    private volatile boolean stopped;
+    private final LogEntryOverflowPolicy overflowPolicy = ConfigurationProperties.logEntryOverflowPolicy();
+    private final int overflowSampleRate = Math.max(1, ConfigurationProperties.logEntryOverflowSampleRate());
+    private final AtomicLong sampledReceivedRequests = new AtomicLong();
+    private final Map<LogEntry.LogMessageType, LongAdder> droppedLogEntries = new EnumMap<>(LogEntry.LogMessageType.class);
+    private final ReceivedRequestCounters receivedRequestCounters = ConfigurationProperties.verificationCounters() ? new ReceivedRequestCounters(MAX_VERIFICATION_COUNTERS) : null;
+    // only read and written by the event processing thread
+    private int batchSize;
 
     public MockServerEventLog(MockServerLogger mockServerLogger, Scheduler scheduler, boolean asynchronousEventProcessing) {
         super(scheduler);
@@ -84,16 +111,65 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         this.matcherBuilder = new MatcherBuilder(mockServerLogger);
         this.requestDefinitionSerializer = new RequestDefinitionSerializer(mockServerLogger);
         this.asynchronousEventProcessing = asynchronousEventProcessing;
+        this.logEntryStore = createLogEntryStore();
+        // populated up front so the map is never modified while being counted into concurrently
+        for (LogEntry.LogMessageType type : LogEntry.LogMessageType.values()) {
+            droppedLogEntries.put(type, new LongAdder());
+        }
         startRingBuffer();
     }
 
+    private LogEntryStore createLogEntryStore() {
+        if (ConfigurationProperties.persistLogEntries()) {
+            LogEntryJournal logEntryJournal = new LogEntryJournal(Paths.get(ConfigurationProperties.persistedLogEntriesPath()), ConfigurationProperties.persistedLogEntriesMaxBytes(), ConfigurationProperties.persistedLogEntriesMaxAge(), logEntryIndex::remove);
+            try {
+                for (LogEntry logEntry : logEntryJournal.replay()) {
+                    logEntryIndex.add(logEntry);
+                }
+                return logEntryJournal;
+            } catch (RuntimeException re) {
+                // a corrupt journal or a directory locked by another process mustn't stop the log from starting
+                if (MockServerLogger.isEnabled(Level.WARN)) {
+                    writeToSystemOut(logger, new LogEntry()
+                        .setLogLevel(Level.WARN)
+                        .setMessageFormat("exception replaying persisted log entries from{}log entries will not be persisted")
+                        .setArguments(ConfigurationProperties.persistedLogEntriesPath())
+                        .setThrowable(re)
+                    );
+                }
+                logEntryJournal.close();
+                logEntryIndex.clear();
+            }
+        }
+        long maxLogEntriesOffHeapBytes = ConfigurationProperties.maxLogEntriesOffHeapBytes();
+        return maxLogEntriesOffHeapBytes > 0 ? new OffHeapLogEntryStore(maxLogEntriesOffHeapBytes, logEntryIndex::remove) : null;
+    }
+
+    /**
+     * A ring buffer slot holding a reference to a published log entry, so log entries are handed to the event
+     * processing thread without being copied into the slot
+     */
+    private static class LogEntrySlot {
+        private LogEntry logEntry;
+
+        private static void translateTo(LogEntrySlot logEntrySlot, long sequence, LogEntry logEntry) {
+            logEntrySlot.logEntry = logEntry;
+        }
+    }
+
     public void add(LogEntry logEntry) {
         logEntry.setPort(getPort());
+        if (logEntry.getType() == null) {
+            // entries are stored as added, so default the type from the log level as copying the entry used to
+            logEntry.setType(LogEntry.LogMessageType.valueOf(logEntry.getLogLevel().name()));
+        }
         if (asynchronousEventProcessing) {
-            if (!disruptor.getRingBuffer().tryPublishEvent(logEntry)) {
-                // if ring buffer full only write WARN and ERROR to logger
-                if (logEntry.getLogLevel().toInt() >= Level.WARN.toInt()) {
-                    logger.warn("Too many log events failed to add log event to ring buffer: " + logEntry);
+            RingBuffer<LogEntrySlot> ringBuffer = disruptor.getRingBuffer();
+            if (!ringBuffer.tryPublishEvent(LogEntrySlot::translateTo, logEntry)) {
+                if (shouldWaitForSpace(logEntry)) {
+                    ringBuffer.publishEvent(LogEntrySlot::translateTo, logEntry);
+                } else {
+                    dropped(logEntry);
                 }
             }
         } else {
@@ -101,21 +177,63 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         }
     }
 
+    private boolean shouldWaitForSpace(LogEntry logEntry) {
+        // the event processing thread can't wait for itself to make space and once stopped space is never made
+        if (stopped || Thread.currentThread() == eventProcessingThread) {
+            return false;
+        }
+        switch (overflowPolicy) {
+            case BLOCK:
+                return true;
+            case SAMPLE:
+                return logEntry.getType() == RECEIVED_REQUEST && sampledReceivedRequests.incrementAndGet() % overflowSampleRate == 0;
+            default:
+                return false;
+        }
+    }
+
+    private void dropped(LogEntry logEntry) {
+        // entries without a type are counted by their log level
+        LogEntry.LogMessageType type = logEntry.getType() != null ? logEntry.getType() : LogEntry.LogMessageType.valueOf(logEntry.getLogLevel().name());
+        droppedLogEntries.get(type).increment();
+        Metrics.incrementDroppedLogEntries(type);
+        // if ring buffer full only write WARN and ERROR to logger
+        if (logEntry.getLogLevel().toInt() >= Level.WARN.toInt()) {
+            logger.warn("Too many log events failed to add log event to ring buffer: " + logEntry);
+        }
+    }
+
+    /**
+     * The number of log entries of each type dropped because the ring buffer was full since the log was last reset,
+     * only types with dropped log entries are included
+     */
+    public Map<LogEntry.LogMessageType, Long> droppedLogEntries() {
+        Map<LogEntry.LogMessageType, Long> dropped = new EnumMap<>(LogEntry.LogMessageType.class);
+        droppedLogEntries.forEach((type, count) -> {
+            if (count.sum() > 0) {
+                dropped.put(type, count.sum());
+            }
+        });
+        return dropped;
+    }
+
     public int size() {
-        return eventLog.size();
+        return logEntryStore != null ? logEntryIndex.size() : eventLog.size();
     }
 
     public void setMaxSize(int maxSize) {
-        eventLog.setMaxSize(maxSize);
+        if (logEntryStore == null) {
+            eventLog.setMaxSize(maxSize);
+        }
     }
 
     private void startRingBuffer() {
-        disruptor = new Disruptor<>(LogEntry::new, ConfigurationProperties.ringBufferSize(), new Scheduler.SchedulerThreadFactory("EventLog"));
+        disruptor = new Disruptor<>(LogEntrySlot::new, ConfigurationProperties.ringBufferSize(), new Scheduler.SchedulerThreadFactory("EventLog"));
 
-        final ExceptionHandler<LogEntry> errorHandler = new ExceptionHandler<LogEntry>() {
+        final ExceptionHandler<LogEntrySlot> errorHandler = new ExceptionHandler<LogEntrySlot>() {
             @Override
-            public void handleEventException(Throwable ex, long sequence, LogEntry logEntry) {
-                logger.error("exception handling log entry in log ring buffer, for log entry: " + logEntry, ex);
+            public void handleEventException(Throwable ex, long sequence, LogEntrySlot logEntrySlot) {
+                logger.error("exception handling log entry in log ring buffer, for log entry: " + logEntrySlot.logEntry, ex);
             }
 
             @Override
@@ -130,11 +248,28 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
         };
         disruptor.setDefaultExceptionHandler(errorHandler);
 
-        disruptor.handleEventsWith((logEntry, sequence, endOfBatch) -> {
-            if (logEntry.getType() != RUNNABLE) {
-                processLogEntry(logEntry);
-            } else {
-                logEntry.getConsumer().run();
+        disruptor.handleEventsWith((logEntrySlot, sequence, endOfBatch) -> {
+            if (eventProcessingThread == null) {
+                eventProcessingThread = Thread.currentThread();
+            }
+            LogEntry logEntry = logEntrySlot.logEntry;
+            // released so the slot doesn't keep the entry reachable until the ring buffer wraps
+            logEntrySlot.logEntry = null;
+            try {
+                if (logEntry.getType() != RUNNABLE) {
+                    appendLogEntry(logEntry);
+                    batchSize++;
+                } else {
+                    logEntry.getConsumer().run();
+                }
+            } finally {
+                // listeners are notified once for every entry appended in the batch
+                if (endOfBatch && batchSize > 0) {
+                    Metrics.recordLogEntryBatch(batchSize);
+                    batchSize = 0;
+                    notifyListenersCoalesced(this);
+                }
+                processedSequence = sequence;
             }
         });
 
@@ -142,16 +277,87 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     }
 
     private void processLogEntry(LogEntry logEntry) {
-        logEntry = logEntry.cloneAndClear();
-        eventLog.add(logEntry);
+        appendLogEntry(logEntry);
         notifyListeners(this, false);
+    }
+
+    /**
+     * Appends the log entry as published, log entries are not modified once added to the log (except to be marked as
+     * deleted) so they are stored without being copied
+     */
+    private void appendLogEntry(LogEntry logEntry) {
+        synchronized (modificationLock) {
+            if (logEntryStore == null) {
+                // indexed before it is added so it can't be evicted before it is indexed
+                logEntryIndex.add(logEntry);
+                if (!eventLog.add(logEntry)) {
+                    logEntryIndex.remove(logEntry);
+                } else {
+                    countReceivedRequest(logEntry);
+                }
+            } else if (!stopped) {
+                // once stopped the store is closed so entries still on the ring buffer aren't stored
+                LogEntry storedLogEntry = logEntryStore.store(logEntry);
+                if (storedLogEntry != null) {
+                    logEntryIndex.add(storedLogEntry);
+                    countReceivedRequest(logEntry);
+                } else if (MockServerLogger.isEnabled(Level.WARN)) {
+                    writeToSystemOut(logger, new LogEntry()
+                        .setLogLevel(Level.WARN)
+                        .setMessageFormat("log entry larger than maximum size of log entry store not stored")
+                    );
+                }
+            }
+        }
         writeToSystemOut(logger, logEntry);
     }
 
+    private void countReceivedRequest(LogEntry logEntry) {
+        if (receivedRequestCounters != null && logEntry.getType() == RECEIVED_REQUEST) {
+            receivedRequestCounters.received(logEntry);
+        }
+    }
+
+    /**
+     * Waits until every event published to the ring buffer before this call has been added to the log, so reads and
+     * clears on other threads see every event logged before them, as they did when they were run on the ring buffer
+     */
+    private void awaitProcessedEvents() {
+        if (asynchronousEventProcessing && !stopped && Thread.currentThread() != eventProcessingThread) {
+            long publishedSequence = disruptor.getRingBuffer().getCursor();
+            long deadline = System.nanoTime() + MILLISECONDS.toNanos(ConfigurationProperties.maxFutureTimeout());
+            for (int attempt = 0; processedSequence < publishedSequence && !stopped; attempt++) {
+                if (System.nanoTime() - deadline > 0) {
+                    if (MockServerLogger.isEnabled(Level.WARN)) {
+                        writeToSystemOut(logger, new LogEntry()
+                            .setLogLevel(Level.WARN)
+                            .setMessageFormat("timed out after{}ms waiting for log ring buffer to process events")
+                            .setArguments(ConfigurationProperties.maxFutureTimeout())
+                        );
+                    }
+                    return;
+                }
+                if (attempt < 100) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(MICROSECONDS.toNanos(100));
+                }
+            }
+        }
+    }
+
     public void stop() {
         try {
+            stopped = true;
             notifyListeners(this, true);
-            eventLog.clear();
+            synchronized (modificationLock) {
+                logEntryIndex.clear();
+                eventLog.clear();
+                if (logEntryStore != null) {
+                    // persisted entries are kept to be replayed on restart
+                    logEntryStore.close();
+                }
+            }
             disruptor.shutdown(2, SECONDS);
         } catch (Throwable throwable) {
             if (!(throwable instanceof com.lmax.disruptor.TimeoutException)) {
@@ -167,75 +373,86 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     }
 
     public void reset() {
-        CompletableFuture<String> future = new CompletableFuture<>();
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
-                eventLog.clear();
-                future.complete("done");
-                notifyListeners(this, false);
-            })
-        );
-        try {
-            future.get(2, SECONDS);
-        } catch (ExecutionException | InterruptedException | TimeoutException ignore) {
+        awaitProcessedEvents();
+        clearLogEntries();
+        droppedLogEntries.values().forEach(LongAdder::reset);
+        notifyListeners(this, false);
+    }
+
+    private void clearLogEntries() {
+        synchronized (modificationLock) {
+            logEntryIndex.clear();
+            eventLog.clear();
+            if (logEntryStore != null) {
+                logEntryStore.clear();
+            }
+            if (receivedRequestCounters != null) {
+                receivedRequestCounters.clear();
+            }
         }
     }
 
     public void clear(RequestDefinition requestDefinition) {
-        CompletableFuture<String> future = new CompletableFuture<>();
+        awaitProcessedEvents();
         final boolean markAsDeletedOnly = MockServerLogger.isEnabled(Level.INFO);
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
-                String logCorrelationId = UUIDService.getUUID();
-                RequestDefinition matcher = requestDefinition != null ? requestDefinition : request().withLogCorrelationId(logCorrelationId);
-                HttpRequestMatcher requestMatcher = matcherBuilder.transformsToMatcher(matcher);
-                for (LogEntry logEntry : new LinkedList<>(eventLog)) {
-                    RequestDefinition[] requests = logEntry.getHttpRequests();
-                    boolean matches = false;
-                    if (requests != null) {
-                        for (RequestDefinition request : requests) {
-                            if (requestMatcher.matches(request.cloneWithLogCorrelationId())) {
-                                matches = true;
-                            }
-                        }
-                    } else {
+        String logCorrelationId = UUIDService.getUUID();
+        RequestDefinition matcher = requestDefinition != null ? requestDefinition : request().withLogCorrelationId(logCorrelationId);
+        HttpRequestMatcher requestMatcher = matcherBuilder.transformsToMatcher(matcher);
+        for (LogEntry logEntry : candidates(requestDefinition, null)) {
+            RequestDefinition[] requests = logEntry.getHttpRequests();
+            boolean matches = false;
+            if (requests != null) {
+                for (RequestDefinition request : requests) {
+                    if (requestMatcher.matches(request.cloneWithLogCorrelationId())) {
                         matches = true;
                     }
-                    if (matches) {
-                        if (markAsDeletedOnly) {
-                            logEntry.setDeleted(true);
-                        } else {
+                }
+            } else {
+                matches = true;
+            }
+            if (matches) {
+                if (markAsDeletedOnly) {
+                    logEntry.setDeleted(true);
+                } else {
+                    synchronized (modificationLock) {
+                        if (logEntryStore == null) {
                             eventLog.removeItem(logEntry);
+                        } else {
+                            // its bytes are released when its segment is evicted
+                            logEntryIndex.remove(logEntry);
                         }
                     }
                 }
-                if (MockServerLogger.isEnabled(Level.INFO)) {
-                    mockServerLogger.logEvent(
-                        new LogEntry()
-                            .setType(CLEARED)
-                            .setLogLevel(Level.INFO)
-                            .setCorrelationId(logCorrelationId)
-                            .setHttpRequest(requestDefinition)
-                            .setMessageFormat("cleared logs that match:{}")
-                            .setArguments((requestDefinition == null ? "{}" : requestDefinition))
-                    );
-                }
-                future.complete("done");
-                notifyListeners(this, false);
-            })
-        );
-        try {
-            future.get(2, SECONDS);
-        } catch (ExecutionException | InterruptedException | TimeoutException ignore) {
+            }
         }
+        if (receivedRequestCounters != null) {
+            // requests already evicted from the log can't be un-counted so counting starts again from the log
+            receivedRequestCounters.clear();
+        }
+        if (MockServerLogger.isEnabled(Level.INFO)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(CLEARED)
+                    .setLogLevel(Level.INFO)
+                    .setCorrelationId(logCorrelationId)
+                    .setHttpRequest(requestDefinition)
+                    .setMessageFormat("cleared logs that match:{}")
+                    .setArguments((requestDefinition == null ? "{}" : requestDefinition))
+            );
+        }
+        notifyListeners(this, false);
     }
 
     public void retrieveMessageLogEntries(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
+        retrieveMessageLogEntries(requestDefinition, null, listConsumer);
+    }
+
+    public void retrieveMessageLogEntries(RequestDefinition requestDefinition, LogEntryPage page, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            page,
             notDeletedPredicate,
+            null,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
@@ -243,23 +460,48 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     public void retrieveMessageLogEntriesIncludingDeleted(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            null,
             allPredicate,
+            null,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
 
+    public void retrieveMessageLogEntriesForCorrelationId(String correlationId, Consumer<List<LogEntry>> listConsumer) {
+        awaitProcessedEvents();
+        listConsumer.accept(
+            logEntryIndex
+                .forCorrelationId(correlationId)
+                .stream()
+                .filter(notDeletedPredicate)
+                .collect(Collectors.toList())
+        );
+    }
+
     public void retrieveRequestLogEntries(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
+        retrieveRequestLogEntries(requestDefinition, null, listConsumer);
+    }
+
+    public void retrieveRequestLogEntries(RequestDefinition requestDefinition, LogEntryPage page, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            page,
             requestLogPredicate,
+            requestLogTypes,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
 
     public void retrieveRequests(RequestDefinition requestDefinition, Consumer<List<RequestDefinition>> listConsumer) {
+        retrieveRequests(requestDefinition, null, listConsumer);
+    }
+
+    public void retrieveRequests(RequestDefinition requestDefinition, LogEntryPage page, Consumer<List<RequestDefinition>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            page,
             requestLogPredicate,
+            requestLogTypes,
             logEntryToRequest,
             logEventStream -> listConsumer.accept(
                 logEventStream
@@ -271,82 +513,126 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
     }
 
     public void retrieveRequestResponseMessageLogEntries(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
+        retrieveRequestResponseMessageLogEntries(requestDefinition, null, listConsumer);
+    }
+
+    public void retrieveRequestResponseMessageLogEntries(RequestDefinition requestDefinition, LogEntryPage page, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            page,
             requestResponseLogPredicate,
+            requestResponseLogTypes,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
 
     public void retrieveRequestResponses(RequestDefinition requestDefinition, Consumer<List<LogEventRequestAndResponse>> listConsumer) {
+        retrieveRequestResponses(requestDefinition, null, listConsumer);
+    }
+
+    public void retrieveRequestResponses(RequestDefinition requestDefinition, LogEntryPage page, Consumer<List<LogEventRequestAndResponse>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            page,
             requestResponseLogPredicate,
+            requestResponseLogTypes,
             logEntryToHttpRequestAndHttpResponse,
             logEventStream -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
 
     public void retrieveRecordedExpectationLogEntries(RequestDefinition requestDefinition, Consumer<List<LogEntry>> listConsumer) {
+        retrieveRecordedExpectationLogEntries(requestDefinition, null, listConsumer);
+    }
+
+    public void retrieveRecordedExpectationLogEntries(RequestDefinition requestDefinition, LogEntryPage page, Consumer<List<LogEntry>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            page,
             recordedExpectationLogPredicate,
+            recordedExpectationLogTypes,
             (Stream<LogEntry> logEventStream) -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
 
     public void retrieveRecordedExpectations(RequestDefinition requestDefinition, Consumer<List<Expectation>> listConsumer) {
+        retrieveRecordedExpectations(requestDefinition, null, listConsumer);
+    }
+
+    public void retrieveRecordedExpectations(RequestDefinition requestDefinition, LogEntryPage page, Consumer<List<Expectation>> listConsumer) {
         retrieveLogEntries(
             requestDefinition,
+            page,
             recordedExpectationLogPredicate,
+            recordedExpectationLogTypes,
             logEntryToExpectation,
             logEventStream -> listConsumer.accept(logEventStream.filter(Objects::nonNull).collect(Collectors.toList()))
         );
     }
 
-    private void retrieveLogEntries(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Consumer<Stream<LogEntry>> consumer) {
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
-                HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
-                consumer.accept(this.eventLog
-                    .stream()
-                    .filter(logItem -> logItem.matches(httpRequestMatcher))
-                    .filter(logEntryPredicate)
-                );
-            })
-        );
+    private void retrieveLogEntries(RequestDefinition requestDefinition, LogEntryPage page, Predicate<LogEntry> logEntryPredicate, Set<LogEntry.LogMessageType> logEntryTypes, Consumer<Stream<LogEntry>> consumer) {
+        awaitProcessedEvents();
+        HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
+        consumer.accept(matching(requestDefinition, httpRequestMatcher, logEntryPredicate, logEntryTypes, page));
     }
 
-    private <T> void retrieveLogEntries(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
-                RequestDefinition requestDefinitionMatcher = requestDefinition != null ? requestDefinition : request().withLogCorrelationId(UUIDService.getUUID());
-                HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinitionMatcher);
-                consumer.accept(this.eventLog
-                    .stream()
-                    .filter(logItem -> logItem.matches(httpRequestMatcher))
-                    .filter(logEntryPredicate)
-                    .map(logEntryMapper)
-                );
-            })
-        );
+    private <T> void retrieveLogEntries(RequestDefinition requestDefinition, LogEntryPage page, Predicate<LogEntry> logEntryPredicate, Set<LogEntry.LogMessageType> logEntryTypes, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
+        awaitProcessedEvents();
+        RequestDefinition requestDefinitionMatcher = requestDefinition != null ? requestDefinition : request().withLogCorrelationId(UUIDService.getUUID());
+        HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinitionMatcher);
+        consumer.accept(matching(requestDefinitionMatcher, httpRequestMatcher, logEntryPredicate, logEntryTypes, page).map(logEntryMapper));
+    }
+
+    private Stream<LogEntry> matching(RequestDefinition requestDefinition, HttpRequestMatcher httpRequestMatcher, Predicate<LogEntry> logEntryPredicate, Set<LogEntry.LogMessageType> logEntryTypes, LogEntryPage page) {
+        if (page == null) {
+            return candidates(requestDefinition, logEntryTypes)
+                .stream()
+                .filter(logItem -> logItem.matches(httpRequestMatcher))
+                .filter(logEntryPredicate);
+        }
+        // candidates are copied in batches so only a batch, not every entry after the cursor, is copied at once
+        List<LogEntry> matched = new ArrayList<>();
+        int batchSize = Math.max(page.getLimit(), PAGE_CANDIDATE_BATCH_SIZE);
+        long after = page.getAfter();
+        boolean exhausted = false;
+        while (!exhausted && matched.size() < page.getLimit()) {
+            NavigableMap<Long, LogEntry> candidates = logEntryIndex.candidates(requestDefinition, logEntryTypes, after, batchSize);
+            exhausted = candidates.size() < batchSize;
+            for (Map.Entry<Long, LogEntry> candidate : candidates.entrySet()) {
+                after = candidate.getKey();
+                if (candidate.getValue().matches(httpRequestMatcher) && logEntryPredicate.test(candidate.getValue())) {
+                    matched.add(candidate.getValue());
+                    if (matched.size() == page.getLimit()) {
+                        exhausted = exhausted && after == candidates.lastKey();
+                        break;
+                    }
+                }
+            }
+        }
+        page.setNextAfter(exhausted ? null : after);
+        return matched.stream();
+    }
+
+    /**
+     * Returns the entries that could match from the indexes, if they can narrow the entries, otherwise a snapshot of
+     * the whole log, either way the entries are a copy that is safe to read while other events are being logged
+     */
+    private List<LogEntry> candidates(RequestDefinition requestDefinition, Set<LogEntry.LogMessageType> logEntryTypes) {
+        List<LogEntry> candidates = logEntryIndex.candidates(requestDefinition, logEntryTypes);
+        return candidates != null ? candidates : logEntryIndex.snapshot();
     }
 
     public <T> void retrieveLogEntriesInReverseForUI(RequestDefinition requestDefinition, Predicate<LogEntry> logEntryPredicate, Function<LogEntry, T> logEntryMapper, Consumer<Stream<T>> consumer) {
-        disruptor.publishEvent(new LogEntry()
-            .setType(RUNNABLE)
-            .setConsumer(() -> {
-                HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
-                consumer.accept(
-                    StreamSupport
-                        .stream(Spliterators.spliteratorUnknownSize(this.eventLog.descendingIterator(), 0), false)
-                        .filter(logItem -> logItem.matches(httpRequestMatcher))
-                        .filter(logEntryPredicate)
-                        .map(logEntryMapper)
-                );
-            })
+        // the UI is updated again on every change to the log so doesn't wait for events still in the ring buffer
+        HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
+        List<LogEntry> snapshot = logEntryIndex.snapshot();
+        consumer.accept(
+            IntStream
+                .range(0, snapshot.size())
+                .mapToObj(index -> snapshot.get(snapshot.size() - 1 - index))
+                .filter(logItem -> logItem.matches(httpRequestMatcher))
+                .filter(logEntryPredicate)
+                .map(logEntryMapper)
         );
     }
 
@@ -370,57 +656,90 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
                         .setArguments(verification)
                 );
             }
-            retrieveRequests(verification.getHttpRequest().withLogCorrelationId(logCorrelationId), httpRequests -> {
-                try {
-                    if (!verification.getTimes().matches(httpRequests.size())) {
-                        retrieveRequests(null, allRequests -> {
-                            String failureMessage;
-                            String serializedRequestToBeVerified = requestDefinitionSerializer.serialize(true, verification.getHttpRequest());
-                            String serializedAllRequestInLog = allRequests.size() == 1 ? requestDefinitionSerializer.serialize(true, allRequests.get(0)) : requestDefinitionSerializer.serialize(true, allRequests);
-                            failureMessage = "Request not found " + verification.getTimes() + ", expected:<" + serializedRequestToBeVerified + "> but was:<" + serializedAllRequestInLog + ">";
-                            final Object[] arguments = new Object[]{verification.getHttpRequest(), allRequests.size() == 1 ? allRequests.get(0) : allRequests};
-                            if (MockServerLogger.isEnabled(Level.INFO)) {
-                                mockServerLogger.logEvent(
-                                    new LogEntry()
-                                        .setType(VERIFICATION_FAILED)
-                                        .setLogLevel(Level.INFO)
-                                        .setCorrelationId(logCorrelationId)
-                                        .setHttpRequest(verification.getHttpRequest())
-                                        .setMessageFormat("request not found " + verification.getTimes() + ", expected:{}but was:{}")
-                                        .setArguments(arguments)
-                                );
-                            }
-                            resultConsumer.accept(failureMessage);
-                        });
-                    } else {
-                        if (MockServerLogger.isEnabled(Level.INFO)) {
-                            mockServerLogger.logEvent(
-                                new LogEntry()
-                                    .setType(VERIFICATION_PASSED)
-                                    .setLogLevel(Level.INFO)
-                                    .setCorrelationId(logCorrelationId)
-                                    .setHttpRequest(verification.getHttpRequest())
-                                    .setMessageFormat("request:{}found " + verification.getTimes())
-                                    .setArguments(verification.getHttpRequest())
-                            );
-                        }
-                        resultConsumer.accept("");
+            RequestDefinition requestDefinition = verification.getHttpRequest().withLogCorrelationId(logCorrelationId);
+            Long count = receivedRequestCounters != null ? receivedRequestCount(requestDefinition) : null;
+            if (count != null) {
+                verify(verification, (int) Math.min(count, Integer.MAX_VALUE), logCorrelationId, resultConsumer);
+            } else {
+                retrieveRequests(requestDefinition, httpRequests -> verify(verification, httpRequests.size(), logCorrelationId, resultConsumer));
+            }
+        } else {
+            resultConsumer.accept("");
+        }
+    }
+
+    private void verify(Verification verification, int count, String logCorrelationId, Consumer<String> resultConsumer) {
+        try {
+            if (!verification.getTimes().matches(count)) {
+                retrieveRequests(null, allRequests -> {
+                    String failureMessage;
+                    String serializedRequestToBeVerified = requestDefinitionSerializer.serialize(true, verification.getHttpRequest());
+                    String serializedAllRequestInLog = allRequests.size() == 1 ? requestDefinitionSerializer.serialize(true, allRequests.get(0)) : requestDefinitionSerializer.serialize(true, allRequests);
+                    failureMessage = "Request not found " + verification.getTimes() + ", expected:<" + serializedRequestToBeVerified + "> but was:<" + serializedAllRequestInLog + ">";
+                    final Object[] arguments = new Object[]{verification.getHttpRequest(), allRequests.size() == 1 ? allRequests.get(0) : allRequests};
+                    if (MockServerLogger.isEnabled(Level.INFO)) {
+                        mockServerLogger.logEvent(
+                            new LogEntry()
+                                .setType(VERIFICATION_FAILED)
+                                .setLogLevel(Level.INFO)
+                                .setCorrelationId(logCorrelationId)
+                                .setHttpRequest(verification.getHttpRequest())
+                                .setMessageFormat("request not found " + verification.getTimes() + ", expected:{}but was:{}")
+                                .setArguments(arguments)
+                        );
                     }
-                } catch (Throwable throwable) {
+                    resultConsumer.accept(failureMessage);
+                });
+            } else {
+                if (MockServerLogger.isEnabled(Level.INFO)) {
                     mockServerLogger.logEvent(
                         new LogEntry()
-                            .setType(EXCEPTION)
+                            .setType(VERIFICATION_PASSED)
+                            .setLogLevel(Level.INFO)
                             .setCorrelationId(logCorrelationId)
-                            .setMessageFormat("exception:{} while processing verification:{}")
-                            .setArguments(throwable.getMessage(), verification)
-                            .setThrowable(throwable)
+                            .setHttpRequest(verification.getHttpRequest())
+                            .setMessageFormat("request:{}found " + verification.getTimes())
+                            .setArguments(verification.getHttpRequest())
                     );
-                    resultConsumer.accept("exception while processing verification" + (isNotBlank(throwable.getMessage()) ? " " + throwable.getMessage() : ""));
                 }
-            });
-        } else {
-            resultConsumer.accept("");
+                resultConsumer.accept("");
+            }
+        } catch (Throwable throwable) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(EXCEPTION)
+                    .setCorrelationId(logCorrelationId)
+                    .setMessageFormat("exception:{} while processing verification:{}")
+                    .setArguments(throwable.getMessage(), verification)
+                    .setThrowable(throwable)
+            );
+            resultConsumer.accept("exception while processing verification" + (isNotBlank(throwable.getMessage()) ? " " + throwable.getMessage() : ""));
+        }
+    }
+
+    /**
+     * Returns the number of received requests matched by the request definition from its counter, registering the
+     * counter the first time the request definition is verified, or null if the maximum number of counters are registered
+     */
+    private Long receivedRequestCount(RequestDefinition requestDefinition) {
+        awaitProcessedEvents();
+        Long count = receivedRequestCounters.count(requestDefinition);
+        if (count == null) {
+            // counted and registered under the lock entries are added under so no request is counted twice or missed
+            synchronized (modificationLock) {
+                count = receivedRequestCounters.count(requestDefinition);
+                if (count == null) {
+                    HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(requestDefinition);
+                    long received = matching(requestDefinition, httpRequestMatcher, requestLogPredicate, requestLogTypes, null)
+                        .mapToLong(logEntry -> logEntry.getHttpRequests().length)
+                        .sum();
+                    if (receivedRequestCounters.register(requestDefinition, httpRequestMatcher, received)) {
+                        count = received;
+                    }
+                }
+            }
         }
+        return count;
     }
 
     public Future<String> verify(VerificationSequence verification) {
@@ -431,54 +750,21 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
 
     public void verify(VerificationSequence verificationSequence, Consumer<String> resultConsumer) {
         final String logCorrelationId = UUIDService.getUUID();
-        retrieveRequests(null, allRequests -> {
-            try {
-                if (verificationSequence != null) {
+        try {
+            if (verificationSequence != null) {
+                if (MockServerLogger.isEnabled(Level.INFO)) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setType(VERIFICATION)
+                            .setLogLevel(Level.INFO)
+                            .setCorrelationId(logCorrelationId)
+                            .setHttpRequests(verificationSequence.getHttpRequests().toArray(new RequestDefinition[0]))
+                            .setMessageFormat(VERIFICATION_REQUEST_SEQUENCES_MESSAGE_FORMAT)
+                            .setArguments(verificationSequence)
+                    );
+                }
+                if (requestSequenceFound(verificationSequence, logCorrelationId)) {
                     if (MockServerLogger.isEnabled(Level.INFO)) {
-                        mockServerLogger.logEvent(
-                            new LogEntry()
-                                .setType(VERIFICATION)
-                                .setLogLevel(Level.INFO)
-                                .setCorrelationId(logCorrelationId)
-                                .setHttpRequests(verificationSequence.getHttpRequests().toArray(new RequestDefinition[0]))
-                                .setMessageFormat(VERIFICATION_REQUEST_SEQUENCES_MESSAGE_FORMAT)
-                                .setArguments(verificationSequence)
-                        );
-                    }
-                    String failureMessage = "";
-                    int requestLogCounter = 0;
-                    for (RequestDefinition verificationHttpRequest : verificationSequence.getHttpRequests()) {
-                        if (verificationHttpRequest != null) {
-                            verificationHttpRequest.withLogCorrelationId(logCorrelationId);
-                            HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(verificationHttpRequest);
-                            boolean foundRequest = false;
-                            for (; !foundRequest && requestLogCounter < allRequests.size(); requestLogCounter++) {
-                                if (httpRequestMatcher.matches(allRequests.get(requestLogCounter).cloneWithLogCorrelationId())) {
-                                    // move on to next request
-                                    foundRequest = true;
-                                }
-                            }
-                            if (!foundRequest) {
-                                String serializedRequestToBeVerified = requestDefinitionSerializer.serialize(true, verificationSequence.getHttpRequests());
-                                String serializedAllRequestInLog = allRequests.size() == 1 ? requestDefinitionSerializer.serialize(true, allRequests.get(0)) : requestDefinitionSerializer.serialize(true, allRequests);
-                                failureMessage = "Request sequence not found, expected:<" + serializedRequestToBeVerified + "> but was:<" + serializedAllRequestInLog + ">";
-                                final Object[] arguments = new Object[]{verificationSequence.getHttpRequests(), allRequests.size() == 1 ? allRequests.get(0) : allRequests};
-                                if (MockServerLogger.isEnabled(Level.INFO)) {
-                                    mockServerLogger.logEvent(
-                                        new LogEntry()
-                                            .setType(VERIFICATION_FAILED)
-                                            .setLogLevel(Level.INFO)
-                                            .setCorrelationId(logCorrelationId)
-                                            .setHttpRequests(verificationSequence.getHttpRequests().toArray(new RequestDefinition[0]))
-                                            .setMessageFormat("request sequence not found, expected:{}but was:{}")
-                                            .setArguments(arguments)
-                                    );
-                                }
-                                break;
-                            }
-                        }
-                    }
-                    if (isBlank(failureMessage) && MockServerLogger.isEnabled(Level.INFO)) {
                         mockServerLogger.logEvent(
                             new LogEntry()
                                 .setType(VERIFICATION_PASSED)
@@ -488,22 +774,83 @@ public class MockServerEventLog extends MockServerEventLogNotifier {
                                 .setArguments(verificationSequence.getHttpRequests())
                         );
                     }
-                    resultConsumer.accept(failureMessage);
-                } else {
                     resultConsumer.accept("");
+                } else {
+                    // every request is only retrieved to report what was received when the sequence isn't found
+                    retrieveRequests(null, allRequests -> {
+                        String serializedRequestToBeVerified = requestDefinitionSerializer.serialize(true, verificationSequence.getHttpRequests());
+                        String serializedAllRequestInLog = allRequests.size() == 1 ? requestDefinitionSerializer.serialize(true, allRequests.get(0)) : requestDefinitionSerializer.serialize(true, allRequests);
+                        String failureMessage = "Request sequence not found, expected:<" + serializedRequestToBeVerified + "> but was:<" + serializedAllRequestInLog + ">";
+                        final Object[] arguments = new Object[]{verificationSequence.getHttpRequests(), allRequests.size() == 1 ? allRequests.get(0) : allRequests};
+                        if (MockServerLogger.isEnabled(Level.INFO)) {
+                            mockServerLogger.logEvent(
+                                new LogEntry()
+                                    .setType(VERIFICATION_FAILED)
+                                    .setLogLevel(Level.INFO)
+                                    .setCorrelationId(logCorrelationId)
+                                    .setHttpRequests(verificationSequence.getHttpRequests().toArray(new RequestDefinition[0]))
+                                    .setMessageFormat("request sequence not found, expected:{}but was:{}")
+                                    .setArguments(arguments)
+                            );
+                        }
+                        resultConsumer.accept(failureMessage);
+                    });
                 }
-            } catch (Throwable throwable) {
-                mockServerLogger.logEvent(
-                    new LogEntry()
-                        .setType(EXCEPTION)
-                        .setCorrelationId(logCorrelationId)
-                        .setMessageFormat("exception:{} while processing verification sequence:{}")
-                        .setArguments(throwable.getMessage(), verificationSequence)
-                        .setThrowable(throwable)
-                );
-                resultConsumer.accept("exception while processing verification sequence" + (isNotBlank(throwable.getMessage()) ? " " + throwable.getMessage() : ""));
+            } else {
+                resultConsumer.accept("");
             }
-        });
+        } catch (Throwable throwable) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(EXCEPTION)
+                    .setCorrelationId(logCorrelationId)
+                    .setMessageFormat("exception:{} while processing verification sequence:{}")
+                    .setArguments(throwable.getMessage(), verificationSequence)
+                    .setThrowable(throwable)
+            );
+            resultConsumer.accept("exception while processing verification sequence" + (isNotBlank(throwable.getMessage()) ? " " + throwable.getMessage() : ""));
+        }
+    }
+
+    /**
+     * Matches the sequence in a single pass over the received requests in the log, for each request in the sequence
+     * only the indexed candidates after the request matched for the previous one are matched, so the pass stops as soon
+     * as the last request in the sequence is matched or there are no candidates left for the next request
+     */
+    private boolean requestSequenceFound(VerificationSequence verificationSequence, String logCorrelationId) {
+        awaitProcessedEvents();
+        long after = -1;
+        for (RequestDefinition verificationHttpRequest : verificationSequence.getHttpRequests()) {
+            if (verificationHttpRequest != null) {
+                verificationHttpRequest.withLogCorrelationId(logCorrelationId);
+                HttpRequestMatcher httpRequestMatcher = matcherBuilder.transformsToMatcher(verificationHttpRequest);
+                boolean foundRequest = false;
+                while (!foundRequest) {
+                    NavigableMap<Long, LogEntry> candidates = logEntryIndex.candidates(verificationHttpRequest, requestLogTypes, after, PAGE_CANDIDATE_BATCH_SIZE);
+                    if (candidates.isEmpty()) {
+                        return false;
+                    }
+                    for (Map.Entry<Long, LogEntry> candidate : candidates.entrySet()) {
+                        after = candidate.getKey();
+                        if (requestLogPredicate.test(candidate.getValue()) && receivedRequestMatches(candidate.getValue(), httpRequestMatcher)) {
+                            // move on to next request
+                            foundRequest = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean receivedRequestMatches(LogEntry logEntry, HttpRequestMatcher httpRequestMatcher) {
+        for (RequestDefinition request : logEntry.getHttpRequests()) {
+            if (httpRequestMatcher.matches(request.cloneWithLogCorrelationId())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
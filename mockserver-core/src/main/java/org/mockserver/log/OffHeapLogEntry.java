@@ -0,0 +1,163 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.HttpError;
+import org.mockserver.model.HttpResponse;
+import org.mockserver.model.RequestDefinition;
+
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+
+/**
+ * A log entry stored in a {@link LogEntryStore}, the fields used to index and filter entries are held on the
+ * heap and the requests, responses, expectation and message are decoded from the store when first read.
+ * <p>
+ * The decoded entry is only weakly held so it can be garbage collected once it is no longer being retrieved or
+ * verified, entries in the store are immutable apart from being marked as deleted.
+ *
+ * @author jamesdbloom
+ */
+public class OffHeapLogEntry extends LogEntry {
+
+    private final String id;
+    private final LogEntryCodec logEntryCodec;
+    private final ByteBuffer segment;
+    private final int offset;
+    private final int length;
+    private WeakReference<LogEntry> decoded;
+
+    /**
+     * @param id        the id of the log entry
+     * @param header    the log entry to copy the fields held on the heap from
+     * @param decoded   the log entry already decoded, if it has been, or null
+     * @param segment   the buffer holding the encoded log entry
+     * @param offset    the offset of the encoded log entry in the buffer
+     * @param length    the length of the encoded log entry
+     */
+    OffHeapLogEntry(String id, LogEntry header, LogEntry decoded, LogEntryCodec logEntryCodec, ByteBuffer segment, int offset, int length) {
+        this.id = id;
+        this.logEntryCodec = logEntryCodec;
+        this.segment = segment;
+        this.offset = offset;
+        this.length = length;
+        this.decoded = new WeakReference<>(decoded);
+        this
+            .setType(header.getType())
+            .setLogLevel(header.getLogLevel())
+            .setEpochTime(header.getEpochTime())
+            .setCorrelationId(header.getCorrelationId())
+            .setPort(header.getPort())
+            .setThrowable(header.getThrowable())
+            .setDeleted(header.isDeleted());
+    }
+
+    private LogEntry decoded() {
+        LogEntry logEntry = decoded.get();
+        if (logEntry == null) {
+            byte[] bytes = new byte[length];
+            ByteBuffer duplicate = segment.duplicate();
+            duplicate.position(offset);
+            duplicate.get(bytes);
+            logEntry = logEntryCodec.decode(
+                bytes,
+                new LogEntry()
+                    .setType(getType())
+                    .setLogLevel(getLogLevel())
+                    .setEpochTime(getEpochTime())
+                    .setCorrelationId(getCorrelationId())
+                    .setPort(getPort())
+                    .setThrowable(getThrowable())
+            );
+            decoded = new WeakReference<>(logEntry);
+        }
+        return logEntry;
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public RequestDefinition[] getHttpRequests() {
+        return decoded().getHttpRequests();
+    }
+
+    @Override
+    public RequestDefinition[] getHttpUpdatedRequests() {
+        return decoded().getHttpUpdatedRequests();
+    }
+
+    @Override
+    public boolean matches(HttpRequestMatcher matcher) {
+        return matcher == null || decoded().matches(matcher);
+    }
+
+    @Override
+    public RequestDefinition getHttpRequest() {
+        return decoded().getHttpRequest();
+    }
+
+    @Override
+    public HttpResponse getHttpResponse() {
+        return decoded().getHttpResponse();
+    }
+
+    @Override
+    public HttpResponse getHttpUpdatedResponse() {
+        return decoded().getHttpUpdatedResponse();
+    }
+
+    @Override
+    public HttpError getHttpError() {
+        return decoded().getHttpError();
+    }
+
+    @Override
+    public Expectation getExpectation() {
+        return decoded().getExpectation();
+    }
+
+    @Override
+    public String getMessageFormat() {
+        return decoded().getMessageFormat();
+    }
+
+    @Override
+    public String getMessage() {
+        return decoded().getMessage();
+    }
+
+    @Override
+    public Object[] getArguments() {
+        return decoded().getArguments();
+    }
+
+    @Override
+    public String getBecause() {
+        return decoded().getBecause();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof OffHeapLogEntry) {
+            o = ((OffHeapLogEntry) o).decoded();
+        }
+        return decoded().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return decoded().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return decoded().toString();
+    }
+}
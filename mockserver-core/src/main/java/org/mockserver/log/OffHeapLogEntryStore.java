@@ -0,0 +1,102 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Stores encoded log entries in direct (off-heap) buffers allocated in fixed size segments, once the segments would use
+ * more than the maximum number of bytes the oldest segment is evicted along with every entry in it, so the memory used by
+ * the log is bounded by bytes instead of by the number of entries.
+ * <p>
+ * Segments are never reused, an evicted segment is released once no snapshot being read still references an entry in it.
+ *
+ * @author jamesdbloom
+ */
+public class OffHeapLogEntryStore implements LogEntryStore {
+
+    private static final int MIN_SEGMENT_SIZE = 64 * 1024;
+    private static final int MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+    private final LogEntryCodec logEntryCodec = new LogEntryCodec();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final long maxSize;
+    private final int segmentSize;
+    private final Consumer<LogEntry> onEvictCallback;
+    private long size;
+
+    public OffHeapLogEntryStore(long maxSize, Consumer<LogEntry> onEvictCallback) {
+        this.maxSize = maxSize;
+        this.segmentSize = (int) Math.min(maxSize, Math.max(MIN_SEGMENT_SIZE, Math.min(MAX_SEGMENT_SIZE, maxSize / 8)));
+        this.onEvictCallback = onEvictCallback;
+    }
+
+    @Override
+    public synchronized LogEntry store(LogEntry logEntry) {
+        byte[] bytes = logEntryCodec.encode(logEntry);
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.remaining() < bytes.length) {
+            int capacity = Math.max(segmentSize, bytes.length);
+            if (capacity > maxSize) {
+                return null;
+            }
+            while (!segments.isEmpty() && size + capacity > maxSize) {
+                evict(segments.pollFirst());
+            }
+            segment = new Segment(capacity);
+            segments.addLast(segment);
+            size += capacity;
+        }
+        return segment.write(logEntry, bytes);
+    }
+
+    private void evict(Segment segment) {
+        size -= segment.buffer.capacity();
+        if (onEvictCallback != null) {
+            for (LogEntry logEntry : segment.logEntries) {
+                onEvictCallback.accept(logEntry);
+            }
+        }
+    }
+
+    @Override
+    public synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        segments.clear();
+        size = 0;
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+
+    private class Segment {
+        private final ByteBuffer buffer;
+        private final List<LogEntry> logEntries = new ArrayList<>();
+
+        private Segment(int capacity) {
+            this.buffer = ByteBuffer.allocateDirect(capacity);
+        }
+
+        private int remaining() {
+            return buffer.remaining();
+        }
+
+        private LogEntry write(LogEntry logEntry, byte[] bytes) {
+            int offset = buffer.position();
+            buffer.put(bytes);
+            OffHeapLogEntry offHeapLogEntry = new OffHeapLogEntry(logEntry.id(), logEntry, logEntry, logEntryCodec, buffer, offset, bytes.length);
+            logEntries.add(offHeapLogEntry);
+            return offHeapLogEntry;
+        }
+    }
+}
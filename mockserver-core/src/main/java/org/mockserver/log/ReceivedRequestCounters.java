@@ -0,0 +1,110 @@
+package org.mockserver.log;
+
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.mock.HttpRequestMatcherIndex;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.RequestDefinition;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counts of the received requests matched by each request definition that has been verified, so verifying the
+ * number of times a request was received reads a counter instead of matching every entry in the log.
+ * <p>
+ * A counter is registered with the number of matching requests already in the log the first time its request definition
+ * is verified, and from then on is incremented as each request is added to the log, so it still counts requests evicted
+ * from the log. Registering and incrementing must be done under the same lock as adding entries to the log so no request
+ * is counted twice or missed, reading a count never locks.
+ * <p>
+ * Counters are indexed by the method and path of their request definition, the same way expectations are, so each
+ * received request is only matched against the counters that could match its method and path.
+ *
+ * @author jamesdbloom
+ */
+class ReceivedRequestCounters {
+
+    private final Map<RequestDefinition, Counter> counters = new ConcurrentHashMap<>();
+    private final int maxCounters;
+    private volatile CounterIndex counterIndex;
+
+    ReceivedRequestCounters(int maxCounters) {
+        this.maxCounters = maxCounters;
+    }
+
+    /**
+     * Returns the number of received requests matched by the request definition, or null if it has no counter
+     */
+    Long count(RequestDefinition requestDefinition) {
+        Counter counter = counters.get(requestDefinition);
+        return counter != null ? counter.count.sum() : null;
+    }
+
+    /**
+     * Registers a counter for the request definition starting at the number of matching requests already received,
+     * returns false if the maximum number of counters are already registered
+     */
+    boolean register(RequestDefinition requestDefinition, HttpRequestMatcher httpRequestMatcher, long received) {
+        if (counters.size() >= maxCounters) {
+            return false;
+        }
+        // copied so later changes to the verified request don't change its key
+        Counter counter = new Counter(httpRequestMatcher);
+        counter.count.add(received);
+        counters.put(requestDefinition.shallowClone(), counter);
+        counterIndex = null;
+        return true;
+    }
+
+    void received(LogEntry logEntry) {
+        CounterIndex counterIndex = this.counterIndex;
+        if (counterIndex == null) {
+            counterIndex = new CounterIndex(counters.values());
+            this.counterIndex = counterIndex;
+        }
+        RequestDefinition[] httpRequests = logEntry.getHttpRequests();
+        List<HttpRequestMatcher> candidates = httpRequests.length == 1 && httpRequests[0] instanceof HttpRequest ? counterIndex.index.candidates((HttpRequest) httpRequests[0]) : counterIndex.httpRequestMatchers;
+        for (HttpRequestMatcher httpRequestMatcher : candidates) {
+            if (logEntry.matches(httpRequestMatcher)) {
+                counterIndex.counters.get(httpRequestMatcher).count.add(httpRequests.length);
+            }
+        }
+    }
+
+    void clear() {
+        counters.clear();
+        counterIndex = null;
+    }
+
+    /**
+     * Immutable snapshot of the counters indexed by the method and path of their request matcher, rebuilt the first time
+     * a request is received after the counters change
+     */
+    private static class CounterIndex {
+        private final List<HttpRequestMatcher> httpRequestMatchers = new ArrayList<>();
+        private final Map<HttpRequestMatcher, Counter> counters = new IdentityHashMap<>();
+        private final HttpRequestMatcherIndex index;
+
+        private CounterIndex(Iterable<Counter> counters) {
+            for (Counter counter : counters) {
+                this.httpRequestMatchers.add(counter.httpRequestMatcher);
+                this.counters.put(counter.httpRequestMatcher, counter);
+            }
+            this.index = new HttpRequestMatcherIndex(httpRequestMatchers);
+        }
+    }
+
+    private static class Counter {
+        private final HttpRequestMatcher httpRequestMatcher;
+        private final LongAdder count = new LongAdder();
+
+        private Counter(HttpRequestMatcher httpRequestMatcher) {
+            this.httpRequestMatcher = httpRequestMatcher;
+        }
+    }
+}
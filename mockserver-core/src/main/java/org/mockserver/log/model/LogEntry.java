@@ -49,7 +49,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
     private Expectation expectation;
     private Throwable throwable;
     private Runnable consumer;
-    private boolean deleted = false;
+    private volatile boolean deleted = false;
 
     private String messageFormat;
     private String message;
@@ -482,7 +482,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
             Objects.equals(expectation, logEntry.expectation) &&
             Objects.equals(consumer, logEntry.consumer) &&
             Arrays.equals(arguments, logEntry.arguments) &&
-            Arrays.equals(httpRequests, logEntry.httpRequests);
+            Arrays.equals(getHttpRequests(), logEntry.getHttpRequests());
     }
 
     @Override
@@ -490,7 +490,7 @@ public class LogEntry implements EventTranslator<LogEntry> {
         if (hashCode == 0) {
             int result = Objects.hash(epochTime, deleted, type, logLevel, messageFormat, httpResponse, httpError, expectation, consumer);
             result = 31 * result + Arrays.hashCode(arguments);
-            result = 31 * result + Arrays.hashCode(httpRequests);
+            result = 31 * result + Arrays.hashCode(getHttpRequests());
             hashCode = result;
         }
         return hashCode;
@@ -6,6 +6,7 @@ public class LogEntryMessages {
     public static final String UPDATED_EXPECTATION_MESSAGE_FORMAT = "updated expectation:{}with id:{}";
     public static final String CREATED_EXPECTATION_MESSAGE_FORMAT = "creating expectation:{}with id:{}";
     public static final String REMOVED_EXPECTATION_MESSAGE_FORMAT = "removed expectation:{}with id:{}";
+    public static final String EXPECTATIONS_NOT_MATCHED_BY_METHOD_OR_PATH_MESSAGE_FORMAT = "request:{}didn't match{}other expectation(s) because method or path didn't match";
     public static final String NO_MATCH_RESPONSE_NO_EXPECTATION_MESSAGE_FORMAT = "no expectation for:{}returning response:{}";
     public static final String NO_MATCH_RESPONSE_ERROR_MESSAGE_FORMAT = "error:{}handling request:{}returning response:{}";
     public static final String VERIFICATION_REQUESTS_MESSAGE_FORMAT = "verifying requests that match:{}";
@@ -43,7 +43,7 @@ public class MockServerHttpResponseToFullHttpResponse {
                     HttpVersion.HTTP_1_1,
                     getStatus(httpResponse)
                 );
-                setHeaders(httpResponse, defaultHttpResponse, body);
+                setHeaders(httpResponse, defaultHttpResponse, body.readableBytes());
                 HttpUtil.setTransferEncodingChunked(defaultHttpResponse, true);
                 setCookies(httpResponse, defaultHttpResponse);
                 httpMessages.add(defaultHttpResponse);
@@ -62,7 +62,7 @@ public class MockServerHttpResponseToFullHttpResponse {
                     getStatus(httpResponse),
                     body
                 );
-                setHeaders(httpResponse, defaultFullHttpResponse, body);
+                setHeaders(httpResponse, defaultFullHttpResponse, body.readableBytes());
                 setCookies(httpResponse, defaultFullHttpResponse);
                 return Collections.singletonList(defaultFullHttpResponse);
             }
@@ -78,6 +78,19 @@ public class MockServerHttpResponseToFullHttpResponse {
         }
     }
 
+    /**
+     * The status and headers of a response whose body of contentLength bytes is written separately
+     */
+    public DefaultHttpResponse mapMockServerResponseToNettyResponseHead(HttpResponse httpResponse, long contentLength) {
+        DefaultHttpResponse defaultHttpResponse = new DefaultHttpResponse(
+            HttpVersion.HTTP_1_1,
+            getStatus(httpResponse)
+        );
+        setHeaders(httpResponse, defaultHttpResponse, contentLength);
+        setCookies(httpResponse, defaultHttpResponse);
+        return defaultHttpResponse;
+    }
+
     private HttpResponseStatus getStatus(HttpResponse httpResponse) {
         int statusCode = httpResponse.getStatusCode() != null ? httpResponse.getStatusCode() : 200;
         if (!isEmpty(httpResponse.getReasonPhrase())) {
@@ -91,7 +104,7 @@ public class MockServerHttpResponseToFullHttpResponse {
         return bodyDecoderEncoder.bodyToByteBuf(httpResponse.getBody(), httpResponse.getFirstHeader(CONTENT_TYPE.toString()));
     }
 
-    private void setHeaders(HttpResponse httpResponse, DefaultHttpResponse response, ByteBuf body) {
+    private void setHeaders(HttpResponse httpResponse, DefaultHttpResponse response, long contentLength) {
         if (httpResponse.getHeaderMultimap() != null) {
             httpResponse
                 .getHeaderMultimap()
@@ -120,7 +133,7 @@ public class MockServerHttpResponseToFullHttpResponse {
             if (overrideContentLength) {
                 response.headers().set(CONTENT_LENGTH, connectionOptions.getContentLengthHeaderOverride());
             } else if (addContentLength && !chunkedEncoding) {
-                response.headers().set(CONTENT_LENGTH, body.readableBytes());
+                response.headers().set(CONTENT_LENGTH, contentLength);
             }
             if (chunkedEncoding) {
                 response.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
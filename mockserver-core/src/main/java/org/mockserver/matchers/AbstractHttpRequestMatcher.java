@@ -23,7 +23,7 @@ public abstract class AbstractHttpRequestMatcher extends NotMatcher<RequestDefin
     protected final MockServerLogger mockServerLogger;
     private int hashCode;
     private boolean isBlank = false;
-    private boolean responseInProgress = false;
+    private volatile boolean responseInProgress = false;
     protected boolean controlPlaneMatcher;
     protected Expectation expectation;
     protected String didNotMatchRequestBecause = REQUEST_DID_NOT_MATCH + REQUEST_MATCHER + BECAUSE;
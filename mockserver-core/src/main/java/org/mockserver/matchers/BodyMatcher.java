@@ -1,8 +1,17 @@
 package org.mockserver.matchers;
 
+import org.mockserver.model.ParsedBody;
+
 /**
  * @author jamesdbloom
  */
 public abstract class BodyMatcher<MatchedType> extends NotMatcher<MatchedType> {
 
+    /**
+     * Matches reusing the representations of the body already parsed for the same request, the parsed body may be null
+     */
+    public boolean matches(MatchDifference context, MatchedType matched, ParsedBody parsedBody) {
+        return matches(context, matched);
+    }
+
 }
@@ -27,4 +27,19 @@ public interface HttpRequestMatcher extends Matcher<RequestDefinition> {
 
     boolean isActive();
 
+    /**
+     * Returns true if the request matches every field except the body, used to decide how a request's body is handled
+     * before it has been received, matchers that can't match without the body should return true
+     */
+    default boolean matchesIgnoringBody(HttpRequest requestWithoutBody) {
+        return isActive();
+    }
+
+    /**
+     * Returns true if the body of a request is needed to decide whether it matches
+     */
+    default boolean matchesOnBody() {
+        return true;
+    }
+
 }
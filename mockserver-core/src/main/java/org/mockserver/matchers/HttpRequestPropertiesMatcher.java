@@ -16,9 +16,7 @@ import org.mockserver.serialization.deserializers.body.StrictBodyDTODeserializer
 import org.mockserver.serialization.model.BodyDTO;
 import org.slf4j.event.Level;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.character.Character.NEW_LINE;
@@ -34,11 +32,12 @@ import static org.mockserver.model.NottableString.string;
 @SuppressWarnings("rawtypes")
 public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
 
-    private static final String[] excludedFields = {"mockServerLogger", "methodMatcher", "pathMatcher", "pathParameterMatcher", "queryStringParameterMatcher", "bodyMatcher", "headerMatcher", "cookieMatcher", "keepAliveMatcher", "bodyDTOMatcher", "sslMatcher", "controlPlaneMatcher", "responseInProgress", "objectMapper"};
+    private static final String[] excludedFields = {"mockServerLogger", "methodMatcher", "pathMatcher", "pathParameterMatcher", "queryStringParameterMatcher", "bodyMatcher", "headerMatcher", "cookieMatcher", "keepAliveMatcher", "bodyDTOMatcher", "sslMatcher", "fieldsInCostOrder", "controlPlaneMatcher", "responseInProgress", "objectMapper"};
     private static final String COMMA = ",";
     private static final String REQUEST_NOT_OPERATOR_IS_ENABLED = COMMA + NEW_LINE + "request 'not' operator is enabled";
     private static final String EXPECTATION_REQUEST_NOT_OPERATOR_IS_ENABLED = COMMA + NEW_LINE + "expectation's request 'not' operator is enabled";
     private static final String EXPECTATION_REQUEST_MATCHER_NOT_OPERATOR_IS_ENABLED = COMMA + NEW_LINE + "expectation's request matcher 'not' operator is enabled";
+    private static final MatchDifference.Field[] FIELDS_IN_DECLARED_ORDER = {BODY, HEADERS, COOKIES, PATH_PARAMETERS, QUERY_PARAMETERS, KEEP_ALIVE, SSL_MATCHES};
     private static final PathParametersDecoder pathParametersParser = new PathParametersDecoder();
     private static final ObjectWriter TO_STRING_OBJECT_WRITER = ObjectMapperFactory.createObjectMapper(true);
     private final ExpandedParameterDecoder expandedParameterDecoder;
@@ -54,6 +53,7 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
     private HashMapMatcher cookieMatcher = null;
     private BooleanMatcher keepAliveMatcher = null;
     private BooleanMatcher sslMatcher = null;
+    private MatchDifference.Field[] fieldsInCostOrder;
     private ObjectMapper objectMapperWithStrictBodyDTODeserializer;
     private JsonSchemaBodyDecoder jsonSchemaBodyParser;
     private MatcherBuilder matcherBuilder;
@@ -89,6 +89,7 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
                 withCookies(httpRequest.getCookies());
                 withKeepAlive(httpRequest.isKeepAlive());
                 withSsl(httpRequest.isSecure());
+                this.fieldsInCostOrder = fieldsInCostOrder(httpRequest);
                 this.jsonSchemaBodyParser = new JsonSchemaBodyDecoder(mockServerLogger, expectation, httpRequest);
             }
             return true;
@@ -259,15 +260,23 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
             } else {
                 MatchDifferenceCount matchDifferenceCount = new MatchDifferenceCount(request);
                 if (request != null) {
-                    boolean methodMatches = StringUtils.isBlank(request.getMethod().getValue()) || matches(METHOD, context, methodMatcher, request.getMethod());
+                    if (context == null && (controlPlaneMatcher || !MockServerLogger.isEnabled(Level.INFO))) {
+                        // no match difference or because message required so reject as cheaply as possible
+                        return combinedResultAreTrue(matchesInCostOrder(request, true), request.isNot(), this.httpRequest.isNot(), not);
+                    }
+
+                    // without a match difference the body is matched last so cheaper fields can reject the request first,
+                    // the because message then only describes the fields that were evaluated
+                    MatchDifference.Field[] fields = context == null ? fieldsInCostOrder : FIELDS_IN_DECLARED_ORDER;
+                    boolean methodMatches = methodMatches(context, request);
                     if (failFast(methodMatcher, context, matchDifferenceCount, becauseBuilder, methodMatches, METHOD)) {
                         return false;
                     }
 
-                    boolean pathMatches = StringUtils.isBlank(request.getPath().getValue()) || matches(PATH, context, pathMatcher, controlPlaneMatcher ? pathParametersParser.normalisePathWithParametersForMatching(request) : request.getPath());
+                    boolean pathMatches = pathMatches(context, request);
                     Parameters pathParameters = null;
                     try {
-                        pathParameters = controlPlaneMatcher ? pathParametersParser.extractPathParameters(request, httpRequest) : pathParametersParser.extractPathParameters(httpRequest, request);
+                        pathParameters = extractPathParameters(request);
                     } catch (IllegalArgumentException iae) {
                         if (!httpRequest.getPath().isBlank()) {
                             if (context != null) {
@@ -281,49 +290,44 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
                         return false;
                     }
 
-                    boolean bodyMatches = bodyMatches(context, request);
-                    if (failFast(bodyMatcher, context, matchDifferenceCount, becauseBuilder, bodyMatches, BODY)) {
-                        return false;
-                    }
-
-                    boolean headersMatch = matches(HEADERS, context, headerMatcher, request.getHeaders());
-                    if (failFast(headerMatcher, context, matchDifferenceCount, becauseBuilder, headersMatch, HEADERS)) {
-                        return false;
-                    }
-
-                    boolean cookiesMatch = matches(COOKIES, context, cookieMatcher, request.getCookies());
-                    if (failFast(cookieMatcher, context, matchDifferenceCount, becauseBuilder, cookiesMatch, COOKIES)) {
-                        return false;
-                    }
-
-                    boolean pathParametersMatches = true;
-                    if (!httpRequest.getPath().isBlank()) {
-                        if (!controlPlaneMatcher) {
-                            expandedParameterDecoder.splitParameters(httpRequest.getPathParameters(), request.getPathParameters());
+                    for (MatchDifference.Field field : fields) {
+                        Matcher<?> matcher;
+                        boolean fieldMatches;
+                        switch (field) {
+                            case BODY:
+                                matcher = bodyMatcher;
+                                fieldMatches = bodyMatches(context, request);
+                                break;
+                            case HEADERS:
+                                matcher = headerMatcher;
+                                fieldMatches = matches(HEADERS, context, headerMatcher, request.getHeaders());
+                                break;
+                            case COOKIES:
+                                matcher = cookieMatcher;
+                                fieldMatches = matches(COOKIES, context, cookieMatcher, request.getCookies());
+                                break;
+                            case PATH_PARAMETERS:
+                                matcher = pathParameterMatcher;
+                                fieldMatches = pathParametersMatch(context, request, pathParameters);
+                                break;
+                            case QUERY_PARAMETERS:
+                                matcher = queryStringParameterMatcher;
+                                fieldMatches = queryStringParametersMatch(context, request);
+                                break;
+                            case KEEP_ALIVE:
+                                matcher = keepAliveMatcher;
+                                fieldMatches = matches(KEEP_ALIVE, context, keepAliveMatcher, request.isKeepAlive());
+                                break;
+                            case SSL_MATCHES:
+                                matcher = sslMatcher;
+                                fieldMatches = matches(SSL_MATCHES, context, sslMatcher, request.isSecure());
+                                break;
+                            default:
+                                continue;
+                        }
+                        if (failFast(matcher, context, matchDifferenceCount, becauseBuilder, fieldMatches, field)) {
+                            return false;
                         }
-                        MultiValueMapMatcher pathParameterMatcher = controlPlaneMatcher ? new MultiValueMapMatcher(mockServerLogger, request.getPathParameters(), controlPlaneMatcher) : this.pathParameterMatcher;
-                        pathParametersMatches = matches(PATH_PARAMETERS, context, pathParameterMatcher, pathParameters);
-                    }
-                    if (failFast(pathParameterMatcher, context, matchDifferenceCount, becauseBuilder, pathParametersMatches, PATH_PARAMETERS)) {
-                        return false;
-                    }
-
-                    if (!controlPlaneMatcher) {
-                        expandedParameterDecoder.splitParameters(httpRequest.getQueryStringParameters(), request.getQueryStringParameters());
-                    }
-                    boolean queryStringParametersMatches = matches(QUERY_PARAMETERS, context, queryStringParameterMatcher, request.getQueryStringParameters());
-                    if (failFast(queryStringParameterMatcher, context, matchDifferenceCount, becauseBuilder, queryStringParametersMatches, QUERY_PARAMETERS)) {
-                        return false;
-                    }
-
-                    boolean keepAliveMatches = matches(KEEP_ALIVE, context, keepAliveMatcher, request.isKeepAlive());
-                    if (failFast(keepAliveMatcher, context, matchDifferenceCount, becauseBuilder, keepAliveMatches, KEEP_ALIVE)) {
-                        return false;
-                    }
-
-                    boolean sslMatches = matches(SSL_MATCHES, context, sslMatcher, request.isSecure());
-                    if (failFast(sslMatcher, context, matchDifferenceCount, becauseBuilder, sslMatches, SSL_MATCHES)) {
-                        return false;
                     }
 
                     return combinedResultAreTrue(matchDifferenceCount.getFailures() == 0, request.isNot(), this.httpRequest.isNot(), not);
@@ -335,6 +339,133 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
         return false;
     }
 
+    @Override
+    public boolean matchesIgnoringBody(HttpRequest requestWithoutBody) {
+        if (!isActive()) {
+            return false;
+        } else if (httpRequest == null || requestWithoutBody == null || requestWithoutBody.isNot() || httpRequest.isNot() || not) {
+            // the result of 'not' operators depends on the body
+            return true;
+        } else {
+            return matchesInCostOrder(requestWithoutBody, false);
+        }
+    }
+
+    @Override
+    public boolean matchesOnBody() {
+        return bodyMatcher != null || httpRequest != null && httpRequest.isNot() || not;
+    }
+
+    /**
+     * Returns true if every field matches, evaluating method and path first and then the remaining fields in the order
+     * of the cost model built when the expectation was applied, so that the body is always matched last
+     */
+    private boolean matchesInCostOrder(HttpRequest request, boolean matchBody) {
+        if (!methodMatches(null, request) || !pathMatches(null, request)) {
+            return false;
+        }
+        Parameters pathParameters = null;
+        try {
+            pathParameters = extractPathParameters(request);
+        } catch (IllegalArgumentException iae) {
+            if (!httpRequest.getPath().isBlank()) {
+                return false;
+            }
+        }
+        for (MatchDifference.Field field : fieldsInCostOrder) {
+            boolean fieldMatches;
+            switch (field) {
+                case HEADERS:
+                    fieldMatches = matches(HEADERS, null, headerMatcher, request.getHeaders());
+                    break;
+                case COOKIES:
+                    fieldMatches = matches(COOKIES, null, cookieMatcher, request.getCookies());
+                    break;
+                case PATH_PARAMETERS:
+                    fieldMatches = pathParametersMatch(null, request, pathParameters);
+                    break;
+                case QUERY_PARAMETERS:
+                    fieldMatches = queryStringParametersMatch(null, request);
+                    break;
+                case KEEP_ALIVE:
+                    fieldMatches = matches(KEEP_ALIVE, null, keepAliveMatcher, request.isKeepAlive());
+                    break;
+                case SSL_MATCHES:
+                    fieldMatches = matches(SSL_MATCHES, null, sslMatcher, request.isSecure());
+                    break;
+                case BODY:
+                    fieldMatches = !matchBody || bodyMatches(null, request);
+                    break;
+                default:
+                    fieldMatches = true;
+            }
+            if (!fieldMatches) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean methodMatches(MatchDifference context, HttpRequest request) {
+        return StringUtils.isBlank(request.getMethod().getValue()) || matches(METHOD, context, methodMatcher, request.getMethod());
+    }
+
+    private boolean pathMatches(MatchDifference context, HttpRequest request) {
+        return StringUtils.isBlank(request.getPath().getValue()) || matches(PATH, context, pathMatcher, controlPlaneMatcher ? pathParametersParser.normalisePathWithParametersForMatching(request) : request.getPath());
+    }
+
+    private Parameters extractPathParameters(HttpRequest request) {
+        return controlPlaneMatcher ? pathParametersParser.extractPathParameters(request, httpRequest) : pathParametersParser.extractPathParameters(httpRequest, request);
+    }
+
+    private boolean pathParametersMatch(MatchDifference context, HttpRequest request, Parameters pathParameters) {
+        boolean pathParametersMatches = true;
+        if (!httpRequest.getPath().isBlank()) {
+            if (!controlPlaneMatcher) {
+                expandedParameterDecoder.splitParameters(httpRequest.getPathParameters(), request.getPathParameters());
+            }
+            MultiValueMapMatcher pathParameterMatcher = controlPlaneMatcher ? new MultiValueMapMatcher(mockServerLogger, request.getPathParameters(), controlPlaneMatcher) : this.pathParameterMatcher;
+            pathParametersMatches = matches(PATH_PARAMETERS, context, pathParameterMatcher, pathParameters);
+        }
+        return pathParametersMatches;
+    }
+
+    private boolean queryStringParametersMatch(MatchDifference context, HttpRequest request) {
+        if (!controlPlaneMatcher) {
+            expandedParameterDecoder.splitParameters(httpRequest.getQueryStringParameters(), request.getQueryStringParameters());
+        }
+        return matches(QUERY_PARAMETERS, context, queryStringParameterMatcher, request.getQueryStringParameters());
+    }
+
+    /**
+     * orders the fields after method and path by the estimated cost of matching them for this expectation,
+     * cheap boolean fields first, then headers, cookies and parameters by number of entries and the body always last
+     */
+    private MatchDifference.Field[] fieldsInCostOrder(HttpRequest httpRequest) {
+        Map<MatchDifference.Field, Integer> costs = new EnumMap<>(MatchDifference.Field.class);
+        costs.put(KEEP_ALIVE, 1);
+        costs.put(SSL_MATCHES, 1);
+        costs.put(HEADERS, 2 + size(httpRequest.getHeaders()));
+        costs.put(COOKIES, 2 + size(httpRequest.getCookies()));
+        costs.put(QUERY_PARAMETERS, 2 + size(httpRequest.getQueryStringParameters()));
+        costs.put(PATH_PARAMETERS, 3 + size(httpRequest.getPathParameters()));
+        costs.put(BODY, Integer.MAX_VALUE);
+        return costs
+            .entrySet()
+            .stream()
+            .sorted(Map.Entry.comparingByValue())
+            .map(Map.Entry::getKey)
+            .toArray(MatchDifference.Field[]::new);
+    }
+
+    private static int size(KeysToMultiValues<?, ?> keysToMultiValues) {
+        return keysToMultiValues != null ? keysToMultiValues.getEntries().size() : 0;
+    }
+
+    private static int size(KeysAndValues<?, ?> keysAndValues) {
+        return keysAndValues != null ? keysAndValues.getEntries().size() : 0;
+    }
+
     private boolean failFast(Matcher<?> matcher, MatchDifference context, MatchDifferenceCount matchDifferenceCount, StringBuilder becauseBuilder, boolean fieldMatches, MatchDifference.Field fieldName) {
         // update because builder
         if (!controlPlaneMatcher) {
@@ -440,14 +571,14 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
                 bodyMatcher instanceof XmlSchemaMatcher
             ) {
                 // xml body matcher
-                bodyMatches = matches(BODY, context, bodyMatcher, request.getBodyAsString());
+                bodyMatches = matches(context, bodyMatcher, request.getBodyAsString(), request.getParsedBody());
             } else if (bodyMatcher instanceof JsonStringMatcher ||
                 bodyMatcher instanceof JsonSchemaMatcher ||
                 bodyMatcher instanceof JsonPathMatcher
             ) {
                 // json body matcher
                 try {
-                    bodyMatches = matches(BODY, context, bodyMatcher, jsonSchemaBodyParser.convertToJson(request, bodyMatcher));
+                    bodyMatches = matches(context, bodyMatcher, jsonSchemaBodyParser.convertToJson(request, bodyMatcher), request.getParsedBody());
                 } catch (IllegalArgumentException iae) {
                     if (context != null) {
                         context.addDifference(mockServerLogger, iae, iae.getMessage());
@@ -461,6 +592,13 @@ public class HttpRequestPropertiesMatcher extends AbstractHttpRequestMatcher {
         return bodyMatches;
     }
 
+    private <T> boolean matches(MatchDifference context, BodyMatcher<T> bodyMatcher, T t, ParsedBody parsedBody) {
+        if (context != null) {
+            context.currentField(BODY);
+        }
+        return bodyMatcher.matches(context, t, parsedBody);
+    }
+
     private <T> boolean matches(MatchDifference.Field field, MatchDifference context, Matcher<T> matcher, T t) {
         if (context != null) {
             context.currentField(field);
@@ -1,11 +1,13 @@
 package org.mockserver.matchers;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import net.minidev.json.JSONArray;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.ParsedBody;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.slf4j.event.Level.DEBUG;
@@ -41,6 +43,11 @@ public class JsonPathMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, final String matched) {
+        return matches(context, matched, null);
+    }
+
+    @Override
+    public boolean matches(final MatchDifference context, final String matched, final ParsedBody parsedBody) {
         boolean result = false;
         boolean alreadyLoggedMatchFailure = false;
 
@@ -53,7 +60,8 @@ public class JsonPathMatcher extends BodyMatcher<String> {
             result = true;
         } else if (matched != null) {
             try {
-                result = !jsonPath.<JSONArray>read(matched).isEmpty();
+                DocumentContext documentContext = parsedBody != null ? parsedBody.documentContext(matched) : null;
+                result = !(documentContext != null ? documentContext.<JSONArray>read(jsonPath) : jsonPath.<JSONArray>read(matched)).isEmpty();
             } catch (Throwable throwable) {
                 if (context != null) {
                     context.addDifference(mockServerLogger, throwable, "json path match failed expected:{}found:{}failed because:{}", matcher, matched, throwable.getMessage());
@@ -2,8 +2,10 @@ package org.mockserver.matchers;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.commons.lang3.StringUtils;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.ParameterStyle;
+import org.mockserver.model.ParsedBody;
 import org.mockserver.validator.jsonschema.JsonSchemaValidator;
 
 import java.util.Map;
@@ -36,13 +38,19 @@ public class JsonSchemaMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, String matched) {
+        return matches(context, matched, null);
+    }
+
+    @Override
+    public boolean matches(final MatchDifference context, String matched, ParsedBody parsedBody) {
         boolean result = false;
 
         if (matcher.equalsIgnoreCase(matched)) {
             result = true;
         } else if (!StringUtils.isBlank(matched)) {
             try {
-                String validation = jsonSchemaValidator.isValid(matched, false);
+                JsonNode matchedJsonNode = parsedBody != null ? parsedBody.jsonNode(matched) : null;
+                String validation = matchedJsonNode != null ? jsonSchemaValidator.isValid(matchedJsonNode, false) : jsonSchemaValidator.isValid(matched, false);
 
                 result = validation.isEmpty();
 
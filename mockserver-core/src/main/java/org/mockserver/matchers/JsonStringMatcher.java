@@ -12,6 +12,7 @@ import net.javacrumbs.jsonunit.core.listener.DifferenceContext;
 import net.javacrumbs.jsonunit.core.listener.DifferenceListener;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.ParsedBody;
 import org.mockserver.serialization.ObjectMapperFactory;
 
 import java.util.ArrayList;
@@ -39,6 +40,11 @@ public class JsonStringMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, String matched) {
+        return matches(context, matched, null);
+    }
+
+    @Override
+    public boolean matches(final MatchDifference context, String matched, ParsedBody parsedBody) {
         boolean result = false;
 
         try {
@@ -64,10 +70,11 @@ public class JsonStringMatcher extends BodyMatcher<String> {
                     if (matcherJsonNode == null) {
                         matcherJsonNode = ObjectMapperFactory.createObjectMapper().readTree(matcher);
                     }
+                    JsonNode matchedJsonNode = parsedBody != null ? parsedBody.jsonNode(matched) : null;
                     result = Diff
                         .create(
                             matcherJsonNode,
-                            ObjectMapperFactory.createObjectMapper().readTree(matched),
+                            matchedJsonNode != null ? matchedJsonNode : ObjectMapperFactory.createObjectMapper().readTree(matched),
                             "",
                             "",
                             diffConfig
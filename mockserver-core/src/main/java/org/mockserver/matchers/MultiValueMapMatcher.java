@@ -46,7 +46,7 @@ public class MultiValueMapMatcher extends NotMatcher<KeysToMultiValues<? extends
             }
             result = allKeysNotted || allKeysOptional;
         } else {
-            result = new NottableStringMultiMap(mockServerLogger, controlPlaneMatcher, matched.getKeyMatchStyle(), matched.getEntries()).containsAll(matcher);
+            result = matcher.isSubsetOf(matched.getCaseFoldedEntries());
         }
 
         if (!result && context != null) {
@@ -176,6 +176,11 @@ public class RegexStringMatcher extends BodyMatcher<NottableString> {
         return matcher == null || StringUtils.isBlank(matcher.getValue());
     }
 
+    @JsonIgnore
+    public boolean isControlPlaneMatcher() {
+        return controlPlaneMatcher;
+    }
+
     @Override
     @JsonIgnore
     protected String[] fieldsExcludedFromEqualsAndHashCode() {
@@ -3,6 +3,7 @@ package org.mockserver.matchers;
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * @author jamesdbloom
@@ -27,8 +28,10 @@ public class Times extends ObjectWithReflectiveEqualsHashCodeToString {
         }
     };
 
+    private static final AtomicIntegerFieldUpdater<Times> REMAINING_TIMES_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Times.class, "remainingTimes");
+
     private int hashCode;
-    private int remainingTimes;
+    private volatile int remainingTimes;
     private final boolean unlimited;
 
     private Times(int remainingTimes, boolean unlimited) {
@@ -60,9 +63,21 @@ public class Times extends ObjectWithReflectiveEqualsHashCodeToString {
         return unlimited || remainingTimes > 0;
     }
 
+    /**
+     * Atomically decrements the remaining times without going below zero, so concurrent
+     * requests can never use more than the specified number of times
+     *
+     * @return true if the remaining times was decremented, false if unlimited or no times remain
+     */
     public boolean decrement() {
         if (!unlimited) {
-            remainingTimes--;
+            int current;
+            do {
+                current = remainingTimes;
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!REMAINING_TIMES_UPDATER.compareAndSet(this, current, current - 1));
             return true;
         }
         return false;
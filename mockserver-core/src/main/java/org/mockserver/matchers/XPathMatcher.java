@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.ParsedBody;
+import org.w3c.dom.Document;
 
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
@@ -45,6 +47,11 @@ public class XPathMatcher extends BodyMatcher<String> {
     }
 
     public boolean matches(final MatchDifference context, final String matched) {
+        return matches(context, matched, null);
+    }
+
+    @Override
+    public boolean matches(final MatchDifference context, final String matched, final ParsedBody parsedBody) {
         boolean result = false;
         boolean alreadyLoggedMatchFailure = false;
 
@@ -57,11 +64,15 @@ public class XPathMatcher extends BodyMatcher<String> {
             result = true;
         } else if (matched != null) {
             try {
-                result = (Boolean) xpathExpression.evaluate(stringToXmlDocumentParser.buildDocument(matched, (matchedInException, throwable, level) -> {
-                    if (context != null) {
-                        context.addDifference(mockServerLogger, throwable, "xpath match failed expected:{}found:{}failed because " + prettyPrint(level) + ":{}", matcher, matched, throwable.getMessage());
-                    }
-                }), XPathConstants.BOOLEAN);
+                Document document = parsedBody != null ? parsedBody.xmlDocument(matched) : null;
+                if (document == null) {
+                    document = stringToXmlDocumentParser.buildDocument(matched, (matchedInException, throwable, level) -> {
+                        if (context != null) {
+                            context.addDifference(mockServerLogger, throwable, "xpath match failed expected:{}found:{}failed because " + prettyPrint(level) + ":{}", matcher, matched, throwable.getMessage());
+                        }
+                    });
+                }
+                result = (Boolean) xpathExpression.evaluate(document, XPathConstants.BOOLEAN);
             } catch (Throwable throwable) {
                 if (context != null) {
                     context.addDifference(mockServerLogger, throwable, "xpath match failed expected:{}found:{}failed because:{}", matcher, matched, throwable.getMessage());
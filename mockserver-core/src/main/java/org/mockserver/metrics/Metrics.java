@@ -1,6 +1,7 @@
 package org.mockserver.metrics;
 
 import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.model.LogEntry.LogMessageType;
 import org.mockserver.model.Action;
 
 import java.util.Map;
@@ -13,9 +14,11 @@ import java.util.concurrent.ConcurrentHashMap;
 public class Metrics {
 
     private static Map<Name, Integer> metrics = new ConcurrentHashMap<>();
+    private static Map<LogMessageType, Integer> droppedLogEntries = new ConcurrentHashMap<>();
 
     public static void clear() {
         metrics.clear();
+        droppedLogEntries.clear();
     }
 
     public static void set(Name name, Integer value) {
@@ -84,6 +87,64 @@ public class Metrics {
         metrics.remove(Name.ACTION_ERROR_COUNT);
     }
 
+    /**
+     * Records the number of log entries added in a batch by the log ring buffer
+     */
+    public static void recordLogEntryBatch(int batchSize) {
+        if (ConfigurationProperties.metricsEnabled()) {
+            metrics.merge(Name.LOG_ENTRY_BATCH_COUNT, 1, Integer::sum);
+            metrics.put(Name.LOG_ENTRY_LAST_BATCH_SIZE, batchSize);
+            metrics.merge(Name.LOG_ENTRY_MAX_BATCH_SIZE, batchSize, Math::max);
+        }
+    }
+
+    /**
+     * Counts a log entry dropped because the log ring buffer was full
+     */
+    public static void incrementDroppedLogEntries(LogMessageType type) {
+        if (ConfigurationProperties.metricsEnabled()) {
+            metrics.merge(Name.LOG_ENTRY_DROPPED_COUNT, 1, Integer::sum);
+            droppedLogEntries.merge(type, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Counts a new pooled connection for forwarded requests
+     */
+    public static void recordForwardConnectionCreated() {
+        if (ConfigurationProperties.metricsEnabled()) {
+            metrics.merge(Name.FORWARD_CONNECTION_CREATED_COUNT, 1, Integer::sum);
+            metrics.merge(Name.FORWARD_CONNECTION_OPEN_COUNT, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Counts a forwarded request sent on a pooled connection that was already used for an earlier request
+     */
+    public static void recordForwardConnectionReused() {
+        if (ConfigurationProperties.metricsEnabled()) {
+            metrics.merge(Name.FORWARD_CONNECTION_REUSED_COUNT, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Counts a pooled connection for forwarded requests being closed, either because it was idle or for any other reason
+     */
+    public static void recordForwardConnectionClosed(boolean idle) {
+        if (ConfigurationProperties.metricsEnabled()) {
+            // not decremented below zero if metrics were cleared while the connection was open
+            metrics.computeIfPresent(Name.FORWARD_CONNECTION_OPEN_COUNT, (name, count) -> Math.max(count - 1, 0));
+            if (idle) {
+                metrics.merge(Name.FORWARD_CONNECTION_IDLE_CLOSED_COUNT, 1, Integer::sum);
+            }
+        }
+    }
+
+    public static Integer getDroppedLogEntries(LogMessageType type) {
+        Integer value = droppedLogEntries.get(type);
+        return value != null ? value : 0;
+    }
+
     public static void clearWebSocketMetrics() {
         metrics.remove(Name.WEBSOCKET_CALLBACK_CLIENT_COUNT);
         metrics.remove(Name.WEBSOCKET_CALLBACK_RESPONSE_HANDLER_COUNT);
@@ -106,6 +167,14 @@ public class Metrics {
         ACTION_ERROR_COUNT,
         WEBSOCKET_CALLBACK_CLIENT_COUNT,
         WEBSOCKET_CALLBACK_RESPONSE_HANDLER_COUNT,
-        WEBSOCKET_CALLBACK_FORWARD_HANDLER_COUNT
+        WEBSOCKET_CALLBACK_FORWARD_HANDLER_COUNT,
+        LOG_ENTRY_BATCH_COUNT,
+        LOG_ENTRY_LAST_BATCH_SIZE,
+        LOG_ENTRY_MAX_BATCH_SIZE,
+        LOG_ENTRY_DROPPED_COUNT,
+        FORWARD_CONNECTION_CREATED_COUNT,
+        FORWARD_CONNECTION_REUSED_COUNT,
+        FORWARD_CONNECTION_OPEN_COUNT,
+        FORWARD_CONNECTION_IDLE_CLOSED_COUNT
     }
 }
@@ -0,0 +1,200 @@
+package org.mockserver.mock;
+
+import org.mockserver.codec.PathParametersDecoder;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.HttpRequestPropertiesMatcher;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.NottableString;
+
+import java.util.*;
+
+import static org.mockserver.collections.CaseFoldedEntries.fold;
+import static org.mockserver.model.NottableString.isRegexMetaCharacter;
+
+/**
+ * Narrows the expectations that need to be evaluated for a request to those that can possibly match its method and path.
+ * <p>
+ * Each request matcher is placed in a bucket keyed by its literal method (or "" for any method) and either its literal
+ * path or the literal prefix of its path regex, truncated to the last '/'. Regex paths without a literal prefix,
+ * notted or schema paths, notted requests and OpenAPI matchers all fall into the catch-all bucket keyed by "".
+ * Buckets hold positions into the immutable priority sorted snapshot the index was built from, so merging the
+ * candidate buckets preserves the exact order defined by {@link SortableExpectationId}.
+ *
+ * @author jamesdbloom
+ */
+public class HttpRequestMatcherIndex {
+
+    private static final PathParametersDecoder pathParametersParser = new PathParametersDecoder();
+    private static final String ANY = "";
+
+    private final List<HttpRequestMatcher> sortedHttpRequestMatchers;
+    private final HttpRequestMatcher[] httpRequestMatchers;
+    private final Map<String, Map<String, int[]>> byMethodAndExactPath = new HashMap<>();
+    private final Map<String, Map<String, int[]>> byMethodAndPathPrefix = new HashMap<>();
+
+    public HttpRequestMatcherIndex(List<HttpRequestMatcher> sortedHttpRequestMatchers) {
+        this.sortedHttpRequestMatchers = sortedHttpRequestMatchers;
+        this.httpRequestMatchers = sortedHttpRequestMatchers.toArray(new HttpRequestMatcher[0]);
+        Map<String, Map<String, List<Integer>>> exactPaths = new HashMap<>();
+        Map<String, Map<String, List<Integer>>> pathPrefixes = new HashMap<>();
+        for (int position = 0; position < httpRequestMatchers.length; position++) {
+            HttpRequest httpRequest = indexableHttpRequest(httpRequestMatchers[position]);
+            String method = ANY;
+            String path = null;
+            String pathPrefix = ANY;
+            if (httpRequest != null) {
+                method = literal(httpRequest.getMethod());
+                method = method != null ? fold(method) : ANY;
+                NottableString normalisedPath = pathParametersParser.normalisePathWithParametersForMatching(httpRequest);
+                path = literal(normalisedPath);
+                if (path != null) {
+                    path = fold(path);
+                } else {
+                    pathPrefix = pathPrefix(normalisedPath);
+                }
+            }
+            if (path != null && !path.isEmpty()) {
+                exactPaths.computeIfAbsent(method, key -> new HashMap<>()).computeIfAbsent(path, key -> new ArrayList<>()).add(position);
+            } else {
+                pathPrefixes.computeIfAbsent(method, key -> new HashMap<>()).computeIfAbsent(pathPrefix, key -> new ArrayList<>()).add(position);
+            }
+        }
+        toPositionArrays(exactPaths, byMethodAndExactPath);
+        toPositionArrays(pathPrefixes, byMethodAndPathPrefix);
+    }
+
+    /**
+     * true if this index was built from the provided sorted snapshot instance
+     */
+    public boolean isIndexOf(List<HttpRequestMatcher> sortedHttpRequestMatchers) {
+        return this.sortedHttpRequestMatchers == sortedHttpRequestMatchers;
+    }
+
+    public int size() {
+        return httpRequestMatchers.length;
+    }
+
+    /**
+     * Returns the request matchers that could match the request in the same order as the sorted list the index was built from
+     */
+    public List<HttpRequestMatcher> candidates(HttpRequest httpRequest) {
+        String method = httpRequest != null ? value(httpRequest.getMethod()) : null;
+        String path = httpRequest != null ? value(httpRequest.getPath()) : null;
+        if (method == null || path == null || httpRequest.isNot()) {
+            return sortedHttpRequestMatchers;
+        }
+        method = fold(method);
+        path = fold(path);
+        List<int[]> buckets = new ArrayList<>();
+        for (String methodKey : new String[]{method, ANY}) {
+            Map<String, int[]> exactPathBuckets = byMethodAndExactPath.get(methodKey);
+            if (exactPathBuckets != null) {
+                addBucket(buckets, exactPathBuckets.get(path));
+            }
+            Map<String, int[]> pathPrefixBuckets = byMethodAndPathPrefix.get(methodKey);
+            if (pathPrefixBuckets != null) {
+                addBucket(buckets, pathPrefixBuckets.get(ANY));
+                for (int index = path.indexOf('/'); index >= 0; index = path.indexOf('/', index + 1)) {
+                    addBucket(buckets, pathPrefixBuckets.get(path.substring(0, index + 1)));
+                }
+            }
+        }
+        return merge(buckets);
+    }
+
+    private HttpRequest indexableHttpRequest(HttpRequestMatcher httpRequestMatcher) {
+        if (httpRequestMatcher instanceof HttpRequestPropertiesMatcher) {
+            HttpRequest httpRequest = ((HttpRequestPropertiesMatcher) httpRequestMatcher).getHttpRequest();
+            if (httpRequest != null && !httpRequest.isNot()) {
+                return httpRequest;
+            }
+        }
+        return null;
+    }
+
+    private void addBucket(List<int[]> buckets, int[] bucket) {
+        if (bucket != null && bucket.length > 0) {
+            buckets.add(bucket);
+        }
+    }
+
+    private List<HttpRequestMatcher> merge(List<int[]> buckets) {
+        if (buckets.isEmpty()) {
+            return Collections.emptyList();
+        } else if (buckets.size() == 1) {
+            int[] bucket = buckets.get(0);
+            List<HttpRequestMatcher> candidates = new ArrayList<>(bucket.length);
+            for (int position : bucket) {
+                candidates.add(httpRequestMatchers[position]);
+            }
+            return candidates;
+        } else {
+            int size = 0;
+            for (int[] bucket : buckets) {
+                size += bucket.length;
+            }
+            List<HttpRequestMatcher> candidates = new ArrayList<>(size);
+            int[] cursors = new int[buckets.size()];
+            while (candidates.size() < size) {
+                int next = -1;
+                int nextPosition = Integer.MAX_VALUE;
+                for (int i = 0; i < cursors.length; i++) {
+                    int[] bucket = buckets.get(i);
+                    if (cursors[i] < bucket.length && bucket[cursors[i]] < nextPosition) {
+                        next = i;
+                        nextPosition = bucket[cursors[i]];
+                    }
+                }
+                cursors[next]++;
+                candidates.add(httpRequestMatchers[nextPosition]);
+            }
+            return candidates;
+        }
+    }
+
+    private static void toPositionArrays(Map<String, Map<String, List<Integer>>> source, Map<String, Map<String, int[]>> target) {
+        source.forEach((method, buckets) -> {
+            Map<String, int[]> positionArrays = new HashMap<>();
+            buckets.forEach((key, positions) -> positionArrays.put(key, positions.stream().mapToInt(Integer::intValue).toArray()));
+            target.put(method, positionArrays);
+        });
+    }
+
+    /**
+     * returns the value of a plain (not notted, not schema, not blank) string, otherwise null
+     */
+    private static String value(NottableString nottableString) {
+        if (nottableString != null && nottableString.getClass() == NottableString.class && !nottableString.isNot() && !nottableString.isBlank()) {
+            return nottableString.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * returns the value if it can only be matched literally (ignoring case), otherwise null
+     */
+    private static String literal(NottableString nottableString) {
+        String value = value(nottableString);
+        return value != null && nottableString.isLiteral() ? value : null;
+    }
+
+    /**
+     * returns the literal prefix (ignoring case) that every path matched by the regex must start with, truncated to the last '/'
+     */
+    private static String pathPrefix(NottableString path) {
+        String value = value(path);
+        if (value == null || value.indexOf('|') >= 0) {
+            return ANY;
+        }
+        int end = 0;
+        while (end < value.length() && !isRegexMetaCharacter(value.charAt(end))) {
+            end++;
+        }
+        if (end < value.length() && end > 0 && "?*{".indexOf(value.charAt(end)) >= 0) {
+            // quantifier makes the preceding character optional
+            end--;
+        }
+        int lastSlash = value.lastIndexOf('/', end - 1);
+        return lastSlash >= 0 ? fold(value.substring(0, lastSlash + 1)) : ANY;
+    }
+}
@@ -1,7 +1,9 @@
 package org.mockserver.mock;
 
 import org.mockserver.closurecallback.websocketregistry.WebSocketClientRegistry;
+import org.mockserver.codec.MappedFileBuffers;
 import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.LogEntryPage;
 import org.mockserver.log.MockServerEventLog;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
@@ -54,7 +56,21 @@ public class HttpState {
 
     public static final String LOG_SEPARATOR = NEW_LINE + "------------------------------------" + NEW_LINE;
     public static final String PATH_PREFIX = "/mockserver";
+    public static final String DROPPED_LOG_ENTRIES_HEADER = "X-DROPPED-LOG-ENTRIES";
+    public static final String NEXT_AFTER_HEADER = "X-NEXT-AFTER";
     private static final ThreadLocal<Integer> LOCAL_PORT = new ThreadLocal<>();
+    private static final List<String> CONTROL_PLANE_PATHS = Arrays.asList(
+        "/expectation",
+        "/openapi",
+        "/clear",
+        "/reset",
+        "/retrieve",
+        "/verify",
+        "/verifySequence",
+        "/status",
+        "/bind",
+        "/stop"
+    );
     private final String uniqueLoopPreventionHeaderValue = "MockServer_" + UUIDService.getUUID();
     private final MockServerEventLog mockServerLog;
     private final Scheduler scheduler;
@@ -104,6 +120,23 @@ public class HttpState {
         return LOCAL_PORT.get();
     }
 
+    /**
+     * Control plane requests are the PUT requests to the MockServer API, with or without the {@link #PATH_PREFIX}, that
+     * are handled by MockServer itself instead of being matched against expectations or proxied
+     */
+    public static boolean isControlPlaneRequest(final HttpRequest request) {
+        for (String controlPlanePath : CONTROL_PLANE_PATHS) {
+            if (isControlPlaneRequest(request, controlPlanePath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean isControlPlaneRequest(final HttpRequest request, final String controlPlanePath) {
+        return request.matches("PUT", PATH_PREFIX + controlPlanePath, controlPlanePath);
+    }
+
     public HttpState(MockServerLogger mockServerLogger, Scheduler scheduler) {
         this.mockServerLogger = mockServerLogger.setHttpStateHandler(this);
         this.scheduler = scheduler;
@@ -184,6 +217,7 @@ public class HttpState {
         requestMatchers.reset();
         mockServerLog.reset();
         webSocketClientRegistry.reset();
+        MappedFileBuffers.clear();
         if (MockServerLogger.isEnabled(Level.INFO)) {
             mockServerLogger.logEvent(
                 new LogEntry()
@@ -212,11 +246,13 @@ public class HttpState {
     }
 
     public List<Expectation> add(OpenAPIExpectation openAPIExpectation) {
-        return getOpenAPIConverter().buildExpectations(openAPIExpectation.getSpecUrlOrPayload(), openAPIExpectation.getOperationsAndResponses()).stream().map(this::add).flatMap(List::stream).collect(Collectors.toList());
+        return add(getOpenAPIConverter().buildExpectations(openAPIExpectation.getSpecUrlOrPayload(), openAPIExpectation.getOperationsAndResponses()).toArray(new Expectation[0]));
     }
 
     public List<Expectation> add(Expectation... expectations) {
-        List<Expectation> upsertedExpectations = new ArrayList<>();
+        for (Expectation expectation : expectations) {
+            validateFileBody(expectation);
+        }
         for (Expectation expectation : expectations) {
             RequestDefinition requestDefinition = expectation.getHttpRequest();
             if (requestDefinition instanceof HttpRequest) {
@@ -225,9 +261,17 @@ public class HttpState {
                     scheduler.submit(() -> addSubjectAlternativeName(hostHeader));
                 }
             }
-            upsertedExpectations.add(requestMatchers.add(expectation, Cause.API));
         }
-        return upsertedExpectations;
+        return requestMatchers.add(expectations, Cause.API);
+    }
+
+    private void validateFileBody(Expectation expectation) {
+        if (expectation.getAction() instanceof HttpResponse && ((HttpResponse) expectation.getAction()).getBody() instanceof FileBody) {
+            String validationErrors = ((FileBody) ((HttpResponse) expectation.getAction()).getBody()).validate();
+            if (!validationErrors.isEmpty()) {
+                throw new IllegalArgumentException(validationErrors);
+            }
+        }
     }
 
     public Expectation firstMatchingExpectation(HttpRequest request) {
@@ -253,6 +297,7 @@ public class HttpState {
         CompletableFuture<HttpResponse> httpResponseFuture = new CompletableFuture<>();
         HttpResponse response = response().withStatusCode(OK.code());
         if (request != null) {
+            final LogEntryPage page = logEntryPage(request);
             try {
                 final RequestDefinition requestDefinition = isNotBlank(request.getBodyAsString()) ? getRequestDefinitionSerializer().deserialize(request.getBodyAsJsonOrXmlString()) : request();
                 requestDefinition.withLogCorrelationId(logCorrelationId);
@@ -260,7 +305,7 @@ public class HttpState {
                 RetrieveType type = RetrieveType.valueOf(defaultIfEmpty(request.getFirstQueryStringParameter("type").toUpperCase(), "REQUESTS"));
                 switch (type) {
                     case LOGS: {
-                        mockServerLog.retrieveMessageLogEntries(requestDefinition, (List<LogEntry> logEntries) -> {
+                        mockServerLog.retrieveMessageLogEntries(requestDefinition, page, (List<LogEntry> logEntries) -> {
                             StringBuilder stringBuffer = new StringBuilder();
                             for (int i = 0; i < logEntries.size(); i++) {
                                 LogEntry messageLogEntry = logEntries.get(i);
@@ -302,6 +347,7 @@ public class HttpState {
                                 mockServerLog
                                     .retrieveRequests(
                                         requestDefinition,
+                                        page,
                                         requests -> {
                                             response.withBody(
                                                 getRequestDefinitionSerializer().serialize(requests),
@@ -316,6 +362,7 @@ public class HttpState {
                                 mockServerLog
                                     .retrieveRequests(
                                         requestDefinition,
+                                        page,
                                         requests -> {
                                             response.withBody(
                                                 getRequestDefinitionSerializer().serialize(true, requests),
@@ -330,6 +377,7 @@ public class HttpState {
                                 mockServerLog
                                     .retrieveRequestLogEntries(
                                         requestDefinition,
+                                        page,
                                         logEntries -> {
                                             response.withBody(
                                                 getLogEntrySerializer().serialize(logEntries),
@@ -361,6 +409,7 @@ public class HttpState {
                                 mockServerLog
                                     .retrieveRequestResponses(
                                         requestDefinition,
+                                        page,
                                         httpRequestAndHttpResponses -> {
                                             response.withBody(
                                                 getHttpRequestResponseSerializer().serialize(httpRequestAndHttpResponses),
@@ -375,6 +424,7 @@ public class HttpState {
                                 mockServerLog
                                     .retrieveRequestResponseMessageLogEntries(
                                         requestDefinition,
+                                        page,
                                         logEntries -> {
                                             response.withBody(
                                                 getLogEntrySerializer().serialize(logEntries),
@@ -401,6 +451,7 @@ public class HttpState {
                                 mockServerLog
                                     .retrieveRecordedExpectations(
                                         requestDefinition,
+                                        page,
                                         requests -> {
                                             response.withBody(
                                                 getExpectationToJavaSerializer().serialize(requests),
@@ -415,6 +466,7 @@ public class HttpState {
                                 mockServerLog
                                     .retrieveRecordedExpectations(
                                         requestDefinition,
+                                        page,
                                         requests -> {
                                             response.withBody(
                                                 getExpectationSerializer().serialize(requests),
@@ -429,6 +481,7 @@ public class HttpState {
                                 mockServerLog
                                     .retrieveRecordedExpectationLogEntries(
                                         requestDefinition,
+                                        page,
                                         logEntries -> {
                                             response.withBody(
                                                 getLogEntrySerializer().serialize(logEntries),
@@ -472,7 +525,15 @@ public class HttpState {
                 }
 
                 try {
-                    return httpResponseFuture.get(maxFutureTimeout(), MILLISECONDS);
+                    HttpResponse httpResponse = httpResponseFuture.get(maxFutureTimeout(), MILLISECONDS);
+                    if (type != RetrieveType.ACTIVE_EXPECTATIONS) {
+                        // so it is clear when retrieved log entries are incomplete because the ring buffer was full
+                        mockServerLog.droppedLogEntries().forEach((droppedType, count) -> httpResponse.withHeader(DROPPED_LOG_ENTRIES_HEADER, droppedType.name() + "=" + count));
+                    }
+                    if (page != null && page.getNextAfter() != null) {
+                        httpResponse.withHeader(NEXT_AFTER_HEADER, String.valueOf(page.getNextAfter()));
+                    }
+                    return httpResponse;
                 } catch (ExecutionException | InterruptedException | TimeoutException ex) {
                     mockServerLogger.logEvent(
                         new LogEntry()
@@ -504,6 +565,23 @@ public class HttpState {
         }
     }
 
+    /**
+     * Returns the page of log entries to retrieve from the "limit" and "after" query string parameters, or null if
+     * neither is specified so every matching entry is retrieved
+     */
+    private LogEntryPage logEntryPage(HttpRequest request) {
+        String limit = request.getFirstQueryStringParameter("limit");
+        String after = request.getFirstQueryStringParameter("after");
+        if (isBlank(limit) && isBlank(after)) {
+            return null;
+        }
+        try {
+            return new LogEntryPage(isNotBlank(after) ? Long.parseLong(after) : null, isNotBlank(limit) ? Integer.parseInt(limit) : Integer.MAX_VALUE);
+        } catch (IllegalArgumentException iae) {
+            throw new IllegalArgumentException("\"" + limit + "\" and \"" + after + "\" are not valid values for \"limit\" and \"after\" parameters, \"limit\" must be a positive integer and \"after\" the value of the " + NEXT_AFTER_HEADER + " header returned with the previous page");
+        }
+    }
+
     public Future<String> verify(Verification verification) {
         CompletableFuture<String> result = new CompletableFuture<>();
         verify(verification, result::complete);
@@ -545,25 +623,26 @@ public class HttpState {
             );
         }
 
-        if (request.matches("PUT")) {
+        if (isControlPlaneRequest(request)) {
 
             CompletableFuture<Boolean> canHandle = new CompletableFuture<>();
 
-            if (request.matches("PUT", PATH_PREFIX + "/expectation", "/expectation")) {
+            if (isControlPlaneRequest(request, "/expectation")) {
 
-                List<Expectation> upsertedExpectations = new ArrayList<>();
+                List<Expectation> supportedExpectations = new ArrayList<>();
                 for (Expectation expectation : getExpectationSerializer().deserializeArray(request.getBodyAsJsonOrXmlString(), false)) {
                     if (!warDeployment || validateSupportedFeatures(expectation, request, responseWriter)) {
-                        upsertedExpectations.addAll(add(expectation));
+                        supportedExpectations.add(expectation);
                     }
                 }
+                List<Expectation> upsertedExpectations = add(supportedExpectations.toArray(new Expectation[0]));
 
                 responseWriter.writeResponse(request, response()
                     .withStatusCode(CREATED.code())
                     .withBody(getExpectationSerializer().serialize(upsertedExpectations), MediaType.JSON_UTF_8), true);
                 canHandle.complete(true);
 
-            } else if (request.matches("PUT", PATH_PREFIX + "/openapi", "/openapi")) {
+            } else if (isControlPlaneRequest(request, "/openapi")) {
 
                 try {
                     List<Expectation> upsertedExpectations = new ArrayList<>();
@@ -590,24 +669,24 @@ public class HttpState {
                 }
                 canHandle.complete(true);
 
-            } else if (request.matches("PUT", PATH_PREFIX + "/clear", "/clear")) {
+            } else if (isControlPlaneRequest(request, "/clear")) {
 
                 clear(request);
                 responseWriter.writeResponse(request, OK);
                 canHandle.complete(true);
 
-            } else if (request.matches("PUT", PATH_PREFIX + "/reset", "/reset")) {
+            } else if (isControlPlaneRequest(request, "/reset")) {
 
                 reset();
                 responseWriter.writeResponse(request, OK);
                 canHandle.complete(true);
 
-            } else if (request.matches("PUT", PATH_PREFIX + "/retrieve", "/retrieve")) {
+            } else if (isControlPlaneRequest(request, "/retrieve")) {
 
                 responseWriter.writeResponse(request, retrieve(request), true);
                 canHandle.complete(true);
 
-            } else if (request.matches("PUT", PATH_PREFIX + "/verify", "/verify")) {
+            } else if (isControlPlaneRequest(request, "/verify")) {
 
                 verify(getVerificationSerializer().deserialize(request.getBodyAsJsonOrXmlString()), result -> {
                     if (isEmpty(result)) {
@@ -618,7 +697,7 @@ public class HttpState {
                     canHandle.complete(true);
                 });
 
-            } else if (request.matches("PUT", PATH_PREFIX + "/verifySequence", "/verifySequence")) {
+            } else if (isControlPlaneRequest(request, "/verifySequence")) {
 
                 verify(getVerificationSequenceSerializer().deserialize(request.getBodyAsJsonOrXmlString()), result -> {
                     if (isEmpty(result)) {
@@ -16,6 +16,7 @@ import org.slf4j.event.Level;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -39,6 +40,9 @@ public class RequestMatchers extends MockServerMatcherNotifier {
         httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getSortableId() : NULL,
         httpRequestMatcher -> httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getId() : ""
     );
+    private static final long INACTIVE_REMOVAL_INTERVAL_IN_MILLIS = 1000;
+    private volatile IndexedHttpRequestMatchers indexedHttpRequestMatchers;
+    private final AtomicLong nextInactiveRemovalInMillis = new AtomicLong();
     private final MockServerLogger mockServerLogger;
     private final Scheduler scheduler;
     private WebSocketClientRegistry webSocketClientRegistry;
@@ -53,6 +57,37 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     }
 
     public Expectation add(Expectation expectation, Cause cause) {
+        Expectation upsertedExpectation = upsert(expectation, new AtomicInteger());
+        if (upsertedExpectation != null) {
+            notifyListeners(this, cause);
+        }
+        return upsertedExpectation;
+    }
+
+    /**
+     * Adds or updates all the expectations with a single rebuild of the sorted snapshot and index, and notifies
+     * listeners (i.e. expectation persistence) once if any expectation was added or changed.
+     * <p>
+     * New expectations are only matched once all of them have been added, however existing expectations are updated in
+     * place, so a concurrent request may be matched against some of the updates before the rest are applied.
+     */
+    public List<Expectation> add(Expectation[] expectations, Cause cause) {
+        List<Expectation> upsertedExpectations = new ArrayList<>();
+        if (expectations != null && expectations.length > 0) {
+            AtomicInteger numberOfChanges = new AtomicInteger(0);
+            httpRequestMatchers.batch(() -> {
+                for (Expectation expectation : expectations) {
+                    upsertedExpectations.add(upsert(expectation, numberOfChanges));
+                }
+            });
+            if (numberOfChanges.get() > 0) {
+                notifyListeners(this, cause);
+            }
+        }
+        return upsertedExpectations;
+    }
+
+    private Expectation upsert(Expectation expectation, AtomicInteger numberOfChanges) {
         Expectation upsertedExpectation = null;
         if (expectation != null) {
             upsertedExpectation = httpRequestMatchers
@@ -68,6 +103,7 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                     httpRequestMatchers.removePriorityKey(httpRequestMatcher);
                     if (httpRequestMatcher.update(expectation)) {
                         httpRequestMatchers.addPriorityKey(httpRequestMatcher);
+                        numberOfChanges.getAndIncrement();
                         if (MockServerLogger.isEnabled(Level.INFO)) {
                             mockServerLogger.logEvent(
                                 new LogEntry()
@@ -86,9 +122,11 @@ public class RequestMatchers extends MockServerMatcherNotifier {
                     }
                     return httpRequestMatcher;
                 })
-                .orElseGet(() -> addPrioritisedExpectation(expectation))
+                .orElseGet(() -> {
+                    numberOfChanges.getAndIncrement();
+                    return addPrioritisedExpectation(expectation);
+                })
                 .getExpectation();
-            notifyListeners(this, cause);
         }
         return upsertedExpectation;
     }
@@ -96,55 +134,57 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     public void update(Expectation[] expectations, Cause cause) {
         AtomicInteger numberOfChanges = new AtomicInteger(0);
         if (expectations != null) {
-            Map<String, HttpRequestMatcher> httpRequestMatchersByKey = httpRequestMatchers.keyMap();
-            Set<String> existingKeys = new HashSet<>(httpRequestMatchersByKey.keySet());
-            Arrays
-                .stream(expectations)
-                .forEach(expectation -> {
-                    existingKeys.remove(expectation.getId());
-                    if (httpRequestMatchersByKey.containsKey(expectation.getId())) {
-                        HttpRequestMatcher httpRequestMatcher = httpRequestMatchersByKey.get(expectation.getId());
-                        if (httpRequestMatcher.getExpectation() != null && httpRequestMatcher.getExpectation().getAction() != null) {
-                            Metrics.decrement(httpRequestMatcher.getExpectation().getAction().getType());
-                        }
-                        if (httpRequestMatcher.getExpectation() != null) {
-                            // propagate created time from previous entry to avoid re-ordering on update
-                            expectation.withCreated(httpRequestMatcher.getExpectation().getCreated());
-                        }
-                        httpRequestMatchers.removePriorityKey(httpRequestMatcher);
-                        if (httpRequestMatcher.update(expectation)) {
-                            httpRequestMatchers.addPriorityKey(httpRequestMatcher);
-                            numberOfChanges.getAndIncrement();
-                            if (MockServerLogger.isEnabled(Level.INFO)) {
-                                mockServerLogger.logEvent(
-                                    new LogEntry()
-                                        .setType(UPDATED_EXPECTATION)
-                                        .setLogLevel(Level.INFO)
-                                        .setHttpRequest(expectation.getHttpRequest())
-                                        .setMessageFormat(UPDATED_EXPECTATION_MESSAGE_FORMAT)
-                                        .setArguments(expectation.clone(), expectation.getId())
-                                );
+            httpRequestMatchers.batch(() -> {
+                Map<String, HttpRequestMatcher> httpRequestMatchersByKey = httpRequestMatchers.keyMap();
+                Set<String> existingKeys = new HashSet<>(httpRequestMatchersByKey.keySet());
+                Arrays
+                    .stream(expectations)
+                    .forEach(expectation -> {
+                        existingKeys.remove(expectation.getId());
+                        if (httpRequestMatchersByKey.containsKey(expectation.getId())) {
+                            HttpRequestMatcher httpRequestMatcher = httpRequestMatchersByKey.get(expectation.getId());
+                            if (httpRequestMatcher.getExpectation() != null && httpRequestMatcher.getExpectation().getAction() != null) {
+                                Metrics.decrement(httpRequestMatcher.getExpectation().getAction().getType());
+                            }
+                            if (httpRequestMatcher.getExpectation() != null) {
+                                // propagate created time from previous entry to avoid re-ordering on update
+                                expectation.withCreated(httpRequestMatcher.getExpectation().getCreated());
                             }
-                            if (expectation.getAction() != null) {
-                                Metrics.increment(expectation.getAction().getType());
+                            httpRequestMatchers.removePriorityKey(httpRequestMatcher);
+                            if (httpRequestMatcher.update(expectation)) {
+                                httpRequestMatchers.addPriorityKey(httpRequestMatcher);
+                                numberOfChanges.getAndIncrement();
+                                if (MockServerLogger.isEnabled(Level.INFO)) {
+                                    mockServerLogger.logEvent(
+                                        new LogEntry()
+                                            .setType(UPDATED_EXPECTATION)
+                                            .setLogLevel(Level.INFO)
+                                            .setHttpRequest(expectation.getHttpRequest())
+                                            .setMessageFormat(UPDATED_EXPECTATION_MESSAGE_FORMAT)
+                                            .setArguments(expectation.clone(), expectation.getId())
+                                    );
+                                }
+                                if (expectation.getAction() != null) {
+                                    Metrics.increment(expectation.getAction().getType());
+                                }
+                            } else {
+                                httpRequestMatchers.addPriorityKey(httpRequestMatcher);
                             }
                         } else {
-                            httpRequestMatchers.addPriorityKey(httpRequestMatcher);
+                            addPrioritisedExpectation(expectation);
+                            numberOfChanges.getAndIncrement();
                         }
-                    } else {
-                        addPrioritisedExpectation(expectation);
+                    });
+                existingKeys
+                    .forEach(key -> {
                         numberOfChanges.getAndIncrement();
-                    }
-                });
-            existingKeys
-                .forEach(key -> {
-                    numberOfChanges.getAndIncrement();
-                    HttpRequestMatcher httpRequestMatcher = httpRequestMatchersByKey.get(key);
-                    removeHttpRequestMatcher(httpRequestMatcher, cause, false);
-                    if (httpRequestMatcher.getExpectation() != null && httpRequestMatcher.getExpectation().getAction() != null) {
-                        Metrics.decrement(httpRequestMatcher.getExpectation().getAction().getType());
-                    }
-                });
+                        HttpRequestMatcher httpRequestMatcher = httpRequestMatchersByKey.get(key);
+                        removeHttpRequestMatcher(httpRequestMatcher, cause, false);
+                        if (httpRequestMatcher.getExpectation() != null && httpRequestMatcher.getExpectation().getAction() != null) {
+                            Metrics.decrement(httpRequestMatcher.getExpectation().getAction().getType());
+                        }
+                    });
+            });
             if (numberOfChanges.get() > 0) {
                 notifyListeners(this, cause);
             }
@@ -188,37 +228,79 @@ public class RequestMatchers extends MockServerMatcherNotifier {
         reset(Cause.API);
     }
 
+    /**
+     * returns the first active matcher that matches every field of the request except the body, without consuming
+     * any of its remaining matches, so that how a request's body is received can be decided from its head alone, if
+     * the body is then truncated only matchers that don't match on body can match the request, see
+     * {@link HttpRequest#isBodyTruncated()}
+     */
+    public HttpRequestMatcher firstMatcherIgnoringBody(HttpRequest requestWithoutBody) {
+        for (HttpRequestMatcher httpRequestMatcher : getHttpRequestMatchersCandidates(requestWithoutBody)) {
+            if (httpRequestMatcher.matchesIgnoringBody(requestWithoutBody)) {
+                return httpRequestMatcher;
+            }
+        }
+        return null;
+    }
+
     public Expectation firstMatchingExpectation(HttpRequest httpRequest) {
-        Optional<Expectation> first = getHttpRequestMatchersCopy()
-            .map(httpRequestMatcher -> {
-                Expectation matchingExpectation = null;
-                boolean remainingMatchesDecremented = false;
+        removeInactiveHttpRequestMatchersPeriodically();
+        Expectation matchingExpectation = null;
+        HttpRequestMatcherIndex index = getHttpRequestMatcherIndex();
+        List<HttpRequestMatcher> candidates = index.candidates(httpRequest);
+        // parse the body at most once for all candidates, released afterwards so logged requests don't retain it
+        ParsedBody parsedBody = httpRequest != null ? new ParsedBody() : null;
+        if (parsedBody != null) {
+            httpRequest.withParsedBody(parsedBody);
+        }
+        try {
+            for (int i = 0; matchingExpectation == null && i < candidates.size(); i++) {
+                HttpRequestMatcher httpRequestMatcher = candidates.get(i);
+                if (httpRequestMatcher.matchesOnBody() && httpRequest != null && httpRequest.isBodyTruncated()) {
+                    // the matcher chosen from the request head was used up or removed while the body was streamed
+                    continue;
+                }
                 if (httpRequestMatcher.matches(MockServerLogger.isEnabled(DEBUG) ? new MatchDifference(httpRequest) : null, httpRequest)) {
-                    matchingExpectation = httpRequestMatcher.getExpectation();
-                    httpRequestMatcher.setResponseInProgress(true);
-                    if (matchingExpectation.decrementRemainingMatches()) {
-                        remainingMatchesDecremented = true;
+                    Expectation expectation = httpRequestMatcher.getExpectation();
+                    if (expectation.getTimes() == null || expectation.getTimes().isUnlimited()) {
+                        matchingExpectation = expectation;
+                        httpRequestMatcher.setResponseInProgress(true);
+                    } else if (expectation.decrementRemainingMatches()) {
+                        matchingExpectation = expectation;
+                        httpRequestMatcher.setResponseInProgress(true);
+                        notifyListeners(this, Cause.API);
                     }
+                    // otherwise remaining matches were used by concurrent requests after this request matched
                 } else if (!httpRequestMatcher.isResponseInProgress() && !httpRequestMatcher.isActive()) {
                     scheduler.submit(() -> removeHttpRequestMatcher(httpRequestMatcher));
                 }
-                if (remainingMatchesDecremented) {
-                    notifyListeners(this, Cause.API);
-                }
-                return matchingExpectation;
-            })
-            .filter(Objects::nonNull)
-            .findFirst();
+            }
+        } finally {
+            if (parsedBody != null) {
+                httpRequest.withParsedBody(null);
+            }
+        }
+        if (matchingExpectation == null && index.size() > candidates.size() && MockServerLogger.isEnabled(Level.INFO)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(EXPECTATION_NOT_MATCHED)
+                    .setLogLevel(Level.INFO)
+                    .setCorrelationId(httpRequest != null ? httpRequest.getLogCorrelationId() : null)
+                    .setHttpRequest(httpRequest)
+                    .setMessageFormat(EXPECTATIONS_NOT_MATCHED_BY_METHOD_OR_PATH_MESSAGE_FORMAT)
+                    .setArguments(httpRequest, index.size() - candidates.size())
+            );
+        }
         if (ConfigurationProperties.metricsEnabled()) {
-            if (!first.isPresent() || first.get().getAction() == null) {
+            if (matchingExpectation == null || matchingExpectation.getAction() == null) {
                 Metrics.increment(EXPECTATION_NOT_MATCHED_COUNT);
-            } else if (first.get().getAction().getType().direction == Action.Direction.FORWARD) {
+            } else if (matchingExpectation.getAction().getType().direction == Action.Direction.FORWARD) {
                 Metrics.increment(FORWARD_EXPECTATION_MATCHED_COUNT);
             } else {
                 Metrics.increment(RESPONSE_EXPECTATION_MATCHED_COUNT);
             }
         }
-        return first.orElse(null);
+        return matchingExpectation;
     }
 
     public void clear(RequestDefinition requestDefinition) {
@@ -350,4 +432,52 @@ public class RequestMatchers extends MockServerMatcherNotifier {
     private Stream<HttpRequestMatcher> getHttpRequestMatchersCopy() {
         return httpRequestMatchers.stream();
     }
+
+    /**
+     * only expectations that can possibly match the request's method and path (as selected by the index) are evaluated,
+     * so only those are logged with the reason they didn't match
+     */
+    private List<HttpRequestMatcher> getHttpRequestMatchersCandidates(HttpRequest httpRequest) {
+        return getHttpRequestMatcherIndex().candidates(httpRequest);
+    }
+
+    private HttpRequestMatcherIndex getHttpRequestMatcherIndex() {
+        // the modification count is read first so a change made while the index is built causes another rebuild
+        int modificationCount = httpRequestMatchers.modificationCount();
+        IndexedHttpRequestMatchers indexed = indexedHttpRequestMatchers;
+        if (indexed == null || indexed.modificationCount != modificationCount) {
+            List<HttpRequestMatcher> sortedHttpRequestMatchers = httpRequestMatchers.toSortedList();
+            // while a batch is applied the snapshot published before it is returned, so the index is still valid
+            HttpRequestMatcherIndex index = indexed != null && indexed.index.isIndexOf(sortedHttpRequestMatchers) ? indexed.index : new HttpRequestMatcherIndex(sortedHttpRequestMatchers);
+            indexed = new IndexedHttpRequestMatchers(modificationCount, index);
+            indexedHttpRequestMatchers = indexed;
+        }
+        return indexed.index;
+    }
+
+    /**
+     * only candidates are evaluated when a request is matched, so expectations whose times or time to live have run out
+     * in method and path buckets that requests don't hit are removed by periodically checking every expectation
+     */
+    private void removeInactiveHttpRequestMatchersPeriodically() {
+        long now = System.currentTimeMillis();
+        long nextRemoval = nextInactiveRemovalInMillis.get();
+        if (now >= nextRemoval && nextInactiveRemovalInMillis.compareAndSet(nextRemoval, now + INACTIVE_REMOVAL_INTERVAL_IN_MILLIS)) {
+            scheduler.submit(() -> httpRequestMatchers.toSortedList().forEach(httpRequestMatcher -> {
+                if (!httpRequestMatcher.isResponseInProgress() && !httpRequestMatcher.isActive()) {
+                    removeHttpRequestMatcher(httpRequestMatcher);
+                }
+            }));
+        }
+    }
+
+    private static class IndexedHttpRequestMatchers {
+        private final int modificationCount;
+        private final HttpRequestMatcherIndex index;
+
+        private IndexedHttpRequestMatchers(int modificationCount, HttpRequestMatcherIndex index) {
+            this.modificationCount = modificationCount;
+            this.index = index;
+        }
+    }
 }
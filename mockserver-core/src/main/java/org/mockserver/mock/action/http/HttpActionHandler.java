@@ -194,7 +194,7 @@ public class HttpActionHandler {
                 );
             }
 
-        } else if (proxyingRequest || potentiallyHttpProxy) {
+        } else if ((proxyingRequest || potentiallyHttpProxy) && !request.isBodyTruncated()) {
 
             if (request.getHeaders() != null && request.getHeaders().containsEntry(httpStateHandler.getUniqueLoopPreventionHeaderName(), httpStateHandler.getUniqueLoopPreventionHeaderValue())) {
 
@@ -1,12 +1,17 @@
 package org.mockserver.mock.listeners;
 
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.MockServerEventLog;
+import org.mockserver.model.Delay;
 import org.mockserver.model.ObjectWithReflectiveEqualsHashCodeToString;
 import org.mockserver.scheduler.Scheduler;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * @author jamesdbloom
@@ -16,6 +21,9 @@ public class MockServerEventLogNotifier extends ObjectWithReflectiveEqualsHashCo
     private boolean listenerAdded = false;
     private final List<MockServerLogListener> listeners = Collections.synchronizedList(new ArrayList<>());
     private final Scheduler scheduler;
+    private final long notificationInterval = ConfigurationProperties.logListenerNotificationInterval();
+    private final AtomicBoolean notificationPending = new AtomicBoolean(false);
+    private volatile long lastNotificationTime;
 
     public MockServerEventLogNotifier(Scheduler scheduler) {
         this.scheduler = scheduler;
@@ -31,6 +39,29 @@ public class MockServerEventLogNotifier extends ObjectWithReflectiveEqualsHashCo
         }
     }
 
+    /**
+     * Notifies listeners unless a notification is already pending, listeners read the log when notified so a pending
+     * notification includes every change made before it is sent, if the last notification was sent less than
+     * logListenerNotificationInterval ago the notification is delayed until the end of the interval
+     */
+    protected void notifyListenersCoalesced(final MockServerEventLog notifier) {
+        if (listenerAdded && !listeners.isEmpty() && notificationPending.compareAndSet(false, true)) {
+            Runnable notification = () -> {
+                notificationPending.set(false);
+                lastNotificationTime = System.currentTimeMillis();
+                for (MockServerLogListener listener : listeners.toArray(new MockServerLogListener[0])) {
+                    listener.updated(notifier);
+                }
+            };
+            long delay = lastNotificationTime + notificationInterval - System.currentTimeMillis();
+            if (notificationInterval > 0 && delay > 0) {
+                scheduler.schedule(notification, false, new Delay(MILLISECONDS, delay));
+            } else {
+                scheduler.submit(notification, false);
+            }
+        }
+    }
+
     public void registerListener(MockServerLogListener listener) {
         listeners.add(listener);
         listenerAdded = true;
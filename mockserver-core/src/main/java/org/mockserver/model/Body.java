@@ -58,6 +58,7 @@ public abstract class Body<T> extends Not {
 
     public enum Type {
         BINARY,
+        FILE,
         JSON,
         JSON_SCHEMA,
         JSON_PATH,
@@ -0,0 +1,114 @@
+package org.mockserver.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.mockserver.configuration.ConfigurationProperties;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Objects;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * A response body read from a file each time it is returned, so large bodies aren't held in memory, over plain HTTP/1.1
+ * connections the file is written directly from the file system to the socket without being copied
+ *
+ * @author jamesdbloom
+ */
+public class FileBody extends BodyWithContentType<String> {
+    private int hashCode;
+    private final String filePath;
+
+    public FileBody(String filePath) {
+        this(filePath, null);
+    }
+
+    public FileBody(String filePath, MediaType contentType) {
+        super(Type.FILE, contentType);
+        this.filePath = filePath;
+    }
+
+    public static FileBody file(String filePath) {
+        return new FileBody(filePath);
+    }
+
+    public static FileBody file(String filePath, MediaType contentType) {
+        return new FileBody(filePath, contentType);
+    }
+
+    public String getValue() {
+        return filePath;
+    }
+
+    @JsonIgnore
+    public File getFile() {
+        return new File(filePath);
+    }
+
+    /**
+     * Checks the file can be returned, it must be a file and, when {@link ConfigurationProperties#fileBodyBaseDirectory()}
+     * is set, inside that directory once relative paths and symbolic links are resolved
+     *
+     * @return an empty string if the file can be returned, otherwise the reason it can't
+     */
+    @JsonIgnore
+    public String validate() {
+        File file = getFile();
+        String baseDirectory = ConfigurationProperties.fileBodyBaseDirectory();
+        if (isNotBlank(baseDirectory)) {
+            try {
+                if (!file.getCanonicalFile().toPath().startsWith(new File(baseDirectory).getCanonicalFile().toPath())) {
+                    return "file body \"" + filePath + "\" is outside the file body base directory \"" + baseDirectory + "\"";
+                }
+            } catch (IOException ioe) {
+                return "file body \"" + filePath + "\" can't be resolved: " + ioe.getMessage();
+            }
+        }
+        if (!file.isFile()) {
+            return "file body \"" + filePath + "\" does not exist or is not a file";
+        }
+        return "";
+    }
+
+    @JsonIgnore
+    public byte[] getRawBytes() {
+        try {
+            return Files.readAllBytes(getFile().toPath());
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("exception reading file body from " + filePath, ioe);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return filePath;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (hashCode() != o.hashCode()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        FileBody fileBody = (FileBody) o;
+        return Objects.equals(filePath, fileBody.filePath);
+    }
+
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = Objects.hash(super.hashCode(), filePath);
+        }
+        return hashCode;
+    }
+}
@@ -35,6 +35,8 @@ public class HttpRequest extends RequestDefinition implements HttpMessage<HttpRe
     private Boolean keepAlive = null;
     private Boolean secure = null;
     private SocketAddress socketAddress;
+    private ParsedBody parsedBody;
+    private boolean bodyTruncated;
 
     public static HttpRequest request() {
         return new HttpRequest();
@@ -709,6 +711,33 @@ public class HttpRequest extends RequestDefinition implements HttpMessage<HttpRe
         return this.body != null ? this.body.getRawBytes() : new byte[0];
     }
 
+    /**
+     * Parsed body shared by the body matchers while this request is matched against the expectations, otherwise null
+     */
+    @JsonIgnore
+    public ParsedBody getParsedBody() {
+        return parsedBody;
+    }
+
+    public HttpRequest withParsedBody(ParsedBody parsedBody) {
+        this.parsedBody = parsedBody;
+        return this;
+    }
+
+    /**
+     * True if only the first part of the body was received because the rest was discarded as it was streamed, so the
+     * body can't be used to match this request
+     */
+    @JsonIgnore
+    public boolean isBodyTruncated() {
+        return bodyTruncated;
+    }
+
+    public HttpRequest withBodyTruncated(boolean bodyTruncated) {
+        this.bodyTruncated = bodyTruncated;
+        return this;
+    }
+
     @JsonIgnore
     public String getBodyAsString() {
         if (body != null) {
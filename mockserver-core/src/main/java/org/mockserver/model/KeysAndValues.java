@@ -1,7 +1,6 @@
 package org.mockserver.model;
 
-import org.mockserver.collections.NottableStringHashMap;
-import org.mockserver.logging.MockServerLogger;
+import org.mockserver.collections.CaseFoldedEntries;
 
 import java.util.*;
 
@@ -14,6 +13,7 @@ import static org.mockserver.model.NottableString.string;
 public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValues> extends ObjectWithJsonToString {
 
     private final Map<NottableString, NottableString> map;
+    private transient CaseFoldedEntries caseFoldedEntries;
 
     protected KeysAndValues() {
         map = new LinkedHashMap<>();
@@ -27,6 +27,7 @@ public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValu
 
     public K withEntries(List<T> cookies) {
         map.clear();
+        caseFoldedEntries = null;
         if (cookies != null) {
             for (T cookie : cookies) {
                 withEntry(cookie);
@@ -44,16 +45,19 @@ public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValu
 
     public K withEntry(T cookie) {
         map.put(cookie.getName(), cookie.getValue());
+        caseFoldedEntries = null;
         return (K) this;
     }
 
     public K withEntry(String name, String value) {
         map.put(string(name), string(value));
+        caseFoldedEntries = null;
         return (K) this;
     }
 
     public K withEntry(NottableString name, NottableString value) {
         map.put(name, value);
+        caseFoldedEntries = null;
         return (K) this;
     }
 
@@ -73,6 +77,25 @@ public abstract class KeysAndValues<T extends KeyAndValue, K extends KeysAndValu
         return map;
     }
 
+    /**
+     * Returns a flat case-folded view of the entries which is built on first use and rebuilt after any modification,
+     * so it is built once for an incoming request however many expectations the request is matched against
+     */
+    public CaseFoldedEntries getCaseFoldedEntries() {
+        CaseFoldedEntries entries = caseFoldedEntries;
+        if (entries == null) {
+            List<NottableString> keys = new ArrayList<>();
+            List<NottableString> values = new ArrayList<>();
+            for (Map.Entry<NottableString, NottableString> entry : map.entrySet()) {
+                keys.add(entry.getKey());
+                values.add(entry.getValue() != null ? entry.getValue() : string(""));
+            }
+            entries = new CaseFoldedEntries(keys, values);
+            caseFoldedEntries = entries;
+        }
+        return entries;
+    }
+
     public boolean isEmpty() {
         return map.isEmpty();
     }
@@ -3,6 +3,7 @@ package org.mockserver.model;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 import org.apache.commons.lang3.ArrayUtils;
+import org.mockserver.collections.CaseFoldedEntries;
 
 import java.util.*;
 
@@ -18,6 +19,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
 
     private final Multimap<NottableString, NottableString> multimap;
     private final K k = (K) this;
+    private transient CaseFoldedEntries caseFoldedEntries;
 
     protected KeysToMultiValues() {
         multimap = LinkedHashMultimap.create();
@@ -41,6 +43,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
 
     public K withEntries(final Map<String, List<String>> entries) {
         multimap.clear();
+        caseFoldedEntries = null;
         for (String name : entries.keySet()) {
             for (String value : entries.get(name)) {
                 withEntry(name, value);
@@ -51,6 +54,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
 
     public K withEntries(final List<T> entries) {
         multimap.clear();
+        caseFoldedEntries = null;
         if (entries != null) {
             for (T entry : entries) {
                 withEntry(entry);
@@ -73,6 +77,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
         } else {
             multimap.putAll(entry.getName(), entry.getValues());
         }
+        caseFoldedEntries = null;
         return k;
     }
 
@@ -82,6 +87,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
         } else {
             multimap.putAll(string(name), deserializeNottableStrings(values));
         }
+        caseFoldedEntries = null;
         return k;
     }
 
@@ -91,12 +97,14 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
         } else {
             multimap.putAll(string(name), deserializeNottableStrings(values));
         }
+        caseFoldedEntries = null;
         return k;
     }
 
     public K withEntry(final NottableString name, final List<NottableString> values) {
         if (values != null) {
             multimap.putAll(name, values);
+            caseFoldedEntries = null;
         }
         return k;
     }
@@ -112,6 +120,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
         for (NottableString key : multimap.keySet().toArray(new NottableString[0])) {
             if (key.equalsIgnoreCase(name)) {
                 multimap.removeAll(key);
+                caseFoldedEntries = null;
             }
         }
         return k;
@@ -121,6 +130,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
         for (NottableString key : multimap.keySet().toArray(new NottableString[0])) {
             if (key.equalsIgnoreCase(name)) {
                 multimap.removeAll(key);
+                caseFoldedEntries = null;
             }
         }
         return k;
@@ -131,6 +141,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
         if (entry != null) {
             remove(entry.getName());
             multimap.putAll(entry.getName(), entry.getValues());
+            caseFoldedEntries = null;
         }
         return k;
     }
@@ -140,6 +151,7 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
         if (ArrayUtils.isNotEmpty(values)) {
             remove(name);
             multimap.putAll(string(name), deserializeNottableStrings(values));
+            caseFoldedEntries = null;
         }
         return k;
     }
@@ -168,6 +180,25 @@ public abstract class KeysToMultiValues<T extends KeyToMultiValue, K extends Key
         return multimap;
     }
 
+    /**
+     * Returns a flat case-folded view of the entries which is built on first use and rebuilt after any modification,
+     * so it is built once for an incoming request however many expectations the request is matched against
+     */
+    public CaseFoldedEntries getCaseFoldedEntries() {
+        CaseFoldedEntries entries = caseFoldedEntries;
+        if (entries == null) {
+            List<NottableString> keys = new ArrayList<>();
+            List<NottableString> values = new ArrayList<>();
+            for (Map.Entry<NottableString, NottableString> entry : multimap.entries()) {
+                keys.add(entry.getKey());
+                values.add(entry.getValue());
+            }
+            entries = new CaseFoldedEntries(keys, values);
+            caseFoldedEntries = entries;
+        }
+        return entries;
+    }
+
     public List<String> getValues(final String name) {
         if (!isEmpty() && name != null) {
             List<String> values = new ArrayList<>();
@@ -3,10 +3,13 @@ package org.mockserver.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.Joiner;
 import org.apache.commons.lang3.StringUtils;
+import org.mockserver.cache.LRUCache;
+import org.mockserver.logging.MockServerLogger;
 
 import java.util.*;
 import java.util.regex.Pattern;
 
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mockserver.model.NottableOptionalString.OPTIONAL_CHAR;
 import static org.mockserver.model.NottableOptionalString.optional;
@@ -19,13 +22,19 @@ public class NottableString extends ObjectWithJsonToString implements Comparable
 
     public static final char NOT_CHAR = '!';
     private static final String EMPTY_STRING = "";
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final int CASE_INSENSITIVE = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+    // shared as request strings are new instances for every request so can't reuse their own compiled pattern
+    private static final LRUCache<String, Pattern> patternCache = new LRUCache<>(new MockServerLogger(), 1000, MINUTES.toMillis(10));
+    private static final LRUCache<String, Pattern> caseInsensitivePatternCache = new LRUCache<>(new MockServerLogger(), 1000, MINUTES.toMillis(10));
     private final String value;
     private final boolean isBlank;
     private final Boolean not;
     private final int hashCode;
     private final String json;
+    private Boolean literal;
     private Pattern pattern;
-    private Pattern lowercasePattern;
+    private Pattern caseInsensitivePattern;
     private ParameterStyle parameterStyle;
 
     NottableString(String value, Boolean not) {
@@ -211,17 +220,63 @@ public class NottableString extends ObjectWithJsonToString implements Comparable
     }
 
     public boolean matches(String input) {
-        if (pattern == null) {
-            pattern = Pattern.compile(getValue());
+        if (isLiteral()) {
+            return getValue().equals(input);
         }
-        return pattern.matcher(input).matches();
+        return compiledPattern().matcher(input).matches();
     }
 
     public boolean matchesIgnoreCase(String input) {
-        if (lowercasePattern == null) {
-            lowercasePattern = Pattern.compile(getValue().toLowerCase());
+        if (isLiteral()) {
+            return getValue().equalsIgnoreCase(input);
+        }
+        return compiledCaseInsensitivePattern().matcher(input).matches();
+    }
+
+    Pattern compiledPattern() {
+        if (pattern == null) {
+            pattern = compile(patternCache, getValue(), 0);
+        }
+        return pattern;
+    }
+
+    Pattern compiledCaseInsensitivePattern() {
+        if (caseInsensitivePattern == null) {
+            caseInsensitivePattern = compile(caseInsensitivePatternCache, getValue(), CASE_INSENSITIVE);
+        }
+        return caseInsensitivePattern;
+    }
+
+    /**
+     * true if the value contains no regex meta characters so matching it as a regex is the same as an exact match
+     */
+    @JsonIgnore
+    public boolean isLiteral() {
+        if (literal == null) {
+            String value = getValue();
+            boolean noMetaCharacters = value != null;
+            for (int i = 0; noMetaCharacters && i < value.length(); i++) {
+                noMetaCharacters = !isRegexMetaCharacter(value.charAt(i));
+            }
+            literal = noMetaCharacters;
+        }
+        return literal;
+    }
+
+    /**
+     * true if the character has a special meaning in a regex, so a value is only literal if it has none of these
+     */
+    public static boolean isRegexMetaCharacter(char character) {
+        return REGEX_META_CHARACTERS.indexOf(character) >= 0;
+    }
+
+    private static Pattern compile(LRUCache<String, Pattern> cache, String regex, int flags) {
+        Pattern compiled = cache.get(regex);
+        if (compiled == null) {
+            compiled = Pattern.compile(regex, flags);
+            cache.put(regex, compiled);
         }
-        return lowercasePattern.matcher(input.toLowerCase()).matches();
+        return compiled;
     }
 
     public boolean fieldsEqual(NottableString that) {
@@ -0,0 +1,84 @@
+package org.mockserver.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.mockserver.matchers.StringToXmlDocumentParser;
+import org.mockserver.serialization.ObjectMapperFactory;
+import org.w3c.dom.Document;
+
+/**
+ * Parsed representations of a request body shared by all body matchers while a single request is matched against the
+ * expectations, so a body is parsed at most once per representation instead of once per expectation.
+ * <p>
+ * Each representation is remembered together with the source string it was parsed from and is only reused for an equal
+ * source string, as json matchers may be passed a body converted from xml or form parameters. If a source string can't be
+ * parsed cleanly null is returned so the matcher parses the string itself and reports the failure exactly as before.
+ * <p>
+ * Instances are not thread safe as they are only used by the thread matching the request.
+ *
+ * @author jamesdbloom
+ */
+public class ParsedBody {
+
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.createObjectMapper();
+    private static final StringToXmlDocumentParser STRING_TO_XML_DOCUMENT_PARSER = new StringToXmlDocumentParser();
+
+    private String jsonNodeSource;
+    private JsonNode jsonNode;
+    private String documentContextSource;
+    private DocumentContext documentContext;
+    private String xmlDocumentSource;
+    private Document xmlDocument;
+
+    public JsonNode jsonNode(String json) {
+        if (json == null) {
+            return null;
+        }
+        if (!json.equals(jsonNodeSource)) {
+            jsonNodeSource = json;
+            try {
+                jsonNode = OBJECT_MAPPER.readTree(json);
+            } catch (Throwable throwable) {
+                jsonNode = null;
+            }
+        }
+        return jsonNode;
+    }
+
+    public DocumentContext documentContext(String json) {
+        if (json == null) {
+            return null;
+        }
+        if (!json.equals(documentContextSource)) {
+            documentContextSource = json;
+            try {
+                documentContext = JsonPath.parse(json);
+            } catch (Throwable throwable) {
+                documentContext = null;
+            }
+        }
+        return documentContext;
+    }
+
+    public Document xmlDocument(String xml) {
+        if (xml == null) {
+            return null;
+        }
+        if (!xml.equals(xmlDocumentSource)) {
+            xmlDocumentSource = xml;
+            final boolean[] parseErrors = {false};
+            try {
+                xmlDocument = STRING_TO_XML_DOCUMENT_PARSER.buildDocument(xml, (matched, exception, level) -> parseErrors[0] = true);
+            } catch (Throwable throwable) {
+                xmlDocument = null;
+            }
+            if (parseErrors[0]) {
+                // warnings and recoverable errors are reported by the matcher so the document isn't shared
+                xmlDocument = null;
+            }
+        }
+        return xmlDocument;
+    }
+}
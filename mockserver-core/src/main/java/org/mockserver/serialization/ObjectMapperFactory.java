@@ -190,6 +190,8 @@ public class ObjectMapperFactory {
             // request body
             new BinaryBodySerializer(),
             new BinaryBodyDTOSerializer(),
+            new FileBodySerializer(),
+            new FileBodyDTOSerializer(),
             new JsonBodySerializer(),
             new JsonBodyDTOSerializer(),
             new JsonSchemaBodySerializer(),
@@ -36,6 +36,7 @@ public class BodyWithContentTypeDTODeserializer extends StdDeserializer<BodyWith
 
     static {
         fieldNameToType.put("base64Bytes".toLowerCase(), Body.Type.BINARY);
+        fieldNameToType.put("filePath".toLowerCase(), Body.Type.FILE);
         fieldNameToType.put("json".toLowerCase(), Body.Type.JSON);
         fieldNameToType.put("string".toLowerCase(), Body.Type.STRING);
         fieldNameToType.put("xml".toLowerCase(), Body.Type.XML);
@@ -77,7 +78,7 @@ public class BodyWithContentTypeDTODeserializer extends StdDeserializer<BodyWith
                             }
                         }
                     }
-                    if (containsIgnoreCase(key, "string", "regex", "json", "jsonSchema", "jsonPath", "xml", "xmlSchema", "xpath", "base64Bytes") && type != Body.Type.PARAMETERS) {
+                    if (containsIgnoreCase(key, "string", "regex", "json", "jsonSchema", "jsonPath", "xml", "xmlSchema", "xpath", "base64Bytes", "filePath") && type != Body.Type.PARAMETERS) {
                         String fieldName = String.valueOf(entry.getKey()).toLowerCase();
                         if (fieldNameToType.containsKey(fieldName)) {
                             type = fieldNameToType.get(fieldName);
@@ -169,6 +170,9 @@ public class BodyWithContentTypeDTODeserializer extends StdDeserializer<BodyWith
                             result = new BinaryBodyDTO(new BinaryBody(rawBytes), not);
                             break;
                         }
+                    case FILE:
+                        result = new FileBodyDTO(new FileBody(valueJsonValue, contentType), not);
+                        break;
                     case JSON:
                         if (contentType != null && isNotBlank(contentType.toString())) {
                             result = new JsonBodyDTO(new JsonBody(valueJsonValue, rawBytes, contentType, JsonBody.DEFAULT_MATCH_TYPE), not);
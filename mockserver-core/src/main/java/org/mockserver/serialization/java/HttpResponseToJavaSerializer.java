@@ -36,6 +36,14 @@ public class HttpResponseToJavaSerializer implements ToJavaSerializer<HttpRespon
                     appendNewLineAndIndent((numberOfSpacesToIndent + 1) * INDENT_SIZE, output);
                     BinaryBody body = (BinaryBody) httpResponse.getBody();
                     output.append(".withBody(new Base64Converter().base64StringToBytes(\"").append(base64Converter.bytesToBase64String(body.getRawBytes())).append("\"))");
+                } else if (httpResponse.getBody() instanceof FileBody) {
+                    FileBody body = (FileBody) httpResponse.getBody();
+                    appendNewLineAndIndent((numberOfSpacesToIndent + 1) * INDENT_SIZE, output);
+                    if (body.getContentType() != null) {
+                        output.append(".withBody(FileBody.file(\"").append(StringEscapeUtils.escapeJava(body.getValue())).append("\", MediaType.parse(\"").append(StringEscapeUtils.escapeJava(body.getContentType())).append("\")))");
+                    } else {
+                        output.append(".withBody(new FileBody(\"").append(StringEscapeUtils.escapeJava(body.getValue())).append("\"))");
+                    }
                 } else {
                     appendNewLineAndIndent((numberOfSpacesToIndent + 1) * INDENT_SIZE, output).append(".withBody(\"").append(StringEscapeUtils.escapeJava(httpResponse.getBodyAsString())).append("\")");
                 }
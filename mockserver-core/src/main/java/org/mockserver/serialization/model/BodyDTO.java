@@ -21,6 +21,9 @@ public abstract class BodyDTO extends NotDTO implements DTO<Body<?>> {
         if (body instanceof BinaryBody) {
             BinaryBody binaryBody = (BinaryBody) body;
             result = new BinaryBodyDTO(binaryBody, binaryBody.getNot());
+        } else if (body instanceof FileBody) {
+            FileBody fileBody = (FileBody) body;
+            result = new FileBodyDTO(fileBody, fileBody.getNot());
         } else if (body instanceof JsonBody) {
             JsonBody jsonBody = (JsonBody) body;
             result = new JsonBodyDTO(jsonBody, jsonBody.getNot());
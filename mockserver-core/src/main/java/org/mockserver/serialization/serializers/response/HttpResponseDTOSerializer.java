@@ -41,6 +41,8 @@ public class HttpResponseDTOSerializer extends StdSerializer<HttpResponseDTO> {
                 jgen.writeObjectField("body", body);
             } else if (body instanceof BinaryBodyDTO) {
                 jgen.writeObjectField("body", body);
+            } else if (body instanceof FileBodyDTO) {
+                jgen.writeObjectField("body", body);
             } else if (body instanceof LogEntryBodyDTO) {
                 jgen.writeObjectField("body", body);
             }
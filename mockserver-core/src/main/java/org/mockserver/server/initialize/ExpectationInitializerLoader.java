@@ -34,9 +34,7 @@ public class ExpectationInitializerLoader {
     }
 
     private void addExpectationsFromInitializer() {
-        for (Expectation expectation : loadExpectations()) {
-            requestMatchers.add(expectation, Cause.INITIALISER);
-        }
+        requestMatchers.add(loadExpectations(), Cause.INITIALISER);
     }
 
     private Expectation[] retrieveExpectationsFromInitializerClass() {
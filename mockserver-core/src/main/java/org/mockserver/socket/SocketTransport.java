@@ -0,0 +1,165 @@
+package org.mockserver.socket;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+
+import java.util.concurrent.ThreadFactory;
+
+import static org.slf4j.event.Level.WARN;
+
+/**
+ * The Netty transport used for event loops and socket channels.
+ * <p>
+ * The native transports are optional platform specific dependencies (netty-transport-native-epoll and
+ * netty-incubator-transport-native-io_uring) so they are loaded by name and are only available when on the classpath
+ * and supported by the operating system, NIO is always available.
+ *
+ * @author jamesdbloom
+ */
+public enum SocketTransport {
+    NIO(true, null, null, null, null, null),
+    EPOLL(
+        true,
+        "io.netty.channel.epoll.Epoll",
+        "io.netty.channel.epoll.EpollEventLoopGroup",
+        "io.netty.channel.epoll.EpollSocketChannel",
+        "io.netty.channel.epoll.EpollServerSocketChannel",
+        "io.netty.channel.epoll.EpollChannelOption"
+    ),
+    IO_URING(
+        false,
+        "io.netty.incubator.channel.uring.IOUring",
+        "io.netty.incubator.channel.uring.IOUringEventLoopGroup",
+        "io.netty.incubator.channel.uring.IOUringSocketChannel",
+        "io.netty.incubator.channel.uring.IOUringServerSocketChannel",
+        "io.netty.incubator.channel.uring.IOUringChannelOption"
+    );
+
+    private final boolean supportsFileRegion;
+    private final String availabilityClassName;
+    private final String eventLoopGroupClassName;
+    private final String socketChannelClassName;
+    private final String serverSocketChannelClassName;
+    private final String channelOptionClassName;
+    private Boolean available;
+
+    SocketTransport(boolean supportsFileRegion, String availabilityClassName, String eventLoopGroupClassName, String socketChannelClassName, String serverSocketChannelClassName, String channelOptionClassName) {
+        this.supportsFileRegion = supportsFileRegion;
+        this.availabilityClassName = availabilityClassName;
+        this.eventLoopGroupClassName = eventLoopGroupClassName;
+        this.socketChannelClassName = socketChannelClassName;
+        this.serverSocketChannelClassName = serverSocketChannelClassName;
+        this.channelOptionClassName = channelOptionClassName;
+    }
+
+    /**
+     * The configured socket transport, or NIO if the configured transport isn't available on this platform
+     */
+    public static SocketTransport configured() {
+        SocketTransport socketTransport = ConfigurationProperties.socketTransport();
+        if (!socketTransport.isAvailable()) {
+            new MockServerLogger(SocketTransport.class).logEvent(
+                new LogEntry()
+                    .setLogLevel(WARN)
+                    .setMessageFormat("socket transport " + socketTransport + " is not available, check the native transport is on the classpath and supported by this platform, falling back to " + NIO)
+            );
+            return NIO;
+        }
+        return socketTransport;
+    }
+
+    /**
+     * The socket transport of an existing event loop group or event loop, so channels are created with the matching
+     * channel type, any event loop group that isn't a native transport is NIO
+     */
+    public static SocketTransport of(EventLoopGroup eventLoopGroup) {
+        if (eventLoopGroup instanceof EventLoop && ((EventLoop) eventLoopGroup).parent() != null) {
+            eventLoopGroup = ((EventLoop) eventLoopGroup).parent();
+        }
+        if (eventLoopGroup != null && !(eventLoopGroup instanceof NioEventLoopGroup)) {
+            for (SocketTransport socketTransport : values()) {
+                if (socketTransport != NIO && socketTransport.isAvailable() && socketTransport.eventLoopGroupClassName.equals(eventLoopGroup.getClass().getName())) {
+                    return socketTransport;
+                }
+            }
+        }
+        return NIO;
+    }
+
+    public synchronized boolean isAvailable() {
+        if (available == null) {
+            if (availabilityClassName == null) {
+                available = true;
+            } else {
+                try {
+                    available = (Boolean) Class.forName(availabilityClassName).getMethod("isAvailable").invoke(null);
+                } catch (Throwable throwable) {
+                    available = false;
+                }
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Whether socket channels of this transport can write a FileRegion, copying from the file to the socket in the
+     * kernel with sendfile
+     */
+    public boolean supportsFileRegion() {
+        return supportsFileRegion;
+    }
+
+    public EventLoopGroup eventLoopGroup(int threads, ThreadFactory threadFactory) {
+        if (this == NIO) {
+            return new NioEventLoopGroup(threads, threadFactory);
+        }
+        try {
+            return (EventLoopGroup) loadClass(eventLoopGroupClassName).getConstructor(int.class, ThreadFactory.class).newInstance(threads, threadFactory);
+        } catch (ReflectiveOperationException roe) {
+            throw new IllegalStateException("exception creating " + this + " event loop group", roe);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Class<? extends SocketChannel> socketChannel() {
+        return this == NIO ? NioSocketChannel.class : (Class<? extends SocketChannel>) loadClass(socketChannelClassName);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Class<? extends ServerSocketChannel> serverSocketChannel() {
+        return this == NIO ? NioServerSocketChannel.class : (Class<? extends ServerSocketChannel>) loadClass(serverSocketChannelClassName);
+    }
+
+    /**
+     * The SO_REUSEPORT option allowing several server channels to bind the same port so accepting connections is
+     * spread across event loops, or null if not supported by this transport
+     */
+    @SuppressWarnings("unchecked")
+    public ChannelOption<Boolean> reusePort() {
+        if (this == NIO) {
+            return null;
+        }
+        try {
+            return (ChannelOption<Boolean>) loadClass(channelOptionClassName).getField("SO_REUSEPORT").get(null);
+        } catch (ReflectiveOperationException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException cnfe) {
+            throw new IllegalStateException("native transport class " + className + " not found on classpath", cnfe);
+        }
+    }
+}
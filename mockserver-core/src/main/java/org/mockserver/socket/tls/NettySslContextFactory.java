@@ -1,5 +1,7 @@
 package org.mockserver.socket.tls;
 
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -35,7 +37,9 @@ public class NettySslContextFactory {
     private final MockServerLogger mockServerLogger;
     private final KeyAndCertificateFactory keyAndCertificateFactory;
     private SslContext clientSslContext = null;
+    private SslContext http2ClientSslContext = null;
     private SslContext serverSslContext = null;
+    private boolean serverSslContextHttp2 = false;
 
     public NettySslContextFactory(MockServerLogger mockServerLogger) {
         this.mockServerLogger = mockServerLogger;
@@ -44,41 +48,77 @@ public class NettySslContextFactory {
     }
 
     public synchronized SslContext createClientSslContext(boolean forwardProxyClient) {
-        if (clientSslContext == null || ConfigurationProperties.rebuildTLSContext()) {
-            try {
-                // create x509 and private key if none exist yet
-                if (keyAndCertificateFactory.certificateNotYetCreated()) {
-                    keyAndCertificateFactory.buildAndSavePrivateKeyAndX509Certificate();
-                }
-                SslContextBuilder sslContextBuilder =
-                    SslContextBuilder
-                        .forClient()
-                        .keyManager(
-                            forwardProxyPrivateKey(),
-                            forwardProxyCertificateChain()
-                        );
-                if (forwardProxyClient) {
-                    switch (ConfigurationProperties.forwardProxyTLSX509CertificatesTrustManagerType()) {
-                        case ANY:
-                            sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
-                            break;
-                        case JVM:
-                            sslContextBuilder.trustManager(jvmCAX509TrustCertificates());
-                            break;
-                        case CUSTOM:
-                            sslContextBuilder.trustManager(customCAX509TrustCertificates());
-                            break;
-                    }
-                } else {
-                    sslContextBuilder.trustManager(trustCertificateChain());
+        return createClientSslContext(forwardProxyClient, false);
+    }
+
+    /**
+     * @param http2 offer HTTP/2 (h2) before HTTP/1.1 using ALPN, only used by clients that can handle either protocol
+     */
+    public synchronized SslContext createClientSslContext(boolean forwardProxyClient, boolean http2) {
+        if (ConfigurationProperties.rebuildTLSContext()) {
+            clientSslContext = null;
+            http2ClientSslContext = null;
+        }
+        if (http2) {
+            if (http2ClientSslContext == null) {
+                http2ClientSslContext = buildClientSslContext(forwardProxyClient, true);
+            }
+        } else {
+            if (clientSslContext == null) {
+                clientSslContext = buildClientSslContext(forwardProxyClient, false);
+            }
+        }
+        // only cleared once built so a failed build is retried, the other context is built when first needed
+        ConfigurationProperties.rebuildTLSContext(false);
+        return http2 ? http2ClientSslContext : clientSslContext;
+    }
+
+    private SslContext buildClientSslContext(boolean forwardProxyClient, boolean http2) {
+        try {
+            // create x509 and private key if none exist yet
+            if (keyAndCertificateFactory.certificateNotYetCreated()) {
+                keyAndCertificateFactory.buildAndSavePrivateKeyAndX509Certificate();
+            }
+            SslContextBuilder sslContextBuilder =
+                SslContextBuilder
+                    .forClient()
+                    .keyManager(
+                        forwardProxyPrivateKey(),
+                        forwardProxyCertificateChain()
+                    );
+            if (forwardProxyClient) {
+                switch (ConfigurationProperties.forwardProxyTLSX509CertificatesTrustManagerType()) {
+                    case ANY:
+                        sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+                        break;
+                    case JVM:
+                        sslContextBuilder.trustManager(jvmCAX509TrustCertificates());
+                        break;
+                    case CUSTOM:
+                        sslContextBuilder.trustManager(customCAX509TrustCertificates());
+                        break;
                 }
-                clientSslContext = sslContextBuilder.build();
-                ConfigurationProperties.rebuildTLSContext(false);
-            } catch (Throwable throwable) {
-                throw new RuntimeException("Exception creating SSL context for client", throwable);
+            } else {
+                sslContextBuilder.trustManager(trustCertificateChain());
             }
+            if (http2) {
+                sslContextBuilder.applicationProtocolConfig(http2ApplicationProtocolConfig());
+            }
+            return sslContextBuilder.build();
+        } catch (Throwable throwable) {
+            throw new RuntimeException("Exception creating SSL context for client", throwable);
         }
-        return clientSslContext;
+    }
+
+    private ApplicationProtocolConfig http2ApplicationProtocolConfig() {
+        return new ApplicationProtocolConfig(
+            ApplicationProtocolConfig.Protocol.ALPN,
+            // only failure behaviours supported by the JDK provider
+            ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+            ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+            ApplicationProtocolNames.HTTP_2,
+            ApplicationProtocolNames.HTTP_1_1
+        );
     }
 
     private PrivateKey forwardProxyPrivateKey() {
@@ -124,21 +164,28 @@ public class NettySslContextFactory {
 
     public synchronized SslContext createServerSslContext() {
         if (serverSslContext == null
+            // the protocols offered using ALPN are part of the context
+            || serverSslContextHttp2 != ConfigurationProperties.enableHttp2()
             // create x509 and private key if none exist yet
             || keyAndCertificateFactory.certificateNotYetCreated()
             // re-create x509 and private key if SAN list has been updated and dynamic update has not been disabled
             || ConfigurationProperties.rebuildServerTLSContext() && !ConfigurationProperties.preventCertificateDynamicUpdate()) {
             try {
                 keyAndCertificateFactory.buildAndSavePrivateKeyAndX509Certificate();
-                serverSslContext = SslContextBuilder
+                SslContextBuilder sslContextBuilder = SslContextBuilder
                     .forServer(
                         keyAndCertificateFactory.privateKey(),
                         keyAndCertificateFactory.x509Certificate(),
                         keyAndCertificateFactory.certificateAuthorityX509Certificate()
                     )
                     .trustManager(trustCertificateChain())
-                    .clientAuth(ConfigurationProperties.tlsMutualAuthenticationRequired() ? ClientAuth.REQUIRE : ClientAuth.NONE)
-                    .build();
+                    .clientAuth(ConfigurationProperties.tlsMutualAuthenticationRequired() ? ClientAuth.REQUIRE : ClientAuth.NONE);
+                boolean http2 = ConfigurationProperties.enableHttp2();
+                if (http2) {
+                    sslContextBuilder.applicationProtocolConfig(http2ApplicationProtocolConfig());
+                }
+                serverSslContext = sslContextBuilder.build();
+                serverSslContextHttp2 = http2;
                 ConfigurationProperties.rebuildServerTLSContext(false);
             } catch (Throwable throwable) {
                 mockServerLogger.logEvent(
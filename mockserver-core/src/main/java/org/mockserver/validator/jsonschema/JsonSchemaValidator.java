@@ -114,14 +114,28 @@ public class JsonSchemaValidator extends ObjectWithReflectiveEqualsHashCodeToStr
     }
 
     public String isValid(String json, boolean addOpenAPISpecificationMessage) {
-        String validationResult = "";
         if (isNotBlank(json)) {
+            try {
+                return isValid(OBJECT_MAPPER.readTree(json), addOpenAPISpecificationMessage);
+            } catch (Throwable throwable) {
+                return exceptionValidating(throwable);
+            }
+        }
+        return "";
+    }
+
+    /**
+     * validates json that has already been parsed, i.e. shared by all matchers for a request
+     */
+    public String isValid(JsonNode json, boolean addOpenAPISpecificationMessage) {
+        String validationResult = "";
+        if (json != null) {
             try {
 
                 ProcessingReport processingReport = validator
                     .validate(
                         schemaJsonNode,
-                        OBJECT_MAPPER.readTree(json),
+                        json,
                         true
                     );
 
@@ -129,18 +143,22 @@ public class JsonSchemaValidator extends ObjectWithReflectiveEqualsHashCodeToStr
                     validationResult = formatProcessingReport(processingReport, addOpenAPISpecificationMessage);
                 }
             } catch (Throwable throwable) {
-                mockServerLogger.logEvent(
-                    new LogEntry()
-                        .setLogLevel(Level.ERROR)
-                        .setMessageFormat("exception validating JSON")
-                        .setThrowable(throwable)
-                );
-                return throwable.getClass().getSimpleName() + " - " + throwable.getMessage();
+                return exceptionValidating(throwable);
             }
         }
         return validationResult;
     }
 
+    private String exceptionValidating(Throwable throwable) {
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setLogLevel(Level.ERROR)
+                .setMessageFormat("exception validating JSON")
+                .setThrowable(throwable)
+        );
+        return throwable.getClass().getSimpleName() + " - " + throwable.getMessage();
+    }
+
     private String formatProcessingReport(ProcessingReport processingMessages, boolean addOpenAPISpecificationMessage) {
         List<String> validationErrors = new ArrayList<>();
         for (ProcessingMessage processingMessage : processingMessages) {
@@ -343,6 +361,11 @@ public class JsonSchemaValidator extends ObjectWithReflectiveEqualsHashCodeToStr
                     "     \"type\": \"XML\"," + NEW_LINE +
                     "     \"xml\": \"\"," + NEW_LINE +
                     "     \"contentType\": \"\"" + NEW_LINE +
+                    "   }," + NEW_LINE +
+                    "   {" + NEW_LINE +
+                    "     \"type\": \"FILE\"," + NEW_LINE +
+                    "     \"filePath\": \"\"," + NEW_LINE +
+                    "     \"contentType\": \"\"" + NEW_LINE +
                     "   }" + NEW_LINE);
             }
             if (String.valueOf(processingMessageJson.get("keyword")).contains("oneOf")) {
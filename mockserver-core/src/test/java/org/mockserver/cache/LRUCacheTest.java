@@ -3,6 +3,14 @@ package org.mockserver.cache;
 import org.junit.Test;
 import org.mockserver.logging.MockServerLogger;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.CoreMatchers.is;
@@ -136,6 +144,75 @@ public class LRUCacheTest {
         assertThat(lruCache.get("one"), is(nullValue()));
     }
 
+    @Test
+    public void shouldKeepRecentlyReadItemsWhenEvicting() {
+        // given
+        LRUCache<String, Object> lruCache = new LRUCache<>(mockServerLogger, 4, MINUTES.toMillis(10));
+        lruCache.put("one", "a");
+        lruCache.put("two", "b");
+        lruCache.put("three", "c");
+        lruCache.put("four", "d");
+
+        // when
+        assertThat(lruCache.get("one"), is("a"));
+        lruCache.put("five", "e");
+
+        // then
+        assertThat(lruCache.get("one"), is("a"));
+        assertThat(lruCache.get("two"), is(nullValue()));
+        assertThat(lruCache.get("five"), is("e"));
+    }
+
+    @Test
+    public void shouldReadConcurrentlyWhileWriting() throws Exception {
+        // given
+        int keys = 100;
+        LRUCache<String, Object> lruCache = new LRUCache<>(mockServerLogger, keys, MINUTES.toMillis(10));
+        for (int i = 0; i < keys; i++) {
+            lruCache.put("key_" + i, "value_" + i);
+        }
+        int readers = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(readers + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            // when
+            List<Future<Integer>> reads = new ArrayList<>();
+            for (int reader = 0; reader < readers; reader++) {
+                reads.add(executorService.submit(() -> {
+                    start.await();
+                    int hits = 0;
+                    for (int i = 0; i < 100_000; i++) {
+                        int key = i % keys;
+                        if (("value_" + key).equals(lruCache.get("key_" + key))) {
+                            hits++;
+                        }
+                    }
+                    return hits;
+                }));
+            }
+            Future<?> writes = executorService.submit(() -> {
+                start.await();
+                for (int i = 0; writing.get(); i++) {
+                    // replace existing keys so readers always hit
+                    lruCache.put("key_" + (i % keys), "value_" + (i % keys));
+                }
+                return null;
+            });
+            start.countDown();
+
+            // then
+            for (Future<Integer> read : reads) {
+                assertThat(read.get(30, SECONDS), is(100_000));
+            }
+            writing.set(false);
+            writes.get(30, SECONDS);
+        } finally {
+            writing.set(false);
+            executorService.shutdownNow();
+        }
+    }
+
     @Test
     public void shouldClearGlobally() {
         // given
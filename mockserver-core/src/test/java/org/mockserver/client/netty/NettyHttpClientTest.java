@@ -8,14 +8,20 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.mockserver.client.NettyHttpClient;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.echo.http.EchoServer;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.model.MediaType;
 import org.mockserver.scheduler.Scheduler;
 
+import java.io.*;
 import java.net.InetSocketAddress;
-import java.util.concurrent.TimeUnit;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.*;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.*;
 import static io.netty.handler.codec.http.HttpHeaderValues.KEEP_ALIVE;
@@ -23,6 +29,7 @@ import static io.netty.handler.codec.http.HttpHeaderValues.*;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.core.Is.is;
 import static org.mockserver.model.BinaryBody.binary;
 import static org.mockserver.model.Cookie.cookie;
@@ -30,6 +37,7 @@ import static org.mockserver.model.Header.header;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
 import static org.mockserver.model.StringBody.exact;
+import static org.junit.Assert.fail;
 import static org.mockserver.stop.Stop.stopQuietly;
 
 public class NettyHttpClientTest {
@@ -223,4 +231,185 @@ public class NettyHttpClientTest {
         ));
     }
 
+    @Test
+    public void shouldReusePooledConnectionForForwardedRequests() throws Exception {
+        boolean originalMetricsEnabled = ConfigurationProperties.metricsEnabled();
+        try {
+            // given
+            ConfigurationProperties.metricsEnabled(true);
+            Metrics.clear();
+            NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+
+            // when
+            for (int i = 0; i < 3; i++) {
+                HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withHeader("Host", "0.0.0.0:" + echoServer.getPort()))
+                    .get(10, TimeUnit.SECONDS);
+                assertThat(httpResponse.getStatusCode(), is(200));
+            }
+
+            // then
+            assertThat(Metrics.get(Metrics.Name.FORWARD_CONNECTION_CREATED_COUNT), is(1));
+            assertThat(Metrics.get(Metrics.Name.FORWARD_CONNECTION_REUSED_COUNT), is(2));
+            assertThat(Metrics.get(Metrics.Name.FORWARD_CONNECTION_OPEN_COUNT), is(1));
+        } finally {
+            ConfigurationProperties.metricsEnabled(originalMetricsEnabled);
+            Metrics.clear();
+        }
+    }
+
+    @Test
+    public void shouldNotReusePooledConnectionWhenRequestClosesConnection() throws Exception {
+        boolean originalMetricsEnabled = ConfigurationProperties.metricsEnabled();
+        try {
+            // given
+            ConfigurationProperties.metricsEnabled(true);
+            Metrics.clear();
+            NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+
+            // when
+            for (int i = 0; i < 2; i++) {
+                HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withHeader("Host", "0.0.0.0:" + echoServer.getPort()).withHeader(CONNECTION.toString(), CLOSE.toString()))
+                    .get(10, TimeUnit.SECONDS);
+                assertThat(httpResponse.getStatusCode(), is(200));
+            }
+
+            // then
+            assertThat(Metrics.get(Metrics.Name.FORWARD_CONNECTION_CREATED_COUNT), is(2));
+            assertThat(Metrics.get(Metrics.Name.FORWARD_CONNECTION_REUSED_COUNT), is(0));
+        } finally {
+            ConfigurationProperties.metricsEnabled(originalMetricsEnabled);
+            Metrics.clear();
+        }
+    }
+
+    @Test
+    public void shouldCloseIdlePooledConnection() throws Exception {
+        boolean originalMetricsEnabled = ConfigurationProperties.metricsEnabled();
+        long originalIdleTimeout = ConfigurationProperties.forwardConnectionIdleTimeout();
+        try {
+            // given
+            ConfigurationProperties.metricsEnabled(true);
+            ConfigurationProperties.forwardConnectionIdleTimeout(100);
+            Metrics.clear();
+            NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+
+            // when
+            nettyHttpClient.sendRequest(request().withHeader("Host", "0.0.0.0:" + echoServer.getPort())).get(10, TimeUnit.SECONDS);
+            MILLISECONDS.sleep(500);
+            HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withHeader("Host", "0.0.0.0:" + echoServer.getPort()))
+                .get(10, TimeUnit.SECONDS);
+
+            // then
+            assertThat(httpResponse.getStatusCode(), is(200));
+            assertThat(Metrics.get(Metrics.Name.FORWARD_CONNECTION_CREATED_COUNT), is(2));
+            assertThat(Metrics.get(Metrics.Name.FORWARD_CONNECTION_IDLE_CLOSED_COUNT), is(1));
+            assertThat(Metrics.get(Metrics.Name.FORWARD_CONNECTION_REUSED_COUNT), is(0));
+        } finally {
+            ConfigurationProperties.metricsEnabled(originalMetricsEnabled);
+            ConfigurationProperties.forwardConnectionIdleTimeout(originalIdleTimeout);
+            Metrics.clear();
+        }
+    }
+
+
+    @Test
+    public void shouldRetryIdempotentRequestWhenReusedPooledConnectionCloses() throws Exception {
+        // given
+        try (SecondRequestClosingServer server = new SecondRequestClosingServer()) {
+            NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+            nettyHttpClient.sendRequest(request().withMethod("GET").withHeader("Host", "127.0.0.1:" + server.getPort())).get(10, TimeUnit.SECONDS);
+
+            // when
+            HttpResponse httpResponse = nettyHttpClient.sendRequest(request().withMethod("GET").withHeader("Host", "127.0.0.1:" + server.getPort()))
+                .get(10, TimeUnit.SECONDS);
+
+            // then
+            assertThat(httpResponse.getStatusCode(), is(200));
+            assertThat(server.receivedMethods(), contains("GET", "GET", "GET"));
+        }
+    }
+
+    @Test
+    public void shouldNotRetryPostWhenReusedPooledConnectionCloses() throws Exception {
+        // given
+        try (SecondRequestClosingServer server = new SecondRequestClosingServer()) {
+            NettyHttpClient nettyHttpClient = new NettyHttpClient(mockServerLogger, clientEventLoopGroup, null, true);
+            nettyHttpClient.sendRequest(request().withMethod("GET").withHeader("Host", "127.0.0.1:" + server.getPort())).get(10, TimeUnit.SECONDS);
+
+            // when
+            CompletableFuture<HttpResponse> httpResponse = nettyHttpClient.sendRequest(request().withMethod("POST").withHeader("Host", "127.0.0.1:" + server.getPort()).withBody("some_body"));
+
+            // then
+            try {
+                httpResponse.get(10, TimeUnit.SECONDS);
+                fail("expected exception to be thrown");
+            } catch (ExecutionException ee) {
+                assertThat(server.receivedMethods(), contains("GET", "POST"));
+            }
+        }
+    }
+
+    /**
+     * Answers the first request on each connection and closes the connection after reading any later request, as a
+     * server closing an idle keep-alive connection just as a request is sent on it would
+     */
+    private static class SecondRequestClosingServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket = new ServerSocket(0);
+        private final List<String> receivedMethods = new CopyOnWriteArrayList<>();
+        private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+        private SecondRequestClosingServer() throws IOException {
+            executorService.submit(() -> {
+                while (!serverSocket.isClosed()) {
+                    Socket socket = serverSocket.accept();
+                    executorService.submit(() -> handle(socket));
+                }
+                return null;
+            });
+        }
+
+        private Void handle(Socket socket) throws IOException {
+            try (Socket ignored = socket) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), UTF_8));
+                for (int request = 0; ; request++) {
+                    String requestLine = reader.readLine();
+                    if (requestLine == null) {
+                        return null;
+                    }
+                    int contentLength = 0;
+                    for (String line = reader.readLine(); line != null && !line.isEmpty(); line = reader.readLine()) {
+                        if (line.toLowerCase().startsWith("content-length:")) {
+                            contentLength = Integer.parseInt(line.substring("content-length:".length()).trim());
+                        }
+                    }
+                    for (int i = 0; i < contentLength; i++) {
+                        reader.read();
+                    }
+                    receivedMethods.add(requestLine.substring(0, requestLine.indexOf(' ')));
+                    if (request > 0) {
+                        return null;
+                    }
+                    OutputStream outputStream = socket.getOutputStream();
+                    outputStream.write("HTTP/1.1 200 OK\r\ncontent-length: 0\r\n\r\n".getBytes(UTF_8));
+                    outputStream.flush();
+                }
+            }
+        }
+
+        private int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private List<String> receivedMethods() {
+            return receivedMethods;
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            executorService.shutdownNow();
+        }
+    }
+
 }
@@ -1,6 +1,7 @@
 package org.mockserver.codec;
 
 import org.junit.Test;
+import org.mockserver.collections.CaseFoldedEntries;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.Parameter;
 import org.mockserver.model.ParameterStyle;
@@ -13,6 +14,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.iterableWithSize;
 import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.mockserver.model.NottableString.string;
 import static org.mockserver.model.Parameter.param;
 
@@ -943,4 +945,29 @@ public class ExpandedParameterDecoderTest {
         )));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldNotReplaceParametersAlreadySplit() {
+        // given
+        Parameters matcher = new Parameters(
+            param(string("some_name"), string("1")).withStyle(ParameterStyle.SPACE_DELIMITED),
+            param(string("some_other_name"), string("a")).withStyle(ParameterStyle.FORM)
+        );
+        Parameters matched = new Parameters(
+            param(string("some_name"), string("1%202 3+4")),
+            param(string("some_other_name"), string("a,b,c"))
+        );
+        new ExpandedParameterDecoder(mockServerLogger).splitParameters(matcher, matched);
+        CaseFoldedEntries caseFoldedEntries = matched.getCaseFoldedEntries();
+
+        // when
+        new ExpandedParameterDecoder(mockServerLogger).splitParameters(matcher, matched);
+
+        // then
+        assertThat(matched.getCaseFoldedEntries(), sameInstance(caseFoldedEntries));
+        assertThat(matched, is(new Parameters(
+            param("some_name", "1", "2", "3", "4"),
+            param("some_other_name", "a", "b", "c")
+        )));
+    }
+
+}
@@ -0,0 +1,84 @@
+package org.mockserver.codec;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * @author jamesdbloom
+ */
+public class MappedFileBuffersTest {
+
+    private final List<File> files = new ArrayList<>();
+
+    @After
+    public void deleteFiles() {
+        MappedFileBuffers.clear();
+        for (File file : files) {
+            file.delete();
+        }
+    }
+
+    private File file(String content) throws IOException {
+        File file = File.createTempFile("mappedFileBody", ".txt");
+        files.add(file);
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        return file;
+    }
+
+    @Test
+    public void shouldMapFileAgainWhenItChanges() throws IOException {
+        // given
+        File file = file("some_file_content");
+        assertThat(MappedFileBuffers.mappedBuffer(file).toString(UTF_8), is("some_file_content"));
+
+        // when
+        Files.write(file.toPath(), "some_longer_file_content".getBytes(UTF_8));
+
+        // then
+        assertThat(MappedFileBuffers.isMapped(file), is(false));
+        assertThat(MappedFileBuffers.mappedBuffer(file).toString(UTF_8), is("some_longer_file_content"));
+        assertThat(MappedFileBuffers.isMapped(file), is(true));
+    }
+
+    @Test
+    public void shouldDropLeastRecentlyUsedMappingWhenMaximumExceeded() throws IOException {
+        // given
+        File first = file("first");
+        MappedFileBuffers.mappedBuffer(first);
+
+        // when
+        File last = null;
+        for (int i = 0; i < MappedFileBuffers.MAX_MAPPED_FILES; i++) {
+            last = file("file_" + i);
+            MappedFileBuffers.mappedBuffer(last);
+        }
+
+        // then
+        assertThat(MappedFileBuffers.isMapped(first), is(false));
+        assertThat(MappedFileBuffers.isMapped(last), is(true));
+    }
+
+    @Test
+    public void shouldDropAllMappingsWhenCleared() throws IOException {
+        // given
+        File file = file("some_file_content");
+        MappedFileBuffers.mappedBuffer(file);
+
+        // when
+        MappedFileBuffers.clear();
+
+        // then
+        assertThat(MappedFileBuffers.isMapped(file), is(false));
+        assertThat(MappedFileBuffers.mappedBuffer(file).toString(UTF_8), is("some_file_content"));
+    }
+}
@@ -0,0 +1,103 @@
+package org.mockserver.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.EventLoop;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.ConnectionOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockserver.model.FileBody.file;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class MockServerHttpToNettyHttpResponseEncoderFileBodyTest {
+
+    private static final String CONTENT = "some_file_content";
+
+    private MockServerHttpToNettyHttpResponseEncoder mockServerResponseEncoder;
+    private List<Object> output;
+    private File file;
+
+    @Before
+    public void setupFixture() throws IOException {
+        mockServerResponseEncoder = new MockServerHttpToNettyHttpResponseEncoder(new MockServerLogger());
+        output = new ArrayList<>();
+        file = File.createTempFile("fileBody", ".txt");
+        Files.write(file.toPath(), CONTENT.getBytes(UTF_8));
+    }
+
+    @After
+    public void deleteFile() {
+        file.delete();
+    }
+
+    @Test
+    public void shouldMapFileBodyIntoFullResponse() {
+        // when
+        mockServerResponseEncoder.encode(null, response().withBody(file(file.getAbsolutePath())), output);
+
+        // then
+        FullHttpResponse fullHttpResponse = (FullHttpResponse) output.get(0);
+        assertThat(fullHttpResponse.content().toString(UTF_8), is(CONTENT));
+        assertThat(fullHttpResponse.headers().get(HttpHeaderNames.CONTENT_LENGTH), is("" + CONTENT.length()));
+    }
+
+    @Test
+    public void shouldMapFileBodyIntoChunks() {
+        // when
+        mockServerResponseEncoder.encode(null, response().withBody(file(file.getAbsolutePath())).withConnectionOptions(new ConnectionOptions().withChunkSize(5)), output);
+
+        // then
+        assertThat(output.size(), is(5));
+        assertThat(HttpUtil.isTransferEncodingChunked((HttpResponse) output.get(0)), is(true));
+        ByteBuf body = Unpooled.buffer();
+        for (Object httpObject : output.subList(1, output.size())) {
+            body.writeBytes(((HttpContent) httpObject).content());
+        }
+        assertThat(body.toString(UTF_8), is(CONTENT));
+        assertThat(output.get(output.size() - 1), instanceOf(LastHttpContent.class));
+    }
+
+    @Test
+    public void shouldWriteFileBodyAsFileRegionOnPlainSocket() {
+        // given
+        ChannelHandlerContext ctx = mock(ChannelHandlerContext.class);
+        SocketChannel channel = mock(SocketChannel.class);
+        when(ctx.channel()).thenReturn(channel);
+        when(ctx.pipeline()).thenReturn(mock(ChannelPipeline.class));
+        when(channel.eventLoop()).thenReturn(mock(EventLoop.class));
+
+        // when
+        mockServerResponseEncoder.encode(ctx, response().withBody(file(file.getAbsolutePath())), output);
+
+        // then
+        assertThat(output.size(), is(3));
+        assertThat(((HttpResponse) output.get(0)).headers().get(HttpHeaderNames.CONTENT_LENGTH), is("" + CONTENT.length()));
+        DefaultFileRegion fileRegion = (DefaultFileRegion) output.get(1);
+        assertThat(fileRegion.count(), is((long) CONTENT.length()));
+        assertThat(output.get(2), is(LastHttpContent.EMPTY_LAST_CONTENT));
+        fileRegion.release();
+    }
+}
@@ -0,0 +1,82 @@
+package org.mockserver.collections;
+
+import org.junit.Test;
+import org.mockserver.model.NottableString;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.model.NottableOptionalString.optional;
+import static org.mockserver.model.NottableSchemaString.schemaString;
+import static org.mockserver.model.NottableString.not;
+import static org.mockserver.model.NottableString.string;
+
+/**
+ * @author jamesdbloom
+ */
+public class CaseFoldedEntriesTest {
+
+    @Test
+    public void shouldFoldConsistentlyWithEqualsIgnoreCase() {
+        String[][] pairs = {
+            {"Content-Type", "content-TYPE"},
+            {"x-request-id", "X-Request-Id"},
+            {"İ", "i"},
+            {"ı", "I"},
+            {"ß", "ẞ"},
+            {"straße", "STRASSE"},
+            {"Σ", "ς"},
+            {"abc", "abd"}
+        };
+        for (String[] pair : pairs) {
+            assertThat(pair[0] + " and " + pair[1], CaseFoldedEntries.fold(pair[0]).equals(CaseFoldedEntries.fold(pair[1])), is(pair[0].equalsIgnoreCase(pair[1])));
+        }
+    }
+
+    @Test
+    public void shouldFindEntriesByKeyIgnoringCase() {
+        // given
+        CaseFoldedEntries entries = new CaseFoldedEntries(
+            Arrays.asList(string("Accept"), string("Content-Type"), string("accept")),
+            Arrays.asList(string("text/html"), string("application/json"), string("application/json"))
+        );
+
+        // then
+        assertThat(entries.size(), is(3));
+        assertThat(entries.indexesOfKeyMatching(string("ACCEPT")), is(new int[]{0, 2}));
+        assertThat(entries.indexesOfKeyMatching(string("content-type")), is(new int[]{1}));
+        assertThat(entries.indexesOfKeyMatching(optional("content-type")), is(new int[]{1}));
+        assertThat(entries.indexesOfKeyMatching(string("Host")), is(new int[0]));
+    }
+
+    @Test
+    public void shouldNotLookUpKeysThatMustBeMatchedAsRegexOrNotted() {
+        // given
+        CaseFoldedEntries entries = new CaseFoldedEntries(
+            Arrays.asList(string("Accept"), string("Content-Type")),
+            Arrays.asList(string("text/html"), string("application/json"))
+        );
+
+        // then
+        assertThat(entries.indexesOfKeyMatching(string("Content-.*")), nullValue());
+        assertThat(entries.indexesOfKeyMatching(not("Accept")), nullValue());
+        assertThat(entries.indexesOfKeyMatching(string("")), nullValue());
+        assertThat(entries.indexesOfKeyMatching(schemaString("{ \"type\": \"string\" }")), nullValue());
+    }
+
+    @Test
+    public void shouldNotIndexEntriesWithKeysThatAreNotPlainStrings() {
+        // given
+        CaseFoldedEntries entries = new CaseFoldedEntries(
+            Arrays.<NottableString>asList(string("Accept"), not("Content-Type")),
+            Arrays.asList(string("text/html"), string("application/json"))
+        );
+
+        // then
+        assertThat(entries.indexesOfKeyMatching(string("Accept")), nullValue());
+        assertThat(entries.getKey(1), is(not("Content-Type")));
+        assertThat(entries.getValue(1), is(string("application/json")));
+    }
+}
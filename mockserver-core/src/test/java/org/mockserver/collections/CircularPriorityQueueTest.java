@@ -4,6 +4,7 @@ import org.junit.Test;
 import org.mockserver.mock.Expectation;
 import org.mockserver.mock.SortableExpectationId;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -597,4 +598,79 @@ public class CircularPriorityQueueTest {
         assertThat(concurrentLinkedQueue.toSortedList(), contains(five, one, two));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldReuseSortedSnapshotUntilModified() {
+        // given
+        CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(
+            5,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.id
+        );
+        SortableExpectationId one = new SortableExpectationId("1", 0, 0);
+        SortableExpectationId two = new SortableExpectationId("2", 0, 0);
+        concurrentLinkedQueue.add(one);
+        concurrentLinkedQueue.add(two);
+
+        // when
+        List<SortableExpectationId> snapshot = concurrentLinkedQueue.toSortedList();
+
+        // then
+        assertThat(concurrentLinkedQueue.toSortedList(), sameInstance(snapshot));
+        assertThat(snapshot, contains(one, two));
+
+        // when
+        concurrentLinkedQueue.remove(one);
+
+        // then
+        assertThat(concurrentLinkedQueue.toSortedList(), not(sameInstance(snapshot)));
+        assertThat(concurrentLinkedQueue.toSortedList(), contains(two));
+        assertThat(snapshot, contains(one, two));
+    }
+
+    @Test
+    public void shouldPublishBatchModificationsTogether() {
+        // given
+        CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(
+            5,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.id
+        );
+        SortableExpectationId one = new SortableExpectationId("1", 0, 0);
+        SortableExpectationId two = new SortableExpectationId("2", 0, 0);
+        SortableExpectationId three = new SortableExpectationId("3", 0, 0);
+        concurrentLinkedQueue.add(one);
+        List<List<SortableExpectationId>> snapshotsDuringBatch = new ArrayList<>();
+
+        // when
+        concurrentLinkedQueue.batch(() -> {
+            concurrentLinkedQueue.add(two);
+            snapshotsDuringBatch.add(concurrentLinkedQueue.toSortedList());
+            concurrentLinkedQueue.add(three);
+            concurrentLinkedQueue.remove(one);
+            snapshotsDuringBatch.add(concurrentLinkedQueue.toSortedList());
+        });
+
+        // then
+        assertThat(snapshotsDuringBatch.get(0), contains(one));
+        assertThat(snapshotsDuringBatch.get(1), contains(one));
+        assertThat(concurrentLinkedQueue.toSortedList(), contains(two, three));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowModificationOfSortedSnapshot() {
+        // given
+        CircularPriorityQueue<String, SortableExpectationId, SortableExpectationId> concurrentLinkedQueue = new CircularPriorityQueue<>(
+            5,
+            EXPECTATION_SORTABLE_PRIORITY_COMPARATOR,
+            sortableExpectationId -> sortableExpectationId,
+            sortableExpectationId -> sortableExpectationId.id
+        );
+        concurrentLinkedQueue.add(new SortableExpectationId("1", 0, 0));
+
+        // when
+        concurrentLinkedQueue.toSortedList().add(new SortableExpectationId("2", 0, 0));
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.mockserver.collections;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author jamesdbloom
+ */
+public class ConcurrentLinkedHashSetTest {
+
+    @Test
+    public void shouldAddInInsertionOrder() {
+        // given
+        ConcurrentLinkedHashSet<String> set = new ConcurrentLinkedHashSet<>();
+
+        // when
+        assertThat(set.add("one"), is(true));
+        assertThat(set.add("two"), is(true));
+        assertThat(set.add("three"), is(true));
+
+        // then
+        assertThat(set.size(), is(3));
+        assertThat(set.isEmpty(), is(false));
+        assertThat(set.toList(), contains("one", "two", "three"));
+    }
+
+    @Test
+    public void shouldMoveExistingElementToTailWhenAddedAgain() {
+        // given
+        ConcurrentLinkedHashSet<String> set = new ConcurrentLinkedHashSet<>();
+        set.add("one");
+        set.add("two");
+        set.add("three");
+
+        // when
+        assertThat(set.add("one"), is(false));
+        assertThat(set.moveToTail("two"), is(true));
+        assertThat(set.moveToTail("four"), is(false));
+
+        // then
+        assertThat(set.size(), is(3));
+        assertThat(set.toList(), contains("three", "one", "two"));
+    }
+
+    @Test
+    public void shouldRemoveAnyElement() {
+        // given
+        ConcurrentLinkedHashSet<String> set = new ConcurrentLinkedHashSet<>();
+        set.add("one");
+        set.add("two");
+        set.add("three");
+
+        // when
+        assertThat(set.remove("two"), is(true));
+        assertThat(set.remove("four"), is(false));
+
+        // then
+        assertThat(set.size(), is(2));
+        assertThat(set.contains("two"), is(false));
+        assertThat(set.toList(), contains("one", "three"));
+    }
+
+    @Test
+    public void shouldPollEldestElement() {
+        // given
+        ConcurrentLinkedHashSet<String> set = new ConcurrentLinkedHashSet<>();
+        set.add("one");
+        set.add("two");
+
+        // then
+        assertThat(set.poll(), is("one"));
+        assertThat(set.poll(), is("two"));
+        assertThat(set.poll(), nullValue());
+        assertThat(set.size(), is(0));
+        assertThat(set.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldClear() {
+        // given
+        ConcurrentLinkedHashSet<String> set = new ConcurrentLinkedHashSet<>();
+        set.add("one");
+        set.add("two");
+
+        // when
+        set.clear();
+        set.add("three");
+
+        // then
+        assertThat(set.size(), is(1));
+        assertThat(set.toList(), contains("three"));
+        set.clear();
+        assertThat(set.toList(), is(empty()));
+    }
+}
@@ -1222,6 +1222,34 @@ public class ConfigurationPropertiesTest {
         }
     }
 
+    @Test
+    public void shouldSetAndReadFileBodyBaseDirectory() {
+        // given
+        System.clearProperty("mockserver.fileBodyBaseDirectory");
+
+        // when
+        assertEquals("", ConfigurationProperties.fileBodyBaseDirectory());
+        ConfigurationProperties.fileBodyBaseDirectory("/some/directory");
+
+        // then
+        assertEquals("/some/directory", ConfigurationProperties.fileBodyBaseDirectory());
+        assertEquals("/some/directory", System.getProperty("mockserver.fileBodyBaseDirectory"));
+    }
+
+    @Test
+    public void shouldSetAndReadSocketReusePort() {
+        // given
+        System.clearProperty("mockserver.socketReusePort");
+
+        // when
+        assertFalse(ConfigurationProperties.socketReusePort());
+        ConfigurationProperties.socketReusePort(true);
+
+        // then
+        assertTrue(ConfigurationProperties.socketReusePort());
+        assertEquals("true", System.getProperty("mockserver.socketReusePort"));
+    }
+
     @Test
     public void shouldSetAndReadEnableCORSSettingForAPI() {
         // given
@@ -0,0 +1,70 @@
+package org.mockserver.log;
+
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.RequestDefinition;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.log.model.LogEntry.LogMessageType.EXPECTATION_RESPONSE;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.JsonBody.json;
+
+/**
+ * @author jamesdbloom
+ */
+public class LogEntryCodecTest {
+
+    private final LogEntryCodec logEntryCodec = new LogEntryCodec();
+
+    @Test
+    public void shouldEncodeAndDecodeRequestsResponseExpectationAndMessage() {
+        // given
+        LogEntry logEntry = new LogEntry()
+            .setType(EXPECTATION_RESPONSE)
+            .setHttpRequests(new RequestDefinition[]{
+                request("/some_path")
+                    .withMethod("POST")
+                    .withHeader("Content-Type", "application/json")
+                    .withQueryStringParameter("name", "value")
+                    .withBody(json("{ \"key\": \"value\" }")),
+                request("/some_other_path")
+            })
+            .setHttpResponse(response("some_body").withStatusCode(201))
+            .setExpectation(new Expectation(request("/some_path")).withId("some_id").thenRespond(response("some_body")))
+            .setMessageFormat("returning response:{}for request:{}")
+            .setArguments(response("some_body"), request("/some_path"))
+            .setBecause("some reason");
+
+        // when
+        LogEntry decodedLogEntry = logEntryCodec.decode(logEntryCodec.encode(logEntry), new LogEntry().setType(EXPECTATION_RESPONSE));
+
+        // then
+        assertThat(decodedLogEntry.getHttpRequests(), is(logEntry.getHttpRequests()));
+        assertThat(decodedLogEntry.getHttpResponse(), is(logEntry.getHttpResponse()));
+        assertThat(decodedLogEntry.getExpectation(), is(logEntry.getExpectation()));
+        assertThat(decodedLogEntry.getMessageFormat(), is(logEntry.getMessageFormat()));
+        assertThat(decodedLogEntry.getMessage(), is(logEntry.getMessage()));
+        assertThat(decodedLogEntry.getBecause(), is("some reason"));
+        assertThat(decodedLogEntry.getHttpError(), nullValue());
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeLogEntryWithoutRequestsOrArguments() {
+        // given
+        LogEntry logEntry = new LogEntry()
+            .setMessageFormat("some message");
+
+        // when
+        LogEntry decodedLogEntry = logEntryCodec.decode(logEntryCodec.encode(logEntry), new LogEntry());
+
+        // then
+        assertThat(decodedLogEntry.getHttpRequests().length, is(0));
+        assertThat(decodedLogEntry.getHttpResponse(), nullValue());
+        assertThat(decodedLogEntry.getArguments(), nullValue());
+        assertThat(decodedLogEntry.getMessage(), is("some message"));
+    }
+}
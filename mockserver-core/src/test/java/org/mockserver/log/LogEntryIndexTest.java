@@ -0,0 +1,139 @@
+package org.mockserver.log;
+
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.model.RequestDefinition;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.NottableString.not;
+
+/**
+ * @author jamesdbloom
+ */
+public class LogEntryIndexTest {
+
+    @Test
+    public void shouldReturnCandidatesForLiteralPathInLogOrder() {
+        // given
+        LogEntryIndex logEntryIndex = new LogEntryIndex();
+        LogEntry one = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/one"));
+        LogEntry regex = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/o.*"));
+        LogEntry two = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/two"));
+        LogEntry notted = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request().withPath(not("/two")));
+        LogEntry upperCaseOne = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/ONE"));
+        LogEntry noRequest = new LogEntry().setType(INFO);
+
+        // when
+        logEntryIndex.add(one);
+        logEntryIndex.add(regex);
+        logEntryIndex.add(two);
+        logEntryIndex.add(notted);
+        logEntryIndex.add(upperCaseOne);
+        logEntryIndex.add(noRequest);
+
+        // then
+        assertThat(logEntryIndex.size(), is(6));
+        assertThat(logEntryIndex.candidates(request("/one"), null), contains(one, regex, notted, upperCaseOne, noRequest));
+        assertThat(logEntryIndex.candidates(request("/three"), null), contains(regex, notted, noRequest));
+        // no more entries have the type than could match the path so candidates are by type
+        assertThat(logEntryIndex.candidates(request("/one"), EnumSet.of(RECEIVED_REQUEST)), contains(one, regex, two, notted, upperCaseOne));
+        assertThat(logEntryIndex.candidates(request("/t.*"), null), nullValue());
+        assertThat(logEntryIndex.candidates(request().withPath(not("/one")), null), nullValue());
+        assertThat(logEntryIndex.candidates(null, null), nullValue());
+    }
+
+    @Test
+    public void shouldReturnSameSnapshotUntilModified() {
+        // given
+        LogEntryIndex logEntryIndex = new LogEntryIndex();
+        LogEntry one = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/one"));
+        LogEntry two = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/two"));
+        logEntryIndex.add(one);
+
+        // when
+        List<LogEntry> snapshot = logEntryIndex.snapshot();
+        long version = logEntryIndex.version();
+
+        // then
+        assertThat(logEntryIndex.snapshot() == snapshot, is(true));
+        assertThat(logEntryIndex.version(), is(version));
+
+        // when
+        logEntryIndex.add(two);
+
+        // then
+        assertThat(snapshot, contains(one));
+        assertThat(logEntryIndex.snapshot(), contains(one, two));
+        assertThat(logEntryIndex.version() > version, is(true));
+
+        // when
+        logEntryIndex.remove(one);
+
+        // then
+        assertThat(logEntryIndex.snapshot(), contains(two));
+    }
+
+    @Test
+    public void shouldReturnCandidatesForSmallestIndex() {
+        // given
+        LogEntryIndex logEntryIndex = new LogEntryIndex();
+        LogEntry getOne = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/one").withMethod("GET"));
+        LogEntry getTwo = new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/two").withMethod("GET"));
+        LogEntry postOne = new LogEntry().setType(FORWARDED_REQUEST).setHttpRequest(request("/one").withMethod("POST"));
+        LogEntry multipleRequests = new LogEntry().setType(EXPECTATION_MATCHED).setHttpRequests(new RequestDefinition[]{
+            request("/one").withMethod("GET"),
+            request("/one").withMethod("PUT")
+        });
+
+        // when
+        logEntryIndex.add(getOne);
+        logEntryIndex.add(getTwo);
+        logEntryIndex.add(postOne);
+        logEntryIndex.add(multipleRequests);
+
+        // then
+        assertThat(logEntryIndex.candidates(request("/two").withMethod("GET"), null), contains(getTwo));
+        assertThat(logEntryIndex.candidates(request("/one").withMethod("post"), null), contains(postOne));
+        assertThat(logEntryIndex.candidates(request("/one"), null), contains(getOne, postOne, multipleRequests));
+        assertThat(logEntryIndex.candidates(request("/one"), EnumSet.of(FORWARDED_REQUEST)), contains(postOne));
+        assertThat(logEntryIndex.candidates(null, EnumSet.of(RECEIVED_REQUEST, EXPECTATION_MATCHED)), contains(getOne, getTwo, multipleRequests));
+        assertThat(logEntryIndex.candidates(null, EnumSet.of(NO_MATCH_RESPONSE)), empty());
+    }
+
+    @Test
+    public void shouldRemoveFromAllIndexes() {
+        // given
+        LogEntryIndex logEntryIndex = new LogEntryIndex();
+        LogEntry one = new LogEntry().setType(RECEIVED_REQUEST).setCorrelationId("correlation").setHttpRequest(request("/one").withMethod("GET"));
+        LogEntry equalToOne = new LogEntry().setType(RECEIVED_REQUEST).setCorrelationId("correlation").setHttpRequest(request("/one").withMethod("GET"));
+        logEntryIndex.add(one);
+        logEntryIndex.add(equalToOne);
+
+        // when
+        logEntryIndex.remove(one);
+
+        // then
+        assertThat(logEntryIndex.size(), is(1));
+        assertThat(logEntryIndex.candidates(request("/one"), null), contains(equalToOne));
+        assertThat(logEntryIndex.candidates(request().withMethod("GET"), null), contains(equalToOne));
+        assertThat(logEntryIndex.candidates(null, EnumSet.of(RECEIVED_REQUEST)), contains(equalToOne));
+        assertThat(logEntryIndex.forCorrelationId("correlation"), contains(equalToOne));
+
+        // when
+        logEntryIndex.clear();
+
+        // then
+        assertThat(logEntryIndex.size(), is(0));
+        assertThat(logEntryIndex.candidates(request("/one"), null), empty());
+        assertThat(logEntryIndex.forCorrelationId("correlation"), empty());
+    }
+}
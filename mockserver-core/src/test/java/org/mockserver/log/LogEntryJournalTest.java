@@ -0,0 +1,323 @@
+package org.mockserver.log;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.fail;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.model.HttpRequest.request;
+
+/**
+ * @author jamesdbloom
+ */
+public class LogEntryJournalTest {
+
+    private final String body = new String(new char[1024]).replace('\0', 'a');
+    private Path directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("persistedLogEntries");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReplayLogEntriesAfterReopening() {
+        // given
+        LogEntryJournal logEntryJournal = new LogEntryJournal(directory, 1024 * 1024, 0, null);
+        assertThat(logEntryJournal.replay(), is(empty()));
+        List<LogEntry> stored = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            stored.add(logEntryJournal.store(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setCorrelationId("some_correlation_id_" + i)
+                    .setPort(1080)
+                    .setHttpRequest(request("/some_path_" + i).withMethod("GET"))
+                    .setMessageFormat("received request:{}")
+                    .setArguments(request("/some_path_" + i).withMethod("GET"))
+            ));
+        }
+        logEntryJournal.close();
+
+        // when
+        LogEntryJournal reopenedLogEntryJournal = new LogEntryJournal(directory, 1024 * 1024, 0, null);
+        List<LogEntry> replayed = reopenedLogEntryJournal.replay();
+
+        // then
+        assertThat(replayed.size(), is(10));
+        for (int i = 0; i < 10; i++) {
+            assertThat(replayed.get(i), instanceOf(OffHeapLogEntry.class));
+            assertThat(replayed.get(i).id(), is(stored.get(i).id()));
+            assertThat(replayed.get(i).getType(), is(RECEIVED_REQUEST));
+            assertThat(replayed.get(i).getCorrelationId(), is("some_correlation_id_" + i));
+            assertThat(replayed.get(i).getPort(), is(1080));
+            assertThat(replayed.get(i).getEpochTime(), is(stored.get(i).getEpochTime()));
+            assertThat(replayed.get(i).getHttpRequest(), is(request("/some_path_" + i).withMethod("GET")));
+            assertThat(replayed.get(i).getMessage(), is(stored.get(i).getMessage()));
+        }
+
+        // and - new entries are appended after the replayed entries
+        reopenedLogEntryJournal.store(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/some_path_10")));
+        reopenedLogEntryJournal.close();
+        List<LogEntry> replayedAgain = new LogEntryJournal(directory, 1024 * 1024, 0, null).replay();
+        assertThat(replayedAgain.size(), is(11));
+        assertThat(replayedAgain.get(10).getHttpRequest(), is(request("/some_path_10")));
+    }
+
+    @Test
+    public void shouldDeleteOldestSegmentWhenMaximumBytesReached() throws IOException {
+        // given
+        List<LogEntry> evicted = new ArrayList<>();
+        LogEntryJournal logEntryJournal = new LogEntryJournal(directory, 2 * 64 * 1024, 0, evicted::add);
+        logEntryJournal.replay();
+
+        // when
+        List<LogEntry> stored = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            stored.add(logEntryJournal.store(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/some_path_" + i).withBody(body))
+            ));
+        }
+        logEntryJournal.close();
+
+        // then
+        assertThat(logEntryJournal.size(), is(0L));
+        assertThat(evicted, is(not(empty())));
+        assertThat(evicted, is(stored.subList(0, evicted.size())));
+        assertThat(journalFiles(), is(2L));
+        List<LogEntry> replayed = new LogEntryJournal(directory, 2 * 64 * 1024, 0, null).replay();
+        assertThat(replayed.size(), is(200 - evicted.size()));
+        assertThat(replayed.get(replayed.size() - 1).getHttpRequest(), is(request("/some_path_199").withBody(body)));
+    }
+
+    @Test
+    public void shouldOnlyReplayLogEntriesWithinMaximumAge() {
+        // given - old entries followed by recent entries in the same segment
+        LogEntryJournal logEntryJournal = new LogEntryJournal(directory, 1024 * 1024, 0, null);
+        logEntryJournal.replay();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 50; i++) {
+            logEntryJournal.store(
+                new LogEntry()
+                    .setEpochTime(now - 60_000)
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/old_path_" + i).withBody(body))
+            );
+        }
+        for (int i = 0; i < 5; i++) {
+            logEntryJournal.store(
+                new LogEntry()
+                    .setEpochTime(now)
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/recent_path_" + i).withBody(body))
+            );
+        }
+        logEntryJournal.close();
+
+        // when
+        List<LogEntry> replayed = new LogEntryJournal(directory, 1024 * 1024, 30_000, null).replay();
+
+        // then
+        assertThat(replayed.size(), is(5));
+        assertThat(replayed.get(0).getHttpRequest(), is(request("/recent_path_0").withBody(body)));
+    }
+
+    @Test
+    public void shouldDeleteSegmentsOlderThanMaximumAge() throws IOException {
+        // given
+        LogEntryJournal logEntryJournal = new LogEntryJournal(directory, 1024 * 1024, 0, null);
+        logEntryJournal.replay();
+        logEntryJournal.store(
+            new LogEntry()
+                .setEpochTime(System.currentTimeMillis() - 60_000)
+                .setType(RECEIVED_REQUEST)
+                .setHttpRequest(request("/old_path"))
+        );
+        logEntryJournal.close();
+
+        // when
+        List<LogEntry> replayed = new LogEntryJournal(directory, 1024 * 1024, 30_000, null).replay();
+
+        // then
+        assertThat(replayed, is(empty()));
+        assertThat(journalFiles(), is(0L));
+    }
+
+    @Test
+    public void shouldReplayLogEntriesWhenIndexMissing() throws IOException {
+        // given
+        LogEntryJournal logEntryJournal = new LogEntryJournal(directory, 1024 * 1024, 0, null);
+        logEntryJournal.replay();
+        for (int i = 0; i < 20; i++) {
+            logEntryJournal.store(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/some_path_" + i).withBody(body))
+            );
+        }
+        logEntryJournal.close();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path index : paths.filter(path -> path.toString().endsWith(".index")).collect(Collectors.toList())) {
+                Files.delete(index);
+            }
+        }
+
+        // when
+        List<LogEntry> replayed = new LogEntryJournal(directory, 1024 * 1024, 0, null).replay();
+
+        // then
+        assertThat(replayed.size(), is(20));
+        assertThat(replayed.get(19).getHttpRequest(), is(request("/some_path_19").withBody(body)));
+    }
+
+    @Test
+    public void shouldDeleteJournalFilesWhenCleared() throws IOException {
+        // given
+        LogEntryJournal logEntryJournal = new LogEntryJournal(directory, 1024 * 1024, 0, null);
+        logEntryJournal.replay();
+        logEntryJournal.store(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/some_path")));
+
+        // when
+        logEntryJournal.clear();
+
+        // then
+        assertThat(logEntryJournal.size(), is(0L));
+        try (Stream<Path> paths = Files.list(directory)) {
+            assertThat(paths.filter(path -> !path.endsWith("logEntries.lock")).count(), is(0L));
+        }
+    }
+
+    @Test
+    public void shouldTruncateSegmentAtCorruptRecord() throws IOException {
+        // given
+        LogEntryJournal logEntryJournal = new LogEntryJournal(directory, 1024 * 1024, 0, null);
+        logEntryJournal.replay();
+        for (int i = 0; i < 10; i++) {
+            logEntryJournal.store(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/some_path_" + i)));
+        }
+        logEntryJournal.close();
+        Path segment = segment();
+        List<Integer> recordOffsets = recordOffsets(segment);
+        try (FileChannel channel = FileChannel.open(segment, WRITE)) {
+            // an invalid type after the length and epoch time
+            channel.write(ByteBuffer.wrap(new byte[]{Byte.MAX_VALUE}), recordOffsets.get(5) + Integer.BYTES + Long.BYTES);
+        }
+
+        // when
+        LogEntryJournal reopenedLogEntryJournal = new LogEntryJournal(directory, 1024 * 1024, 0, null);
+        List<LogEntry> replayed = reopenedLogEntryJournal.replay();
+
+        // then
+        assertThat(replayed.size(), is(5));
+        assertThat(replayed.get(4).getHttpRequest(), is(request("/some_path_4")));
+
+        // and - new entries are appended after the last valid record
+        reopenedLogEntryJournal.store(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/some_path_10")));
+        reopenedLogEntryJournal.close();
+        List<LogEntry> replayedAgain = new LogEntryJournal(directory, 1024 * 1024, 0, null).replay();
+        assertThat(replayedAgain.size(), is(6));
+        assertThat(replayedAgain.get(5).getHttpRequest(), is(request("/some_path_10")));
+    }
+
+    @Test
+    public void shouldTruncateSegmentAtPartiallyWrittenRecord() throws IOException {
+        // given
+        LogEntryJournal logEntryJournal = new LogEntryJournal(directory, 1024 * 1024, 0, null);
+        logEntryJournal.replay();
+        for (int i = 0; i < 10; i++) {
+            logEntryJournal.store(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/some_path_" + i).withBody(body)));
+        }
+        logEntryJournal.close();
+        Path segment = segment();
+        List<Integer> recordOffsets = recordOffsets(segment);
+        try (FileChannel channel = FileChannel.open(segment, WRITE)) {
+            // the file ends part way through the last record
+            channel.truncate(recordOffsets.get(9) + 100);
+        }
+
+        // when
+        LogEntryJournal reopenedLogEntryJournal = new LogEntryJournal(directory, 1024 * 1024, 0, null);
+        List<LogEntry> replayed = reopenedLogEntryJournal.replay();
+
+        // then
+        assertThat(replayed.size(), is(9));
+        assertThat(replayed.get(8).getHttpRequest(), is(request("/some_path_8").withBody(body)));
+        reopenedLogEntryJournal.close();
+    }
+
+    @Test
+    public void shouldNotReplayJournalLockedByAnotherJournal() {
+        // given
+        LogEntryJournal logEntryJournal = new LogEntryJournal(directory, 1024 * 1024, 0, null);
+        logEntryJournal.replay();
+        logEntryJournal.store(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/some_path")));
+
+        try {
+            // when
+            new LogEntryJournal(directory, 1024 * 1024, 0, null).replay();
+
+            // then
+            fail("expected exception to be thrown");
+        } catch (UncheckedIOException uioe) {
+            assertThat(uioe.getCause().getMessage(), is("log entry journal directory is locked by another process"));
+        }
+
+        // and - the directory can be opened once the journal is closed
+        logEntryJournal.close();
+        LogEntryJournal reopenedLogEntryJournal = new LogEntryJournal(directory, 1024 * 1024, 0, null);
+        assertThat(reopenedLogEntryJournal.replay().size(), is(1));
+        reopenedLogEntryJournal.close();
+    }
+
+    private Path segment() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.toString().endsWith(".journal")).findFirst().orElseThrow(() -> new AssertionError("no journal segment"));
+        }
+    }
+
+    private List<Integer> recordOffsets(Path segment) throws IOException {
+        ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(segment));
+        List<Integer> recordOffsets = new ArrayList<>();
+        int length;
+        while (records.remaining() >= Integer.BYTES && (length = records.getInt(records.position())) > 0) {
+            recordOffsets.add(records.position());
+            records.position(records.position() + Integer.BYTES + length);
+        }
+        return recordOffsets;
+    }
+
+    private long journalFiles() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.toString().endsWith(".journal")).count();
+        }
+    }
+}
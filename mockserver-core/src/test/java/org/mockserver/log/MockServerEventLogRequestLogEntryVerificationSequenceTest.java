@@ -288,6 +288,48 @@ public class MockServerEventLogRequestLogEntryVerificationSequenceTest {
             is(""));
     }
 
+    @Test
+    public void shouldPassVerificationSequenceWithRequestsSpreadAcrossLargeLog() {
+        // given - processed synchronously so no entries are dropped while filling the log
+        mockServerEventLog = new MockServerEventLog(new MockServerLogger(), scheduler, false);
+        for (int i = 0; i < 3000; i++) {
+            String path = i == 10 ? "one" : i == 1500 ? "some_other" : i == 2900 ? "two" : "filler_" + i;
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setHttpRequest(request(path))
+                    .setType(RECEIVED_REQUEST)
+            );
+        }
+
+        // then
+        assertThat(verify(
+            new VerificationSequence()
+                .withRequests(
+                    request("one"),
+                    request("some_.*"),
+                    request("two")
+                )
+            ),
+            is(""));
+        assertThat(verify(
+            new VerificationSequence()
+                .withRequests(
+                    request("one"),
+                    request("filler_2999")
+                )
+            ),
+            is(""));
+        assertThat(verify(
+            new VerificationSequence()
+                .withRequests(
+                    request("two"),
+                    request("some_.*")
+                )
+            ).startsWith("Request sequence not found"),
+            is(true));
+        mockServerEventLog.stop();
+    }
+
     @Test
     public void shouldFailVerificationSequenceWithOneRequest() {
         // when
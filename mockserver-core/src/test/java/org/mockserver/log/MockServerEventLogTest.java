@@ -8,18 +8,35 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.matchers.TimeToLive;
 import org.mockserver.matchers.Times;
+import org.mockserver.metrics.Metrics;
 import org.mockserver.mock.Expectation;
 import org.mockserver.mock.HttpState;
 import org.mockserver.model.RequestDefinition;
 import org.mockserver.scheduler.Scheduler;
 import org.slf4j.event.Level;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.hamcrest.core.Is.is;
@@ -30,6 +47,9 @@ import static org.mockserver.log.model.LogEntryMessages.RECEIVED_REQUEST_MESSAGE
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.notFoundResponse;
 import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.verify.Verification.verification;
+import static org.mockserver.verify.VerificationTimes.exactly;
+import static org.mockserver.verify.VerificationTimes.once;
 import static org.slf4j.event.Level.INFO;
 
 public class MockServerEventLogTest {
@@ -955,4 +975,589 @@ public class MockServerEventLogTest {
             ConfigurationProperties.logLevel(originalLevel.name());
         }
     }
+
+    @Test
+    public void shouldResetEntriesLoggedBeforeReset() {
+        // given
+        for (int i = 0; i < 500; i++) {
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/request_" + i))
+            );
+        }
+
+        // when
+        mockServerEventLog.reset();
+
+        // then
+        assertThat(retrieveRequests(null), empty());
+        assertThat(mockServerEventLog.size(), is(0));
+    }
+
+    @Test
+    public void shouldRetrieveRequestsOnManyThreadsWhileLogging() throws Exception {
+        // given
+        int numberOfRequests = 500;
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> logging = executorService.submit(() -> {
+                for (int i = 0; i < numberOfRequests; i++) {
+                    mockServerEventLog.add(
+                        new LogEntry()
+                            .setType(RECEIVED_REQUEST)
+                            .setHttpRequest(request("/request_" + i))
+                    );
+                }
+            });
+
+            // when
+            List<Future<Boolean>> readers = new ArrayList<>();
+            for (int reader = 0; reader < 3; reader++) {
+                readers.add(executorService.submit(() -> {
+                    int previousSize = 0;
+                    while (!logging.isDone()) {
+                        List<RequestDefinition> requests = retrieveRequests(null);
+                        // every read is a consistent snapshot in the order requests were logged
+                        for (int i = 0; i < requests.size(); i++) {
+                            if (!requests.get(i).equals(request("/request_" + i)) || requests.size() < previousSize) {
+                                return false;
+                            }
+                        }
+                        previousSize = requests.size();
+                    }
+                    return true;
+                }));
+            }
+            logging.get(60, SECONDS);
+
+            // then
+            for (Future<Boolean> reader : readers) {
+                assertThat(reader.get(60, SECONDS), is(true));
+            }
+            assertThat(retrieveRequests(null).size(), is(numberOfRequests));
+            assertThat(retrieveRequests(request("/request_" + (numberOfRequests - 1))), contains(request("/request_" + (numberOfRequests - 1))));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldAddLogEntryWithoutCopyingIt() {
+        // given
+        LogEntry logEntry = new LogEntry()
+            .setType(RECEIVED_REQUEST)
+            .setHttpRequest(request("/some_path"))
+            .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+            .setArguments(request("/some_path"));
+
+        // when
+        mockServerEventLog.add(logEntry);
+
+        // then
+        List<LogEntry> logEntries = retrieveMessageLogEntries(request("/some_path"));
+        assertThat(logEntries.size(), is(1));
+        assertThat(logEntries.get(0), sameInstance(logEntry));
+        assertThat(logEntry.getHttpRequest(), is(request("/some_path")));
+    }
+
+    @Test
+    public void shouldNotifyListenersOncePerBatch() {
+        boolean originalMetricsEnabled = ConfigurationProperties.metricsEnabled();
+        MockServerEventLog batchedEventLog = null;
+        try {
+            // given
+            ConfigurationProperties.metricsEnabled(true);
+            Metrics.clear();
+            AtomicInteger notifications = new AtomicInteger();
+            batchedEventLog = new MockServerEventLog(new MockServerLogger(), new Scheduler(new MockServerLogger(), true), true);
+            batchedEventLog.registerListener(eventLog -> notifications.incrementAndGet());
+
+            // when
+            for (int i = 0; i < 1000; i++) {
+                batchedEventLog.add(
+                    new LogEntry()
+                        .setType(RECEIVED_REQUEST)
+                        .setHttpRequest(request("/request_" + i))
+                );
+            }
+            CompletableFuture<List<RequestDefinition>> requests = new CompletableFuture<>();
+            batchedEventLog.retrieveRequests(null, requests::complete);
+
+            // then
+            assertThat(requests.get(60, SECONDS).size(), is(1000));
+            assertThat(notifications.get(), is(Metrics.get(Metrics.Name.LOG_ENTRY_BATCH_COUNT)));
+            assertThat(notifications.get(), is(both(greaterThanOrEqualTo(1)).and(lessThanOrEqualTo(1000))));
+            assertThat(Metrics.get(Metrics.Name.LOG_ENTRY_MAX_BATCH_SIZE), is(both(greaterThanOrEqualTo(1000 / notifications.get())).and(lessThanOrEqualTo(1000))));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        } finally {
+            if (batchedEventLog != null) {
+                batchedEventLog.stop();
+            }
+            ConfigurationProperties.metricsEnabled(originalMetricsEnabled);
+            Metrics.clear();
+        }
+    }
+
+    @Test
+    public void shouldCoalesceListenerNotificationsWithinInterval() throws Exception {
+        long originalLogListenerNotificationInterval = ConfigurationProperties.logListenerNotificationInterval();
+        Scheduler scheduler = new Scheduler(new MockServerLogger());
+        MockServerEventLog coalescingEventLog = null;
+        try {
+            // given
+            ConfigurationProperties.logListenerNotificationInterval(SECONDS.toMillis(60));
+            AtomicInteger notifications = new AtomicInteger();
+            coalescingEventLog = new MockServerEventLog(new MockServerLogger(), scheduler, true);
+            coalescingEventLog.registerListener(eventLog -> notifications.incrementAndGet());
+            coalescingEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/request_0")));
+            long deadline = System.currentTimeMillis() + SECONDS.toMillis(10);
+            while (notifications.get() == 0 && System.currentTimeMillis() < deadline) {
+                MILLISECONDS.sleep(10);
+            }
+
+            // when
+            for (int i = 1; i < 10; i++) {
+                coalescingEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/request_" + i)));
+                MILLISECONDS.sleep(5);
+            }
+            CompletableFuture<List<RequestDefinition>> requests = new CompletableFuture<>();
+            coalescingEventLog.retrieveRequests(null, requests::complete);
+
+            // then
+            assertThat(requests.get(60, SECONDS).size(), is(10));
+            MILLISECONDS.sleep(100);
+            assertThat(notifications.get(), is(1));
+        } finally {
+            if (coalescingEventLog != null) {
+                coalescingEventLog.stop();
+            }
+            scheduler.shutdown();
+            ConfigurationProperties.logListenerNotificationInterval(originalLogListenerNotificationInterval);
+        }
+    }
+
+    @Test
+    public void shouldCountLogEntriesDroppedWhenRingBufferFull() throws Exception {
+        CountDownLatch processing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MockServerEventLog fullEventLog = fullEventLog(LogEntryOverflowPolicy.DROP, processing, release);
+        try {
+            // when
+            for (int i = 0; i < 5; i++) {
+                fullEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/dropped_" + i)));
+            }
+            fullEventLog.add(new LogEntry().setType(EXPECTATION_MATCHED));
+            release.countDown();
+
+            // then
+            Map<LogEntry.LogMessageType, Long> expectedDroppedLogEntries = new EnumMap<>(LogEntry.LogMessageType.class);
+            expectedDroppedLogEntries.put(RECEIVED_REQUEST, 5L);
+            expectedDroppedLogEntries.put(EXPECTATION_MATCHED, 1L);
+            assertThat(fullEventLog.droppedLogEntries(), is(expectedDroppedLogEntries));
+            CompletableFuture<List<RequestDefinition>> requests = new CompletableFuture<>();
+            fullEventLog.retrieveRequests(request("/dropped_.*"), requests::complete);
+            assertThat(requests.get(60, SECONDS), empty());
+
+            // when
+            fullEventLog.reset();
+
+            // then
+            assertThat(fullEventLog.droppedLogEntries().isEmpty(), is(true));
+        } finally {
+            release.countDown();
+            fullEventLog.stop();
+        }
+    }
+
+    @Test
+    public void shouldWaitForSpaceWhenRingBufferFull() throws Exception {
+        CountDownLatch processing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MockServerEventLog fullEventLog = fullEventLog(LogEntryOverflowPolicy.BLOCK, processing, release);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            // when
+            Future<?> adding = executorService.submit(() -> fullEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/blocked"))));
+
+            // then
+            MILLISECONDS.sleep(100);
+            assertThat(adding.isDone(), is(false));
+
+            // when
+            release.countDown();
+
+            // then
+            adding.get(60, SECONDS);
+            CompletableFuture<List<RequestDefinition>> requests = new CompletableFuture<>();
+            fullEventLog.retrieveRequests(request("/blocked"), requests::complete);
+            assertThat(requests.get(60, SECONDS), contains(request("/blocked")));
+            assertThat(fullEventLog.droppedLogEntries().isEmpty(), is(true));
+        } finally {
+            release.countDown();
+            executorService.shutdownNow();
+            fullEventLog.stop();
+        }
+    }
+
+    @Test
+    public void shouldSampleReceivedRequestsWhenRingBufferFull() throws Exception {
+        int originalLogEntryOverflowSampleRate = ConfigurationProperties.logEntryOverflowSampleRate();
+        ConfigurationProperties.logEntryOverflowSampleRate(3);
+        CountDownLatch processing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MockServerEventLog fullEventLog = fullEventLog(LogEntryOverflowPolicy.SAMPLE, processing, release);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            // when - the first two received requests and any other entries are dropped
+            fullEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/dropped_0")));
+            fullEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/dropped_1")));
+            fullEventLog.add(new LogEntry().setType(EXPECTATION_MATCHED));
+            Future<?> adding = executorService.submit(() -> fullEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/sampled"))));
+
+            // then - the third received request waits for space
+            MILLISECONDS.sleep(100);
+            assertThat(adding.isDone(), is(false));
+
+            // when
+            release.countDown();
+
+            // then
+            adding.get(60, SECONDS);
+            CompletableFuture<List<RequestDefinition>> requests = new CompletableFuture<>();
+            fullEventLog.retrieveRequests(request("/(dropped_.*|sampled)"), requests::complete);
+            assertThat(requests.get(60, SECONDS), contains(request("/sampled")));
+            Map<LogEntry.LogMessageType, Long> expectedDroppedLogEntries = new EnumMap<>(LogEntry.LogMessageType.class);
+            expectedDroppedLogEntries.put(RECEIVED_REQUEST, 2L);
+            expectedDroppedLogEntries.put(EXPECTATION_MATCHED, 1L);
+            assertThat(fullEventLog.droppedLogEntries(), is(expectedDroppedLogEntries));
+        } finally {
+            release.countDown();
+            executorService.shutdownNow();
+            fullEventLog.stop();
+            ConfigurationProperties.logEntryOverflowSampleRate(originalLogEntryOverflowSampleRate);
+        }
+    }
+
+    /**
+     * Returns an event log with a full ring buffer, the event processing thread waits for the release latch while
+     * notifying a listener of the first entry
+     */
+    private MockServerEventLog fullEventLog(LogEntryOverflowPolicy logEntryOverflowPolicy, CountDownLatch processing, CountDownLatch release) throws InterruptedException {
+        LogEntryOverflowPolicy originalLogEntryOverflowPolicy = ConfigurationProperties.logEntryOverflowPolicy();
+        try {
+            ConfigurationProperties.logEntryOverflowPolicy(logEntryOverflowPolicy);
+            MockServerEventLog fullEventLog = new MockServerEventLog(new MockServerLogger(), new Scheduler(new MockServerLogger(), true), true);
+            fullEventLog.registerListener(eventLog -> {
+                processing.countDown();
+                try {
+                    release.await(60, SECONDS);
+                } catch (InterruptedException ignore) {
+                    // released
+                }
+            });
+            fullEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/processing")));
+            assertThat(processing.await(60, SECONDS), is(true));
+            // the slot of the entry being processed is not released until the listener returns
+            for (int i = 1; i < ConfigurationProperties.ringBufferSize(); i++) {
+                fullEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/queued_" + i)));
+            }
+            return fullEventLog;
+        } finally {
+            ConfigurationProperties.logEntryOverflowPolicy(originalLogEntryOverflowPolicy);
+        }
+    }
+
+    @Test
+    public void shouldRetrieveAndVerifyLogEntriesStoredOffHeap() throws Exception {
+        long originalMaxLogEntriesOffHeapBytes = ConfigurationProperties.maxLogEntriesOffHeapBytes();
+        MockServerEventLog offHeapEventLog = null;
+        try {
+            // given
+            ConfigurationProperties.maxLogEntriesOffHeapBytes(1024 * 1024);
+            offHeapEventLog = new MockServerEventLog(new MockServerLogger(), mock(Scheduler.class), false);
+            for (int i = 0; i < 10; i++) {
+                offHeapEventLog.add(
+                    new LogEntry()
+                        .setType(RECEIVED_REQUEST)
+                        .setHttpRequest(request("/request_" + i).withMethod(i % 2 == 0 ? "GET" : "POST"))
+                        .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                        .setArguments(request("/request_" + i))
+                );
+            }
+
+            // when
+            CompletableFuture<List<RequestDefinition>> requests = new CompletableFuture<>();
+            offHeapEventLog.retrieveRequests(request().withMethod("POST"), requests::complete);
+
+            // then
+            assertThat(offHeapEventLog.size(), is(10));
+            assertThat(requests.get(60, SECONDS), contains(
+                request("/request_1").withMethod("POST"),
+                request("/request_3").withMethod("POST"),
+                request("/request_5").withMethod("POST"),
+                request("/request_7").withMethod("POST"),
+                request("/request_9").withMethod("POST")
+            ));
+            assertThat(offHeapEventLog.verify(verification().withRequest(request("/request_4")).withTimes(once())).get(60, SECONDS), is(""));
+
+            // when
+            offHeapEventLog.clear(request("/request_4"));
+
+            // then
+            assertThat(offHeapEventLog.verify(verification().withRequest(request("/request_4")).withTimes(exactly(0))).get(60, SECONDS), is(""));
+        } finally {
+            if (offHeapEventLog != null) {
+                offHeapEventLog.stop();
+            }
+            ConfigurationProperties.maxLogEntriesOffHeapBytes(originalMaxLogEntriesOffHeapBytes);
+        }
+    }
+
+    @Test
+    public void shouldReplayPersistedLogEntriesAfterRestart() throws Exception {
+        boolean originalPersistLogEntries = ConfigurationProperties.persistLogEntries();
+        String originalPersistedLogEntriesPath = ConfigurationProperties.persistedLogEntriesPath();
+        MockServerEventLog persistedEventLog = null;
+        try {
+            // given
+            ConfigurationProperties.persistLogEntries(true);
+            ConfigurationProperties.persistedLogEntriesPath(Files.createTempDirectory("persistedLogEntries").toString());
+            persistedEventLog = new MockServerEventLog(new MockServerLogger(), mock(Scheduler.class), false);
+            for (int i = 0; i < 10; i++) {
+                persistedEventLog.add(
+                    new LogEntry()
+                        .setType(RECEIVED_REQUEST)
+                        .setHttpRequest(request("/request_" + i).withMethod(i % 2 == 0 ? "GET" : "POST"))
+                        .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                        .setArguments(request("/request_" + i))
+                );
+            }
+            persistedEventLog.stop();
+
+            // when
+            persistedEventLog = new MockServerEventLog(new MockServerLogger(), mock(Scheduler.class), false);
+            CompletableFuture<List<RequestDefinition>> requests = new CompletableFuture<>();
+            persistedEventLog.retrieveRequests(request().withMethod("POST"), requests::complete);
+
+            // then
+            assertThat(persistedEventLog.size(), is(10));
+            assertThat(requests.get(60, SECONDS), contains(
+                request("/request_1").withMethod("POST"),
+                request("/request_3").withMethod("POST"),
+                request("/request_5").withMethod("POST"),
+                request("/request_7").withMethod("POST"),
+                request("/request_9").withMethod("POST")
+            ));
+            assertThat(persistedEventLog.verify(verification().withRequest(request("/request_4")).withTimes(once())).get(60, SECONDS), is(""));
+
+            // when
+            persistedEventLog.reset();
+            persistedEventLog.stop();
+            persistedEventLog = new MockServerEventLog(new MockServerLogger(), mock(Scheduler.class), false);
+
+            // then
+            assertThat(persistedEventLog.size(), is(0));
+        } finally {
+            if (persistedEventLog != null) {
+                persistedEventLog.reset();
+                persistedEventLog.stop();
+            }
+            Files.deleteIfExists(Paths.get(ConfigurationProperties.persistedLogEntriesPath(), "logEntries.lock"));
+            Files.deleteIfExists(Paths.get(ConfigurationProperties.persistedLogEntriesPath()));
+            ConfigurationProperties.persistLogEntries(originalPersistLogEntries);
+            ConfigurationProperties.persistedLogEntriesPath(originalPersistedLogEntriesPath);
+        }
+    }
+
+    @Test
+    public void shouldRetrieveLogEntriesWithLiteralPathIncludingEntriesThatMatchAnyPath() {
+        Level originalLevel = ConfigurationProperties.logLevel();
+        try {
+            // given
+            ConfigurationProperties.logLevel("INFO");
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/some_path"))
+            );
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/some_other_path"))
+            );
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/some_.*"))
+            );
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request().withMethod("GET"))
+            );
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/SOME_PATH"))
+            );
+
+            // then
+            assertThat(retrieveRequests(request("/some_path")), contains(
+                request("/some_path"),
+                request("/some_.*"),
+                request().withMethod("GET"),
+                request("/SOME_PATH")
+            ));
+            assertThat(retrieveRequests(request("/some_other_path").withMethod("GET")), contains(
+                request("/some_other_path"),
+                request("/some_.*"),
+                request().withMethod("GET")
+            ));
+        } finally {
+            ConfigurationProperties.logLevel(originalLevel.name());
+        }
+    }
+
+    @Test
+    public void shouldRetrieveRequestsInPages() throws Exception {
+        // given - enough entries that pages span several batches of candidates
+        MockServerEventLog mockServerEventLog = new MockServerEventLog(mockServerLogger, mock(Scheduler.class), false);
+        for (int i = 0; i < 2500; i++) {
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/some_path_" + i))
+            );
+            mockServerEventLog.add(
+                new LogEntry()
+                    .setType(NO_MATCH_RESPONSE)
+                    .setHttpRequest(request("/some_path_" + i))
+            );
+        }
+        RequestDefinition requestMatcher = request("/some_path_.*7");
+
+        // when
+        List<RequestDefinition> pagedRequests = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        LogEntryPage page = new LogEntryPage(null, 100);
+        while (page != null) {
+            CompletableFuture<List<RequestDefinition>> result = new CompletableFuture<>();
+            mockServerEventLog.retrieveRequests(requestMatcher, page, result::complete);
+            List<RequestDefinition> requests = result.get(60, SECONDS);
+            pagedRequests.addAll(requests);
+            pageSizes.add(requests.size());
+            page = page.getNextAfter() != null ? new LogEntryPage(page.getNextAfter(), 100) : null;
+        }
+
+        // then
+        assertThat(pageSizes, contains(100, 100, 50));
+        assertThat(pagedRequests.size(), is(250));
+        assertThat(pagedRequests.get(0), is(request("/some_path_7")));
+        assertThat(pagedRequests.get(249), is(request("/some_path_2497")));
+        mockServerEventLog.stop();
+    }
+
+    @Test
+    public void shouldVerifyReceivedRequestsEvictedFromLogWithVerificationCounters() throws Exception {
+        boolean originalVerificationCounters = ConfigurationProperties.verificationCounters();
+        int originalMaxLogEntries = ConfigurationProperties.maxLogEntries();
+        MockServerEventLog mockServerEventLog = null;
+        try {
+            // given
+            ConfigurationProperties.verificationCounters(true);
+            ConfigurationProperties.maxLogEntries(5);
+            mockServerEventLog = new MockServerEventLog(mockServerLogger, mock(Scheduler.class), false);
+            for (int i = 0; i < 3; i++) {
+                mockServerEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/some_path")));
+            }
+            mockServerEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/some_other_path")));
+            assertThat(mockServerEventLog.verify(verification().withRequest(request("/some_path")).withTimes(exactly(3))).get(10, SECONDS), is(""));
+
+            // when - more requests are received than the log holds
+            for (int i = 0; i < 10; i++) {
+                mockServerEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/some_path")));
+            }
+
+            // then - requests evicted after the first verification are still counted
+            assertThat(mockServerEventLog.verify(verification().withRequest(request("/some_path")).withTimes(exactly(13))).get(10, SECONDS), is(""));
+            assertThat(mockServerEventLog.verify(verification().withRequest(request("/some_path")).withTimes(exactly(5))).get(10, SECONDS), startsWith("Request not found exactly 5 times"));
+            // and - requests verified for the first time are counted from the log
+            assertThat(mockServerEventLog.verify(verification().withRequest(request("/some_other_path")).withTimes(exactly(0))).get(10, SECONDS), is(""));
+
+            // when - the log is cleared
+            mockServerEventLog.clear(request("/some_path"));
+
+            // then - counting starts again from the log
+            assertThat(mockServerEventLog.verify(verification().withRequest(request("/some_path")).withTimes(exactly(0))).get(10, SECONDS), is(""));
+            mockServerEventLog.add(new LogEntry().setType(RECEIVED_REQUEST).setHttpRequest(request("/some_path")));
+            assertThat(mockServerEventLog.verify(verification().withRequest(request("/some_path")).withTimes(exactly(1))).get(10, SECONDS), is(""));
+        } finally {
+            if (mockServerEventLog != null) {
+                mockServerEventLog.stop();
+            }
+            ConfigurationProperties.verificationCounters(originalVerificationCounters);
+            ConfigurationProperties.maxLogEntries(originalMaxLogEntries);
+        }
+    }
+
+    @Test
+    public void shouldRetrieveLogEntriesForCorrelationId() {
+        Level originalLevel = ConfigurationProperties.logLevel();
+        try {
+            // given
+            ConfigurationProperties.logLevel("INFO");
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setCorrelationId("correlation_one")
+                    .setHttpRequest(request("request_one"))
+            );
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setCorrelationId("correlation_two")
+                    .setHttpRequest(request("request_two"))
+            );
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(NO_MATCH_RESPONSE)
+                    .setCorrelationId("correlation_one")
+                    .setHttpRequest(request("request_one"))
+                    .setHttpResponse(notFoundResponse())
+            );
+
+            // when
+            CompletableFuture<List<LogEntry>> future = new CompletableFuture<>();
+            mockServerEventLog.retrieveMessageLogEntriesForCorrelationId("correlation_one", future::complete);
+
+            // then
+            assertThat(future.get(60, SECONDS), contains(
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(RECEIVED_REQUEST)
+                    .setCorrelationId("correlation_one")
+                    .setHttpRequest(request("request_one")),
+                new LogEntry()
+                    .setLogLevel(INFO)
+                    .setType(NO_MATCH_RESPONSE)
+                    .setCorrelationId("correlation_one")
+                    .setHttpRequest(request("request_one"))
+                    .setHttpResponse(notFoundResponse())
+            ));
+        } catch (Exception e) {
+            fail(e.getMessage());
+        } finally {
+            ConfigurationProperties.logLevel(originalLevel.name());
+        }
+    }
 }
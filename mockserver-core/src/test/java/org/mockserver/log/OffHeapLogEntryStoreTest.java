@@ -0,0 +1,88 @@
+package org.mockserver.log;
+
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.MatcherBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.model.HttpRequest.request;
+
+/**
+ * @author jamesdbloom
+ */
+public class OffHeapLogEntryStoreTest {
+
+    @Test
+    public void shouldStoreLogEntryThatMatchesAsOriginal() {
+        // given
+        OffHeapLogEntryStore offHeapLogEntryStore = new OffHeapLogEntryStore(512 * 1024, null);
+        LogEntry logEntry = new LogEntry()
+            .setType(RECEIVED_REQUEST)
+            .setCorrelationId("some_correlation_id")
+            .setHttpRequest(request("/some_path").withMethod("GET"))
+            .setMessageFormat("received request:{}")
+            .setArguments(request("/some_path").withMethod("GET"));
+
+        // when
+        LogEntry storedLogEntry = offHeapLogEntryStore.store(logEntry);
+
+        // then
+        assertThat(storedLogEntry, instanceOf(OffHeapLogEntry.class));
+        assertThat(storedLogEntry.id(), is(logEntry.id()));
+        assertThat(storedLogEntry.getType(), is(RECEIVED_REQUEST));
+        assertThat(storedLogEntry.getCorrelationId(), is("some_correlation_id"));
+        assertThat(storedLogEntry.getHttpRequests(), is(logEntry.getHttpRequests()));
+        assertThat(storedLogEntry.getMessage(), is(logEntry.getMessage()));
+        assertThat(storedLogEntry.matches(new MatcherBuilder(new MockServerLogger()).transformsToMatcher(request("/some_path"))), is(true));
+        assertThat(storedLogEntry.matches(new MatcherBuilder(new MockServerLogger()).transformsToMatcher(request("/some_other_path"))), is(false));
+        assertThat(offHeapLogEntryStore.size(), is(64L * 1024));
+    }
+
+    @Test
+    public void shouldEvictOldestSegmentWhenMaximumBytesReached() {
+        // given
+        List<LogEntry> evicted = new ArrayList<>();
+        OffHeapLogEntryStore offHeapLogEntryStore = new OffHeapLogEntryStore(2 * 64 * 1024, evicted::add);
+        String body = new String(new char[1024]).replace('\0', 'a');
+
+        // when
+        List<LogEntry> stored = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            stored.add(offHeapLogEntryStore.store(
+                new LogEntry()
+                    .setType(RECEIVED_REQUEST)
+                    .setHttpRequest(request("/some_path_" + i).withBody(body))
+            ));
+        }
+
+        // then
+        assertThat(offHeapLogEntryStore.size(), is(2L * 64 * 1024));
+        assertThat(evicted, is(not(empty())));
+        assertThat(evicted, is(stored.subList(0, evicted.size())));
+        assertThat(stored.get(199).getHttpRequest(), is(request("/some_path_199").withBody(body)));
+    }
+
+    @Test
+    public void shouldNotStoreLogEntryLargerThanMaximumBytes() {
+        // given
+        OffHeapLogEntryStore offHeapLogEntryStore = new OffHeapLogEntryStore(1024, null);
+
+        // when
+        LogEntry storedLogEntry = offHeapLogEntryStore.store(
+            new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setHttpRequest(request("/some_path").withBody(new String(new char[2048]).replace('\0', 'a')))
+        );
+
+        // then
+        assertThat(storedLogEntry, nullValue());
+        assertThat(offHeapLogEntryStore.size(), is(0L));
+    }
+}
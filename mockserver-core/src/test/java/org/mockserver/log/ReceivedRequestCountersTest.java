@@ -0,0 +1,103 @@
+package org.mockserver.log;
+
+import org.junit.Test;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.model.HttpRequest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockserver.log.model.LogEntry.LogMessageType.RECEIVED_REQUEST;
+import static org.mockserver.model.HttpRequest.request;
+
+/**
+ * @author jamesdbloom
+ */
+public class ReceivedRequestCountersTest {
+
+    private final MatcherBuilder matcherBuilder = new MatcherBuilder(new MockServerLogger(ReceivedRequestCountersTest.class));
+
+    private HttpRequestMatcher register(ReceivedRequestCounters receivedRequestCounters, HttpRequest httpRequest) {
+        HttpRequestMatcher httpRequestMatcher = spy(matcherBuilder.transformsToMatcher(httpRequest));
+        receivedRequestCounters.register(httpRequest, httpRequestMatcher, 0);
+        return httpRequestMatcher;
+    }
+
+    private LogEntry receivedRequest(HttpRequest httpRequest) {
+        return new LogEntry()
+            .setType(RECEIVED_REQUEST)
+            .setHttpRequest(httpRequest);
+    }
+
+    @Test
+    public void shouldCountMatchingReceivedRequests() {
+        // given
+        ReceivedRequestCounters receivedRequestCounters = new ReceivedRequestCounters(10);
+        register(receivedRequestCounters, request().withMethod("GET").withPath("/one"));
+        register(receivedRequestCounters, request().withPath("/two/[a-z]+"));
+        register(receivedRequestCounters, request());
+
+        // when
+        receivedRequestCounters.received(receivedRequest(request().withMethod("GET").withPath("/one")));
+        receivedRequestCounters.received(receivedRequest(request().withMethod("POST").withPath("/one")));
+        receivedRequestCounters.received(receivedRequest(request().withMethod("GET").withPath("/two/abc")));
+
+        // then
+        assertThat(receivedRequestCounters.count(request().withMethod("GET").withPath("/one")), is(1L));
+        assertThat(receivedRequestCounters.count(request().withPath("/two/[a-z]+")), is(1L));
+        assertThat(receivedRequestCounters.count(request()), is(3L));
+        assertThat(receivedRequestCounters.count(request().withPath("/three")), is(nullValue()));
+    }
+
+    @Test
+    public void shouldOnlyMatchCountersThatCouldMatchMethodAndPath() {
+        // given
+        ReceivedRequestCounters receivedRequestCounters = new ReceivedRequestCounters(10);
+        HttpRequestMatcher one = register(receivedRequestCounters, request().withMethod("GET").withPath("/one"));
+        HttpRequestMatcher two = register(receivedRequestCounters, request().withMethod("GET").withPath("/two/[a-z]+"));
+        HttpRequestMatcher post = register(receivedRequestCounters, request().withMethod("POST").withPath("/three"));
+
+        // when
+        receivedRequestCounters.received(receivedRequest(request().withMethod("GET").withPath("/three")));
+
+        // then
+        verify(one, never()).matches(any(), any());
+        verify(two, never()).matches(any(), any());
+        verify(post, never()).matches(any(), any());
+    }
+
+    @Test
+    public void shouldCountRequestsForCountersRegisteredAfterFirstRequest() {
+        // given
+        ReceivedRequestCounters receivedRequestCounters = new ReceivedRequestCounters(10);
+        register(receivedRequestCounters, request().withPath("/one"));
+        receivedRequestCounters.received(receivedRequest(request().withPath("/one")));
+
+        // when
+        register(receivedRequestCounters, request().withPath("/two"));
+        receivedRequestCounters.received(receivedRequest(request().withPath("/two")));
+
+        // then
+        assertThat(receivedRequestCounters.count(request().withPath("/one")), is(1L));
+        assertThat(receivedRequestCounters.count(request().withPath("/two")), is(1L));
+    }
+
+    @Test
+    public void shouldNotRegisterMoreThanMaximumCounters() {
+        // given
+        ReceivedRequestCounters receivedRequestCounters = new ReceivedRequestCounters(1);
+        register(receivedRequestCounters, request().withPath("/one"));
+
+        // when
+        boolean registered = receivedRequestCounters.register(request().withPath("/two"), matcherBuilder.transformsToMatcher(request().withPath("/two")), 0);
+
+        // then
+        assertThat(registered, is(false));
+        assertThat(receivedRequestCounters.count(request().withPath("/two")), is(nullValue()));
+    }
+}
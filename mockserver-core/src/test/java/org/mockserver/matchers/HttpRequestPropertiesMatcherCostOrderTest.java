@@ -0,0 +1,25 @@
+package org.mockserver.matchers;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.slf4j.event.Level;
+
+/**
+ * Runs every field matching scenario with INFO disabled so that fields are matched in cost order without building a because message
+ */
+public class HttpRequestPropertiesMatcherCostOrderTest extends HttpRequestPropertiesMatcherTest {
+
+    private static Level originalLevel;
+
+    @BeforeClass
+    public static void disableInfoLogging() {
+        originalLevel = ConfigurationProperties.logLevel();
+        ConfigurationProperties.logLevel("WARN");
+    }
+
+    @AfterClass
+    public static void restoreLogLevel() {
+        ConfigurationProperties.logLevel(originalLevel != null ? originalLevel.name() : "OFF");
+    }
+}
@@ -0,0 +1,139 @@
+package org.mockserver.matchers;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.Expectation;
+import org.mockserver.model.HttpRequest;
+import org.slf4j.event.Level;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+import static org.mockserver.log.model.LogEntry.LogMessageType.EXPECTATION_NOT_MATCHED;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.Header.header;
+import static org.mockserver.model.JsonBody.json;
+
+/**
+ * Checks that with INFO enabled fields are still matched in cost order and the because message only describes evaluated fields
+ */
+public class HttpRequestPropertiesMatcherInfoCostOrderTest {
+
+    private Level originalLevel;
+    private MockServerLogger mockServerLogger;
+
+    @Before
+    public void enableInfoLogging() {
+        originalLevel = ConfigurationProperties.logLevel();
+        ConfigurationProperties.logLevel("INFO");
+        mockServerLogger = mock(MockServerLogger.class);
+    }
+
+    @After
+    public void restoreLogLevel() {
+        ConfigurationProperties.logLevel(originalLevel != null ? originalLevel.name() : "OFF");
+    }
+
+    private HttpRequestPropertiesMatcher update(HttpRequest httpRequest) {
+        HttpRequestPropertiesMatcher httpRequestPropertiesMatcher = new HttpRequestPropertiesMatcher(mockServerLogger);
+        httpRequestPropertiesMatcher.update(new Expectation(httpRequest));
+        return httpRequestPropertiesMatcher;
+    }
+
+    private String because() {
+        ArgumentCaptor<LogEntry> logEntry = ArgumentCaptor.forClass(LogEntry.class);
+        verify(mockServerLogger, atLeastOnce()).logEvent(logEntry.capture());
+        LogEntry notMatched = logEntry.getAllValues().stream()
+            .filter(entry -> entry.getType() == EXPECTATION_NOT_MATCHED)
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("no " + EXPECTATION_NOT_MATCHED + " log entry"));
+        return notMatched.getBecause();
+    }
+
+    @Test
+    public void shouldNotMatchBodyWhenMethodDoesNotMatch() {
+        // given
+        HttpRequestPropertiesMatcher matcher = update(request().withMethod("POST").withPath("/some_path").withBody(json("{ \"id\": 1 }")));
+        HttpRequest request = spy(request().withMethod("GET").withPath("/some_path").withBody(json("{ \"id\": 1 }")));
+
+        // when
+        boolean matches = matcher.matches(null, request);
+
+        // then
+        assertFalse(matches);
+        verify(request, never()).getBodyAsString();
+        String because = because();
+        assertThat(because, containsString("method didn't match"));
+        assertThat(because, not(containsString("body")));
+    }
+
+    @Test
+    public void shouldNotMatchBodyWhenPathDoesNotMatch() {
+        // given
+        HttpRequestPropertiesMatcher matcher = update(request().withMethod("POST").withPath("/some_path").withBody(json("{ \"id\": 1 }")));
+        HttpRequest request = spy(request().withMethod("POST").withPath("/other_path").withBody(json("{ \"id\": 1 }")));
+
+        // when
+        boolean matches = matcher.matches(null, request);
+
+        // then
+        assertFalse(matches);
+        verify(request, never()).getBodyAsString();
+        String because = because();
+        assertThat(because, containsString("method matched"));
+        assertThat(because, containsString("path didn't match"));
+        assertThat(because, not(containsString("body")));
+    }
+
+    @Test
+    public void shouldNotMatchBodyWhenHeaderDoesNotMatch() {
+        // given
+        HttpRequestPropertiesMatcher matcher = update(request().withMethod("POST").withPath("/some_path").withHeader(header("name", "value")).withBody(json("{ \"id\": 1 }")));
+        HttpRequest request = spy(request().withMethod("POST").withPath("/some_path").withHeader(header("name", "other")).withBody(json("{ \"id\": 1 }")));
+
+        // when
+        boolean matches = matcher.matches(null, request);
+
+        // then
+        assertFalse(matches);
+        verify(request, never()).getBodyAsString();
+        String because = because();
+        assertThat(because, containsString("headers didn't match"));
+        assertThat(because, not(containsString("body")));
+    }
+
+    @Test
+    public void shouldMatchBodyLastWhenOtherFieldsMatch() {
+        // given
+        HttpRequestPropertiesMatcher matcher = update(request().withMethod("POST").withPath("/some_path").withBody(json("{ \"id\": 1 }")));
+        HttpRequest request = spy(request().withMethod("POST").withPath("/some_path").withBody(json("{ \"id\": 2 }")));
+
+        // when
+        boolean matches = matcher.matches(null, request);
+
+        // then
+        assertFalse(matches);
+        verify(request, atLeastOnce()).getBodyAsString();
+        assertThat(because(), containsString("body didn't match"));
+    }
+
+    @Test
+    public void shouldMatchWhenAllFieldsMatch() {
+        // given
+        HttpRequestPropertiesMatcher matcher = update(request().withMethod("POST").withPath("/some_path").withBody(json("{ \"id\": 1 }")));
+
+        // when
+        boolean matches = matcher.matches(null, request().withMethod("POST").withPath("/some_path").withBody(json("{ \"id\": 1 }")));
+
+        // then
+        assertTrue(matches);
+    }
+}
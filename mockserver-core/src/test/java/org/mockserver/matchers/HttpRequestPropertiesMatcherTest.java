@@ -6135,6 +6135,31 @@ public class HttpRequestPropertiesMatcherTest {
         )));
     }
 
+    @Test
+    public void shouldMatchIgnoringBody() {
+        HttpRequestPropertiesMatcher httpRequestPropertiesMatcher = update(request().withMethod("POST").withPath("/some/path").withHeader("name", "value").withBody(json("{ \"id\": 1 }")));
+
+        assertTrue(httpRequestPropertiesMatcher.matchesIgnoringBody(request().withMethod("POST").withPath("/some/path").withHeader("name", "value")));
+        assertFalse(httpRequestPropertiesMatcher.matches(null, request().withMethod("POST").withPath("/some/path").withHeader("name", "value")));
+    }
+
+    @Test
+    public void shouldNotMatchIgnoringBodyWhenOtherFieldDoesNotMatch() {
+        HttpRequestPropertiesMatcher httpRequestPropertiesMatcher = update(request().withMethod("POST").withPath("/some/path").withHeader("name", "value").withBody("some_body"));
+
+        assertFalse(httpRequestPropertiesMatcher.matchesIgnoringBody(request().withMethod("POST").withPath("/some/other/path").withHeader("name", "value")));
+        assertFalse(httpRequestPropertiesMatcher.matchesIgnoringBody(request().withMethod("PUT").withPath("/some/path").withHeader("name", "value")));
+        assertFalse(httpRequestPropertiesMatcher.matchesIgnoringBody(request().withMethod("POST").withPath("/some/path").withHeader("name", "other_value")));
+    }
+
+    @Test
+    public void shouldMatchOnBodyOnlyWithBodyMatcherOrNotOperator() {
+        assertTrue(update(request().withPath("/some/path").withBody("some_body")).matchesOnBody());
+        assertTrue(update(not(request().withPath("/some/path"))).matchesOnBody());
+        assertTrue(notMatcher(update(request().withPath("/some/path"))).matchesOnBody());
+        assertFalse(update(request().withPath("/some/path")).matchesOnBody());
+    }
+
     @Test
     public void shouldReturnFormattedRequestWithStringBodyInToString() {
         assertEquals("{" + NEW_LINE +
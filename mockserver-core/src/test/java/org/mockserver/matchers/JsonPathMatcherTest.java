@@ -2,6 +2,7 @@ package org.mockserver.matchers;
 
 import org.junit.Test;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.ParsedBody;
 
 import static org.junit.Assert.*;
 import static org.mockserver.character.Character.NEW_LINE;
@@ -12,6 +13,27 @@ import static org.mockserver.matchers.NotMatcher.notMatcher;
  */
 public class JsonPathMatcherTest {
 
+    @Test
+    public void shouldMatchMatchingJsonPathWithSharedParsedBody() {
+        String matched = "" +
+            "{" + NEW_LINE +
+            "    \"store\": {" + NEW_LINE +
+            "        \"book\": [" + NEW_LINE +
+            "            {" + NEW_LINE +
+            "                \"isbn\": \"0-553-21311-3\"," + NEW_LINE +
+            "                \"price\": 8.99" + NEW_LINE +
+            "            }" + NEW_LINE +
+            "        ]" + NEW_LINE +
+            "    }," + NEW_LINE +
+            "    \"expensive\": 10" + NEW_LINE +
+            "}";
+        ParsedBody parsedBody = new ParsedBody();
+        assertTrue(new JsonPathMatcher(new MockServerLogger(),"$..book[?(@.price <= $['expensive'])]").matches(null, matched, parsedBody));
+        assertTrue(new JsonPathMatcher(new MockServerLogger(),"$..book[?(@.isbn)]").matches(null, matched, parsedBody));
+        assertFalse(new JsonPathMatcher(new MockServerLogger(),"$..bicycle[?(@.color)]").matches(null, matched, parsedBody));
+        assertFalse(notMatcher(new JsonPathMatcher(new MockServerLogger(),"$..book[?(@.isbn)]")).matches(null, matched, parsedBody));
+    }
+
     @Test
     public void shouldMatchMatchingJsonPath() {
         String matched = "" +
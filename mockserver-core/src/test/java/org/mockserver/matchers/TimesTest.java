@@ -31,4 +31,16 @@ public class TimesTest {
         times.decrement();
         assertThat(times.greaterThenZero(), is(false));
     }
+
+    @Test
+    public void shouldNotDecrementBelowZero() {
+        // given
+        Times times = Times.exactly(1);
+
+        // then
+        assertThat(times.decrement(), is(true));
+        assertThat(times.decrement(), is(false));
+        assertThat(times.getRemainingTimes(), is(0));
+        assertThat(Times.unlimited().decrement(), is(false));
+    }
 }
@@ -2,6 +2,7 @@ package org.mockserver.matchers;
 
 import org.junit.Test;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.model.ParsedBody;
 
 import static org.junit.Assert.*;
 import static org.mockserver.matchers.NotMatcher.notMatcher;
@@ -11,6 +12,20 @@ import static org.mockserver.matchers.NotMatcher.notMatcher;
  */
 public class XPathMatcherTest {
 
+    @Test
+    public void shouldMatchMatchingXPathWithSharedParsedBody() {
+        String matched = "" +
+                "<element>" +
+                "   <key>some_key</key>" +
+                "   <value>some_value</value>" +
+                "</element>";
+        ParsedBody parsedBody = new ParsedBody();
+        assertTrue(new XPathMatcher(new MockServerLogger(),"/element[key = 'some_key' and value = 'some_value']").matches(null, matched, parsedBody));
+        assertTrue(new XPathMatcher(new MockServerLogger(),"/element/key").matches(null, matched, parsedBody));
+        assertFalse(new XPathMatcher(new MockServerLogger(),"/element[key = 'other_key']").matches(null, matched, parsedBody));
+        assertFalse(notMatcher(new XPathMatcher(new MockServerLogger(),"/element/key")).matches(null, matched, parsedBody));
+    }
+
     @Test
     public void shouldMatchMatchingXPath() {
         String matched = "" +
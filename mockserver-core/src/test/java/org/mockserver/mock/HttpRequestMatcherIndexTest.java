@@ -0,0 +1,108 @@
+package org.mockserver.mock;
+
+import org.junit.Test;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.matchers.MatcherBuilder;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.model.Not;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.NottableString.not;
+import static org.mockserver.model.NottableString.string;
+import static org.mockserver.model.OpenAPIDefinition.openAPI;
+
+public class HttpRequestMatcherIndexTest {
+
+    private final MatcherBuilder matcherBuilder = new MatcherBuilder(new MockServerLogger());
+
+    private HttpRequestMatcherIndex buildIndex(HttpRequest... httpRequests) {
+        List<HttpRequestMatcher> httpRequestMatchers = new ArrayList<>();
+        for (int i = 0; i < httpRequests.length; i++) {
+            httpRequestMatchers.add(matcherBuilder.transformsToMatcher(new Expectation(httpRequests[i]).withId(String.valueOf(i))));
+        }
+        return new HttpRequestMatcherIndex(httpRequestMatchers);
+    }
+
+    private List<String> candidateIds(HttpRequestMatcherIndex index, HttpRequest httpRequest) {
+        return index.candidates(httpRequest).stream().map(httpRequestMatcher -> httpRequestMatcher.getExpectation().getId()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void shouldSelectByMethodAndLiteralPath() {
+        // given
+        HttpRequestMatcherIndex index = buildIndex(
+            request().withMethod("GET").withPath("/some/path"),
+            request().withMethod("POST").withPath("/some/path"),
+            request().withMethod("GET").withPath("/some/other_path"),
+            request().withPath("/some/path"),
+            request().withMethod("GET")
+        );
+
+        // then
+        assertThat(candidateIds(index, request().withMethod("GET").withPath("/some/path")), contains("0", "3", "4"));
+        assertThat(candidateIds(index, request().withMethod("get").withPath("/SOME/PATH")), contains("0", "3", "4"));
+        assertThat(candidateIds(index, request().withMethod("POST").withPath("/some/path")), contains("1", "3"));
+        assertThat(candidateIds(index, request().withMethod("PUT").withPath("/some/other_path")), is(empty()));
+    }
+
+    @Test
+    public void shouldSelectByLiteralPrefixOfRegexPath() {
+        // given
+        HttpRequestMatcherIndex index = buildIndex(
+            request().withPath("/some/.*"),
+            request().withPath("/some/path/file.json"),
+            request().withPath("/some/pat?"),
+            request().withPath("/some/path/[a-z]+"),
+            request().withPath("/other/.*"),
+            request().withPath("/some|/other")
+        );
+
+        // then
+        assertThat(candidateIds(index, request().withMethod("GET").withPath("/some/path/file.json")), contains("0", "1", "2", "3", "5"));
+        assertThat(candidateIds(index, request().withMethod("GET").withPath("/some/pa")), contains("0", "2", "5"));
+        assertThat(candidateIds(index, request().withMethod("GET").withPath("/other/path")), contains("4", "5"));
+    }
+
+    @Test
+    public void shouldPutNonLiteralRequestsInCatchAllBucket() {
+        // given
+        HttpRequestMatcherIndex index = buildIndex(
+            request().withMethod("GET").withPath("/some/path"),
+            request().withMethod("GET").withPath(not("/some/path")),
+            request().withMethod(not("GET")).withPath("/other/path"),
+            request().withMethod("G.*").withPath("/other/path"),
+            request().withMethod("GET").withPath("/some/{id}").withPathParameter("id", "[0-9]+"),
+            Not.not(request().withPath("/some/path"))
+        );
+
+        // then
+        assertThat(candidateIds(index, request().withMethod("GET").withPath("/other/path")), contains("1", "2", "3", "5"));
+        assertThat(candidateIds(index, request().withMethod("GET").withPath("/some/1")), contains("1", "4", "5"));
+    }
+
+    @Test
+    public void shouldReturnAllMatchersInOrderForOpenAPIOrBlankRequests() {
+        // given
+        List<HttpRequestMatcher> httpRequestMatchers = Arrays.asList(
+            matcherBuilder.transformsToMatcher(new Expectation(request().withPath("/some/path")).withId("0")),
+            matcherBuilder.transformsToMatcher(new Expectation(openAPI("org/mockserver/mock/openapi_petstore_example.json")).withId("1")),
+            matcherBuilder.transformsToMatcher(new Expectation(request().withPath("/other/path")).withId("2"))
+        );
+        HttpRequestMatcherIndex index = new HttpRequestMatcherIndex(httpRequestMatchers);
+
+        // then
+        assertThat(candidateIds(index, request().withMethod("GET").withPath("/some/path")), contains("0", "1"));
+        assertThat(candidateIds(index, request().withMethod("GET")), contains("0", "1", "2"));
+        assertThat(candidateIds(index, request().withMethod("GET").withPath(string("/some/path", true))), contains("0", "1", "2"));
+    }
+}
@@ -30,7 +30,10 @@ import org.mockserver.verify.Verification;
 import org.mockserver.verify.VerificationSequence;
 import org.slf4j.event.Level;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -53,10 +56,12 @@ import static org.mockserver.log.model.LogEntry.LOG_DATE_FORMAT;
 import static org.mockserver.log.model.LogEntry.LogMessageType.*;
 import static org.mockserver.log.model.LogEntryMessages.RECEIVED_REQUEST_MESSAGE_FORMAT;
 import static org.mockserver.mock.Expectation.when;
+import static org.mockserver.mock.HttpState.NEXT_AFTER_HEADER;
 import static org.mockserver.mock.OpenAPIExpectation.openAPIExpectation;
 import static org.mockserver.model.Format.LOG_ENTRIES;
 import static org.mockserver.model.HttpError.error;
 import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.FileBody.file;
 import static org.mockserver.model.HttpResponse.notFoundResponse;
 import static org.mockserver.model.HttpResponse.response;
 import static org.mockserver.model.JsonBody.json;
@@ -104,6 +109,22 @@ public class HttpStateTest {
         }
     }
 
+    @Test
+    public void shouldIdentifyControlPlaneRequests() {
+        // then - with and without the path prefix
+        assertThat(HttpState.isControlPlaneRequest(request("/mockserver/expectation").withMethod("PUT")), is(true));
+        assertThat(HttpState.isControlPlaneRequest(request("/verifySequence").withMethod("PUT")), is(true));
+        assertThat(HttpState.isControlPlaneRequest(request("/mockserver/stop").withMethod("PUT")), is(true));
+        assertThat(HttpState.isControlPlaneRequest(request("/bind").withMethod("PUT")), is(true));
+
+        // and - other methods or paths
+        assertThat(HttpState.isControlPlaneRequest(request("/mockserver/expectation").withMethod("POST")), is(false));
+        assertThat(HttpState.isControlPlaneRequest(request("/expectations").withMethod("PUT")), is(false));
+        assertThat(HttpState.isControlPlaneRequest(request("/mockserver/dashboard").withMethod("PUT")), is(false));
+        assertThat(HttpState.isControlPlaneRequest(request("/mockserver/reset").withMethod("PUT"), "/clear"), is(false));
+        assertThat(HttpState.isControlPlaneRequest(request("/mockserver/clear").withMethod("PUT"), "/clear"), is(true));
+    }
+
     @Test
     public void shouldHandleRetrieveRequestsRequest() {
         // given
@@ -1222,6 +1243,57 @@ public class HttpStateTest {
         assertThat(httpState.firstMatchingExpectation(request("request_two")), is(new Expectation(request("request_two")).thenRespond(response("response_two"))));
     }
 
+    @Test
+    public void shouldRejectExpectationWithMissingFileBody() {
+        // given
+        HttpRequest request = request("/mockserver/expectation").withMethod("PUT").withBody(
+            expectationSerializer.serialize(new Expectation(request("request_one")).thenRespond(response().withBody(file("/does/not/exist.txt"))))
+        );
+
+        // then
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage(containsString("file body \"/does/not/exist.txt\" does not exist or is not a file"));
+
+        // when
+        httpState.handle(request, new FakeResponseWriter(), false);
+    }
+
+    @Test
+    public void shouldRejectExpectationWithFileBodyOutsideBaseDirectory() throws IOException {
+        // given
+        String originalFileBodyBaseDirectory = ConfigurationProperties.fileBodyBaseDirectory();
+        File baseDirectory = Files.createTempDirectory("fileBodyBaseDirectory").toFile();
+        File file = File.createTempFile("fileBody", ".txt");
+        file.deleteOnExit();
+        try {
+            ConfigurationProperties.fileBodyBaseDirectory(baseDirectory.getAbsolutePath());
+
+            // then
+            exception.expect(IllegalArgumentException.class);
+            exception.expectMessage(containsString("file body \"" + file.getAbsolutePath() + "\" is outside the file body base directory \"" + baseDirectory.getAbsolutePath() + "\""));
+
+            // when
+            httpState.add(new Expectation(request("request_one")).thenRespond(response().withBody(file(file.getAbsolutePath()))));
+        } finally {
+            ConfigurationProperties.fileBodyBaseDirectory(originalFileBodyBaseDirectory);
+            baseDirectory.delete();
+        }
+    }
+
+    @Test
+    public void shouldAddExpectationWithFileBody() throws IOException {
+        // given
+        File file = File.createTempFile("fileBody", ".txt");
+        file.deleteOnExit();
+        Expectation expectation = new Expectation(request("request_one")).thenRespond(response().withBody(file(file.getAbsolutePath())));
+
+        // when
+        httpState.add(expectation);
+
+        // then
+        assertThat(httpState.firstMatchingExpectation(request("request_one")), is(expectation));
+    }
+
     @Test
     public void shouldThrowExceptionForInvalidClearType() {
         // given
@@ -1267,6 +1339,42 @@ public class HttpStateTest {
         );
     }
 
+    @Test
+    public void shouldRetrieveRecordedRequestsInPages() {
+        // given
+        for (String path : Arrays.asList("request_one", "request_two", "request_three")) {
+            httpState.log(
+                new LogEntry()
+                    .setHttpRequest(request(path))
+                    .setType(RECEIVED_REQUEST)
+            );
+        }
+
+        // when
+        HttpResponse firstPage = httpState
+            .retrieve(
+                request()
+                    .withQueryStringParameter("limit", "2")
+            );
+        HttpResponse secondPage = httpState
+            .retrieve(
+                request()
+                    .withQueryStringParameter("limit", "2")
+                    .withQueryStringParameter("after", firstPage.getFirstHeader(NEXT_AFTER_HEADER))
+            );
+
+        // then
+        assertThat(firstPage.getBodyAsString(), is(httpRequestSerializer.serialize(Arrays.asList(
+            request("request_one"),
+            request("request_two")
+        ))));
+        assertThat(firstPage.containsHeader(NEXT_AFTER_HEADER), is(true));
+        assertThat(secondPage.getBodyAsString(), is(httpRequestSerializer.serialize(Collections.singletonList(
+            request("request_three")
+        ))));
+        assertThat(secondPage.containsHeader(NEXT_AFTER_HEADER), is(false));
+    }
+
     @Test
     public void shouldRetrieveRecordedRequestsAsLogEntries() {
         // given
@@ -2010,6 +2118,19 @@ public class HttpStateTest {
         }
     }
 
+    @Test
+    public void shouldThrowExceptionForInvalidRetrieveLimit() {
+        try {
+            // when
+            httpState.retrieve(request().withQueryStringParameter("limit", "0"));
+            fail("expected exception to be thrown");
+        } catch (Throwable throwable) {
+            // then
+            assertThat(throwable, instanceOf(IllegalArgumentException.class));
+            assertThat(throwable.getMessage(), is("\"0\" and \"\" are not valid values for \"limit\" and \"after\" parameters, \"limit\" must be a positive integer and \"after\" the value of the X-NEXT-AFTER header returned with the previous page"));
+        }
+    }
+
     @Test
     public void shouldReset() {
         Level originalLevel = ConfigurationProperties.logLevel();
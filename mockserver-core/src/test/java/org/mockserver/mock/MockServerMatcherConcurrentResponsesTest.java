@@ -0,0 +1,87 @@
+package org.mockserver.mock;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.closurecallback.websocketregistry.WebSocketClientRegistry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.matchers.TimeToLive;
+import org.mockserver.matchers.Times;
+import org.mockserver.model.HttpRequest;
+import org.mockserver.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockserver.mock.listeners.MockServerMatcherNotifier.Cause.API;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class MockServerMatcherConcurrentResponsesTest {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 500;
+    private static final Scheduler scheduler = new Scheduler(new MockServerLogger());
+
+    private RequestMatchers requestMatchers;
+
+    @Before
+    public void prepareTestFixture() {
+        requestMatchers = new RequestMatchers(mock(MockServerLogger.class), scheduler, mock(WebSocketClientRegistry.class));
+    }
+
+    @AfterClass
+    public static void stopScheduler() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void shouldRespondExactlyTheSpecifiedNumberOfTimesUnderConcurrentRequests() throws Exception {
+        for (int times : new int[]{1, 7, 1000}) {
+            // given
+            requestMatchers.reset();
+            Expectation expectation = new Expectation(request().withPath("somePath"), Times.exactly(times), TimeToLive.unlimited(), 0).thenRespond(response().withBody("someBody"));
+            requestMatchers.add(expectation, API);
+
+            // when
+            AtomicInteger matched = new AtomicInteger();
+            ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+            try {
+                CountDownLatch startLatch = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int thread = 0; thread < THREADS; thread++) {
+                    futures.add(executorService.submit(() -> {
+                        startLatch.await();
+                        for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                            HttpRequest httpRequest = request().withPath("somePath");
+                            Expectation matchingExpectation = requestMatchers.firstMatchingExpectation(httpRequest);
+                            if (matchingExpectation != null) {
+                                matched.incrementAndGet();
+                                requestMatchers.postProcess(matchingExpectation);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                startLatch.countDown();
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executorService.shutdownNow();
+            }
+
+            // then
+            assertThat(matched.get(), is(times));
+            assertThat(expectation.getTimes().getRemainingTimes(), is(0));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.mockserver.mock;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.slf4j.event.Level;
+
+/**
+ * Runs the basic response scenarios with INFO disabled so that candidate expectations selected using the
+ * {@link HttpRequestMatcherIndex} are matched without collecting why they didn't match
+ */
+public class MockServerMatcherIndexedResponsesTest extends MockServerMatcherBasicResponsesTest {
+
+    private static Level originalLevel;
+
+    @BeforeClass
+    public static void disableInfoLogging() {
+        originalLevel = ConfigurationProperties.logLevel();
+        ConfigurationProperties.logLevel("WARN");
+    }
+
+    @AfterClass
+    public static void restoreLogLevel() {
+        ConfigurationProperties.logLevel(originalLevel != null ? originalLevel.name() : "OFF");
+    }
+}
@@ -0,0 +1,74 @@
+package org.mockserver.mock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockserver.closurecallback.websocketregistry.WebSocketClientRegistry;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.scheduler.Scheduler;
+import org.slf4j.event.Level;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+import static org.mockserver.log.model.LogEntry.LogMessageType.EXPECTATION_NOT_MATCHED;
+import static org.mockserver.log.model.LogEntryMessages.EXPECTATIONS_NOT_MATCHED_BY_METHOD_OR_PATH_MESSAGE_FORMAT;
+import static org.mockserver.mock.listeners.MockServerMatcherNotifier.Cause.API;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+/**
+ * @author jamesdbloom
+ */
+public class MockServerMatcherNotMatchedLogTest {
+
+    private Level originalLevel;
+    private MockServerLogger mockServerLogger;
+    private RequestMatchers requestMatchers;
+
+    @Before
+    public void prepareTestFixture() {
+        originalLevel = ConfigurationProperties.logLevel();
+        ConfigurationProperties.logLevel("INFO");
+        mockServerLogger = mock(MockServerLogger.class);
+        requestMatchers = new RequestMatchers(mockServerLogger, mock(Scheduler.class), mock(WebSocketClientRegistry.class));
+    }
+
+    @After
+    public void restoreLogLevel() {
+        ConfigurationProperties.logLevel(originalLevel != null ? originalLevel.name() : "OFF");
+    }
+
+    @Test
+    public void shouldOnlyEvaluateAndLogCandidateExpectationsAtInfo() {
+        // given
+        Expectation candidate = new Expectation(request().withPath("/one").withBody("some_body")).thenRespond(response());
+        requestMatchers.add(candidate, API);
+        requestMatchers.add(new Expectation(request().withPath("/two")).thenRespond(response()), API);
+        requestMatchers.add(new Expectation(request().withPath("/three")).thenRespond(response()), API);
+        reset(mockServerLogger);
+
+        // when
+        Expectation matched = requestMatchers.firstMatchingExpectation(request().withMethod("GET").withPath("/one"));
+
+        // then
+        assertThat(matched, nullValue());
+        ArgumentCaptor<LogEntry> logEntries = ArgumentCaptor.forClass(LogEntry.class);
+        verify(mockServerLogger, atLeastOnce()).logEvent(logEntries.capture());
+        List<LogEntry> notMatched = logEntries
+            .getAllValues()
+            .stream()
+            .filter(logEntry -> logEntry.getType() == EXPECTATION_NOT_MATCHED)
+            .collect(Collectors.toList());
+        assertThat(notMatched.size(), is(2));
+        assertThat(notMatched.get(0).getExpectation().getId(), is(candidate.getId()));
+        assertThat(notMatched.get(1).getMessageFormat(), is(EXPECTATIONS_NOT_MATCHED_BY_METHOD_OR_PATH_MESSAGE_FORMAT));
+        assertThat(notMatched.get(1).getArguments()[1], is(2));
+    }
+}
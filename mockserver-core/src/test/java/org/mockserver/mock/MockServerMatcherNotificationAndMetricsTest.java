@@ -79,6 +79,56 @@ public class MockServerMatcherNotificationAndMetricsTest {
         assertThat(Metrics.get(Metrics.Name.ACTION_RESPONSE_COUNT), is(1));
     }
 
+    @Test
+    public void shouldNotifyOnceOnBulkAdd() throws InterruptedException {
+        // given
+        List<MockServerMatcherNotifier.Cause> causes = new ArrayList<>();
+        requestMatchers.registerListener((requestMatchers, cause) -> {
+            causes.add(cause);
+        });
+
+        // when
+        List<Expectation> upsertedExpectations = requestMatchers.add(new Expectation[]{
+            new Expectation(request().withPath("somePathOne")).thenRespond(response().withBody("someBodyOne")),
+            new Expectation(request().withPath("somePathTwo")).thenRespond(response().withBody("someBodyTwo")),
+            new Expectation(request().withPath("somePathThree")).thenForward(forward())
+        }, API);
+
+        // then
+        MILLISECONDS.sleep(500);
+        assertThat(upsertedExpectations.size(), is(3));
+        assertThat(requestMatchers.httpRequestMatchers.size(), is(3));
+        assertThat(causes, contains(API));
+        assertThat(Metrics.get(Metrics.Name.ACTION_RESPONSE_COUNT), is(2));
+        assertThat(Metrics.get(Metrics.Name.ACTION_FORWARD_COUNT), is(1));
+    }
+
+    @Test
+    public void shouldNotNotifyOnBulkAddWithoutChanges() throws InterruptedException {
+        // given
+        Expectation[] expectations = {
+            new Expectation(request().withPath("somePathOne")).withId("one").thenRespond(response().withBody("someBodyOne")),
+            new Expectation(request().withPath("somePathTwo")).withId("two").thenRespond(response().withBody("someBodyTwo"))
+        };
+        requestMatchers.add(expectations, API);
+        MILLISECONDS.sleep(500);
+        List<MockServerMatcherNotifier.Cause> causes = new ArrayList<>();
+        requestMatchers.registerListener((requestMatchers, cause) -> {
+            causes.add(cause);
+        });
+
+        // when
+        requestMatchers.add(new Expectation[]{
+            new Expectation(request().withPath("somePathOne")).withId("one").thenRespond(response().withBody("someBodyOne")),
+            new Expectation(request().withPath("somePathTwo")).withId("two").thenRespond(response().withBody("someBodyTwo"))
+        }, API);
+
+        // then
+        MILLISECONDS.sleep(500);
+        assertThat(requestMatchers.httpRequestMatchers.size(), is(2));
+        assertThat(causes.size(), is(0));
+    }
+
     @Test
     public void shouldNotifyOnRemove() throws InterruptedException {
         // given
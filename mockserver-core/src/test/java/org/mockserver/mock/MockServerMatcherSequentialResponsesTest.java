@@ -19,6 +19,7 @@ import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockserver.mock.listeners.MockServerMatcherNotifier.Cause.API;
 import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.model.StringBody.subString;
 
 /**
  * @author jamesdbloom
@@ -143,4 +144,35 @@ public class MockServerMatcherSequentialResponsesTest {
         assertNull(requestMatchers.firstMatchingExpectation(new HttpRequest().withPath("somepath")));
     }
 
+    @Test
+    public void doNotRespondWithExpectationMatchingOnBodyWhenBodyTruncatedAfterLimitedMatchesUsed() {
+        // when
+        Expectation expectationZero = new Expectation(new HttpRequest().withPath("somepath"), Times.exactly(1), TimeToLive.unlimited(), 10).thenRespond(response().withBody("somebody1"));
+        requestMatchers.add(expectationZero, API);
+        Expectation expectationOne = new Expectation(new HttpRequest().withPath("somepath").withBody(subString("0123")), Times.unlimited(), TimeToLive.unlimited(), 0).thenRespond(response().withBody("somebody2"));
+        requestMatchers.add(expectationOne, API);
+
+        // then - the head of the truncated request matched expectationZero, which was then used by another request
+        assertEquals(expectationZero, requestMatchers.firstMatcherIgnoringBody(new HttpRequest().withPath("somepath")).getExpectation());
+        assertEquals(expectationZero, requestMatchers.firstMatchingExpectation(new HttpRequest().withPath("somepath").withBody("0123456789")));
+        assertNull(requestMatchers.firstMatchingExpectation(new HttpRequest().withPath("somepath").withBody("01234567").withBodyTruncated(true)));
+        assertEquals(expectationOne, requestMatchers.firstMatchingExpectation(new HttpRequest().withPath("somepath").withBody("0123456789")));
+    }
+
+    @Test
+    public void removeExpiredExpectationsThatAreNotCandidatesForRequests() throws InterruptedException {
+        // given
+        requestMatchers = new RequestMatchers(mock(MockServerLogger.class), new Scheduler(mock(MockServerLogger.class), true), mock(WebSocketClientRegistry.class));
+        requestMatchers.add(new Expectation(new HttpRequest().withPath("expiring_path"), Times.unlimited(), TimeToLive.exactly(MILLISECONDS, 1L), 0).thenRespond(response().withBody("somebody1")), API);
+        Expectation expectation = new Expectation(new HttpRequest().withPath("somepath")).thenRespond(response().withBody("somebody2"));
+        requestMatchers.add(expectation, API);
+        MILLISECONDS.sleep(10);
+
+        // when
+        assertEquals(expectation, requestMatchers.firstMatchingExpectation(new HttpRequest().withPath("somepath")));
+
+        // then
+        assertThat(requestMatchers.size(), is(1));
+    }
+
 }
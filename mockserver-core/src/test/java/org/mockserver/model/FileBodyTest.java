@@ -0,0 +1,123 @@
+package org.mockserver.model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockserver.configuration.ConfigurationProperties;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.mockserver.model.FileBody.file;
+
+/**
+ * @author jamesdbloom
+ */
+public class FileBodyTest {
+
+    private String originalFileBodyBaseDirectory;
+    private File baseDirectory;
+    private File subDirectory;
+    private File fileInBaseDirectory;
+
+    @Before
+    public void createFiles() throws IOException {
+        originalFileBodyBaseDirectory = ConfigurationProperties.fileBodyBaseDirectory();
+        baseDirectory = Files.createTempDirectory("fileBodyBaseDirectory").toFile();
+        subDirectory = Files.createDirectory(new File(baseDirectory, "sub_directory").toPath()).toFile();
+        fileInBaseDirectory = new File(baseDirectory, "body.txt");
+        Files.write(fileInBaseDirectory.toPath(), "some_body".getBytes());
+    }
+
+    @After
+    public void deleteFiles() {
+        ConfigurationProperties.fileBodyBaseDirectory(originalFileBodyBaseDirectory);
+        fileInBaseDirectory.delete();
+        subDirectory.delete();
+        baseDirectory.delete();
+    }
+
+    @Test
+    public void shouldReturnValuesSetInConstructor() {
+        // when
+        FileBody fileBody = new FileBody("/some/file.txt", MediaType.PLAIN_TEXT_UTF_8);
+
+        // then
+        assertThat(fileBody.getValue(), is("/some/file.txt"));
+        assertThat(fileBody.getType(), is(Body.Type.FILE));
+        assertThat(fileBody.getContentType(), is(MediaType.PLAIN_TEXT_UTF_8.toString()));
+    }
+
+    @Test
+    public void shouldReturnValueSetInStaticConstructor() {
+        // when
+        FileBody fileBody = file("/some/file.txt");
+
+        // then
+        assertThat(fileBody.getValue(), is("/some/file.txt"));
+        assertThat(fileBody.getType(), is(Body.Type.FILE));
+        assertThat(fileBody.getContentType(), nullValue());
+    }
+
+    @Test
+    public void shouldValidateExistingFileWithoutBaseDirectory() {
+        // given
+        ConfigurationProperties.fileBodyBaseDirectory("");
+
+        // then
+        assertThat(file(fileInBaseDirectory.getAbsolutePath()).validate(), is(""));
+    }
+
+    @Test
+    public void shouldNotValidateMissingFile() {
+        // given
+        ConfigurationProperties.fileBodyBaseDirectory("");
+
+        // then
+        assertThat(file(new File(baseDirectory, "missing.txt").getAbsolutePath()).validate(), is("file body \"" + new File(baseDirectory, "missing.txt").getAbsolutePath() + "\" does not exist or is not a file"));
+        assertThat(file(baseDirectory.getAbsolutePath()).validate(), is("file body \"" + baseDirectory.getAbsolutePath() + "\" does not exist or is not a file"));
+    }
+
+    @Test
+    public void shouldValidateFileInsideBaseDirectory() {
+        // given
+        ConfigurationProperties.fileBodyBaseDirectory(baseDirectory.getAbsolutePath());
+
+        // then
+        assertThat(file(fileInBaseDirectory.getAbsolutePath()).validate(), is(""));
+        assertThat(file(new File(subDirectory, "../body.txt").getPath()).validate(), is(""));
+    }
+
+    @Test
+    public void shouldNotValidateFileOutsideBaseDirectory() {
+        // given
+        ConfigurationProperties.fileBodyBaseDirectory(subDirectory.getAbsolutePath());
+        String escapingPath = new File(subDirectory, "../body.txt").getPath();
+
+        // then
+        assertThat(file(fileInBaseDirectory.getAbsolutePath()).validate(), is("file body \"" + fileInBaseDirectory.getAbsolutePath() + "\" is outside the file body base directory \"" + subDirectory.getAbsolutePath() + "\""));
+        assertThat(file(escapingPath).validate(), is("file body \"" + escapingPath + "\" is outside the file body base directory \"" + subDirectory.getAbsolutePath() + "\""));
+    }
+
+    @Test
+    public void shouldNotValidateFileInDirectoryWithBaseDirectoryAsPrefix() throws IOException {
+        // given
+        File siblingDirectory = new File(baseDirectory.getAbsolutePath() + "_sibling");
+        File siblingFile = new File(siblingDirectory, "body.txt");
+        try {
+            Files.createDirectories(siblingDirectory.toPath());
+            Files.write(siblingFile.toPath(), "some_body".getBytes());
+            ConfigurationProperties.fileBodyBaseDirectory(baseDirectory.getAbsolutePath());
+
+            // then
+            assertThat(file(siblingFile.getAbsolutePath()).validate(), is("file body \"" + siblingFile.getAbsolutePath() + "\" is outside the file body base directory \"" + baseDirectory.getAbsolutePath() + "\""));
+        } finally {
+            siblingFile.delete();
+            siblingDirectory.delete();
+        }
+    }
+}
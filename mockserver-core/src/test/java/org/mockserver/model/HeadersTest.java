@@ -1,6 +1,7 @@
 package org.mockserver.model;
 
 import org.junit.Test;
+import org.mockserver.collections.CaseFoldedEntries;
 
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -9,6 +10,7 @@ import java.util.Map;
 
 import static junit.framework.TestCase.assertFalse;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.hamcrest.core.IsIterableContaining.hasItems;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -329,4 +331,34 @@ public class HeadersTest {
         assertFalse(headers.containsEntry(string("name_three"), string("value_three_other")));
     }
 
+    @Test
+    public void shouldReuseCaseFoldedEntriesUntilModified() {
+        // given
+        Headers headers = new Headers(
+            header("Accept", "text/html"),
+            header("Content-Type", "application/json")
+        );
+
+        // when
+        CaseFoldedEntries caseFoldedEntries = headers.getCaseFoldedEntries();
+
+        // then
+        assertThat(headers.getCaseFoldedEntries(), sameInstance(caseFoldedEntries));
+        assertThat(caseFoldedEntries.indexesOfKeyMatching(string("accept")), is(new int[]{0}));
+
+        // when
+        headers.withEntry("accept", "application/json");
+
+        // then
+        assertFalse(headers.getCaseFoldedEntries() == caseFoldedEntries);
+        assertThat(headers.getCaseFoldedEntries().indexesOfKeyMatching(string("accept")), is(new int[]{0, 2}));
+
+        // when
+        headers.remove("Accept");
+
+        // then
+        assertThat(headers.getCaseFoldedEntries().indexesOfKeyMatching(string("accept")), is(new int[0]));
+        assertThat(headers.getCaseFoldedEntries().size(), is(1));
+    }
+
 }
@@ -104,4 +104,41 @@ public class NottableStringTest {
         assertThat(String.valueOf(NottableString.string("value")), is("value"));
     }
 
+    @Test
+    public void shouldMatchLiteralValuesWithoutRegex() {
+        assertTrue(string("some_value").matches("some_value"));
+        assertFalse(string("some_value").matches("SOME_VALUE"));
+        assertFalse(string("some_value").matches("some_value_suffix"));
+        assertTrue(string("some_value").matchesIgnoreCase("SOME_VALUE"));
+        assertFalse(string("some_value").matchesIgnoreCase("some_other_value"));
+    }
+
+    @Test
+    public void shouldMatchRegexValues() {
+        assertTrue(string("some_[a-z]+").matches("some_value"));
+        assertFalse(string("some_[a-z]+").matches("SOME_VALUE"));
+        assertTrue(string("some_[a-z]+").matchesIgnoreCase("SOME_VALUE"));
+        assertTrue(string("\\D+_\\S+").matchesIgnoreCase("SOME_VALUE"));
+        assertTrue(string("caf\u00e9.*").matchesIgnoreCase("CAF\u00c9 AU LAIT"));
+        assertFalse(string("some_[a-z]+").matchesIgnoreCase("some_1"));
+    }
+
+    @Test
+    public void shouldShareCompiledPatternsBetweenInstances() {
+        // given - request values are new instances for every request
+        NottableString first = string("/some/path/[0-9]+");
+        NottableString second = string("/some/path/[0-9]+");
+
+        // when
+        assertTrue(first.matches("/some/path/1"));
+        assertTrue(second.matches("/some/path/2"));
+        assertTrue(first.matchesIgnoreCase("/SOME/PATH/3"));
+        assertTrue(second.matchesIgnoreCase("/SOME/PATH/4"));
+
+        // then
+        assertSame(first.compiledPattern(), second.compiledPattern());
+        assertSame(first.compiledCaseInsensitivePattern(), second.compiledCaseInsensitivePattern());
+        assertNotSame(first.compiledPattern(), first.compiledCaseInsensitivePattern());
+    }
+
 }
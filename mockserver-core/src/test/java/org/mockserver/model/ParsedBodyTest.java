@@ -0,0 +1,70 @@
+package org.mockserver.model;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * @author jamesdbloom
+ */
+public class ParsedBodyTest {
+
+    @Test
+    public void shouldParseJsonOncePerSource() {
+        // given
+        ParsedBody parsedBody = new ParsedBody();
+        String json = "{ \"id\": 1, \"name\": \"some_name\" }";
+
+        // when
+        Object first = parsedBody.jsonNode(json);
+        Object second = parsedBody.jsonNode(new String(json));
+        Object other = parsedBody.jsonNode("{ \"id\": 2 }");
+
+        // then
+        assertThat(first, notNullValue());
+        assertThat(second, sameInstance(first));
+        assertThat(other, not(sameInstance(first)));
+        assertThat(parsedBody.jsonNode("{ \"id\": 2 }"), sameInstance(other));
+    }
+
+    @Test
+    public void shouldParseJsonPathDocumentOncePerSource() {
+        // given
+        ParsedBody parsedBody = new ParsedBody();
+        String json = "{ \"store\": { \"book\": [ { \"price\": 8.95 } ] } }";
+
+        // when
+        Object first = parsedBody.documentContext(json);
+
+        // then
+        assertThat(first, notNullValue());
+        assertThat(parsedBody.documentContext(json), sameInstance(first));
+    }
+
+    @Test
+    public void shouldParseXmlDocumentOncePerSource() {
+        // given
+        ParsedBody parsedBody = new ParsedBody();
+        String xml = "<element><key>some_key</key></element>";
+
+        // when
+        Object first = parsedBody.xmlDocument(xml);
+
+        // then
+        assertThat(first, notNullValue());
+        assertThat(parsedBody.xmlDocument(xml), sameInstance(first));
+    }
+
+    @Test
+    public void shouldReturnNullForBodiesThatCanNotBeParsed() {
+        // given
+        ParsedBody parsedBody = new ParsedBody();
+
+        // then
+        assertThat(parsedBody.jsonNode("{ \"id\": "), nullValue());
+        assertThat(parsedBody.documentContext("{ \"id\": "), nullValue());
+        assertThat(parsedBody.xmlDocument("<element>"), nullValue());
+        assertThat(parsedBody.xmlDocument(null), nullValue());
+    }
+}
@@ -6,6 +6,7 @@ import org.mockserver.serialization.Base64Converter;
 import org.mockserver.model.Cookie;
 import org.mockserver.model.Header;
 import org.mockserver.model.HttpResponse;
+import org.mockserver.model.MediaType;
 
 import java.util.concurrent.TimeUnit;
 
@@ -13,6 +14,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
 import static org.mockserver.character.Character.NEW_LINE;
 import static org.mockserver.model.BinaryBody.binary;
+import static org.mockserver.model.FileBody.file;
 
 /**
  * @author jamesdbloom
@@ -68,6 +70,32 @@ public class HttpResponseToJavaSerializerTest {
         );
     }
 
+    @Test
+    public void shouldSerializeObjectWithFileBodyResponseAsJava() {
+        // when
+        assertEquals(NEW_LINE +
+                "        response()" + NEW_LINE +
+                "                .withBody(new FileBody(\"/some/file.txt\"))",
+            new HttpResponseToJavaSerializer().serialize(1,
+                new HttpResponse()
+                    .withBody(file("/some/file.txt"))
+            )
+        );
+    }
+
+    @Test
+    public void shouldSerializeObjectWithFileBodyWithContentTypeResponseAsJava() {
+        // when
+        assertEquals(NEW_LINE +
+                "        response()" + NEW_LINE +
+                "                .withBody(FileBody.file(\"/some/file.json\", MediaType.parse(\"application/json; charset=utf-8\")))",
+            new HttpResponseToJavaSerializer().serialize(1,
+                new HttpResponse()
+                    .withBody(file("/some/file.json", MediaType.JSON_UTF_8))
+            )
+        );
+    }
+
     @Test
     public void shouldEscapeJSONBodies() {
         assertEquals("" + NEW_LINE +
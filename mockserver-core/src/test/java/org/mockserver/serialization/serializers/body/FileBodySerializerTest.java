@@ -0,0 +1,25 @@
+package org.mockserver.serialization.serializers.body;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.Test;
+import org.mockserver.model.FileBody;
+import org.mockserver.model.MediaType;
+import org.mockserver.serialization.ObjectMapperFactory;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class FileBodySerializerTest {
+
+    @Test
+    public void shouldSerializeFileBody() throws JsonProcessingException {
+        assertThat(ObjectMapperFactory.createObjectMapper().writeValueAsString(new FileBody("/some/file.bin")),
+                is("{\"type\":\"FILE\",\"filePath\":\"/some/file.bin\"}"));
+    }
+
+    @Test
+    public void shouldSerializeFileBodyWithContentType() throws JsonProcessingException {
+        assertThat(ObjectMapperFactory.createObjectMapper().writeValueAsString(new FileBody("/some/file.bin", MediaType.APPLICATION_BINARY)),
+                is("{\"contentType\":\"application/binary\",\"type\":\"FILE\",\"filePath\":\"/some/file.bin\"}"));
+    }
+}
@@ -0,0 +1,64 @@
+package org.mockserver.socket;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.Test;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.scheduler.Scheduler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * @author jamesdbloom
+ */
+public class SocketTransportTest {
+
+    @Test
+    public void shouldUseNioByDefault() {
+        // when
+        SocketTransport socketTransport = SocketTransport.configured();
+
+        // then
+        assertThat(socketTransport, is(SocketTransport.NIO));
+        assertThat(socketTransport.isAvailable(), is(true));
+        assertThat(socketTransport.socketChannel(), equalTo(NioSocketChannel.class));
+        assertThat(socketTransport.serverSocketChannel(), equalTo(NioServerSocketChannel.class));
+        assertThat(socketTransport.reusePort(), nullValue());
+    }
+
+    @Test
+    public void shouldFallBackToNioWhenNativeTransportNotAvailable() {
+        SocketTransport originalSocketTransport = ConfigurationProperties.socketTransport();
+        try {
+            // given - native transports are not on the test classpath
+            ConfigurationProperties.socketTransport(SocketTransport.EPOLL);
+
+            // when
+            SocketTransport socketTransport = SocketTransport.configured();
+
+            // then
+            assertThat(SocketTransport.EPOLL.isAvailable(), is(false));
+            assertThat(SocketTransport.IO_URING.isAvailable(), is(false));
+            assertThat(socketTransport, is(SocketTransport.NIO));
+        } finally {
+            ConfigurationProperties.socketTransport(originalSocketTransport);
+        }
+    }
+
+    @Test
+    public void shouldFindSocketTransportOfEventLoopGroup() {
+        // given
+        EventLoopGroup eventLoopGroup = SocketTransport.NIO.eventLoopGroup(1, new Scheduler.SchedulerThreadFactory("SocketTransportTest"));
+        try {
+            // then
+            assertThat(eventLoopGroup, instanceOf(NioEventLoopGroup.class));
+            assertThat(SocketTransport.of(eventLoopGroup), is(SocketTransport.NIO));
+            assertThat(SocketTransport.of(eventLoopGroup.next()), is(SocketTransport.NIO));
+        } finally {
+            eventLoopGroup.shutdownGracefully();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.mockserver.socket.tls;
+
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContext;
+import org.junit.Test;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.logging.MockServerLogger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * @author jamesdbloom
+ */
+public class NettySslContextFactoryTest {
+
+    private final MockServerLogger mockServerLogger = new MockServerLogger(NettySslContextFactoryTest.class);
+
+    @Test
+    public void shouldRebuildServerSslContextWhenHttp2Enabled() {
+        boolean originalEnableHttp2 = ConfigurationProperties.enableHttp2();
+        try {
+            // given
+            ConfigurationProperties.enableHttp2(false);
+            NettySslContextFactory nettySslContextFactory = new NettySslContextFactory(mockServerLogger);
+            SslContext http1SslContext = nettySslContextFactory.createServerSslContext();
+            assertThat(http1SslContext.applicationProtocolNegotiator().protocols(), is(empty()));
+
+            // when
+            ConfigurationProperties.enableHttp2(true);
+            SslContext http2SslContext = nettySslContextFactory.createServerSslContext();
+
+            // then
+            assertThat(http2SslContext, not(sameInstance(http1SslContext)));
+            assertThat(http2SslContext.applicationProtocolNegotiator().protocols(), contains(ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1));
+            assertThat(nettySslContextFactory.createServerSslContext(), sameInstance(http2SslContext));
+        } finally {
+            ConfigurationProperties.enableHttp2(originalEnableHttp2);
+        }
+    }
+
+    @Test
+    public void shouldRebuildEveryClientSslContextWhenRequested() {
+        try {
+            // given
+            NettySslContextFactory nettySslContextFactory = new NettySslContextFactory(mockServerLogger);
+            SslContext clientSslContext = nettySslContextFactory.createClientSslContext(false, false);
+            SslContext http2ClientSslContext = nettySslContextFactory.createClientSslContext(false, true);
+
+            // when
+            ConfigurationProperties.rebuildTLSContext(true);
+            SslContext rebuiltHttp2ClientSslContext = nettySslContextFactory.createClientSslContext(false, true);
+
+            // then
+            assertThat(ConfigurationProperties.rebuildTLSContext(), is(false));
+            assertThat(rebuiltHttp2ClientSslContext, not(sameInstance(http2ClientSslContext)));
+            assertThat(nettySslContextFactory.createClientSslContext(false, false), not(sameInstance(clientSslContext)));
+        } finally {
+            ConfigurationProperties.rebuildTLSContext(false);
+        }
+    }
+}
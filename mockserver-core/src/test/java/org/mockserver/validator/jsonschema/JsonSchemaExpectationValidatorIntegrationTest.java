@@ -567,7 +567,7 @@ public class JsonSchemaExpectationValidatorIntegrationTest {
             "    \"statusCode\" : 304," + NEW_LINE +
             "    \"body\" : 50" + NEW_LINE +
             "  }" + NEW_LINE +
-            "}"), is("11 errors:" + NEW_LINE +
+            "}"), is("12 errors:" + NEW_LINE +
             " - field: \"/httpRequest\" for schema: \"httpRequest\" has error: \"object instance has properties which are not allowed by the schema: [\"operationId\",\"specUrlOrPayload\"]\"" + NEW_LINE +
             " - field: \"/httpRequest/operationId\" for schema: \"openAPIDefinition/properties/operationId\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"string\"])\"" + NEW_LINE +
             " - field: \"/httpResponse/body\" for schema: \"bodyWithContentType\" has error: \" a plain string, JSON object or one of the following example bodies must be specified " + NEW_LINE +
@@ -593,6 +593,11 @@ public class JsonSchemaExpectationValidatorIntegrationTest {
             "     \"type\": \"XML\"," + NEW_LINE +
             "     \"xml\": \"\"," + NEW_LINE +
             "     \"contentType\": \"\"" + NEW_LINE +
+            "   }," + NEW_LINE +
+            "   {" + NEW_LINE +
+            "     \"type\": \"FILE\"," + NEW_LINE +
+            "     \"filePath\": \"\"," + NEW_LINE +
+            "     \"contentType\": \"\"" + NEW_LINE +
             "   }" + NEW_LINE +
             NEW_LINE +
             " - field: \"/httpResponse/body\" for schema: \"bodyWithContentType/anyOf/0\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
@@ -603,6 +608,7 @@ public class JsonSchemaExpectationValidatorIntegrationTest {
             " - field: \"/httpResponse/body\" for schema: \"bodyWithContentType/anyOf/5\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
             " - field: \"/httpResponse/body\" for schema: \"bodyWithContentType/anyOf/6\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"string\"])\"" + NEW_LINE +
             " - field: \"/httpResponse/body\" for schema: \"bodyWithContentType/anyOf/7\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
+            " - field: \"/httpResponse/body\" for schema: \"bodyWithContentType/anyOf/8\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
             NEW_LINE +
             OPEN_API_SPECIFICATION_URL));
     }
@@ -809,7 +815,7 @@ public class JsonSchemaExpectationValidatorIntegrationTest {
             "    \"statusCode\" : 304," + NEW_LINE +
             "    \"body\" : 50," + NEW_LINE +
             "  }" + NEW_LINE +
-            "}"), is("15 errors:" + NEW_LINE +
+            "}"), is("16 errors:" + NEW_LINE +
             " - field: \"/httpRequest\" for schema: \"openAPIDefinition\" has error: \"object has missing required properties ([\"specUrlOrPayload\"])\"" + NEW_LINE +
             " - field: \"/httpRequest\" for schema: \"openAPIDefinition\" has error: \"object instance has properties which are not allowed by the schema: [\"method\",\"path\",\"queryStringParameters\"]\"" + NEW_LINE +
             " - field: \"/httpRequest/queryStringParameters\" for schema: \"keyToMultiValue\" has error: \"instance failed to match exactly one schema (matched 0 out of 2)\"" + NEW_LINE +
@@ -870,6 +876,11 @@ public class JsonSchemaExpectationValidatorIntegrationTest {
             "     \"type\": \"XML\"," + NEW_LINE +
             "     \"xml\": \"\"," + NEW_LINE +
             "     \"contentType\": \"\"" + NEW_LINE +
+            "   }," + NEW_LINE +
+            "   {" + NEW_LINE +
+            "     \"type\": \"FILE\"," + NEW_LINE +
+            "     \"filePath\": \"\"," + NEW_LINE +
+            "     \"contentType\": \"\"" + NEW_LINE +
             "   }" + NEW_LINE +
             NEW_LINE +
             " - field: \"/httpResponse/body\" for schema: \"bodyWithContentType/anyOf/0\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
@@ -880,6 +891,7 @@ public class JsonSchemaExpectationValidatorIntegrationTest {
             " - field: \"/httpResponse/body\" for schema: \"bodyWithContentType/anyOf/5\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
             " - field: \"/httpResponse/body\" for schema: \"bodyWithContentType/anyOf/6\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"string\"])\"" + NEW_LINE +
             " - field: \"/httpResponse/body\" for schema: \"bodyWithContentType/anyOf/7\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
+            " - field: \"/httpResponse/body\" for schema: \"bodyWithContentType/anyOf/8\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
             NEW_LINE +
             OPEN_API_SPECIFICATION_URL));
     }
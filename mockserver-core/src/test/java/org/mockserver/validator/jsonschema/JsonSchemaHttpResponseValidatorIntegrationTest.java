@@ -70,7 +70,7 @@ public class JsonSchemaHttpResponseValidatorIntegrationTest {
                 "    \"body\" : 1" + NEW_LINE +
                 "  }"),
             is(
-                "9 errors:" + NEW_LINE +
+                "10 errors:" + NEW_LINE +
                     " - field: \"/body\" for schema: \"bodyWithContentType\" has error: \" a plain string, JSON object or one of the following example bodies must be specified " + NEW_LINE +
                     "   {" + NEW_LINE +
                     "     \"type\": \"BINARY\"," + NEW_LINE +
@@ -94,6 +94,11 @@ public class JsonSchemaHttpResponseValidatorIntegrationTest {
                     "     \"type\": \"XML\"," + NEW_LINE +
                     "     \"xml\": \"\"," + NEW_LINE +
                     "     \"contentType\": \"\"" + NEW_LINE +
+                    "   }," + NEW_LINE +
+                    "   {" + NEW_LINE +
+                    "     \"type\": \"FILE\"," + NEW_LINE +
+                    "     \"filePath\": \"\"," + NEW_LINE +
+                    "     \"contentType\": \"\"" + NEW_LINE +
                     "   }" + NEW_LINE +
                     NEW_LINE +
                     " - field: \"/body\" for schema: \"bodyWithContentType/anyOf/0\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
@@ -104,6 +109,7 @@ public class JsonSchemaHttpResponseValidatorIntegrationTest {
                     " - field: \"/body\" for schema: \"bodyWithContentType/anyOf/5\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
                     " - field: \"/body\" for schema: \"bodyWithContentType/anyOf/6\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"string\"])\"" + NEW_LINE +
                     " - field: \"/body\" for schema: \"bodyWithContentType/anyOf/7\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
+                    " - field: \"/body\" for schema: \"bodyWithContentType/anyOf/8\" has error: \"instance type (integer) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
                     NEW_LINE +
                     OPEN_API_SPECIFICATION_URL
             ));
@@ -134,7 +140,7 @@ public class JsonSchemaHttpResponseValidatorIntegrationTest {
                 "    \"body\" : false" + NEW_LINE +
                 "  }"),
             is(
-                "10 errors:" + NEW_LINE +
+                "11 errors:" + NEW_LINE +
                     " - field: \"/body\" for schema: \"bodyWithContentType\" has error: \" a plain string, JSON object or one of the following example bodies must be specified " + NEW_LINE +
                     "   {" + NEW_LINE +
                     "     \"type\": \"BINARY\"," + NEW_LINE +
@@ -158,6 +164,11 @@ public class JsonSchemaHttpResponseValidatorIntegrationTest {
                     "     \"type\": \"XML\"," + NEW_LINE +
                     "     \"xml\": \"\"," + NEW_LINE +
                     "     \"contentType\": \"\"" + NEW_LINE +
+                    "   }," + NEW_LINE +
+                    "   {" + NEW_LINE +
+                    "     \"type\": \"FILE\"," + NEW_LINE +
+                    "     \"filePath\": \"\"," + NEW_LINE +
+                    "     \"contentType\": \"\"" + NEW_LINE +
                     "   }" + NEW_LINE +
                     NEW_LINE +
                     " - field: \"/body\" for schema: \"bodyWithContentType/anyOf/0\" has error: \"instance type (boolean) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
@@ -168,6 +179,7 @@ public class JsonSchemaHttpResponseValidatorIntegrationTest {
                     " - field: \"/body\" for schema: \"bodyWithContentType/anyOf/5\" has error: \"instance type (boolean) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
                     " - field: \"/body\" for schema: \"bodyWithContentType/anyOf/6\" has error: \"instance type (boolean) does not match any allowed primitive type (allowed: [\"string\"])\"" + NEW_LINE +
                     " - field: \"/body\" for schema: \"bodyWithContentType/anyOf/7\" has error: \"instance type (boolean) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
+                    " - field: \"/body\" for schema: \"bodyWithContentType/anyOf/8\" has error: \"instance type (boolean) does not match any allowed primitive type (allowed: [\"object\"])\"" + NEW_LINE +
                     " - field: \"/statusCode\" for schema: \"/properties/statusCode\" has error: \"instance type (string) does not match any allowed primitive type (allowed: [\"integer\"])\"" + NEW_LINE +
                     NEW_LINE +
                     OPEN_API_SPECIFICATION_URL
@@ -3,8 +3,8 @@ package org.mockserver.lifecycle;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.log.MockServerEventLog;
@@ -13,6 +13,7 @@ import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mock.HttpState;
 import org.mockserver.mock.listeners.MockServerMatcherNotifier;
 import org.mockserver.scheduler.Scheduler;
+import org.mockserver.socket.SocketTransport;
 import org.mockserver.stop.Stoppable;
 
 import java.net.InetSocketAddress;
@@ -35,12 +36,15 @@ import static org.slf4j.event.Level.*;
  */
 public abstract class LifeCycle implements Stoppable {
 
+    private static final int BOSS_EVENT_LOOP_THREAD_COUNT = 5;
     protected final MockServerLogger mockServerLogger;
-    protected final EventLoopGroup bossGroup = new NioEventLoopGroup(5, new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-bossEventLoop"));
-    protected final EventLoopGroup workerGroup = new NioEventLoopGroup(ConfigurationProperties.nioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-workerEventLoop"));
+    protected final SocketTransport socketTransport = SocketTransport.configured();
+    protected final EventLoopGroup bossGroup = socketTransport.eventLoopGroup(BOSS_EVENT_LOOP_THREAD_COUNT, new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-bossEventLoop"));
+    protected final EventLoopGroup workerGroup = socketTransport.eventLoopGroup(ConfigurationProperties.nioEventLoopThreadCount(), new Scheduler.SchedulerThreadFactory(this.getClass().getSimpleName() + "-workerEventLoop"));
     protected final HttpState httpState;
     protected ServerBootstrap serverServerBootstrap;
     private final List<Future<Channel>> serverChannelFutures = new ArrayList<>();
+    private final List<Future<Channel>> reusePortChannelFutures = new ArrayList<>();
     private final CompletableFuture<String> stopFuture = new CompletableFuture<>();
     private final AtomicBoolean stopping = new AtomicBoolean(false);
     private final Scheduler scheduler;
@@ -66,6 +70,10 @@ public abstract class LifeCycle implements Stoppable {
                 httpState.stop();
                 scheduler.shutdown();
 
+                // Close all bound server channels, including the additional SO_REUSEPORT channels
+                closeChannels(serverChannelFutures);
+                closeChannels(reusePortChannelFutures);
+
                 // Shut down all event loops to terminate all threads.
                 bossGroup.shutdownGracefully(5, 5, MILLISECONDS);
                 workerGroup.shutdownGracefully(5, 5, MILLISECONDS);
@@ -87,6 +95,25 @@ public abstract class LifeCycle implements Stoppable {
         return stopFuture;
     }
 
+    private void closeChannels(List<Future<Channel>> channelFutures) {
+        for (Future<Channel> channelOpened : channelFutures) {
+            if (channelOpened.isDone()) {
+                try {
+                    channelOpened.get().close().syncUninterruptibly();
+                } catch (Throwable throwable) {
+                    if (MockServerLogger.isEnabled(DEBUG)) {
+                        mockServerLogger.logEvent(
+                            new LogEntry()
+                                .setLogLevel(DEBUG)
+                                .setMessageFormat("exception while closing server channel - " + throwable.getMessage())
+                                .setArguments(throwable)
+                        );
+                    }
+                }
+            }
+        }
+    }
+
     public void stop() {
         try {
             stopAsync().get(10, SECONDS);
@@ -207,7 +234,9 @@ public abstract class LifeCycle implements Stoppable {
                     }
                 }).start();
 
-                actualPortBindings.add(((InetSocketAddress) channelOpened.get(maxFutureTimeout(), MILLISECONDS).localAddress()).getPort());
+                int actualPort = ((InetSocketAddress) channelOpened.get(maxFutureTimeout(), MILLISECONDS).localAddress()).getPort();
+                bindReusePortChannels(serverBootstrap, localBoundIP, actualPort);
+                actualPortBindings.add(actualPort);
             } catch (Exception e) {
                 throw new RuntimeException("Exception while binding MockServer to port " + portToBind, e.getCause());
             }
@@ -215,6 +244,38 @@ public abstract class LifeCycle implements Stoppable {
         return actualPortBindings;
     }
 
+    /**
+     * When the transport supports SO_REUSEPORT binds one more server channel to the port for each other boss event loop,
+     * so the kernel spreads accepting connections across all the boss event loops instead of a single one, the additional
+     * channels are tracked so they are closed with the other server channels when stopping
+     */
+    private void bindReusePortChannels(final ServerBootstrap serverBootstrap, final String localBoundIP, final int port) {
+        ChannelOption<Boolean> reusePort = socketTransport.reusePort();
+        if (reusePort != null && Boolean.TRUE.equals(serverBootstrap.config().options().get(reusePort))) {
+            for (int i = 1; i < BOSS_EVENT_LOOP_THREAD_COUNT; i++) {
+                final CompletableFuture<Channel> channelOpened = new CompletableFuture<>();
+                reusePortChannelFutures.add(channelOpened);
+                serverBootstrap
+                    .bind(isBlank(localBoundIP) ? new InetSocketAddress(port) : new InetSocketAddress(localBoundIP, port))
+                    .addListener((ChannelFutureListener) future -> {
+                        if (future.isSuccess()) {
+                            channelOpened.complete(future.channel());
+                        } else {
+                            channelOpened.completeExceptionally(future.cause());
+                        }
+                        if (!future.isSuccess() && MockServerLogger.isEnabled(WARN)) {
+                            mockServerLogger.logEvent(
+                                new LogEntry()
+                                    .setLogLevel(WARN)
+                                    .setMessageFormat("exception binding additional SO_REUSEPORT channel to port " + port + ", connections will be accepted by fewer event loops")
+                                    .setThrowable(future.cause())
+                            );
+                        }
+                    });
+            }
+        }
+    }
+
     protected void startedServer(List<Integer> ports) {
         final String message = "started on port" + (ports.size() == 1 ? ": " + ports.get(0) : "s: " + ports);
         setPort(ports);
@@ -37,6 +37,7 @@ import static org.mockserver.configuration.ConfigurationProperties.addSubjectAlt
 import static org.mockserver.exception.ExceptionHandling.closeOnFlush;
 import static org.mockserver.exception.ExceptionHandling.connectionClosedException;
 import static org.mockserver.mock.HttpState.PATH_PREFIX;
+import static org.mockserver.mock.HttpState.isControlPlaneRequest;
 import static org.mockserver.model.HttpResponse.response;
 import static org.mockserver.model.PortBinding.portBinding;
 import static org.mockserver.netty.unification.PortUnificationHandler.enableSslUpstreamAndDownstream;
@@ -50,6 +51,7 @@ public class HttpRequestHandler extends SimpleChannelInboundHandler<HttpRequest>
 
     public static final AttributeKey<Boolean> PROXYING = AttributeKey.valueOf("PROXYING");
     public static final AttributeKey<Set<String>> LOCAL_HOST_HEADERS = AttributeKey.valueOf("LOCAL_HOST_HEADERS");
+    public static final AttributeKey<Boolean> BODY_TRUNCATED = AttributeKey.valueOf("BODY_TRUNCATED");
     private MockServerLogger mockServerLogger;
     private HttpState httpState;
     private PortBindingSerializer portBindingSerializer;
@@ -86,17 +88,20 @@ public class HttpRequestHandler extends SimpleChannelInboundHandler<HttpRequest>
     protected void channelRead0(final ChannelHandlerContext ctx, final HttpRequest request) {
 
         ResponseWriter responseWriter = new NettyResponseWriter(mockServerLogger, ctx, httpState.getScheduler());
+        if (Boolean.TRUE.equals(ctx.channel().attr(BODY_TRUNCATED).getAndSet(null))) {
+            request.withBodyTruncated(true);
+        }
         try {
             addSubjectAlternativeName(request.getFirstHeader(HOST.toString()));
 
             if (!httpState.handle(request, responseWriter, false)) {
 
-                if (request.matches("PUT", PATH_PREFIX + "/status", "/status") ||
+                if (isControlPlaneRequest(request, "/status") ||
                     isNotBlank(ConfigurationProperties.livenessHttpGetPath()) && request.matches("GET", ConfigurationProperties.livenessHttpGetPath())) {
 
                     responseWriter.writeResponse(request, OK, portBindingSerializer.serialize(portBinding(server.getLocalPorts())), "application/json");
 
-                } else if (request.matches("PUT", PATH_PREFIX + "/bind", "/bind")) {
+                } else if (isControlPlaneRequest(request, "/bind")) {
 
                     PortBinding requestedPortBindings = portBindingSerializer.deserialize(request.getBodyAsString());
                     if (requestedPortBindings != null) {
@@ -112,7 +117,7 @@ public class HttpRequestHandler extends SimpleChannelInboundHandler<HttpRequest>
                         }
                     }
 
-                } else if (request.matches("PUT", PATH_PREFIX + "/stop", "/stop")) {
+                } else if (isControlPlaneRequest(request, "/stop")) {
 
                     ctx.writeAndFlush(response().withStatusCode(OK.code()));
                     new Scheduler.SchedulerThreadFactory("MockServer Stop").newThread(() -> server.stop()).start();
@@ -11,6 +11,7 @@ import org.mockserver.lifecycle.LifeCycle;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.netty.proxy.relay.RelayConnectHandler;
+import org.mockserver.netty.unification.HttpBodyStreamingHandler;
 import org.mockserver.codec.MockServerHttpServerCodec;
 
 import static org.mockserver.model.HttpResponse.response;
@@ -26,6 +27,7 @@ public final class HttpConnectHandler extends RelayConnectHandler<HttpRequest> {
         ChannelPipeline pipeline = ctx.pipeline();
         removeHandler(pipeline, HttpServerCodec.class);
         removeHandler(pipeline, HttpContentDecompressor.class);
+        removeHandler(pipeline, HttpBodyStreamingHandler.class);
         removeHandler(pipeline, HttpObjectAggregator.class);
         removeHandler(pipeline, MockServerHttpServerCodec.class);
         if (pipeline.get(this.getClass()) != null) {
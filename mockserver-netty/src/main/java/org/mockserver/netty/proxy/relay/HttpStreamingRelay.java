@@ -0,0 +1,429 @@
+package org.mockserver.netty.proxy.relay;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.handler.codec.http.*;
+import io.netty.util.ReferenceCountUtil;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.log.model.LogEntry;
+import org.mockserver.logging.LoggingHandler;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mappers.FullHttpRequestToMockServerHttpRequest;
+import org.mockserver.mappers.FullHttpResponseToMockServerHttpResponse;
+import org.mockserver.mock.HttpState;
+import org.mockserver.serialization.curl.HttpRequestToCurlSerializer;
+import org.mockserver.socket.SocketTransport;
+import org.slf4j.event.Level;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
+import static org.mockserver.character.Character.NEW_LINE;
+import static org.mockserver.exception.ExceptionHandling.*;
+import static org.mockserver.log.model.LogEntry.LogMessageType.*;
+import static org.mockserver.log.model.LogEntryMessages.NO_MATCH_RESPONSE_ERROR_MESSAGE_FORMAT;
+import static org.mockserver.log.model.LogEntryMessages.NO_MATCH_RESPONSE_NO_EXPECTATION_MESSAGE_FORMAT;
+import static org.mockserver.log.model.LogEntryMessages.RECEIVED_REQUEST_MESSAGE_FORMAT;
+import static org.mockserver.model.HttpResponse.notFoundResponse;
+import static org.mockserver.netty.unification.PortUnificationHandler.nettySslContextFactory;
+import static org.slf4j.event.Level.TRACE;
+
+/**
+ * Relays a single proxied request to the remote server as each part of it is received, and the response back to the
+ * client as each part of it is received, so neither body is held in memory, at most
+ * {@link ConfigurationProperties#maxStreamedBodyLogSize()} bytes of each body are retained so the request and response
+ * can be logged, and verified, once the exchange has completed
+ *
+ * @author jamesdbloom
+ */
+public class HttpStreamingRelay {
+
+    private static final List<String> HOP_BY_HOP_HEADERS = Arrays.asList(
+        "proxy-connection",
+        "connection",
+        "keep-alive",
+        "te",
+        "trailer",
+        "proxy-authorization",
+        "proxy-authenticate",
+        "upgrade"
+    );
+
+    private final MockServerLogger mockServerLogger;
+    private final HttpState httpState;
+    private final ChannelHandlerContext ctx;
+    private final InetSocketAddress remoteAddress;
+    private final boolean secure;
+    private final boolean potentiallyHttpProxy;
+    private final Runnable onComplete;
+    private final int maxBodyLogSize;
+    private final List<HttpObject> pending = new ArrayList<>();
+    private HttpRequest requestHead;
+    private HttpResponse responseHead;
+    private ByteBuf requestBody;
+    private ByteBuf responseBody;
+    private Channel upstream;
+    private boolean keepAlive;
+    private boolean informationalResponse;
+    private boolean loopResponse;
+    private boolean requestComplete;
+    private boolean responseComplete;
+    private boolean complete;
+
+    public HttpStreamingRelay(MockServerLogger mockServerLogger, HttpState httpState, ChannelHandlerContext ctx, InetSocketAddress remoteAddress, boolean secure, boolean potentiallyHttpProxy, Runnable onComplete) {
+        this.mockServerLogger = mockServerLogger;
+        this.httpState = httpState;
+        this.ctx = ctx;
+        this.remoteAddress = remoteAddress;
+        this.secure = secure;
+        this.potentiallyHttpProxy = potentiallyHttpProxy;
+        this.onComplete = onComplete;
+        this.maxBodyLogSize = ConfigurationProperties.maxStreamedBodyLogSize();
+    }
+
+    public void start(HttpRequest requestHead) {
+        this.requestHead = requestHead;
+        this.keepAlive = HttpUtil.isKeepAlive(requestHead);
+        this.requestBody = ctx.alloc().buffer();
+        this.responseBody = ctx.alloc().buffer();
+
+        HttpRequest upstreamRequestHead = new DefaultHttpRequest(requestHead.protocolVersion(), requestHead.method(), requestHead.uri(), requestHead.headers().copy());
+        for (String hopByHopHeader : HOP_BY_HOP_HEADERS) {
+            upstreamRequestHead.headers().remove(hopByHopHeader);
+        }
+        upstreamRequestHead.headers().set(httpState.getUniqueLoopPreventionHeaderName(), httpState.getUniqueLoopPreventionHeaderValue());
+        // a new connection is used for each streamed exchange
+        HttpUtil.setKeepAlive(upstreamRequestHead, false);
+        pending.add(upstreamRequestHead);
+
+        // stop reading the request body until it can be written upstream
+        ctx.channel().config().setAutoRead(false);
+        new Bootstrap()
+            .group(ctx.channel().eventLoop())
+            .channel(SocketTransport.of(ctx.channel().eventLoop()).socketChannel())
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, potentiallyHttpProxy ? 1000 : ConfigurationProperties.socketConnectionTimeout())
+            .handler(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel channel) {
+                    ChannelPipeline pipeline = channel.pipeline();
+                    if (secure) {
+                        pipeline.addLast(nettySslContextFactory(ctx.channel()).createClientSslContext(true).newHandler(channel.alloc(), remoteAddress.getHostString(), remoteAddress.getPort()));
+                    }
+                    if (MockServerLogger.isEnabled(TRACE)) {
+                        pipeline.addLast(new LoggingHandler("streaming relay -->"));
+                    }
+                    pipeline.addLast(new HttpClientCodec(ConfigurationProperties.maxInitialLineLength(), ConfigurationProperties.maxHeaderSize(), ConfigurationProperties.maxChunkSize()));
+                    pipeline.addLast(new UpstreamHandler());
+                }
+            })
+            .connect(remoteAddress)
+            .addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess()) {
+                    if (complete) {
+                        future.channel().close();
+                    } else {
+                        upstream = future.channel();
+                        for (HttpObject httpObject : pending) {
+                            upstream.write(httpObject).addListener(writeFailureListener());
+                        }
+                        pending.clear();
+                        upstream.flush();
+                        if (!requestComplete) {
+                            ctx.channel().config().setAutoRead(true);
+                        }
+                    }
+                } else {
+                    failed(future.cause());
+                }
+            });
+    }
+
+    public void writeContent(HttpContent content) {
+        if (complete) {
+            ReferenceCountUtil.release(content);
+        } else {
+            retain(requestBody, content.content());
+            if (upstream == null) {
+                pending.add(content);
+            } else {
+                upstream.writeAndFlush(content).addListener(writeFailureListener());
+                if (!upstream.isWritable()) {
+                    ctx.channel().config().setAutoRead(false);
+                }
+            }
+        }
+        if (content instanceof LastHttpContent) {
+            requestComplete = true;
+            completeIfFinished();
+        }
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void downstreamWritabilityChanged() {
+        if (upstream != null && ctx.channel().isWritable()) {
+            upstream.config().setAutoRead(true);
+        }
+    }
+
+    public void downstreamClosed() {
+        if (!complete) {
+            complete = true;
+            releasePending();
+            release();
+            if (upstream != null) {
+                upstream.close();
+            }
+        }
+    }
+
+    private void retain(ByteBuf retained, ByteBuf content) {
+        int length = Math.min(content.readableBytes(), maxBodyLogSize - retained.readableBytes());
+        if (length > 0) {
+            retained.writeBytes(content, content.readerIndex(), length);
+        }
+    }
+
+    private ChannelFutureListener writeFailureListener() {
+        return future -> {
+            if (!future.isSuccess()) {
+                failed(future.cause());
+            }
+        };
+    }
+
+    private class UpstreamHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext upstreamCtx, Object msg) {
+            if (complete) {
+                ReferenceCountUtil.release(msg);
+                return;
+            }
+            if (msg instanceof HttpResponse) {
+                HttpResponse response = (HttpResponse) msg;
+                informationalResponse = response.status().codeClass() == HttpStatusClass.INFORMATIONAL;
+                if (!informationalResponse) {
+                    if (!(response instanceof HttpContent)) {
+                        // the decoder still reads the body using the head it decoded, so the head returned is a copy
+                        response = new DefaultHttpResponse(response.protocolVersion(), response.status(), response.headers().copy());
+                        msg = response;
+                    }
+                    responseHead = response;
+                    if (response.headers().contains(httpState.getUniqueLoopPreventionHeaderName(), httpState.getUniqueLoopPreventionHeaderValue(), true)) {
+                        response.headers().remove(httpState.getUniqueLoopPreventionHeaderName());
+                        loopResponse = true;
+                    }
+                    delimitResponseBody(response);
+                    HttpUtil.setKeepAlive(response, keepAlive);
+                }
+            }
+            if (msg instanceof HttpContent && !informationalResponse) {
+                retain(responseBody, ((HttpContent) msg).content());
+            }
+            boolean last = msg instanceof LastHttpContent;
+            ctx.writeAndFlush(msg);
+            if (!ctx.channel().isWritable()) {
+                upstreamCtx.channel().config().setAutoRead(false);
+            }
+            if (last) {
+                if (informationalResponse) {
+                    informationalResponse = false;
+                } else {
+                    responseComplete = true;
+                    completeIfFinished();
+                }
+            }
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext upstreamCtx) {
+            if (upstreamCtx.channel().isWritable() && !requestComplete) {
+                ctx.channel().config().setAutoRead(true);
+            }
+            upstreamCtx.fireChannelWritabilityChanged();
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext upstreamCtx) {
+            if (!responseComplete) {
+                failed(new ClosedChannelException());
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext upstreamCtx, Throwable cause) {
+            failed(cause);
+        }
+    }
+
+    /**
+     * A response body without a Content-Length that isn't chunked ends when the upstream connection closes, which the
+     * client can't see on a kept alive connection, so the body is chunked for HTTP/1.1 or the connection is closed after it
+     */
+    private void delimitResponseBody(HttpResponse response) {
+        if (!HttpUtil.isContentLengthSet(response) && !HttpUtil.isTransferEncodingChunked(response) && mayHaveBody(response)) {
+            if (HttpVersion.HTTP_1_1.equals(requestHead.protocolVersion()) && HttpVersion.HTTP_1_1.equals(response.protocolVersion())) {
+                HttpUtil.setTransferEncodingChunked(response, true);
+            } else {
+                keepAlive = false;
+            }
+        }
+    }
+
+    private boolean mayHaveBody(HttpResponse response) {
+        int code = response.status().code();
+        return !HttpMethod.HEAD.equals(requestHead.method()) && code != HttpResponseStatus.NO_CONTENT.code() && code != HttpResponseStatus.NOT_MODIFIED.code();
+    }
+
+    private void completeIfFinished() {
+        if (requestComplete && responseComplete && !complete) {
+            complete = true;
+            if (upstream != null) {
+                upstream.close();
+            }
+            org.mockserver.model.HttpRequest request = logReceivedRequest();
+            org.mockserver.model.HttpResponse response = new FullHttpResponseToMockServerHttpResponse(mockServerLogger).mapFullHttpResponseToMockServerResponse(
+                new DefaultFullHttpResponse(responseHead.protocolVersion(), responseHead.status(), responseBody.duplicate(), responseHead.headers(), EmptyHttpHeaders.INSTANCE)
+            );
+            if (loopResponse) {
+                if (MockServerLogger.isEnabled(Level.INFO)) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setType(NO_MATCH_RESPONSE)
+                            .setLogLevel(Level.INFO)
+                            .setCorrelationId(request.getLogCorrelationId())
+                            .setHttpRequest(request)
+                            .setHttpResponse(notFoundResponse())
+                            .setMessageFormat(NO_MATCH_RESPONSE_NO_EXPECTATION_MESSAGE_FORMAT)
+                            .setArguments(request, response)
+                    );
+                }
+            } else {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setType(FORWARDED_REQUEST)
+                        .setLogLevel(Level.INFO)
+                        .setCorrelationId(request.getLogCorrelationId())
+                        .setHttpRequest(request)
+                        .setHttpResponse(response)
+                        .setExpectation(request, response)
+                        .setMessageFormat("returning response:{}for forwarded request" + NEW_LINE + NEW_LINE + " in json:{}" + NEW_LINE + NEW_LINE + " in curl:{}")
+                        .setArguments(response, request, new HttpRequestToCurlSerializer(mockServerLogger).toCurl(request, remoteAddress))
+                );
+            }
+            release();
+            if (!keepAlive) {
+                ctx.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+            }
+            onComplete.run();
+        }
+    }
+
+    private void failed(Throwable cause) {
+        if (complete) {
+            return;
+        }
+        complete = true;
+        releasePending();
+        if (upstream != null) {
+            upstream.close();
+        }
+        org.mockserver.model.HttpRequest request = logReceivedRequest();
+        if (potentiallyHttpProxy && connectionException(cause)) {
+            if (MockServerLogger.isEnabled(TRACE)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(TRACE)
+                        .setCorrelationId(request.getLogCorrelationId())
+                        .setMessageFormat("failed to connect to proxied socket due to exploratory HTTP proxy for:{}due to:{}falling back to no proxy")
+                        .setArguments(request, cause)
+                );
+            }
+        } else if (!connectionClosedException(cause)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(EXCEPTION)
+                    .setLogLevel(Level.ERROR)
+                    .setCorrelationId(request.getLogCorrelationId())
+                    .setHttpRequest(request)
+                    .setMessageFormat("exception while streaming request{}to remote address{}")
+                    .setArguments(request, remoteAddress)
+                    .setThrowable(cause)
+            );
+        } else if (MockServerLogger.isEnabled(Level.INFO)) {
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(NO_MATCH_RESPONSE)
+                    .setLogLevel(Level.INFO)
+                    .setCorrelationId(request.getLogCorrelationId())
+                    .setHttpRequest(request)
+                    .setHttpResponse(notFoundResponse())
+                    .setMessageFormat(NO_MATCH_RESPONSE_ERROR_MESSAGE_FORMAT)
+                    .setArguments("connection closed while streaming request to remote address" + remoteAddress, request, notFoundResponse())
+            );
+        }
+        release();
+        if (responseHead == null) {
+            // nothing has been returned yet, so respond as if the request had not been proxied
+            FullHttpResponse notFound = new DefaultFullHttpResponse(requestHead.protocolVersion(), NOT_FOUND);
+            HttpUtil.setContentLength(notFound, 0);
+            HttpUtil.setKeepAlive(notFound, requestComplete && HttpUtil.isKeepAlive(requestHead));
+            ChannelFuture channelFuture = ctx.writeAndFlush(notFound);
+            if (!requestComplete || !HttpUtil.isKeepAlive(requestHead)) {
+                // the remainder of the request body can't be skipped reliably, so the connection is closed
+                channelFuture.addListener(ChannelFutureListener.CLOSE);
+            }
+        } else {
+            // part of the response has already been returned
+            closeOnFlush(ctx.channel());
+        }
+        onComplete.run();
+    }
+
+    private org.mockserver.model.HttpRequest logReceivedRequest() {
+        org.mockserver.model.HttpRequest request = new FullHttpRequestToMockServerHttpRequest(mockServerLogger, secure, localPort()).mapFullHttpRequestToMockServerRequest(
+            new DefaultFullHttpRequest(requestHead.protocolVersion(), requestHead.method(), requestHead.uri(), requestBody.duplicate(), requestHead.headers(), EmptyHttpHeaders.INSTANCE)
+        );
+        mockServerLogger.logEvent(
+            new LogEntry()
+                .setType(RECEIVED_REQUEST)
+                .setLogLevel(Level.INFO)
+                .setCorrelationId(request.getLogCorrelationId())
+                .setHttpRequest(request)
+                .setMessageFormat(RECEIVED_REQUEST_MESSAGE_FORMAT)
+                .setArguments(request)
+        );
+        return request;
+    }
+
+    private Integer localPort() {
+        return ctx.channel().localAddress() instanceof InetSocketAddress ? ((InetSocketAddress) ctx.channel().localAddress()).getPort() : null;
+    }
+
+    private void releasePending() {
+        for (HttpObject httpObject : pending) {
+            ReferenceCountUtil.release(httpObject);
+        }
+        pending.clear();
+    }
+
+    private void release() {
+        if (requestBody != null) {
+            requestBody.release();
+            requestBody = null;
+        }
+        if (responseBody != null) {
+            responseBody.release();
+            responseBody = null;
+        }
+    }
+}
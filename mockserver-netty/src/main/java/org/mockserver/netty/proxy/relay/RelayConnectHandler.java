@@ -5,7 +5,6 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
@@ -16,6 +15,7 @@ import org.mockserver.lifecycle.LifeCycle;
 import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.LoggingHandler;
 import org.mockserver.logging.MockServerLogger;
+import org.mockserver.socket.SocketTransport;
 import org.slf4j.event.Level;
 
 import java.net.InetSocketAddress;
@@ -48,7 +48,7 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
     public void channelRead0(final ChannelHandlerContext proxyClientCtx, final T request) {
         Bootstrap bootstrap = new Bootstrap()
             .group(proxyClientCtx.channel().eventLoop())
-            .channel(NioSocketChannel.class)
+            .channel(SocketTransport.of(proxyClientCtx.channel().eventLoop()).socketChannel())
             .handler(new ChannelInboundHandlerAdapter() {
                 @Override
                 public void channelActive(final ChannelHandlerContext mockServerCtx) {
@@ -84,7 +84,9 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
 
                                     pipelineToMockServer.addLast(new HttpContentDecompressor());
 
-                                    pipelineToMockServer.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+                                    if (!ConfigurationProperties.enableStreamingBodies()) {
+                                        pipelineToMockServer.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+                                    }
 
                                     pipelineToMockServer.addLast(new DownstreamProxyRelayHandler(mockServerLogger, proxyClientCtx.channel()));
 
@@ -103,7 +105,9 @@ public abstract class RelayConnectHandler<T> extends SimpleChannelInboundHandler
 
                                     pipelineToProxyClient.addLast(new HttpContentDecompressor());
 
-                                    pipelineToProxyClient.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+                                    if (!ConfigurationProperties.enableStreamingBodies()) {
+                                        pipelineToProxyClient.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+                                    }
 
                                     pipelineToProxyClient.addLast(new UpstreamProxyRelayHandler(mockServerLogger, proxyClientCtx.channel(), mockServerCtx.channel()));
                                 });
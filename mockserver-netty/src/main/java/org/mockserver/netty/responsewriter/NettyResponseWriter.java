@@ -9,11 +9,15 @@ import org.mockserver.log.model.LogEntry;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.model.ConnectionOptions;
 import org.mockserver.model.Delay;
+import org.mockserver.model.FileBody;
 import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.responsewriter.ResponseWriter;
 import org.mockserver.scheduler.Scheduler;
 
+import static org.mockserver.log.model.LogEntry.LogMessageType.EXCEPTION;
+import static org.mockserver.model.HttpResponse.notFoundResponse;
+import static org.slf4j.event.Level.ERROR;
 import static org.slf4j.event.Level.TRACE;
 import static org.slf4j.event.Level.WARN;
 
@@ -35,6 +39,20 @@ public class NettyResponseWriter extends ResponseWriter {
 
     @Override
     public void sendResponse(HttpRequest request, HttpResponse response) {
+        String fileBodyValidationErrors = response.getBody() instanceof FileBody ? ((FileBody) response.getBody()).validate() : "";
+        if (!fileBodyValidationErrors.isEmpty()) {
+            // the file was removed, or the file body base directory changed, after the expectation was created
+            HttpResponse notFoundResponse = addConnectionHeader(request, notFoundResponse());
+            mockServerLogger.logEvent(
+                new LogEntry()
+                    .setType(EXCEPTION)
+                    .setLogLevel(ERROR)
+                    .setHttpRequest(request)
+                    .setMessageFormat(fileBodyValidationErrors + ", returning{}for request{}")
+                    .setArguments(notFoundResponse, request)
+            );
+            response = notFoundResponse;
+        }
         writeAndCloseSocket(ctx, request, response);
     }
 
@@ -49,6 +67,23 @@ public class NettyResponseWriter extends ResponseWriter {
         }
 
         ChannelFuture channelFuture = ctx.writeAndFlush(response);
+        if (response.getBody() instanceof FileBody) {
+            // if the file can't be read nothing is written, so close the connection instead of leaving the client waiting
+            channelFuture.addListener((ChannelFutureListener) future -> {
+                if (!future.isSuccess()) {
+                    mockServerLogger.logEvent(
+                        new LogEntry()
+                            .setType(EXCEPTION)
+                            .setLogLevel(ERROR)
+                            .setHttpRequest(request)
+                            .setMessageFormat("exception writing file body{}for request{}")
+                            .setArguments(response.getBody(), request)
+                            .setThrowable(future.cause())
+                    );
+                    future.channel().close();
+                }
+            });
+        }
         if (closeChannel || ConfigurationProperties.alwaysCloseSocketConnections()) {
             channelFuture.addListener((ChannelFutureListener) future -> {
                 Delay closeSocketDelay = connectionOptions != null ? connectionOptions.getCloseSocketDelay() : null;
@@ -0,0 +1,58 @@
+package org.mockserver.netty.unification;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.HttpContentDecompressor;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import org.mockserver.codec.Http2ExtensionHeaderRemover;
+import org.mockserver.codec.MockServerHttpServerCodec;
+import org.mockserver.lifecycle.LifeCycle;
+import org.mockserver.logging.LoggingHandler;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.HttpState;
+import org.mockserver.mock.action.http.HttpActionHandler;
+import org.mockserver.netty.HttpRequestHandler;
+
+import static org.mockserver.logging.MockServerLogger.isEnabled;
+import static org.mockserver.netty.unification.PortUnificationHandler.copyConnectionAttributes;
+import static org.mockserver.netty.unification.PortUnificationHandler.isSslEnabledUpstream;
+import static org.slf4j.event.Level.TRACE;
+
+/**
+ * Initialises each HTTP/2 stream as its own channel, frames are converted to and from HTTP/1.x messages so each stream
+ * is handled by the same codecs and request handler as an HTTP/1.1 connection
+ *
+ * @author jamesdbloom
+ */
+@ChannelHandler.Sharable
+public class Http2ServerStreamInitializer extends ChannelInitializer<Channel> {
+
+    private final MockServerLogger mockServerLogger;
+    private final Http2ExtensionHeaderRemover http2ExtensionHeaderRemover = new Http2ExtensionHeaderRemover();
+    private final HttpRequestHandler httpRequestHandler;
+
+    public Http2ServerStreamInitializer(LifeCycle server, HttpState httpStateHandler, HttpActionHandler actionHandler) {
+        this.mockServerLogger = httpStateHandler.getMockServerLogger();
+        this.httpRequestHandler = new HttpRequestHandler(server, httpStateHandler, actionHandler);
+    }
+
+    @Override
+    protected void initChannel(Channel channel) {
+        // streams are handled as if they were received on the connection they belong to
+        copyConnectionAttributes(channel.parent(), channel);
+
+        ChannelPipeline pipeline = channel.pipeline();
+        if (isEnabled(TRACE)) {
+            pipeline.addLast(new LoggingHandler(Http2ServerStreamInitializer.class.getSimpleName()));
+        }
+        pipeline.addLast(new Http2StreamFrameToHttpObjectCodec(true));
+        pipeline.addLast(new HttpContentDecompressor());
+        pipeline.addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+        pipeline.addLast(http2ExtensionHeaderRemover);
+        pipeline.addLast(new MockServerHttpServerCodec(mockServerLogger, isSslEnabledUpstream(channel), channel.localAddress()));
+        pipeline.addLast(httpRequestHandler);
+    }
+}
@@ -0,0 +1,229 @@
+package org.mockserver.netty.unification;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.*;
+import io.netty.util.ReferenceCountUtil;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mappers.FullHttpRequestToMockServerHttpRequest;
+import org.mockserver.matchers.HttpRequestMatcher;
+import org.mockserver.mock.HttpState;
+import org.mockserver.mock.action.http.HttpActionHandler;
+import org.mockserver.model.Action;
+import org.mockserver.netty.proxy.relay.HttpStreamingRelay;
+
+import java.net.InetSocketAddress;
+import java.util.*;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.HOST;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.mockserver.configuration.ConfigurationProperties.attemptToProxyIfNoMatchingExpectation;
+import static org.mockserver.mock.HttpState.isControlPlaneRequest;
+import static org.mockserver.mock.action.http.HttpActionHandler.getRemoteAddress;
+import static org.mockserver.netty.HttpRequestHandler.BODY_TRUNCATED;
+import static org.mockserver.netty.HttpRequestHandler.LOCAL_HOST_HEADERS;
+import static org.mockserver.netty.HttpRequestHandler.PROXYING;
+import static org.mockserver.netty.unification.PortUnificationHandler.isSslEnabledUpstream;
+
+/**
+ * Decides from the head of each HTTP/1.1 request with a body whether the whole body is needed before the request is
+ * handled, so large bodies are only held in memory when they must be:
+ * <ul>
+ * <li>control plane requests and requests matching an expectation that matches on body, or whose action needs the
+ * body, are aggregated as before</li>
+ * <li>requests proxied without a matching expectation are relayed upstream as each chunk is received, as are their
+ * responses</li>
+ * <li>requests matching an expectation that returns a response or an error, and requests matching nothing, only keep
+ * the first {@link ConfigurationProperties#maxStreamedBodyLogSize()} bytes of the body for the log and for verification</li>
+ * </ul>
+ *
+ * @author jamesdbloom
+ */
+public class HttpBodyStreamingHandler extends ChannelInboundHandlerAdapter {
+
+    private enum Mode {
+        AGGREGATE,
+        TRUNCATE,
+        RELAY
+    }
+
+    private final MockServerLogger mockServerLogger;
+    private final HttpState httpState;
+    private final HttpActionHandler actionHandler;
+    private final Deque<Object> queued = new ArrayDeque<>();
+    private Mode mode = Mode.AGGREGATE;
+    private int retainedBodyBytes;
+    private HttpStreamingRelay relay;
+    private boolean draining;
+
+    public HttpBodyStreamingHandler(HttpState httpState, HttpActionHandler actionHandler) {
+        this.mockServerLogger = httpState.getMockServerLogger();
+        this.httpState = httpState;
+        this.actionHandler = actionHandler;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if ((relay != null && mode != Mode.RELAY) || (!draining && !queued.isEmpty())) {
+            // pipelined requests wait until the response to the relayed request has been returned
+            queued.add(msg);
+        } else if (msg instanceof HttpRequest && !(msg instanceof FullHttpRequest)) {
+            HttpRequest requestHead = (HttpRequest) msg;
+            mode = mode(ctx, requestHead);
+            retainedBodyBytes = 0;
+            ctx.channel().attr(BODY_TRUNCATED).set(null);
+            if (mode == Mode.RELAY) {
+                InetSocketAddress remoteAddress = getRemoteAddress(ctx);
+                if (remoteAddress == null) {
+                    remoteAddress = toMockServerRequest(ctx, requestHead).socketAddressFromHostHeader();
+                }
+                relay = new HttpStreamingRelay(mockServerLogger, httpState, ctx, remoteAddress, isSslEnabledUpstream(ctx.channel()), !isProxyingRequest(ctx), () -> relayComplete(ctx));
+                relay.start(requestHead);
+            } else {
+                if (mode == Mode.TRUNCATE) {
+                    truncateContentLength(requestHead);
+                }
+                ctx.fireChannelRead(msg);
+            }
+        } else if (msg instanceof HttpContent) {
+            HttpContent content = (HttpContent) msg;
+            boolean last = msg instanceof LastHttpContent;
+            switch (mode) {
+                case RELAY:
+                    relay.writeContent(content);
+                    break;
+                case TRUNCATE:
+                    fireTruncated(ctx, content);
+                    break;
+                default:
+                    ctx.fireChannelRead(msg);
+            }
+            if (last) {
+                if (mode == Mode.RELAY) {
+                    if (relay.isComplete()) {
+                        relay = null;
+                    } else {
+                        ctx.channel().config().setAutoRead(false);
+                    }
+                }
+                mode = Mode.AGGREGATE;
+            }
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    private Mode mode(ChannelHandlerContext ctx, HttpRequest requestHead) {
+        if (HttpMethod.CONNECT.equals(requestHead.method()) || !HttpUtil.isTransferEncodingChunked(requestHead) && HttpUtil.getContentLength(requestHead, 0L) == 0L) {
+            return Mode.AGGREGATE;
+        }
+        org.mockserver.model.HttpRequest request = toMockServerRequest(ctx, requestHead);
+        if (isControlPlaneRequest(request) || request.containsHeader(httpState.getUniqueLoopPreventionHeaderName(), httpState.getUniqueLoopPreventionHeaderValue())) {
+            return Mode.AGGREGATE;
+        }
+        HttpRequestMatcher httpRequestMatcher = httpState.getRequestMatchers().firstMatcherIgnoringBody(request);
+        if (httpRequestMatcher != null) {
+            Action action = httpRequestMatcher.getExpectation() != null ? httpRequestMatcher.getExpectation().getAction() : null;
+            if (!httpRequestMatcher.matchesOnBody() && action != null && (action.getType() == Action.Type.RESPONSE || action.getType() == Action.Type.ERROR)) {
+                return Mode.TRUNCATE;
+            } else {
+                return Mode.AGGREGATE;
+            }
+        } else if (isProxyingRequest(ctx) || isPotentiallyHttpProxy(ctx, request)) {
+            // requests forwarded through an upstream proxy are sent by the http client
+            return actionHandler.getHttpClient().getProxyConfiguration() == null ? Mode.RELAY : Mode.AGGREGATE;
+        } else {
+            return Mode.TRUNCATE;
+        }
+    }
+
+    private org.mockserver.model.HttpRequest toMockServerRequest(ChannelHandlerContext ctx, HttpRequest requestHead) {
+        Integer port = ctx.channel().localAddress() instanceof InetSocketAddress ? ((InetSocketAddress) ctx.channel().localAddress()).getPort() : null;
+        return new FullHttpRequestToMockServerHttpRequest(mockServerLogger, isSslEnabledUpstream(ctx.channel()), port).mapFullHttpRequestToMockServerRequest(
+            new DefaultFullHttpRequest(requestHead.protocolVersion(), requestHead.method(), requestHead.uri(), Unpooled.EMPTY_BUFFER, requestHead.headers(), EmptyHttpHeaders.INSTANCE)
+        );
+    }
+
+    private boolean isProxyingRequest(ChannelHandlerContext ctx) {
+        return ctx.channel().attr(PROXYING).get() != null && ctx.channel().attr(PROXYING).get();
+    }
+
+    private boolean isPotentiallyHttpProxy(ChannelHandlerContext ctx, org.mockserver.model.HttpRequest request) {
+        Set<String> localAddresses = ctx.channel().attr(LOCAL_HOST_HEADERS).get();
+        String host = request.getFirstHeader(HOST.toString());
+        return attemptToProxyIfNoMatchingExpectation() && !isEmpty(host) && (localAddresses == null || !localAddresses.contains(host));
+    }
+
+    private void truncateContentLength(HttpRequest requestHead) {
+        // so the aggregated request describes the body that is kept, not the body that was sent
+        long contentLength = HttpUtil.getContentLength(requestHead, -1L);
+        if (contentLength > ConfigurationProperties.maxStreamedBodyLogSize()) {
+            HttpUtil.setContentLength(requestHead, ConfigurationProperties.maxStreamedBodyLogSize());
+        }
+    }
+
+    private void fireTruncated(ChannelHandlerContext ctx, HttpContent content) {
+        ByteBuf buffer = content.content();
+        int remaining = ConfigurationProperties.maxStreamedBodyLogSize() - retainedBodyBytes;
+        if (buffer.readableBytes() <= remaining) {
+            retainedBodyBytes += buffer.readableBytes();
+            ctx.fireChannelRead(content);
+        } else {
+            // stops an expectation that matches on body from matching the request if the expectation this request
+            // was truncated for has been used up or removed by the time the request is matched
+            ctx.channel().attr(BODY_TRUNCATED).set(Boolean.TRUE);
+            try {
+                ByteBuf retained = remaining > 0 ? buffer.retainedSlice(buffer.readerIndex(), remaining) : Unpooled.EMPTY_BUFFER;
+                retainedBodyBytes += retained.readableBytes();
+                if (content instanceof LastHttpContent) {
+                    LastHttpContent lastContent = new DefaultLastHttpContent(retained);
+                    lastContent.trailingHeaders().set(((LastHttpContent) content).trailingHeaders());
+                    ctx.fireChannelRead(lastContent);
+                } else if (retained.isReadable()) {
+                    ctx.fireChannelRead(new DefaultHttpContent(retained));
+                }
+            } finally {
+                content.release();
+            }
+        }
+    }
+
+    private void relayComplete(ChannelHandlerContext ctx) {
+        if (mode != Mode.RELAY) {
+            // otherwise the remainder of the request body is discarded as it is received
+            relay = null;
+            ctx.channel().config().setAutoRead(true);
+            draining = true;
+            try {
+                while (!queued.isEmpty() && (relay == null || mode == Mode.RELAY)) {
+                    channelRead(ctx, queued.poll());
+                }
+            } finally {
+                draining = false;
+            }
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        if (relay != null) {
+            relay.downstreamWritabilityChanged();
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        if (relay != null) {
+            relay.downstreamClosed();
+            relay = null;
+        }
+        while (!queued.isEmpty()) {
+            ReferenceCountUtil.release(queued.poll());
+        }
+        ctx.fireChannelInactive();
+    }
+}
@@ -7,11 +7,17 @@ import io.netty.handler.codec.ReplayingDecoder;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
 import io.netty.handler.codec.socksx.v4.Socks4ServerDecoder;
 import io.netty.handler.codec.socksx.v4.Socks4ServerEncoder;
 import io.netty.handler.codec.socksx.v5.Socks5InitialRequestDecoder;
 import io.netty.handler.codec.socksx.v5.Socks5ServerEncoder;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.util.AsciiString;
 import io.netty.util.AttributeKey;
 import org.apache.commons.lang3.StringUtils;
 import org.mockserver.closurecallback.websocketregistry.CallbackWebSocketServerHandler;
@@ -44,6 +50,8 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Collections.unmodifiableSet;
 import static org.mockserver.character.Character.NEW_LINE;
+import static org.mockserver.configuration.ConfigurationProperties.enableHttp2;
+import static org.mockserver.configuration.ConfigurationProperties.enableStreamingBodies;
 import static org.mockserver.configuration.ConfigurationProperties.tlsMutualAuthenticationRequired;
 import static org.mockserver.exception.ExceptionHandling.*;
 import static org.mockserver.logging.MockServerLogger.isEnabled;
@@ -74,6 +82,7 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
     private final HttpActionHandler actionHandler;
     private final NettySslContextFactory nettySslContextFactory;
     private final MockServerHttpResponseToFullHttpResponse mockServerHttpResponseToFullHttpResponse;
+    private Http2ServerStreamInitializer http2ServerStreamInitializer;
 
     public PortUnificationHandler(LifeCycle server, HttpState httpStateHandler, HttpActionHandler actionHandler, NettySslContextFactory nettySslContextFactory) {
         this.server = server;
@@ -121,6 +130,15 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
         }
     }
 
+    static void copyConnectionAttributes(Channel from, Channel to) {
+        to.attr(SSL_ENABLED_UPSTREAM).set(from.attr(SSL_ENABLED_UPSTREAM).get());
+        to.attr(SSL_ENABLED_DOWNSTREAM).set(from.attr(SSL_ENABLED_DOWNSTREAM).get());
+        to.attr(NETTY_SSL_CONTEXT_FACTORY).set(from.attr(NETTY_SSL_CONTEXT_FACTORY).get());
+        to.attr(PROXYING).set(from.attr(PROXYING).get());
+        to.attr(REMOTE_SOCKET).set(from.attr(REMOTE_SOCKET).get());
+        to.attr(LOCAL_HOST_HEADERS).set(from.attr(LOCAL_HOST_HEADERS).get());
+    }
+
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf msg, List<Object> out) {
         ctx.channel().attr(NETTY_SSL_CONTEXT_FACTORY).set(nettySslContextFactory);
@@ -133,6 +151,9 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
         } else if (isTls(msg)) {
             logStage(ctx, "adding TLS decoders");
             enableTls(ctx, msg);
+        } else if (enableHttp2() && isHttp2(msg)) {
+            logStage(ctx, "adding HTTP2 decoders");
+            switchToHttp2(ctx, msg);
         } else if (isHttp(msg)) {
             logStage(ctx, "adding HTTP decoders");
             switchToHttp(ctx, msg);
@@ -214,16 +235,51 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
             method.startsWith("CONNECT ");
     }
 
+    private boolean isHttp2(ByteBuf msg) {
+        // the connection preface sent with prior knowledge or, over TLS, once h2 has been negotiated by ALPN
+        return msg.toString(msg.readerIndex(), 8, StandardCharsets.US_ASCII).startsWith("PRI * HT");
+    }
+
+    private void switchToHttp2(ChannelHandlerContext ctx, ByteBuf msg) {
+        if (tlsMutualAuthenticationRequired() && !isSslEnabledUpstream(ctx.channel())) {
+            if (MockServerLogger.isEnabled(Level.INFO)) {
+                mockServerLogger.logEvent(
+                    new LogEntry()
+                        .setLogLevel(Level.INFO)
+                        .setMessageFormat("no tls for HTTP2 connection:{}closing connection")
+                        .setArguments(ctx.channel().localAddress())
+                );
+            }
+            msg.skipBytes(actualReadableBytes());
+            closeOnFlush(ctx.channel());
+        } else {
+            ChannelPipeline pipeline = ctx.pipeline();
+
+            addLastIfNotPresent(pipeline, Http2FrameCodecBuilder.forServer().build());
+            addLastIfNotPresent(pipeline, new Http2MultiplexHandler(http2ServerStreamInitializer()));
+            pipeline.remove(this);
+
+            ctx.channel().attr(LOCAL_HOST_HEADERS).set(getLocalAddresses(ctx));
+
+            // fire message back through pipeline
+            ctx.fireChannelRead(msg.readBytes(actualReadableBytes()));
+        }
+    }
+
     private void switchToHttp(ChannelHandlerContext ctx, ByteBuf msg) {
         ChannelPipeline pipeline = ctx.pipeline();
 
-        addLastIfNotPresent(pipeline, new HttpServerCodec(
+        HttpServerCodec httpServerCodec = new HttpServerCodec(
             ConfigurationProperties.maxInitialLineLength(),
             ConfigurationProperties.maxHeaderSize(),
             ConfigurationProperties.maxChunkSize()
-        ));
+        );
+        addLastIfNotPresent(pipeline, httpServerCodec);
         addLastIfNotPresent(pipeline, new HttpContentDecompressor());
         addLastIfNotPresent(pipeline, httpContentLengthRemover);
+        if (enableStreamingBodies()) {
+            addLastIfNotPresent(pipeline, new HttpBodyStreamingHandler(httpStateHandler, actionHandler));
+        }
         addLastIfNotPresent(pipeline, new HttpObjectAggregator(Integer.MAX_VALUE));
         if (tlsMutualAuthenticationRequired() && !isSslEnabledUpstream(ctx.channel())) {
             HttpResponse httpResponse = response()
@@ -248,6 +304,16 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
                 )
                 .addListener((ChannelFuture future) -> future.channel().disconnect().awaitUninterruptibly());
         } else {
+            if (enableHttp2() && !isSslEnabledUpstream(ctx.channel()) && pipeline.get(HttpServerCodec.class) == httpServerCodec) {
+                // h2c upgrade, requests without an "Upgrade: h2c" header pass straight through to the HTTP/1.1 handlers
+                pipeline.addAfter(pipeline.context(httpServerCodec).name(), null, new HttpServerUpgradeHandler(
+                    httpServerCodec,
+                    protocol -> AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol) ?
+                        new Http2ServerUpgradeCodec(Http2FrameCodecBuilder.forServer().build(), new Http2MultiplexHandler(http2ServerStreamInitializer(), http2ServerStreamInitializer())) :
+                        null,
+                    Integer.MAX_VALUE
+                ));
+            }
             addLastIfNotPresent(pipeline, new CallbackWebSocketServerHandler(httpStateHandler));
             addLastIfNotPresent(pipeline, new DashboardWebSocketHandler(httpStateHandler, isSslEnabledUpstream(ctx.channel()), false));
             addLastIfNotPresent(pipeline, new MockServerHttpServerCodec(mockServerLogger, isSslEnabledUpstream(ctx.channel()), ctx.channel().localAddress()));
@@ -261,6 +327,13 @@ public class PortUnificationHandler extends ReplayingDecoder<Void> {
         }
     }
 
+    private Http2ServerStreamInitializer http2ServerStreamInitializer() {
+        if (http2ServerStreamInitializer == null) {
+            http2ServerStreamInitializer = new Http2ServerStreamInitializer(server, httpStateHandler, actionHandler);
+        }
+        return http2ServerStreamInitializer;
+    }
+
     private boolean isProxyConnected(ByteBuf msg) {
         return msg.toString(msg.readerIndex(), 8, StandardCharsets.US_ASCII).startsWith(PROXIED);
     }
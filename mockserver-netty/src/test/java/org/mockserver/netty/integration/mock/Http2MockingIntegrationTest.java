@@ -0,0 +1,352 @@
+package org.mockserver.netty.integration.mock;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.codec.http2.*;
+import io.netty.handler.ssl.*;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.integration.ClientAndServer;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
+import static io.netty.handler.codec.http.HttpHeaderNames.HOST;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockserver.model.HttpForward.forward;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.socket.tls.PEMToFile.privateKeyFromPEMFile;
+import static org.mockserver.socket.tls.PEMToFile.x509FromPEMFile;
+import static org.mockserver.stop.Stop.stopQuietly;
+
+/**
+ * Sends requests over each way of starting HTTP/2, h2 negotiated by ALPN over TLS, h2c with prior knowledge and h2c by
+ * upgrading an HTTP/1.1 request, and forwards requests to an upstream that only accepts h2
+ *
+ * @author jamesdbloom
+ */
+public class Http2MockingIntegrationTest {
+
+    private static boolean originalEnableHttp2;
+    private static ClientAndServer clientAndServer;
+    private static final EventLoopGroup eventLoopGroup = new NioEventLoopGroup(2);
+
+    @BeforeClass
+    public static void startServer() {
+        originalEnableHttp2 = ConfigurationProperties.enableHttp2();
+        ConfigurationProperties.enableHttp2(true);
+        clientAndServer = ClientAndServer.startClientAndServer();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        stopQuietly(clientAndServer);
+        eventLoopGroup.shutdownGracefully(0, 0, SECONDS).syncUninterruptibly();
+        ConfigurationProperties.enableHttp2(originalEnableHttp2);
+    }
+
+    private void givenExpectation(String path) {
+        clientAndServer
+            .when(
+                request()
+                    .withMethod("POST")
+                    .withPath(path)
+                    .withBody("some_request_body")
+            )
+            .respond(
+                response()
+                    .withStatusCode(201)
+                    .withHeader("x-some-header", "some_value")
+                    .withBody("some_response_body")
+            );
+    }
+
+    @Test
+    public void shouldReturnResponseOverH2NegotiatedByAlpn() throws Exception {
+        // given
+        givenExpectation("/h2");
+        CompletableFuture<String> applicationProtocol = new CompletableFuture<>();
+        SslContext sslContext = SslContextBuilder
+            .forClient()
+            .trustManager(InsecureTrustManagerFactory.INSTANCE)
+            .applicationProtocolConfig(new ApplicationProtocolConfig(
+                ApplicationProtocolConfig.Protocol.ALPN,
+                ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                ApplicationProtocolNames.HTTP_2
+            ))
+            .build();
+        Channel connection = connect(new ChannelInitializer<SocketChannel>() {
+            @Override
+            protected void initChannel(SocketChannel channel) {
+                channel.pipeline().addLast(sslContext.newHandler(channel.alloc(), "localhost", clientAndServer.getLocalPort()));
+                channel.pipeline().addLast(new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                    @Override
+                    protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                        if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                            ctx.pipeline().addLast(Http2FrameCodecBuilder.forClient().build());
+                            ctx.pipeline().addLast(new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+                        }
+                        applicationProtocol.complete(protocol);
+                    }
+                });
+            }
+        });
+
+        try {
+            // when
+            assertThat(applicationProtocol.get(10, SECONDS), is(ApplicationProtocolNames.HTTP_2));
+            FullHttpResponse response = sendOnStream(connection, postRequest("/h2"));
+
+            // then
+            assertExpectedResponse(response);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void shouldReturnResponseOverH2cWithPriorKnowledge() throws Exception {
+        // given
+        givenExpectation("/h2c_prior_knowledge");
+        Channel connection = connect(new ChannelInitializer<SocketChannel>() {
+            @Override
+            protected void initChannel(SocketChannel channel) {
+                // the connection preface is sent as soon as the connection is active
+                channel.pipeline().addLast(Http2FrameCodecBuilder.forClient().build());
+                channel.pipeline().addLast(new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+            }
+        });
+
+        try {
+            // when
+            FullHttpResponse response = sendOnStream(connection, postRequest("/h2c_prior_knowledge"));
+
+            // then
+            assertExpectedResponse(response);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void shouldReturnResponseOverH2cUpgrade() throws Exception {
+        // given
+        givenExpectation("/h2c_upgrade");
+        CompletableFuture<FullHttpResponse> response = new CompletableFuture<>();
+        CompletableFuture<HttpClientUpgradeHandler.UpgradeEvent> upgradeEvent = new CompletableFuture<>();
+        Channel connection = connect(new ChannelInitializer<SocketChannel>() {
+            @Override
+            protected void initChannel(SocketChannel channel) {
+                HttpClientCodec httpClientCodec = new HttpClientCodec();
+                // the response to the upgraded request is received on stream 1
+                Http2ClientUpgradeCodec http2ClientUpgradeCodec = new Http2ClientUpgradeCodec(
+                    (Http2ConnectionHandler) Http2FrameCodecBuilder.forClient().build(),
+                    new Http2MultiplexHandler(new ChannelInboundHandlerAdapter(), streamResponseInitializer(response))
+                );
+                channel.pipeline().addLast(httpClientCodec);
+                channel.pipeline().addLast(new HttpClientUpgradeHandler(httpClientCodec, http2ClientUpgradeCodec, 64 * 1024));
+                channel.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void userEventTriggered(ChannelHandlerContext ctx, Object event) throws Exception {
+                        if (event instanceof HttpClientUpgradeHandler.UpgradeEvent && event != HttpClientUpgradeHandler.UpgradeEvent.UPGRADE_ISSUED) {
+                            upgradeEvent.complete((HttpClientUpgradeHandler.UpgradeEvent) event);
+                        }
+                        super.userEventTriggered(ctx, event);
+                    }
+                });
+            }
+        });
+
+        try {
+            // when
+            connection.writeAndFlush(postRequest("/h2c_upgrade"));
+
+            // then
+            assertThat(upgradeEvent.get(10, SECONDS), is(HttpClientUpgradeHandler.UpgradeEvent.UPGRADE_SUCCESSFUL));
+            assertExpectedResponse(response.get(10, SECONDS));
+            assertThat(connection.pipeline().get(Http2FrameCodec.class) != null, is(true));
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void shouldForwardRequestToH2Upstream() throws Exception {
+        // given - an upstream that only accepts h2 so the request can only succeed if forwarded over HTTP/2
+        List<String> upstreamRequests = new CopyOnWriteArrayList<>();
+        Channel upstream = startH2OnlyUpstream(upstreamRequests);
+        try {
+            int upstreamPort = ((InetSocketAddress) upstream.localAddress()).getPort();
+            clientAndServer
+                .when(
+                    request()
+                        .withPath("/forward_to_h2")
+                )
+                .forward(
+                    forward()
+                        .withHost("127.0.0.1")
+                        .withPort(upstreamPort)
+                        .withScheme(org.mockserver.model.HttpForward.Scheme.HTTPS)
+                );
+
+            // when
+            Channel connection = connect(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                    channel.pipeline().addLast(new HttpClientCodec());
+                    channel.pipeline().addLast(new HttpObjectAggregator(64 * 1024));
+                }
+            });
+            CompletableFuture<FullHttpResponse> response = new CompletableFuture<>();
+            connection.pipeline().addLast(new ResponseHandler(response));
+            try {
+                FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/forward_to_h2");
+                request.headers().set(HOST, "localhost:" + clientAndServer.getLocalPort());
+                request.headers().set(CONTENT_LENGTH, 0);
+                connection.writeAndFlush(request);
+
+                // then
+                FullHttpResponse forwardedResponse = response.get(10, SECONDS);
+                assertThat(forwardedResponse.status().code(), is(200));
+                assertThat(forwardedResponse.content().toString(UTF_8), is("h2_upstream_response"));
+                assertThat(upstreamRequests, contains("GET /forward_to_h2"));
+            } finally {
+                connection.close();
+            }
+        } finally {
+            upstream.close().syncUninterruptibly();
+        }
+    }
+
+    private Channel connect(ChannelInitializer<SocketChannel> channelInitializer) throws InterruptedException {
+        return new Bootstrap()
+            .group(eventLoopGroup)
+            .channel(NioSocketChannel.class)
+            .handler(channelInitializer)
+            .connect("localhost", clientAndServer.getLocalPort())
+            .sync()
+            .channel();
+    }
+
+    private FullHttpRequest postRequest(String path) {
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, path);
+        request.headers().set(HOST, "localhost:" + clientAndServer.getLocalPort());
+        request.headers().set(CONTENT_TYPE, "text/plain");
+        request.content().writeCharSequence("some_request_body", UTF_8);
+        request.headers().set(CONTENT_LENGTH, request.content().readableBytes());
+        return request;
+    }
+
+    private FullHttpResponse sendOnStream(Channel connection, FullHttpRequest request) throws Exception {
+        CompletableFuture<FullHttpResponse> response = new CompletableFuture<>();
+        Http2StreamChannel stream = new Http2StreamChannelBootstrap(connection)
+            .handler(streamResponseInitializer(response))
+            .open()
+            .sync()
+            .getNow();
+        stream.writeAndFlush(request);
+        return response.get(10, SECONDS);
+    }
+
+    private ChannelInitializer<Channel> streamResponseInitializer(CompletableFuture<FullHttpResponse> response) {
+        return new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel channel) {
+                channel.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(false));
+                channel.pipeline().addLast(new HttpObjectAggregator(64 * 1024));
+                channel.pipeline().addLast(new ResponseHandler(response));
+            }
+        };
+    }
+
+    private void assertExpectedResponse(FullHttpResponse response) {
+        assertThat(response.status().code(), is(201));
+        assertThat(response.headers().get("x-some-header"), is("some_value"));
+        assertThat(response.content().toString(UTF_8), is("some_response_body"));
+    }
+
+    private Channel startH2OnlyUpstream(List<String> upstreamRequests) throws Exception {
+        SslContext sslContext = SslContextBuilder
+            .forServer(
+                privateKeyFromPEMFile("org/mockserver/netty/integration/tls/trustnoneechoserver/leaf-key-pkcs8.pem"),
+                x509FromPEMFile("org/mockserver/netty/integration/tls/trustnoneechoserver/leaf-cert.pem"),
+                x509FromPEMFile("org/mockserver/netty/integration/tls/trustnoneechoserver/ca.pem")
+            )
+            .applicationProtocolConfig(new ApplicationProtocolConfig(
+                ApplicationProtocolConfig.Protocol.ALPN,
+                ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                ApplicationProtocolNames.HTTP_2
+            ))
+            .build();
+        return new ServerBootstrap()
+            .group(eventLoopGroup)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                    channel.pipeline().addLast(sslContext.newHandler(channel.alloc()));
+                    channel.pipeline().addLast(Http2FrameCodecBuilder.forServer().build());
+                    channel.pipeline().addLast(new Http2MultiplexHandler(new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel stream) {
+                            stream.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(true));
+                            stream.pipeline().addLast(new HttpObjectAggregator(64 * 1024));
+                            stream.pipeline().addLast(new SimpleChannelInboundHandler<FullHttpRequest>() {
+                                @Override
+                                protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+                                    upstreamRequests.add(request.method() + " " + request.uri());
+                                    FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+                                    response.content().writeCharSequence("h2_upstream_response", UTF_8);
+                                    response.headers().set(CONTENT_LENGTH, response.content().readableBytes());
+                                    ctx.writeAndFlush(response);
+                                }
+                            });
+                        }
+                    }));
+                }
+            })
+            .bind(0)
+            .sync()
+            .channel();
+    }
+
+    private static class ResponseHandler extends SimpleChannelInboundHandler<FullHttpResponse> {
+
+        private final CompletableFuture<FullHttpResponse> response;
+
+        private ResponseHandler(CompletableFuture<FullHttpResponse> response) {
+            this.response = response;
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse fullHttpResponse) {
+            response.complete(fullHttpResponse.retainedDuplicate());
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            response.completeExceptionally(cause);
+            ctx.close();
+        }
+    }
+}
@@ -12,6 +12,7 @@ import io.netty.handler.codec.socks.SocksMessageEncoder;
 import io.netty.handler.ssl.SslHandler;
 import org.apache.commons.codec.binary.Hex;
 import org.junit.Test;
+import org.mockserver.configuration.ConfigurationProperties;
 import org.mockserver.lifecycle.LifeCycle;
 import org.mockserver.logging.MockServerLogger;
 import org.mockserver.mock.HttpState;
@@ -117,6 +118,89 @@ public class HttpProxyUnificationInitializerTest {
         ));
     }
 
+    @Test
+    public void shouldSwitchToHttpWithStreamingBodies() {
+        boolean originalEnableStreamingBodies = ConfigurationProperties.enableStreamingBodies();
+        try {
+            // given
+            ConfigurationProperties.enableStreamingBodies(true);
+            EmbeddedChannel embeddedChannel = new EmbeddedChannel();
+            embeddedChannel.pipeline().addLast(new MockServerUnificationInitializer(mock(LifeCycle.class), new HttpState(new MockServerLogger(), mock(Scheduler.class)), mock(HttpActionHandler.class), null));
+
+            // when - basic HTTP request
+            embeddedChannel.writeInbound(Unpooled.wrappedBuffer("GET /somePath HTTP/1.1\r\nHost: some.random.host\r\n\r\n".getBytes(UTF_8)));
+
+            // then - should decide how bodies are handled before they are aggregated
+            assertThat(String.valueOf(embeddedChannel.pipeline().names()), embeddedChannel.pipeline().names(), contains(
+                "HttpServerCodec#0",
+                "HttpContentDecompressor#0",
+                "HttpContentLengthRemover#0",
+                "HttpBodyStreamingHandler#0",
+                "HttpObjectAggregator#0",
+                "CallbackWebSocketServerHandler#0",
+                "DashboardWebSocketHandler#0",
+                "MockServerHttpServerCodec#0",
+                "HttpRequestHandler#0",
+                "DefaultChannelPipeline$TailContext#0"
+            ));
+        } finally {
+            ConfigurationProperties.enableStreamingBodies(originalEnableStreamingBodies);
+        }
+    }
+
+    @Test
+    public void shouldSwitchToHttp2WithPriorKnowledge() {
+        boolean originalEnableHttp2 = ConfigurationProperties.enableHttp2();
+        try {
+            // given
+            ConfigurationProperties.enableHttp2(true);
+            EmbeddedChannel embeddedChannel = new EmbeddedChannel();
+            embeddedChannel.pipeline().addLast(new MockServerUnificationInitializer(mock(LifeCycle.class), new HttpState(new MockServerLogger(), mock(Scheduler.class)), mock(HttpActionHandler.class), null));
+
+            // when - HTTP/2 connection preface
+            embeddedChannel.writeInbound(Unpooled.wrappedBuffer("PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(UTF_8)));
+
+            // then - should add HTTP/2 handlers last
+            assertThat(String.valueOf(embeddedChannel.pipeline().names()), embeddedChannel.pipeline().names(), contains(
+                "Http2FrameCodec#0",
+                "Http2MultiplexHandler#0",
+                "DefaultChannelPipeline$TailContext#0"
+            ));
+        } finally {
+            ConfigurationProperties.enableHttp2(originalEnableHttp2);
+        }
+    }
+
+    @Test
+    public void shouldSwitchToHttpWithHttp2Upgrade() {
+        boolean originalEnableHttp2 = ConfigurationProperties.enableHttp2();
+        try {
+            // given
+            ConfigurationProperties.enableHttp2(true);
+            EmbeddedChannel embeddedChannel = new EmbeddedChannel();
+            embeddedChannel.pipeline().addLast(new MockServerUnificationInitializer(mock(LifeCycle.class), new HttpState(new MockServerLogger(), mock(Scheduler.class)), mock(HttpActionHandler.class), null));
+
+            // when - basic HTTP request
+            embeddedChannel.writeInbound(Unpooled.wrappedBuffer("GET /somePath HTTP/1.1\r\nHost: some.random.host\r\n\r\n".getBytes(UTF_8)));
+
+            // then - should add HTTP handlers last with h2c upgrade handler after HTTP codec
+            assertThat(String.valueOf(embeddedChannel.pipeline().names()), embeddedChannel.pipeline().names(), contains(
+                "HttpServerCodec#0",
+                "HttpServerUpgradeHandler#0",
+                "HttpContentDecompressor#0",
+                "HttpContentLengthRemover#0",
+                "HttpObjectAggregator#0",
+                "CallbackWebSocketServerHandler#0",
+                "DashboardWebSocketHandler#0",
+                "MockServerHttpServerCodec#0",
+                "HttpRequestHandler#0",
+                "DefaultChannelPipeline$TailContext#0"
+            ));
+        } finally {
+            ConfigurationProperties.enableHttp2(originalEnableHttp2);
+        }
+    }
+
     @Test
     public void shouldSupportUnknownProtocol() {
         // given
@@ -0,0 +1,369 @@
+package org.mockserver.netty.proxy.relay;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.After;
+import org.junit.Test;
+import org.mockserver.client.NettyHttpClient;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.HttpState;
+import org.mockserver.mock.action.http.HttpActionHandler;
+import org.mockserver.netty.unification.HttpBodyStreamingHandler;
+import org.mockserver.scheduler.Scheduler;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockserver.mock.action.http.HttpActionHandler.REMOTE_SOCKET;
+import static org.mockserver.netty.HttpRequestHandler.PROXYING;
+
+/**
+ * Relays requests through a {@link HttpBodyStreamingHandler} in front of an {@link HttpObjectAggregator} far smaller
+ * than the bodies, so any request that is aggregated instead of streamed is noticed
+ *
+ * @author jamesdbloom
+ */
+public class HttpStreamingRelayTest {
+
+    private static final int AGGREGATION_LIMIT = 1024;
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final EventLoopGroup eventLoopGroup = new NioEventLoopGroup(3);
+    private final AtomicReference<Channel> proxiedChannel = new AtomicReference<>();
+    private final AtomicLong proxiedBytesRead = new AtomicLong();
+    private final AtomicInteger aggregatedRequests = new AtomicInteger();
+    private final BlockingQueue<FullHttpResponse> responses = new LinkedBlockingQueue<>();
+
+    @After
+    public void shutdownEventLoopGroup() {
+        FullHttpResponse response;
+        while ((response = responses.poll()) != null) {
+            response.release();
+        }
+        eventLoopGroup.shutdownGracefully(0, 0, SECONDS).syncUninterruptibly();
+    }
+
+    @Test
+    public void shouldRelayBodiesLargerThanAggregationLimit() throws Exception {
+        // given
+        Upstream upstream = new Upstream(1024 * 1024, false);
+        Channel client = connectThroughRelay(upstream.address());
+
+        // when
+        sendRequest(client, "/large", 16, CHUNK_SIZE);
+
+        // then
+        FullHttpResponse response = responses.poll(10, SECONDS);
+        assertThat(response, notNullValue());
+        assertThat(response.status().code(), is(200));
+        assertThat(response.content().readableBytes(), is(1024 * 1024));
+        assertThat(upstream.bodyBytesReceived("/large"), is(16L * CHUNK_SIZE));
+        assertThat(aggregatedRequests.get(), is(0));
+        response.release();
+    }
+
+    @Test
+    public void shouldStopReadingFromClientWhileUpstreamIsNotReading() throws Exception {
+        // given - an upstream that doesn't read until resumed
+        Upstream upstream = new Upstream(0, true);
+        Channel client = connectThroughRelay(upstream.address());
+
+        // when
+        sendRequest(client, "/backpressure", 256, CHUNK_SIZE);
+
+        // then - reading from the client stops well short of the 16MB body
+        waitFor(() -> proxiedChannel.get() != null && !proxiedChannel.get().config().isAutoRead() && upstream.channel() != null);
+        long bytesRead;
+        do {
+            bytesRead = proxiedBytesRead.get();
+            MILLISECONDS.sleep(500);
+        } while (bytesRead != proxiedBytesRead.get());
+        assertThat(proxiedChannel.get().config().isAutoRead(), is(false));
+        assertThat(bytesRead, lessThan(256L * CHUNK_SIZE / 2));
+
+        // and - reading resumes once the upstream reads
+        upstream.channel().config().setAutoRead(true);
+        FullHttpResponse response = responses.poll(30, SECONDS);
+        assertThat(response, notNullValue());
+        assertThat(response.status().code(), is(200));
+        assertThat(upstream.bodyBytesReceived("/backpressure"), is(256L * CHUNK_SIZE));
+        waitFor(() -> proxiedChannel.get().config().isAutoRead());
+        assertThat(aggregatedRequests.get(), is(0));
+        response.release();
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenUpstreamConnectionFails() throws Exception {
+        // given
+        InetSocketAddress unboundAddress;
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            unboundAddress = new InetSocketAddress("127.0.0.1", serverSocket.getLocalPort());
+        }
+        Channel client = connectThroughRelay(unboundAddress);
+
+        // when
+        sendRequest(client, "/unbound", 4, 1024);
+
+        // then
+        FullHttpResponse response = responses.poll(10, SECONDS);
+        assertThat(response, notNullValue());
+        assertThat(response.status().code(), is(404));
+        assertThat(aggregatedRequests.get(), is(0));
+        response.release();
+    }
+
+    @Test
+    public void shouldReturnNotFoundAndCloseWhenUpstreamClosesPartwayThroughRequestBody() throws Exception {
+        // given - an upstream that closes as soon as it receives part of the body
+        Upstream upstream = new Upstream(0, false);
+        upstream.closeOnContent = true;
+        Channel client = connectThroughRelay(upstream.address());
+
+        // when - the rest of the body is never sent
+        HttpRequest requestHead = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/closed");
+        HttpUtil.setTransferEncodingChunked(requestHead, true);
+        client.write(requestHead);
+        client.writeAndFlush(new DefaultHttpContent(Unpooled.wrappedBuffer(new byte[1024])));
+
+        // then
+        FullHttpResponse response = responses.poll(10, SECONDS);
+        assertThat(response, notNullValue());
+        assertThat(response.status().code(), is(404));
+        assertThat(client.closeFuture().await(10, SECONDS), is(true));
+        assertThat(aggregatedRequests.get(), is(0));
+        response.release();
+    }
+
+    @Test
+    public void shouldRelayPipelinedRequestsOnSameConnectionInOrder() throws Exception {
+        // given
+        Upstream upstream = new Upstream(0, false);
+        Channel client = connectThroughRelay(upstream.address());
+
+        // when - the second request is sent before the response to the first
+        sendRequest(client, "/first", 4, 1024);
+        sendRequest(client, "/second", 8, 1024);
+
+        // then
+        FullHttpResponse first = responses.poll(10, SECONDS);
+        FullHttpResponse second = responses.poll(10, SECONDS);
+        assertThat(first, notNullValue());
+        assertThat(second, notNullValue());
+        assertThat(first.content().toString(UTF_8), is("/first"));
+        assertThat(second.content().toString(UTF_8), is("/second"));
+        assertThat(upstream.bodyBytesReceived("/first"), is(4L * 1024));
+        assertThat(upstream.bodyBytesReceived("/second"), is(8L * 1024));
+        assertThat(client.isActive(), is(true));
+        assertThat(aggregatedRequests.get(), is(0));
+        first.release();
+        second.release();
+    }
+
+    @Test
+    public void shouldRelayCloseDelimitedResponsesOnKeptAliveConnection() throws Exception {
+        // given - an upstream that sends responses without a Content-Length and closes the connection to end them
+        Upstream upstream = new Upstream(0, false);
+        upstream.closeDelimited = true;
+        Channel client = connectThroughRelay(upstream.address());
+
+        // when
+        sendRequest(client, "/first", 4, 1024);
+        sendRequest(client, "/second", 8, 1024);
+
+        // then - each response is delimited so the client sees where it ends and the connection stays open
+        FullHttpResponse first = responses.poll(10, SECONDS);
+        FullHttpResponse second = responses.poll(10, SECONDS);
+        assertThat(first, notNullValue());
+        assertThat(second, notNullValue());
+        assertThat(first.content().toString(UTF_8), is("/first"));
+        assertThat(second.content().toString(UTF_8), is("/second"));
+        assertThat(client.isActive(), is(true));
+        assertThat(aggregatedRequests.get(), is(0));
+        first.release();
+        second.release();
+    }
+
+    private Channel connectThroughRelay(InetSocketAddress upstreamAddress) throws InterruptedException {
+        HttpState httpState = new HttpState(new MockServerLogger(), mock(Scheduler.class));
+        HttpActionHandler actionHandler = mock(HttpActionHandler.class);
+        when(actionHandler.getHttpClient()).thenReturn(mock(NettyHttpClient.class));
+        Channel relayServer = new ServerBootstrap()
+            .group(eventLoopGroup)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                    proxiedChannel.set(channel);
+                    channel.attr(PROXYING).set(Boolean.TRUE);
+                    channel.attr(REMOTE_SOCKET).set(upstreamAddress);
+                    channel.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                            proxiedBytesRead.addAndGet(((ByteBuf) msg).readableBytes());
+                            ctx.fireChannelRead(msg);
+                        }
+                    });
+                    channel.pipeline().addLast(new HttpServerCodec());
+                    channel.pipeline().addLast(new HttpBodyStreamingHandler(httpState, actionHandler));
+                    channel.pipeline().addLast(new HttpObjectAggregator(AGGREGATION_LIMIT));
+                    channel.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                            aggregatedRequests.incrementAndGet();
+                            ReferenceCountUtil.release(msg);
+                        }
+                    });
+                }
+            })
+            .bind("127.0.0.1", 0)
+            .sync()
+            .channel();
+        return new Bootstrap()
+            .group(eventLoopGroup)
+            .channel(NioSocketChannel.class)
+            .handler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                    channel.pipeline().addLast(new HttpClientCodec());
+                    channel.pipeline().addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+                    channel.pipeline().addLast(new SimpleChannelInboundHandler<FullHttpResponse>() {
+                        @Override
+                        protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response) {
+                            responses.add(response.retain());
+                        }
+                    });
+                }
+            })
+            .connect(relayServer.localAddress())
+            .sync()
+            .channel();
+    }
+
+    private void sendRequest(Channel client, String uri, int chunks, int chunkSize) {
+        HttpRequest requestHead = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, uri);
+        HttpUtil.setTransferEncodingChunked(requestHead, true);
+        requestHead.headers().set(HttpHeaderNames.HOST, "localhost");
+        client.write(requestHead);
+        for (int i = 0; i < chunks; i++) {
+            client.write(new DefaultHttpContent(Unpooled.wrappedBuffer(new byte[chunkSize])));
+        }
+        client.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + SECONDS.toMillis(10);
+        while (!condition.getAsBoolean()) {
+            assertThat("timed out waiting for condition", System.currentTimeMillis() < timeout, is(true));
+            MILLISECONDS.sleep(10);
+        }
+    }
+
+    private class Upstream {
+
+        private final Map<String, AtomicLong> bodyBytesReceived = new ConcurrentHashMap<>();
+        private final AtomicReference<Channel> channel = new AtomicReference<>();
+        private final Channel serverChannel;
+        private volatile boolean closeOnContent;
+        private volatile boolean closeDelimited;
+
+        private Upstream(int responseBodySize, boolean paused) throws InterruptedException {
+            serverChannel = new ServerBootstrap()
+                .group(eventLoopGroup)
+                .channel(NioServerSocketChannel.class)
+                // a small receive buffer so a paused upstream quickly stops accepting data
+                .option(ChannelOption.SO_RCVBUF, 8 * 1024)
+                .childOption(ChannelOption.AUTO_READ, !paused)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel channel) {
+                        Upstream.this.channel.set(channel);
+                        channel.pipeline().addLast(new HttpServerCodec());
+                        channel.pipeline().addLast(new UpstreamHandler(responseBodySize));
+                    }
+                })
+                .bind("127.0.0.1", 0)
+                .sync()
+                .channel();
+        }
+
+        private InetSocketAddress address() {
+            return (InetSocketAddress) serverChannel.localAddress();
+        }
+
+        private Channel channel() {
+            return channel.get();
+        }
+
+        private long bodyBytesReceived(String uri) {
+            AtomicLong received = bodyBytesReceived.get(uri);
+            return received != null ? received.get() : -1;
+        }
+
+        private class UpstreamHandler extends ChannelInboundHandlerAdapter {
+
+            private final int responseBodySize;
+            private String uri;
+
+            private UpstreamHandler(int responseBodySize) {
+                this.responseBodySize = responseBodySize;
+            }
+
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                try {
+                    if (msg instanceof HttpRequest) {
+                        uri = ((HttpRequest) msg).uri();
+                        bodyBytesReceived.put(uri, new AtomicLong());
+                    }
+                    if (msg instanceof HttpContent) {
+                        if (closeOnContent) {
+                            ctx.close();
+                            return;
+                        }
+                        bodyBytesReceived.get(uri).addAndGet(((HttpContent) msg).content().readableBytes());
+                    }
+                    if (msg instanceof LastHttpContent) {
+                        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+                        HttpUtil.setTransferEncodingChunked(response, !closeDelimited);
+                        ctx.write(response);
+                        if (responseBodySize > 0) {
+                            for (int written = 0; written < responseBodySize; written += CHUNK_SIZE) {
+                                ctx.write(new DefaultHttpContent(Unpooled.wrappedBuffer(new byte[Math.min(CHUNK_SIZE, responseBodySize - written)])));
+                            }
+                        } else {
+                            ctx.write(new DefaultHttpContent(Unpooled.copiedBuffer(uri, UTF_8)));
+                        }
+                        ChannelFuture lastWritten = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+                        if (closeDelimited) {
+                            lastWritten.addListener(ChannelFutureListener.CLOSE);
+                        }
+                    }
+                } finally {
+                    ReferenceCountUtil.release(msg);
+                }
+            }
+        }
+    }
+}
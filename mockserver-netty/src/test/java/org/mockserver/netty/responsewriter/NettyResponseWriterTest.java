@@ -1,6 +1,7 @@
 package org.mockserver.netty.responsewriter;
 
 import io.netty.channel.*;
+import io.netty.handler.codec.EncoderException;
 import io.netty.util.concurrent.GenericFutureListener;
 import org.junit.Before;
 import org.junit.Test;
@@ -12,6 +13,7 @@ import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.scheduler.Scheduler;
 
+import java.io.File;
 import java.net.ServerSocket;
 import java.net.Socket;
 
@@ -23,6 +25,7 @@ import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.mockserver.configuration.ConfigurationProperties.enableCORSForAllResponses;
 import static org.mockserver.model.ConnectionOptions.connectionOptions;
+import static org.mockserver.model.FileBody.file;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.notFoundResponse;
 import static org.mockserver.model.HttpResponse.response;
@@ -87,6 +90,41 @@ public class NettyResponseWriterTest {
         verify(mockChannelFuture).addListener(any(GenericFutureListener.class));
     }
 
+    @Test
+    public void shouldWriteNotFoundResponseWhenFileBodyDoesNotExist() {
+        // given
+        HttpRequest request = request("some_request");
+        HttpResponse response = response().withBody(file("/does/not/exist.txt"));
+
+        // when
+        new NettyResponseWriter(new MockServerLogger(), mockChannelHandlerContext, scheduler).writeResponse(request.clone(), response.clone(), false);
+
+        // then
+        verify(mockChannelHandlerContext).writeAndFlush(
+            notFoundResponse()
+                .withHeader("connection", "close")
+        );
+    }
+
+    @Test
+    public void shouldCloseSocketWhenWritingFileBodyFails() throws Exception {
+        // given
+        File file = File.createTempFile("fileBody", ".txt");
+        file.deleteOnExit();
+        HttpRequest request = request("some_request")
+            .withKeepAlive(true);
+        HttpResponse response = response().withBody(file(file.getAbsolutePath()));
+        when(mockChannelFuture.isSuccess()).thenReturn(false);
+        when(mockChannelFuture.cause()).thenReturn(new EncoderException("file removed"));
+
+        // when
+        new NettyResponseWriter(new MockServerLogger(), mockChannelHandlerContext, scheduler).writeResponse(request.clone(), response.clone(), false);
+        genericFutureListenerArgumentCaptor.getValue().operationComplete(mockChannelFuture);
+
+        // then
+        verify(mockChannel).close();
+    }
+
     @Test
     public void shouldWriteAddCORSHeaders() {
         boolean enableCORSForAllResponses = enableCORSForAllResponses();
@@ -0,0 +1,153 @@
+package org.mockserver.netty.unification;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import org.junit.Test;
+import org.mockserver.configuration.ConfigurationProperties;
+import org.mockserver.logging.MockServerLogger;
+import org.mockserver.mock.HttpState;
+import org.mockserver.mock.action.http.HttpActionHandler;
+import org.mockserver.scheduler.Scheduler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockserver.mock.Expectation.when;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.netty.HttpRequestHandler.BODY_TRUNCATED;
+
+/**
+ * @author jamesdbloom
+ */
+public class HttpBodyStreamingHandlerTest {
+
+    private EmbeddedChannel embeddedChannel(HttpState httpState) {
+        return new EmbeddedChannel(
+            new HttpBodyStreamingHandler(httpState, mock(HttpActionHandler.class)),
+            new HttpObjectAggregator(Integer.MAX_VALUE)
+        );
+    }
+
+    private FullHttpRequest sendChunkedRequest(HttpState httpState, String... chunks) {
+        EmbeddedChannel embeddedChannel = embeddedChannel(httpState);
+        HttpRequest requestHead = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some/path");
+        HttpUtil.setTransferEncodingChunked(requestHead, true);
+        return sendRequest(embeddedChannel, requestHead, chunks);
+    }
+
+    private FullHttpRequest sendRequest(EmbeddedChannel embeddedChannel, HttpRequest requestHead, String... chunks) {
+        requestHead.headers().set(HttpHeaderNames.HOST, "localhost");
+        embeddedChannel.writeInbound(requestHead);
+        for (String chunk : chunks) {
+            embeddedChannel.writeInbound(new DefaultHttpContent(Unpooled.copiedBuffer(chunk, UTF_8)));
+        }
+        embeddedChannel.writeInbound(LastHttpContent.EMPTY_LAST_CONTENT);
+        return embeddedChannel.readInbound();
+    }
+
+    @Test
+    public void shouldOnlyRetainLoggedPartOfBodyForExpectationWithoutBodyMatcher() {
+        int originalMaxStreamedBodyLogSize = ConfigurationProperties.maxStreamedBodyLogSize();
+        try {
+            // given
+            ConfigurationProperties.maxStreamedBodyLogSize(8);
+            HttpState httpState = new HttpState(new MockServerLogger(), mock(Scheduler.class));
+            httpState.add(when(request().withMethod("POST").withPath("/some/path")).thenRespond(response().withBody("some_response")));
+
+            // when
+            FullHttpRequest request = sendChunkedRequest(httpState, "0123", "4567", "89ab");
+
+            // then
+            try {
+                assertThat(request.content().toString(UTF_8), is("01234567"));
+            } finally {
+                request.release();
+            }
+        } finally {
+            ConfigurationProperties.maxStreamedBodyLogSize(originalMaxStreamedBodyLogSize);
+        }
+    }
+
+    @Test
+    public void shouldAggregateBodyForExpectationWithBodyMatcher() {
+        int originalMaxStreamedBodyLogSize = ConfigurationProperties.maxStreamedBodyLogSize();
+        try {
+            // given
+            ConfigurationProperties.maxStreamedBodyLogSize(8);
+            HttpState httpState = new HttpState(new MockServerLogger(), mock(Scheduler.class));
+            httpState.add(when(request().withMethod("POST").withPath("/some/path").withBody("0123456789ab")).thenRespond(response().withBody("some_response")));
+
+            // when
+            FullHttpRequest request = sendChunkedRequest(httpState, "0123", "4567", "89ab");
+
+            // then
+            try {
+                assertThat(request.content().toString(UTF_8), is("0123456789ab"));
+            } finally {
+                request.release();
+            }
+        } finally {
+            ConfigurationProperties.maxStreamedBodyLogSize(originalMaxStreamedBodyLogSize);
+        }
+    }
+
+    @Test
+    public void shouldSetContentLengthToRetainedPartOfBodyWhenTruncated() {
+        int originalMaxStreamedBodyLogSize = ConfigurationProperties.maxStreamedBodyLogSize();
+        try {
+            // given
+            ConfigurationProperties.maxStreamedBodyLogSize(8);
+            HttpState httpState = new HttpState(new MockServerLogger(), mock(Scheduler.class));
+            httpState.add(when(request().withMethod("POST").withPath("/some/path")).thenRespond(response().withBody("some_response")));
+            EmbeddedChannel embeddedChannel = embeddedChannel(httpState);
+            HttpRequest requestHead = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some/path");
+            HttpUtil.setContentLength(requestHead, 12);
+
+            // when
+            FullHttpRequest request = sendRequest(embeddedChannel, requestHead, "0123", "4567", "89ab");
+
+            // then
+            try {
+                assertThat(request.content().toString(UTF_8), is("01234567"));
+                assertThat(request.headers().get(HttpHeaderNames.CONTENT_LENGTH), is("8"));
+                assertThat(embeddedChannel.attr(BODY_TRUNCATED).get(), is(true));
+            } finally {
+                request.release();
+            }
+        } finally {
+            ConfigurationProperties.maxStreamedBodyLogSize(originalMaxStreamedBodyLogSize);
+        }
+    }
+
+    @Test
+    public void shouldNotMarkBodyAsTruncatedWhenWholeBodyRetained() {
+        int originalMaxStreamedBodyLogSize = ConfigurationProperties.maxStreamedBodyLogSize();
+        try {
+            // given
+            ConfigurationProperties.maxStreamedBodyLogSize(8);
+            HttpState httpState = new HttpState(new MockServerLogger(), mock(Scheduler.class));
+            httpState.add(when(request().withMethod("POST").withPath("/some/path")).thenRespond(response().withBody("some_response")));
+            EmbeddedChannel embeddedChannel = embeddedChannel(httpState);
+            HttpRequest requestHead = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/some/path");
+            HttpUtil.setContentLength(requestHead, 8);
+
+            // when
+            FullHttpRequest request = sendRequest(embeddedChannel, requestHead, "0123", "4567");
+
+            // then
+            try {
+                assertThat(request.content().toString(UTF_8), is("01234567"));
+                assertThat(request.headers().get(HttpHeaderNames.CONTENT_LENGTH), is("8"));
+                assertThat(embeddedChannel.attr(BODY_TRUNCATED).get(), is(nullValue()));
+            } finally {
+                request.release();
+            }
+        } finally {
+            ConfigurationProperties.maxStreamedBodyLogSize(originalMaxStreamedBodyLogSize);
+        }
+    }
+}